@@ -0,0 +1,44 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.entitySystem.stubs;
+
+import com.google.common.collect.Sets;
+import org.terasology.entitySystem.ChangeTrackingComponent;
+
+import java.util.Collection;
+import java.util.Set;
+
+public class ChangeTrackingStubComponent implements ChangeTrackingComponent {
+    private int health;
+    private String name;
+    private transient Set<String> changedFields = Sets.newHashSet();
+
+    public int getHealth() {
+        return health;
+    }
+
+    public void setHealth(int health) {
+        this.health = health;
+        changedFields.add("health");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        changedFields.add("name");
+    }
+
+    @Override
+    public Collection<String> getChangedFields() {
+        return changedFields;
+    }
+
+    @Override
+    public void clearChangedFields() {
+        changedFields.clear();
+    }
+}
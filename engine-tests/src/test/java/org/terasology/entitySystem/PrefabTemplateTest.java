@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.entitySystem;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.prefab.internal.PrefabTemplate;
+import org.terasology.entitySystem.stubs.ForceBlockActiveComponent;
+import org.terasology.entitySystem.stubs.GetterSetterComponent;
+import org.terasology.entitySystem.stubs.ListOfObjectComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PrefabTemplateTest {
+
+    private ComponentLibrary componentLibrary;
+
+    @BeforeEach
+    public void setup() {
+        ReflectFactory reflectFactory = new ReflectionReflectFactory();
+        componentLibrary = new ComponentLibrary(null, reflectFactory, new CopyStrategyLibrary(reflectFactory));
+        componentLibrary.register(new ResourceUrn("unittest:string"), StringComponent.class);
+        componentLibrary.register(new ResourceUrn("unittest:list"), ListOfObjectComponent.class);
+        componentLibrary.register(new ResourceUrn("unittest:getterSetter"), GetterSetterComponent.class);
+        componentLibrary.register(new ResourceUrn("unittest:forceBlockActive"), ForceBlockActiveComponent.class);
+    }
+
+    @Test
+    public void testComponentsAreCopied() {
+        StringComponent string = new StringComponent("prefab");
+        ListOfObjectComponent list = new ListOfObjectComponent();
+        list.shortName = "list";
+        list.elements.add(new ListOfObjectComponent.SubElement());
+        GetterSetterComponent getterSetter = new GetterSetterComponent();
+        PrefabTemplate template = PrefabTemplate.compile(Lists.newArrayList(string, list, getterSetter),
+                componentLibrary);
+
+        List<Component> instance = instantiate(template);
+
+        StringComponent stringCopy = find(instance, StringComponent.class);
+        assertNotSame(string, stringCopy);
+        assertEquals("prefab", stringCopy.value);
+        ListOfObjectComponent listCopy = find(instance, ListOfObjectComponent.class);
+        assertNotSame(list, listCopy);
+        assertEquals("list", listCopy.shortName);
+        assertNotSame(list.elements, listCopy.elements);
+        assertEquals(1, listCopy.elements.size());
+        GetterSetterComponent getterSetterCopy = find(instance, GetterSetterComponent.class);
+        assertNotSame(getterSetter, getterSetterCopy);
+        assertNotSame(getterSetter.getValue(), getterSetterCopy.getValue());
+    }
+
+    @Test
+    public void testCopiesAreIndependent() {
+        PrefabTemplate template = PrefabTemplate.compile(Lists.newArrayList(new StringComponent("prefab")),
+                componentLibrary);
+
+        StringComponent first = find(instantiate(template), StringComponent.class);
+        first.value = "changed";
+        StringComponent second = find(instantiate(template), StringComponent.class);
+
+        assertEquals("prefab", second.value);
+    }
+
+    @Test
+    public void testStatelessComponentsAreShared() {
+        ForceBlockActiveComponent component = new ForceBlockActiveComponent();
+        PrefabTemplate template = PrefabTemplate.compile(Lists.newArrayList(component), componentLibrary);
+
+        assertSame(component, find(instantiate(template), ForceBlockActiveComponent.class));
+    }
+
+    private static List<Component> instantiate(PrefabTemplate template) {
+        MutableComponentContainer container = mock(MutableComponentContainer.class);
+        ArgumentCaptor<Component> added = ArgumentCaptor.forClass(Component.class);
+        template.instantiate(container);
+        verify(container, atLeastOnce()).addComponent(added.capture());
+        return added.getAllValues();
+    }
+
+    private static <T extends Component> T find(List<Component> components, Class<T> type) {
+        for (Component component : components) {
+            if (type.isInstance(component)) {
+                return type.cast(component);
+            }
+        }
+        throw new AssertionError("Missing " + type.getSimpleName());
+    }
+}
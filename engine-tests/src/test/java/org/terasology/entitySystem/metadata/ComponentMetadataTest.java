@@ -9,6 +9,7 @@
 import org.terasology.assets.ResourceUrn;
 import org.terasology.context.Context;
 import org.terasology.context.internal.ContextImpl;
+import org.terasology.entitySystem.stubs.ChangeTrackingStubComponent;
 import org.terasology.entitySystem.stubs.OwnerComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
 import org.terasology.persistence.typeHandling.TypeHandlerLibraryImpl;
@@ -16,6 +17,8 @@
 import org.terasology.reflection.reflect.ReflectFactory;
 import org.terasology.reflection.reflect.ReflectionReflectFactory;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -54,4 +57,29 @@ public void testOwnsReferencesPopulated() {
         assertTrue(metadata.isReferenceOwner());
     }
 
+    @Test
+    public void testChangedFieldMask() {
+        Reflections reflections = new Reflections(getClass().getClassLoader());
+        EntitySystemLibrary entitySystemLibrary = new EntitySystemLibrary(context, new TypeHandlerLibraryImpl(reflections));
+        ComponentLibrary lib = entitySystemLibrary.getComponentLibrary();
+        lib.register(new ResourceUrn("unittest:tracking"), ChangeTrackingStubComponent.class);
+        lib.register(new ResourceUrn("unittest:string"), StringComponent.class);
+        ComponentMetadata<ChangeTrackingStubComponent> metadata = lib.getMetadata(ChangeTrackingStubComponent.class);
+
+        ChangeTrackingStubComponent component = new ChangeTrackingStubComponent();
+        assertEquals(ComponentMetadata.ALL_FIELDS, metadata.getChangedFieldMask(component));
+        assertEquals(ComponentMetadata.ALL_FIELDS, lib.getMetadata(StringComponent.class).getChangedFieldMask(new StringComponent("a")));
+
+        component.setHealth(10);
+        long mask = metadata.getChangedFieldMask(component);
+        assertTrue(ComponentMetadata.isInMask(mask, metadata.getField("health")));
+        assertFalse(ComponentMetadata.isInMask(mask, metadata.getField("name")));
+
+        ChangeTrackingStubComponent snapshot = new ChangeTrackingStubComponent();
+        component.setName("changed later");
+        metadata.copyFields(component, snapshot, mask);
+        assertEquals(10, snapshot.getHealth());
+        assertNull(snapshot.getName());
+    }
+
 }
@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.entitySystem.sectors;
+
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SectorChunkIndexTest {
+
+    private final SectorChunkIndex index = new SectorChunkIndex();
+    private final EntityRef first = mock(EntityRef.class);
+    private final EntityRef second = mock(EntityRef.class);
+
+    @Test
+    public void testEntitiesAreFoundByWatchedChunk() {
+        index.update(first, Sets.newHashSet(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0)));
+        index.update(second, Sets.newHashSet(new Vector3i(1, 0, 0)));
+
+        assertEquals(Sets.newHashSet(first), Sets.newHashSet(index.getEntities(new Vector3i(0, 0, 0))));
+        assertEquals(Sets.newHashSet(first, second), Sets.newHashSet(index.getEntities(new Vector3i(1, 0, 0))));
+        assertTrue(index.getEntities(new Vector3i(2, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void testUpdateReplacesWatchedChunks() {
+        index.update(first, Sets.newHashSet(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0)));
+
+        index.update(first, Sets.newHashSet(new Vector3i(1, 0, 0), new Vector3i(2, 0, 0)));
+
+        assertTrue(index.getEntities(new Vector3i(0, 0, 0)).isEmpty());
+        assertEquals(1, index.getEntities(new Vector3i(1, 0, 0)).size());
+        assertEquals(1, index.getEntities(new Vector3i(2, 0, 0)).size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.update(first, Sets.newHashSet(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0)));
+        index.update(second, Sets.newHashSet(new Vector3i(0, 0, 0)));
+
+        index.remove(first, new Vector3i(1, 0, 0));
+        assertTrue(index.getEntities(new Vector3i(1, 0, 0)).isEmpty());
+        assertEquals(2, index.getEntities(new Vector3i(0, 0, 0)).size());
+
+        index.remove(second);
+        assertEquals(Sets.newHashSet(first), Sets.newHashSet(index.getEntities(new Vector3i(0, 0, 0))));
+    }
+}
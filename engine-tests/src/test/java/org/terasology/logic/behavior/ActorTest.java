@@ -0,0 +1,82 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.behavior;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.logic.behavior.core.Actor;
+import org.terasology.logic.location.LocationComponent;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ActorTest {
+    private EntityRef entity;
+    private Actor actor;
+
+    @BeforeEach
+    public void setup() {
+        entity = mock(EntityRef.class);
+        actor = new Actor(entity);
+    }
+
+    @Test
+    public void testEffectsAreAppliedImmediatelyByDefault() {
+        LocationComponent component = new LocationComponent();
+        Event event = mock(Event.class);
+
+        actor.save(component);
+        actor.send(event);
+
+        verify(entity).saveComponent(component);
+        verify(entity).send(event);
+    }
+
+    @Test
+    public void testDeferredEffectsAreAppliedInOrder() {
+        LocationComponent component = new LocationComponent();
+        Event event = mock(Event.class);
+        actor.setDeferringEffects(true);
+
+        actor.save(component);
+        actor.send(event);
+
+        verify(entity, never()).saveComponent(component);
+        verify(entity, never()).send(event);
+
+        actor.applyDeferredEffects();
+
+        InOrder order = inOrder(entity);
+        order.verify(entity).saveComponent(component);
+        order.verify(entity).send(event);
+    }
+
+    @Test
+    public void testDeferredEffectsAreAppliedOnlyOnce() {
+        LocationComponent component = new LocationComponent();
+        actor.setDeferringEffects(true);
+
+        actor.save(component);
+        actor.applyDeferredEffects();
+        actor.applyDeferredEffects();
+
+        verify(entity).saveComponent(component);
+    }
+
+    @Test
+    public void testPendingEffectsAreAppliedWhenDeferringStops() {
+        LocationComponent component = new LocationComponent();
+        actor.setDeferringEffects(true);
+
+        actor.save(component);
+        actor.setDeferringEffects(false);
+
+        verify(entity).saveComponent(component);
+    }
+}
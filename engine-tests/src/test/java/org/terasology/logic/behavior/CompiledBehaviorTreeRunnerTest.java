@@ -0,0 +1,154 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.behavior;
+
+import com.google.common.collect.Lists;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import org.terasology.logic.behavior.core.Actor;
+import org.terasology.logic.behavior.core.ActionNode;
+import org.terasology.logic.behavior.core.BaseAction;
+import org.terasology.logic.behavior.core.BehaviorNode;
+import org.terasology.logic.behavior.core.BehaviorState;
+import org.terasology.logic.behavior.core.BehaviorTreeBuilder;
+import org.terasology.logic.behavior.core.DecoratorNode;
+import org.terasology.logic.behavior.core.SequenceNode;
+import org.terasology.logic.behavior.core.SuccessNode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompiledBehaviorTreeRunnerTest {
+    private static final int STEPS = 6;
+
+    private final List<String> calls = Lists.newArrayList();
+
+    @Test
+    public void testCompositesBehaveLikeDefaultRunner() {
+        String[] trees = {
+                "{ sequence:[success, success, success]}",
+                "{ sequence:[success, failure, success]}",
+                "{ sequence:[success, running, success]}",
+                "{ selector:[failure, failure, success]}",
+                "{ selector:[failure, running, success]}",
+                "{ dynamic:[failure, running, success]}",
+                "{ parallel:[success, running]}",
+                "{ parallel:[running, failure]}",
+                "{ sequence:[{ selector:[failure, success]}, { dynamic:[failure, success]}, { parallel:[running]}]}",
+                "{ sequence:[]}",
+                "running"
+        };
+        for (String tree : trees) {
+            assertEquals(runDefault(fromJson(tree)), runCompiled(fromJson(tree)), tree);
+        }
+    }
+
+    @Test
+    public void testActionLifecycleBehavesLikeDefaultRunner() {
+        List<String> expected = runDefault(createActionTree());
+        List<String> expectedCalls = Lists.newArrayList(calls);
+        calls.clear();
+
+        assertEquals(expected, runCompiled(createActionTree()));
+        assertEquals(expectedCalls, calls);
+    }
+
+    @Test
+    public void testNodeSubclassesAreRunAsIs() {
+        BehaviorNode root = new SequenceNode();
+        root.insertChild(0, new SuccessNode() {
+            @Override
+            public BehaviorState execute(Actor actor) {
+                calls.add("custom");
+                return BehaviorState.FAILURE;
+            }
+        });
+
+        CompiledBehaviorTreeRunner runner = new CompiledBehaviorTreeRunner(CompiledBehaviorTree.compile(root), new Actor(null));
+
+        assertEquals(BehaviorState.FAILURE, runner.step());
+        assertEquals(Lists.newArrayList("custom"), calls);
+    }
+
+    @Test
+    public void testRunnersOfOneTreeHaveSeparateState() {
+        CompiledBehaviorTree tree = CompiledBehaviorTree.compile(fromJson("{ sequence:[success, running]}"));
+        CompiledBehaviorTreeRunner first = new CompiledBehaviorTreeRunner(tree, new Actor(null));
+        CompiledBehaviorTreeRunner second = new CompiledBehaviorTreeRunner(tree, new Actor(null));
+
+        assertEquals(BehaviorState.RUNNING, first.step());
+        assertEquals(BehaviorState.RUNNING, first.step());
+        assertEquals(BehaviorState.RUNNING, second.step());
+    }
+
+    private List<String> runDefault(BehaviorNode root) {
+        DefaultBehaviorTreeRunner runner = new DefaultBehaviorTreeRunner(root, new Actor(null));
+        List<String> states = Lists.newArrayList();
+        for (int i = 0; i < STEPS; i++) {
+            states.add(runner.step().toString());
+        }
+        return states;
+    }
+
+    private List<String> runCompiled(BehaviorNode root) {
+        CompiledBehaviorTreeRunner runner = new CompiledBehaviorTreeRunner(CompiledBehaviorTree.compile(root), new Actor(null));
+        List<String> states = Lists.newArrayList();
+        for (int i = 0; i < STEPS; i++) {
+            states.add(runner.step().toString());
+        }
+        return states;
+    }
+
+    private BehaviorNode createActionTree() {
+        DecoratorNode decorator = new DecoratorNode(new RecordingAction("decorator", 1));
+        decorator.insertChild(0, new ActionNode(new RecordingAction("child", 2)));
+        BehaviorNode root = new SequenceNode();
+        root.insertChild(0, new ActionNode(new RecordingAction("first", 0)));
+        root.insertChild(1, decorator);
+        return root;
+    }
+
+    private BehaviorNode fromJson(String json) {
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(BehaviorNode.class, new BehaviorTreeBuilder());
+        return gsonBuilder.create().fromJson(json, BehaviorNode.class);
+    }
+
+    /**
+     * Records its calls, and runs for the given number of ticks before it succeeds.
+     */
+    private class RecordingAction extends BaseAction {
+        private final String name;
+        private final int runningTicks;
+        private int ticks;
+
+        RecordingAction(String name, int runningTicks) {
+            this.name = name;
+            this.runningTicks = runningTicks;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void construct(Actor actor) {
+            calls.add(name + ".construct");
+            ticks = 0;
+        }
+
+        @Override
+        public BehaviorState modify(Actor actor, BehaviorState result) {
+            calls.add(name + ".modify " + result);
+            return ticks++ < runningTicks ? BehaviorState.RUNNING : BehaviorState.SUCCESS;
+        }
+
+        @Override
+        public void destruct(Actor actor) {
+            calls.add(name + ".destruct");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.delay;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testFiresInDeadlineOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule(300, "c");
+        wheel.schedule(10, "a");
+        wheel.schedule(100_000, "d");
+        wheel.schedule(200, "b");
+
+        List<String> fired = Lists.newArrayList();
+        assertEquals(3, wheel.advance(1000, fired));
+        assertEquals(Lists.newArrayList("a", "b", "c"), fired);
+        assertEquals(1, wheel.size());
+
+        fired.clear();
+        wheel.advance(99_999, fired);
+        assertTrue(fired.isEmpty());
+        wheel.advance(100_000, fired);
+        assertEquals(Lists.newArrayList("d"), fired);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testDeadlineInThePastFiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(500);
+        wheel.schedule(100, "late");
+
+        List<String> fired = Lists.newArrayList();
+        wheel.advance(500, fired);
+        assertEquals(Lists.newArrayList("late"), fired);
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        long handle = wheel.schedule(70_000, "cancelled");
+        wheel.schedule(70_000, "kept");
+
+        assertTrue(wheel.isScheduled(handle));
+        assertEquals(70_000, wheel.getDeadline(handle));
+        assertTrue(wheel.cancel(handle));
+        assertFalse(wheel.cancel(handle));
+        assertFalse(wheel.isScheduled(handle));
+
+        List<String> fired = Lists.newArrayList();
+        wheel.advance(70_000, fired);
+        assertEquals(Lists.newArrayList("kept"), fired);
+    }
+
+    @Test
+    public void testStaleHandleDoesNotCancelReusedEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        long handle = wheel.schedule(5, "first");
+        wheel.advance(5, Lists.newArrayList());
+
+        wheel.schedule(10, "second");
+        assertFalse(wheel.cancel(handle));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void testLongJumpAndFarFutureDeadlines() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000);
+        wheel.schedule(3_000_000_000L, "month");
+        wheel.schedule(20_000_000_000L, "overflow");
+        wheel.schedule(5_000, "soon");
+
+        List<String> fired = Lists.newArrayList();
+        wheel.advance(2_999_999_999L, fired);
+        assertEquals(Lists.newArrayList("soon"), fired);
+
+        fired.clear();
+        for (long now = 2_999_999_999L; now < 3_000_001_000L; now += 16) {
+            wheel.advance(now, fired);
+        }
+        assertEquals(Lists.newArrayList("month"), fired);
+
+        fired.clear();
+        wheel.advance(20_000_000_000L, fired);
+        assertEquals(Lists.newArrayList("overflow"), fired);
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.location;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.joml.geom.AABBf;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LocationGridTest {
+
+    private LocationGrid grid;
+    private EntityRef first;
+    private EntityRef second;
+    private EntityRef third;
+
+    @BeforeEach
+    public void setup() {
+        grid = new LocationGrid();
+        first = mock(EntityRef.class);
+        second = mock(EntityRef.class);
+        third = mock(EntityRef.class);
+        grid.update(first, new Vector3f(1, 1, 1));
+        grid.update(second, new Vector3f(5, 2, 1));
+        grid.update(third, new Vector3f(-1, 1, 1));
+    }
+
+    @Test
+    public void testEntitiesInChunk() {
+        assertEquals(Arrays.asList(first, second), grid.getEntitiesInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(Collections.singletonList(third), grid.getEntitiesInChunk(new Vector3i(-1, 0, 0)));
+        assertTrue(grid.getEntitiesInChunk(new Vector3i(0, 1, 0)).isEmpty());
+    }
+
+    @Test
+    public void testEntitiesInRadiusAcrossChunks() {
+        assertEquals(new HashSet<>(Arrays.asList(first, third)),
+                new HashSet<>(grid.getEntitiesInRadius(new Vector3f(0, 1, 1), 2)));
+        assertEquals(3, grid.getEntitiesInRadius(new Vector3f(0, 1, 1), 10).size());
+        assertEquals(3, grid.getEntitiesInRadius(new Vector3f(0, 1, 1), 10000).size());
+    }
+
+    @Test
+    public void testEntitiesInBox() {
+        AABBf box = new AABBf(0, 0, 0, 5, 1.5f, 5);
+        assertEquals(Collections.singletonList(first), grid.getEntitiesInBox(box));
+    }
+
+    @Test
+    public void testMovingEntityChangesBucket() {
+        grid.update(first, new Vector3f(40, 1, 1));
+
+        assertEquals(Collections.singletonList(second), grid.getEntitiesInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(Collections.singletonList(first), grid.getEntitiesInChunk(new Vector3i(1, 0, 0)));
+        assertEquals(3, grid.size());
+    }
+
+    @Test
+    public void testMovingEntityWithinChunkUpdatesPosition() {
+        grid.update(first, new Vector3f(20, 1, 1));
+
+        assertTrue(grid.getEntitiesInRadius(new Vector3f(1, 1, 1), 1).isEmpty());
+        assertEquals(Collections.singletonList(first), grid.getEntitiesInRadius(new Vector3f(20, 1, 1), 1));
+    }
+
+    @Test
+    public void testRemove() {
+        grid.remove(third);
+
+        assertFalse(grid.contains(third));
+        assertTrue(grid.getEntitiesInChunk(new Vector3i(-1, 0, 0)).isEmpty());
+        assertEquals(2, grid.size());
+    }
+}
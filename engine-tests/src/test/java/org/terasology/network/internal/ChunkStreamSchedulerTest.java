@@ -0,0 +1,121 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal;
+
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ChunkStreamSchedulerTest {
+
+    @Test
+    public void testSendsNearestChunksFirst() {
+        ChunkStreamScheduler scheduler = new ChunkStreamScheduler();
+        Chunk[] chunks = addLine(scheduler, 5);
+        scheduler.setViewer(new Vector3i(), new Vector3f());
+
+        List<Chunk> sent = scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+
+        assertEquals(2, sent.size());
+        assertSame(chunks[5], sent.get(0));
+        assertTrue(sent.get(1) == chunks[4] || sent.get(1) == chunks[6]);
+        assertEquals(9, scheduler.size());
+    }
+
+    @Test
+    public void testSendsMoreChunksPerTickWhileChannelKeepsUp() {
+        ChunkStreamScheduler scheduler = new ChunkStreamScheduler();
+        addLine(scheduler, 20);
+
+        assertEquals(2, scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true).size());
+        assertEquals(3, scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true).size());
+        assertEquals(4, scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true).size());
+    }
+
+    @Test
+    public void testBandwidthLimitsChunks() {
+        ChunkStreamScheduler scheduler = new ChunkStreamScheduler();
+        addLine(scheduler, 20);
+
+        int sent = 0;
+        for (int tick = 0; tick < 10; tick++) {
+            sent += scheduler.nextChunks(0.5f, true).size();
+        }
+
+        // One chunk right away, then one every other tick
+        assertEquals(1 + 5, sent);
+    }
+
+    @Test
+    public void testPrefersChunksInViewDirection() {
+        ChunkStreamScheduler scheduler = new ChunkStreamScheduler();
+        Chunk behind = mock(Chunk.class);
+        Chunk ahead = mock(Chunk.class);
+        scheduler.add(new Vector3i(-2, 0, 0), behind);
+        scheduler.add(new Vector3i(2, 0, 0), ahead);
+        scheduler.setViewer(new Vector3i(), new Vector3f(1, 0, 0));
+
+        List<Chunk> sent = scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+
+        assertEquals(2, sent.size());
+        assertSame(ahead, sent.get(0));
+        assertSame(behind, sent.get(1));
+    }
+
+    @Test
+    public void testHalvesWindowWhenChannelIsNotWritable() {
+        ChunkStreamScheduler scheduler = new ChunkStreamScheduler();
+        addLine(scheduler, 50);
+        for (int tick = 0; tick < 7; tick++) {
+            scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+        }
+        assertEquals(8, scheduler.getWindow());
+
+        assertTrue(scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, false).isEmpty());
+        assertEquals(4, scheduler.getWindow());
+    }
+
+    @Test
+    public void testSlowWritesShrinkWindow() {
+        ChunkStreamScheduler scheduler = new ChunkStreamScheduler(0);
+        addLine(scheduler, 50);
+        for (int tick = 0; tick < 3; tick++) {
+            scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+        }
+        assertEquals(4, scheduler.getWindow());
+
+        ChannelPromise write = new EmbeddedChannel().newPromise();
+        scheduler.trackWrite(write);
+        scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+        assertEquals(2, scheduler.getWindow());
+
+        write.setSuccess();
+        scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+        assertEquals(1, scheduler.getWindow());
+        scheduler.nextChunks(ChunkStreamScheduler.MAX_CHUNKS_PER_TICK, true);
+        assertEquals(2, scheduler.getWindow());
+    }
+
+    /**
+     * Adds chunks from -radius to radius along the x axis.
+     */
+    private static Chunk[] addLine(ChunkStreamScheduler scheduler, int radius) {
+        Chunk[] chunks = new Chunk[2 * radius + 1];
+        for (int x = -radius; x <= radius; x++) {
+            chunks[x + radius] = mock(Chunk.class);
+            scheduler.add(new Vector3i(x, 0, 0), chunks[x + radius]);
+        }
+        return chunks;
+    }
+}
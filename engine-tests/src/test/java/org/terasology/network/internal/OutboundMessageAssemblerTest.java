@@ -0,0 +1,178 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal;
+
+import com.google.protobuf.ByteString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.network.internal.codec.BinaryNetMessageDecoder;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class OutboundMessageAssemblerTest {
+    private MetricRecordingHandler metrics;
+    private OutboundMessageAssembler assembler;
+
+    @BeforeEach
+    public void setup() {
+        metrics = new MetricRecordingHandler();
+        assembler = new OutboundMessageAssembler(PooledByteBufAllocator.DEFAULT, metrics);
+    }
+
+    @Test
+    public void testReusesBufferOnceWritten() throws IOException {
+        ByteBuf first = assembler.assemble(message(1));
+        first.release();
+        ByteBuf second = assembler.assemble(message(2));
+
+        assertSame(first, second);
+        assertEquals(1, metrics.getOutboundBufferAllocationsSinceLastCall());
+        assertEquals(1, metrics.getOutboundBufferReusesSinceLastCall());
+        second.release();
+        assembler.release();
+        assertEquals(0, second.refCnt());
+    }
+
+    @Test
+    public void testAllocatesWhileStillWriting() throws IOException {
+        ByteBuf first = assembler.assemble(message(1));
+        ByteBuf second = assembler.assemble(message(2));
+
+        assertNotSame(first, second);
+        assertEquals(1, first.refCnt());
+        assertEquals(2, metrics.getOutboundBufferAllocationsSinceLastCall());
+        assertEquals(0, metrics.getOutboundBufferReusesSinceLastCall());
+        first.release();
+        second.release();
+        assembler.release();
+    }
+
+    @Test
+    public void testDoesNotKeepLargeBuffers() throws IOException {
+        NetData.NetMessage large = NetData.NetMessage.newBuilder()
+                .addCreateEntity(NetData.CreateEntityMessage.newBuilder()
+                        .setEntity(EntityData.PackedEntity.newBuilder().setFieldIds(ByteString.copyFrom(new byte[512 * 1024]))))
+                .build();
+        ByteBuf buffer = assembler.assemble(large);
+
+        assertEquals(1, buffer.refCnt());
+        assertEquals(large.getSerializedSize() + 3, metrics.getLargestOutboundMessageSinceLastCall());
+        buffer.release();
+        assertNotSame(buffer, assembler.assemble(message(1)));
+    }
+
+    @Test
+    public void testProtobufFramesAreReadable() throws IOException {
+        EmbeddedChannel client = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(),
+                new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+
+        client.writeInbound(assembler.assemble(message(1)));
+        client.writeInbound(assembler.assemble(message(2)));
+
+        assertEquals(message(1), client.readInbound());
+        assertEquals(message(2), client.readInbound());
+    }
+
+    @Test
+    public void testBinaryFramesAreReadable() throws IOException {
+        EmbeddedChannel client = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(), new BinaryNetMessageDecoder());
+        assembler.setBinaryCodec(true);
+
+        client.writeInbound(assembler.assemble(message(1)));
+
+        assertEquals(message(1), client.readInbound());
+    }
+
+    @Test
+    public void testCollectedContentsAreReadableInBothFormats() throws IOException {
+        NetData.NetMessage expected = addContents();
+        assertEquals(expected, assembler.buildMessage());
+
+        EmbeddedChannel protobufClient = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(),
+                new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+        addContents();
+        protobufClient.writeInbound(assembler.assembleMessage());
+        assertEquals(expected, protobufClient.readInbound());
+
+        EmbeddedChannel binaryClient = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(),
+                new BinaryNetMessageDecoder());
+        assembler.setBinaryCodec(true);
+        addContents();
+        binaryClient.writeInbound(assembler.assembleMessage());
+        assertEquals(expected, binaryClient.readInbound());
+    }
+
+    @Test
+    public void testCollectedContentsAreCleared() throws IOException {
+        assembler.setBinaryCodec(true);
+        addContents();
+        assembler.assembleMessage().release();
+
+        assertEquals(NetData.NetMessage.getDefaultInstance(), assembler.buildMessage());
+    }
+
+    @Test
+    public void testNewMessageIsCleared() {
+        assembler.newMessage().setTime(5).addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(1)).build();
+
+        assertEquals(NetData.NetMessage.getDefaultInstance(), assembler.newMessage().build());
+    }
+
+    /**
+     * Adds contents of every kind to the assembler.
+     *
+     * @return the message the contents are expected to be read as
+     */
+    private NetData.NetMessage addContents() {
+        EntityData.PackedEntity entity = EntityData.PackedEntity.newBuilder().addComponentId(3).build();
+        EntityData.Event event = EntityData.Event.newBuilder().setType(2).build();
+        NetData.NetMessage.Builder expected = NetData.NetMessage.newBuilder().setTime(10);
+
+        assembler.newMessage().addCreateEntity(NetData.CreateEntityMessage.newBuilder().setEntity(entity));
+        expected.addCreateEntity(NetData.CreateEntityMessage.newBuilder().setEntity(entity));
+        assembler.setTime(10);
+        assembler.addBlockChange(1, -2, 3, 4);
+        assembler.addBlockChange(2, -2, 3, 5);
+        expected.addBlockChange(NetData.BlockChangeMessage.newBuilder().setPos(vector(1, -2, 3)).setNewBlock(4));
+        expected.addBlockChange(NetData.BlockChangeMessage.newBuilder().setPos(vector(2, -2, 3)).setNewBlock(5));
+        assembler.addExtraDataChange(1, 5, 6, 7, -8);
+        expected.addExtraDataChange(NetData.ExtraDataChangeMessage.newBuilder()
+                .setIndex(1).setPos(vector(5, 6, 7)).setNewData(-8));
+        assembler.addInvalidatedChunk(0, 1, -1);
+        expected.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(vector(0, 1, -1)));
+        assembler.addRemovedEntity(9);
+        expected.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(9));
+        assembler.addUpdatedEntity(11, entity);
+        expected.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setNetId(11).setEntity(entity));
+        assembler.addEntityEvent(11, event);
+        assembler.addBlockEvent(-3, 4, 5, event);
+        expected.addEvent(NetData.EventMessage.newBuilder().setTargetId(11).setEvent(event));
+        expected.addEvent(NetData.EventMessage.newBuilder().setTargetBlockPos(vector(-3, 4, 5)).setEvent(event));
+        return expected.build();
+    }
+
+    private static NetData.Vector3iData.Builder vector(int x, int y, int z) {
+        return NetData.Vector3iData.newBuilder().setX(x).setY(y).setZ(z);
+    }
+
+    private static NetData.NetMessage message(int netId) {
+        return NetData.NetMessage.newBuilder()
+                .setTime(100 + netId)
+                .addUpdateEntity(NetData.UpdateEntityMessage.newBuilder()
+                        .setNetId(netId)
+                        .setEntity(EntityData.PackedEntity.newBuilder().addComponentId(3)))
+                .build();
+    }
+}
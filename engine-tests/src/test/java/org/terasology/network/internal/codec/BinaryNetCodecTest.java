@@ -0,0 +1,161 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal.codec;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryNetCodecTest {
+
+    @Test
+    public void testRoundTripBlockChanges() {
+        NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder().setTime(123456789L);
+        for (int i = 0; i < 10; i++) {
+            message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                    .setPos(vector(100 + i, -20 - i, 5))
+                    .setNewBlock(i * 300));
+            message.addExtraDataChange(NetData.ExtraDataChangeMessage.newBuilder()
+                    .setIndex(i % 2)
+                    .setPos(vector(-i, i, i * 1000))
+                    .setNewData(-i));
+        }
+        message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(vector(3, 0, -3)));
+        message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(vector(4, 0, -3)));
+
+        assertEquals(message.build(), roundTrip(message.build()));
+    }
+
+    @Test
+    public void testRoundTripEntitiesAndEvents() {
+        EntityData.PackedEntity entity = EntityData.PackedEntity.newBuilder()
+                .setId(42)
+                .addComponentId(7)
+                .setFieldIds(ByteString.copyFrom(new byte[]{1, 2}))
+                .addFieldValue(EntityData.Value.newBuilder().addFloat(1.5f).addFloat(-2f))
+                .addFieldValue(EntityData.Value.newBuilder().addString("name"))
+                .build();
+        EntityData.Event event = EntityData.Event.newBuilder()
+                .setType(3)
+                .addFieldValue(EntityData.Value.newBuilder().addInteger(-9))
+                .build();
+        NetData.NetMessage message = NetData.NetMessage.newBuilder()
+                .setTime(1)
+                .addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setNetId(5).setEntity(entity))
+                .addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setNetId(6))
+                .addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(8))
+                .addEvent(NetData.EventMessage.newBuilder().setTargetId(5).setEvent(event))
+                .addEvent(NetData.EventMessage.newBuilder().setTargetBlockPos(vector(-1, 60, 1)).setEvent(event))
+                .build();
+
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testRoundTripOtherFields() {
+        NetData.NetMessage message = NetData.NetMessage.newBuilder()
+                .setTime(10)
+                .addBlockChange(NetData.BlockChangeMessage.newBuilder().setPos(vector(1, 2, 3)).setNewBlock(4))
+                .addCreateEntity(NetData.CreateEntityMessage.newBuilder()
+                        .setEntity(EntityData.PackedEntity.newBuilder().setId(9))
+                        .setBlockPos(vector(1, 2, 3)))
+                .addBlockFamilyRegistered(NetData.BlockFamilyRegisteredMessage.newBuilder().addBlockId(12))
+                .build();
+
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testRoundTripEmptyMessage() {
+        NetData.NetMessage message = NetData.NetMessage.getDefaultInstance();
+
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testDecodesSeveralMessagesInOneBuffer() {
+        EmbeddedChannel server = new EmbeddedChannel(new BinaryNetMessageEncoder());
+        EmbeddedChannel client = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(), new BinaryNetMessageDecoder());
+        NetData.NetMessage first = NetData.NetMessage.newBuilder().setTime(1).build();
+        NetData.NetMessage second = NetData.NetMessage.newBuilder().setTime(2)
+                .addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(3))
+                .build();
+
+        server.writeOutbound(first, second);
+        ByteBuf combined = Unpooled.wrappedBuffer(server.<ByteBuf>readOutbound(), server.<ByteBuf>readOutbound());
+        client.writeInbound(combined);
+
+        assertEquals(first, client.readInbound());
+        assertEquals(second, client.readInbound());
+        assertNull(client.readInbound());
+    }
+
+    @Test
+    public void testNegotiationSurvivesSerialization() throws InvalidProtocolBufferException {
+        NetData.JoinMessage plainJoin = NetData.JoinMessage.newBuilder().setName("Player").build();
+        NetData.JoinMessage join = NetData.JoinMessage.parseFrom(
+                BinaryNetCodec.requestBinaryCodec(plainJoin.toBuilder()).build().toByteArray());
+        assertFalse(BinaryNetCodec.isBinaryCodecRequested(plainJoin));
+        assertTrue(BinaryNetCodec.isBinaryCodecRequested(join));
+        assertEquals("Player", join.getName());
+
+        NetData.JoinCompleteMessage plainComplete = NetData.JoinCompleteMessage.newBuilder().setClientId(4).build();
+        NetData.JoinCompleteMessage complete = NetData.JoinCompleteMessage.parseFrom(
+                BinaryNetCodec.acceptBinaryCodec(plainComplete.toBuilder()).build().toByteArray());
+        assertFalse(BinaryNetCodec.isBinaryCodecAccepted(plainComplete));
+        assertTrue(BinaryNetCodec.isBinaryCodecAccepted(complete));
+        assertEquals(4, complete.getClientId());
+    }
+
+    @Test
+    public void testSwitchingDecoderKeepsMessagesReadable() throws IOException {
+        EmbeddedChannel server = new EmbeddedChannel(new ProtobufVarint32LengthFieldPrepender(), new ProtobufEncoder());
+        EmbeddedChannel client = new EmbeddedChannel();
+        client.pipeline().addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
+        client.pipeline().addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+
+        NetData.NetMessage before = NetData.NetMessage.newBuilder().setTime(1).build();
+        NetData.NetMessage after = NetData.NetMessage.newBuilder().setTime(2)
+                .addBlockChange(NetData.BlockChangeMessage.newBuilder().setPos(vector(1, 1, 1)).setNewBlock(1))
+                .build();
+
+        server.writeOutbound(before);
+        ByteBuf afterFrame = Unpooled.buffer();
+        BinaryNetMessageEncoder.writeFrame(after, afterFrame);
+
+        client.writeInbound(server.<ByteBuf>readOutbound());
+        assertEquals(before, client.readInbound());
+        BinaryNetCodec.useBinaryDecoder(client.pipeline());
+        client.writeInbound(afterFrame);
+        assertEquals(after, client.readInbound());
+    }
+
+    private static NetData.NetMessage roundTrip(NetData.NetMessage message) {
+        EmbeddedChannel server = new EmbeddedChannel(new BinaryNetMessageEncoder());
+        EmbeddedChannel client = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(), new BinaryNetMessageDecoder());
+        server.writeOutbound(message);
+        client.writeInbound(server.<ByteBuf>readOutbound());
+        return client.readInbound();
+    }
+
+    private static NetData.Vector3iData.Builder vector(int x, int y, int z) {
+        return NetData.Vector3iData.newBuilder().setX(x).setY(y).setZ(z);
+    }
+}
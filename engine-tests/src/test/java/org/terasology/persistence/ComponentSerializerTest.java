@@ -33,6 +33,7 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -90,6 +91,23 @@ public void testSerializeComponentDeltas() throws Exception {
         assertEquals("Delta", componentData.getField(0).getValue().getString(0));
     }
 
+    @Test
+    public void testSerializePrimitiveComponentDeltas() throws Exception {
+        EntityData.Component componentData = componentSerializer.serialize(new IntegerComponent(1), new IntegerComponent(2));
+
+        assertEquals("value", componentData.getField(0).getName());
+        assertEquals(2, componentData.getField(0).getValue().getInteger(0));
+        assertNull(componentSerializer.serialize(new IntegerComponent(3), new IntegerComponent(3)));
+    }
+
+    @Test
+    public void testSerializePrimitiveComponent() throws Exception {
+        EntityData.Component componentData = componentSerializer.serialize(new IntegerComponent(5));
+
+        assertEquals(1, componentData.getFieldCount());
+        assertEquals(5, ((IntegerComponent) componentSerializer.deserialize(componentData)).value);
+    }
+
     @Test
     public void testComponentTypeIdUsedWhenLookupTableEnabled() throws Exception {
         componentSerializer.setIdMapping(ImmutableMap.<Class<? extends Component>, Integer>builder().put(StringComponent.class, 1).build());
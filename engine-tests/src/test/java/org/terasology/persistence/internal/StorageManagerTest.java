@@ -37,6 +37,7 @@
 import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.stubs.ChangeTrackingStubComponent;
 import org.terasology.entitySystem.stubs.EntityRefComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
 import org.terasology.logic.location.LocationComponent;
@@ -251,6 +252,36 @@ public void testGlobalEntitiesStoredAndRestored() throws Exception {
         assertEquals(entityId, entities.get(0).getId());
     }
 
+    @Test
+    public void testUnchangedFieldsOfPartiallyChangedComponentSurviveStorage() throws Exception {
+        ChangeTrackingStubComponent component = new ChangeTrackingStubComponent();
+        component.setHealth(1);
+        component.setName("Test");
+        EntityRef entity = entityManager.create(component);
+        long entityId = entity.getId();
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+
+        // The first change copies the whole component into the delta, the second one only the changed field
+        component.setHealth(2);
+        entity.saveComponent(component);
+        component.setHealth(3);
+        entity.saveComponent(component);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                extraDataManager, false, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+        newSM.loadGlobalStore();
+
+        ChangeTrackingStubComponent restored = newEntityManager.getEntity(entityId)
+                .getComponent(ChangeTrackingStubComponent.class);
+        assertNotNull(restored);
+        assertEquals(3, restored.getHealth());
+        assertEquals("Test", restored.getName());
+    }
 
     @Test
     public void testReferenceRemainsValidOverStorageRestoral() throws Exception {
@@ -363,6 +394,43 @@ public void testEntitySurvivesStorageInChunkStore() throws Exception {
     }
 
 
+    @Test
+    public void testUnchangedEntitiesOfChunkSurviveRepeatedSaves() throws Exception {
+        Chunk chunk = new ChunkImpl(JomlUtil.from(CHUNK_POS), blockManager, extraDataManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+        EntityRef entity = entityManager.create();
+        long id = entity.getId();
+        LocationComponent locationComponent = new LocationComponent();
+        Vector3f positionInChunk = new Vector3f(JomlUtil.from(chunk.getAABB().getMin()));
+        positionInChunk.add(1, 1, 1);
+        locationComponent.setWorldPosition(positionInChunk);
+        entity.addComponent(locationComponent);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+
+        // Only the blocks of the chunk changed, so its entities are not serialized again
+        chunk.setBlock(0, 0, 0, testBlock2);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                extraDataManager, false, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+        newSM.loadGlobalStore();
+
+        ChunkStore restored = newSM.loadChunkStore(JomlUtil.from(CHUNK_POS));
+        assertEquals(testBlock2, restored.getChunk().getBlock(0, 0, 0));
+        restored.restoreEntities();
+        EntityRef ref = newEntityManager.getEntity(id);
+        assertTrue(ref.exists());
+        assertTrue(ref.isActive());
+    }
+
     @Test
     public void testCanSavePlayerWithoutUnloading() throws Exception {
         esm.waitForCompletionOfPreviousSaveAndStartSaving();
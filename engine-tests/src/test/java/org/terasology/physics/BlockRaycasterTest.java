@@ -0,0 +1,157 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.physics;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricFamily;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.NullWorldAtlas;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.Chunks;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockRaycasterTest extends TerasologyTestingEnvironment {
+
+    private static final float EPSILON = 1e-4f;
+
+    private Block solidBlock;
+    private BlockManager blockManager;
+    private ExtraBlockDataManager extraDataManager;
+    private Map<Vector3i, Chunk> chunks = Maps.newHashMap();
+    private BlockRaycaster raycaster;
+
+    @BeforeEach
+    public void setup() {
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        extraDataManager = new ExtraBlockDataManager();
+
+        BlockFamilyDefinitionData solidData = new BlockFamilyDefinitionData();
+        solidData.getBaseSection().setDisplayName("Stone");
+        solidData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        solidData.getBaseSection().setTranslucent(false);
+        solidData.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn("engine:stone"), solidData, BlockFamilyDefinition.class);
+        solidBlock = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:stone")));
+
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getChunk(anyInt(), anyInt(), anyInt())).thenAnswer(invocation ->
+                chunks.get(new Vector3i(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))));
+        raycaster = new BlockRaycaster(chunkProvider);
+
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                chunks.put(new Vector3i(x, 0, z), new ChunkImpl(x, 0, z, blockManager, extraDataManager));
+            }
+        }
+    }
+
+    @Test
+    public void testMissInEmptyWorld() {
+        BlockRaycastResult result = new BlockRaycastResult();
+        assertFalse(raycaster.raycast(new Vector3f(0, 10, 0), new Vector3f(1, 0.3f, 0.2f), 40, result));
+        assertFalse(result.isHit());
+        assertEquals(40, result.getDistance(), EPSILON);
+    }
+
+    @Test
+    public void testHitAlongAxis() {
+        setBlock(5, 10, 0);
+
+        BlockRaycastResult result = new BlockRaycastResult();
+        assertTrue(raycaster.raycast(new Vector3f(0, 10, 0), new Vector3f(1, 0, 0), 10, result));
+        assertEquals(new Vector3i(5, 10, 0), result.getBlockPosition());
+        assertEquals(4.5f, result.getDistance(), EPSILON);
+        assertEquals(new Vector3f(4.5f, 10, 0), result.getHitPoint());
+        assertEquals(new Vector3f(-1, 0, 0), result.getHitNormal());
+    }
+
+    @Test
+    public void testOutOfRange() {
+        setBlock(5, 10, 0);
+
+        assertFalse(raycaster.raycast(new Vector3f(0, 10, 0), new Vector3f(1, 0, 0), 4.4f, new BlockRaycastResult()));
+    }
+
+    @Test
+    public void testHitFromAboveAcrossChunkBorder() {
+        setBlock(-1, 2, -1);
+
+        BlockRaycastResult result = new BlockRaycastResult();
+        assertTrue(raycaster.raycast(new Vector3f(-1, 20, -1), new Vector3f(0, -1, 0), 30, result));
+        assertEquals(new Vector3i(-1, 2, -1), result.getBlockPosition());
+        assertEquals(new Vector3f(0, 1, 0), result.getHitNormal());
+        assertEquals(17.5f, result.getDistance(), EPSILON);
+    }
+
+    @Test
+    public void testDiagonalRay() {
+        setBlock(3, 13, 3);
+
+        BlockRaycastResult result = new BlockRaycastResult();
+        assertTrue(raycaster.raycast(new Vector3f(0, 10, 0), new Vector3f(1, 1, 1), 10, result));
+        assertEquals(new Vector3i(3, 13, 3), result.getBlockPosition());
+    }
+
+    @Test
+    public void testStartInsideBlock() {
+        setBlock(0, 10, 0);
+
+        BlockRaycastResult result = new BlockRaycastResult();
+        assertTrue(raycaster.raycast(new Vector3f(0.2f, 10, 0), new Vector3f(0, 1, 0), 5, result));
+        assertEquals(0, result.getDistance(), EPSILON);
+        assertEquals(new Vector3f(), result.getHitNormal());
+    }
+
+    @Test
+    public void testUnloadedChunkIsEmpty() {
+        assertFalse(raycaster.raycast(new Vector3f(0, 10, 0), new Vector3f(0, 1, 0), 200, new BlockRaycastResult()));
+    }
+
+    @Test
+    public void testBatch() {
+        setBlock(5, 10, 0);
+        setBlock(0, 10, -5);
+
+        float[] origins = {0, 10, 0, 0, 10, 0, 0, 10, 0};
+        float[] directions = {1, 0, 0, 0, 0, -1, 0, 0, 1};
+        float[] distances = {10, 10, 10};
+        boolean[] hits = new boolean[3];
+
+        assertEquals(2, raycaster.raycast(origins, directions, distances, 3, hits));
+        assertArrayEquals(new boolean[]{true, true, false}, hits);
+    }
+
+    private void setBlock(int x, int y, int z) {
+        Chunk chunk = chunks.get(new Vector3i(Chunks.toChunkPosX(x), Chunks.toChunkPosY(y), Chunks.toChunkPosZ(z)));
+        chunk.setBlock(Chunks.toRelativeX(x), Chunks.toRelativeY(y), Chunks.toRelativeZ(z), solidBlock);
+    }
+}
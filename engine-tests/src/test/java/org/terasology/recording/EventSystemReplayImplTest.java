@@ -77,7 +77,7 @@ public void setup() {
         selectedClassesToReplay.add(InputEvent.class);
 
         eventSystem = new EventSystemReplayImpl(entitySystemLibrary.getEventLibrary(), networkSystem, entityManager,
-                eventStore, recordAndReplaySerializer, recordAndReplayUtils, selectedClassesToReplay, recordAndReplayCurrentStatus);
+                eventStore, recordAndReplaySerializer, selectedClassesToReplay, recordAndReplayCurrentStatus);
 
         entityManager.setEventSystem(eventSystem);
 
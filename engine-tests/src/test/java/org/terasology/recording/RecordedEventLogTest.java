@@ -0,0 +1,98 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.recording;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecordedEventLogTest {
+    private static final int EVENT_COUNT = 20000;
+
+    @TempDir
+    Path tempDir;
+
+    private RecordedEventSerializer serializer;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        // Events are written as their index and timestamp, the log only frames them
+        serializer = mock(RecordedEventSerializer.class);
+        doAnswer(invocation -> {
+            RecordedEvent event = invocation.getArgument(0);
+            DataOutputStream stream = new DataOutputStream((OutputStream) invocation.getArgument(1));
+            stream.writeLong(event.getIndex());
+            stream.writeLong(event.getTimestamp());
+            return null;
+        }).when(serializer).serializeRecordedEvent(any(), any());
+        when(serializer.deserializeRecordedEvent(any())).thenAnswer(invocation -> {
+            DataInputStream stream = new DataInputStream((InputStream) invocation.getArgument(0));
+            long index = stream.readLong();
+            return new RecordedEvent(0, null, stream.readLong(), index);
+        });
+    }
+
+    @Test
+    public void testEventsAreReadInOrder() throws Exception {
+        Path file = writeLog(true);
+
+        List<RecordedEvent> events = new ArrayList<>();
+        try (RecordedEventLogReader reader = new RecordedEventLogReader(file, serializer)) {
+            List<RecordedEvent> frame = reader.readNextEvents();
+            assertTrue(frame.size() < EVENT_COUNT, "Events must be read one frame at a time");
+            while (!frame.isEmpty()) {
+                events.addAll(frame);
+                frame = reader.readNextEvents();
+            }
+        }
+
+        assertEquals(EVENT_COUNT, events.size());
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            assertEquals(i, events.get(i).getIndex());
+        }
+    }
+
+    @Test
+    public void testSeekByTimestamp() throws Exception {
+        Path file = writeLog(false);
+
+        try (RecordedEventLogReader reader = new RecordedEventLogReader(file, serializer)) {
+            List<RecordedEvent> frame = reader.seek(30001);
+            assertEquals(15001, frame.get(0).getIndex());
+            long lastIndex = frame.get(frame.size() - 1).getIndex();
+            assertEquals(lastIndex + 1, reader.readNextEvents().get(0).getIndex());
+
+            assertEquals(0, reader.seek(0).get(0).getIndex(), "Seeking back must start over");
+            assertTrue(reader.seek(EVENT_COUNT * 2).isEmpty());
+        }
+    }
+
+    private Path writeLog(boolean compressed) throws Exception {
+        Path file = tempDir.resolve("events.log");
+        RecordedEventLogWriter writer = new RecordedEventLogWriter(file, serializer, compressed);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            writer.append(new RecordedEvent(0, null, i * 2L, i));
+            if (i == EVENT_COUNT / 2) {
+                writer.flush();
+            }
+        }
+        writer.close();
+        return file;
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.rendering.world;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.world.chunks.ChunkConstants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkDistanceShellsTest {
+    private ChunkDistanceShells<Vector3i> shells;
+
+    @BeforeEach
+    public void setup() {
+        shells = new ChunkDistanceShells<>();
+        for (int x = -4; x <= 4; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -4; z <= 4; z++) {
+                    Vector3i position = new Vector3i(x, y, z);
+                    shells.add(position, position);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIteratesFromNearestToFarthest() {
+        assertSortedByDistanceTo(new Vector3i());
+        assertEquals(9 * 5 * 9, shells.size());
+    }
+
+    @Test
+    public void testMovingCenterKeepsOrder() {
+        Vector3i center = new Vector3i(3, -1, -2);
+        assertTrue(shells.setCenter(center));
+        assertFalse(shells.setCenter(center));
+
+        assertSortedByDistanceTo(center);
+        assertEquals(9 * 5 * 9, shells.size());
+    }
+
+    @Test
+    public void testRemove() {
+        Vector3i position = new Vector3i(1, 1, 1);
+        assertEquals(position, shells.remove(position));
+        assertNull(shells.remove(position));
+        assertFalse(shells.contains(position));
+        for (Vector3i chunk : shells) {
+            assertFalse(chunk.equals(position));
+        }
+    }
+
+    @Test
+    public void testRemoveWithinShellKeepsOtherChunks() {
+        shells.remove(new Vector3i(1, 0, 0));
+        shells.remove(new Vector3i(0, 0, -1));
+        shells.remove(new Vector3i(-1, 0, 0));
+
+        assertSame(shells.get(new Vector3i(0, 0, 1)), shells.remove(new Vector3i(0, 0, 1)));
+        assertEquals(9 * 5 * 9 - 4, shells.size());
+        assertSortedByDistanceTo(new Vector3i());
+    }
+
+    @Test
+    public void testAddReplacesChunkAtSamePosition() {
+        Vector3i position = new Vector3i(2, 0, 2);
+        Vector3i replacement = new Vector3i(position);
+        shells.add(position, replacement);
+
+        assertSame(replacement, shells.get(position));
+        assertEquals(9 * 5 * 9, shells.size());
+    }
+
+    private void assertSortedByDistanceTo(Vector3ic center) {
+        long previous = -1;
+        int count = 0;
+        for (Vector3i chunk : shells) {
+            long dx = (long) (chunk.x - center.x()) * ChunkConstants.SIZE_X;
+            long dy = (long) (chunk.y - center.y()) * ChunkConstants.SIZE_Y;
+            long dz = (long) (chunk.z - center.z()) * ChunkConstants.SIZE_Z;
+            long distance = dx * dx + dy * dy + dz * dz;
+            assertTrue(distance >= previous, "Chunk " + chunk + " out of order");
+            previous = distance;
+            count++;
+        }
+        assertEquals(shells.size(), count);
+    }
+}
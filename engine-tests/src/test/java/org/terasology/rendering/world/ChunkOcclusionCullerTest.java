@@ -0,0 +1,100 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.rendering.world;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.world.block.BlockRegion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkOcclusionCullerTest {
+    private static final int SIZE = 5;
+
+    private final BlockRegion region = new BlockRegion(0, 0, 0, SIZE - 1, SIZE - 1, SIZE - 1);
+    private final ChunkOcclusionCuller culler = new ChunkOcclusionCuller();
+    private ChunkVisibility opaque;
+
+    @BeforeEach
+    public void setup() {
+        ChunkVisibility.Builder builder = new ChunkVisibility.Builder(2, 2, 2);
+        for (int x = 0; x < 2; x++) {
+            for (int y = 0; y < 2; y++) {
+                for (int z = 0; z < 2; z++) {
+                    builder.setOccluding(x, y, z);
+                }
+            }
+        }
+        opaque = builder.build();
+        culler.reset(region);
+    }
+
+    @Test
+    public void testNothingCulledWithoutOpaqueChunks() {
+        culler.cull(new Vector3i(2, 2, 2));
+
+        assertEquals(SIZE * SIZE * SIZE, culler.getVisibleCount());
+        assertEquals(0, culler.getCulledCount());
+    }
+
+    @Test
+    public void testOpaqueLayerHidesChunksBehindIt() {
+        setLayer(2, opaque);
+        culler.cull(new Vector3i(2, 0, 2));
+
+        assertTrue(culler.isVisible(new Vector3i(4, 1, 4)));
+        assertTrue(culler.isVisible(new Vector3i(0, 2, 0)));
+        assertFalse(culler.isVisible(new Vector3i(2, 3, 2)));
+        assertFalse(culler.isVisible(new Vector3i(0, 4, 4)));
+        assertEquals(2 * SIZE * SIZE, culler.getCulledCount());
+    }
+
+    @Test
+    public void testHoleInOpaqueLayerKeepsChunksBehindVisible() {
+        setLayer(2, opaque);
+        culler.setVisibility(new Vector3i(2, 2, 2), ChunkVisibility.ALL_CONNECTED);
+        culler.cull(new Vector3i(2, 0, 2));
+
+        assertTrue(culler.isVisible(new Vector3i(2, 3, 2)));
+        assertTrue(culler.isVisible(new Vector3i(0, 4, 4)));
+    }
+
+    @Test
+    public void testCameraOutsideRegionCullsNothing() {
+        setLayer(2, opaque);
+        culler.cull(new Vector3i(2, 10, 2));
+
+        assertTrue(culler.isVisible(new Vector3i(2, 3, 2)));
+        assertEquals(0, culler.getCulledCount());
+    }
+
+    @Test
+    public void testWalkStartsInChunkOfCameraAtNegativeCoordinates() {
+        culler.reset(new BlockRegion(-2, -2, -2, 2, 2, 2));
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) {
+                culler.setVisibility(new Vector3i(x, 0, z), opaque);
+            }
+        }
+        // Just below the origin, i.e. in chunk (-1, -1, -1) underneath the opaque layer
+        culler.cull(new Vector3f(-1, -1, -1));
+
+        assertTrue(culler.isVisible(new Vector3i(-1, -1, -1)));
+        assertTrue(culler.isVisible(new Vector3i(0, -2, 0)));
+        assertFalse(culler.isVisible(new Vector3i(0, 1, 0)));
+        assertFalse(culler.isVisible(new Vector3i(-1, 2, -1)));
+    }
+
+    private void setLayer(int y, ChunkVisibility visibility) {
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                culler.setVisibility(new Vector3i(x, y, z), visibility);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.rendering.world;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.math.Side;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkVisibilityTest {
+    private static final int SIZE_X = 8;
+    private static final int SIZE_Y = 16;
+    private static final int SIZE_Z = 8;
+
+    private final ChunkVisibility.Builder builder = new ChunkVisibility.Builder(SIZE_X, SIZE_Y, SIZE_Z);
+
+    @Test
+    public void testEmptyChunkConnectsAllFaces() {
+        assertEquals(ChunkVisibility.ALL_CONNECTED, builder.build());
+    }
+
+    @Test
+    public void testHorizontalLayerSeparatesTopFromBottom() {
+        for (int x = 0; x < SIZE_X; x++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                builder.setOccluding(x, SIZE_Y / 2, z);
+            }
+        }
+        ChunkVisibility visibility = builder.build();
+
+        assertFalse(visibility.isConnected(Side.TOP, Side.BOTTOM));
+        assertFalse(visibility.isConnected(Side.BOTTOM, Side.TOP));
+        assertTrue(visibility.isConnected(Side.TOP, Side.LEFT));
+        assertTrue(visibility.isConnected(Side.BOTTOM, Side.RIGHT));
+        assertTrue(visibility.isConnected(Side.FRONT, Side.BACK));
+        assertFalse(visibility.isOpaque());
+    }
+
+    @Test
+    public void testTunnelConnectsOnlyItsEnds() {
+        for (int x = 0; x < SIZE_X; x++) {
+            for (int y = 0; y < SIZE_Y; y++) {
+                for (int z = 0; z < SIZE_Z; z++) {
+                    if (x != SIZE_X / 2 || y != SIZE_Y / 2) {
+                        builder.setOccluding(x, y, z);
+                    }
+                }
+            }
+        }
+        ChunkVisibility visibility = builder.build();
+
+        assertTrue(visibility.isConnected(Side.FRONT, Side.BACK));
+        assertFalse(visibility.isConnected(Side.FRONT, Side.TOP));
+        assertFalse(visibility.isConnected(Side.LEFT, Side.RIGHT));
+    }
+
+    @Test
+    public void testSolidChunkIsOpaque() {
+        for (int x = 0; x < SIZE_X; x++) {
+            for (int y = 0; y < SIZE_Y; y++) {
+                for (int z = 0; z < SIZE_Z; z++) {
+                    builder.setOccluding(x, y, z);
+                }
+            }
+        }
+        assertTrue(builder.build().isOpaque());
+    }
+
+    @Test
+    public void testBuilderResetsAfterBuild() {
+        builder.setOccluding(0, 0, 0);
+        builder.build();
+        assertEquals(ChunkVisibility.ALL_CONNECTED, builder.build());
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.collection;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityRefMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        EntityRefMap<String> map = new EntityRefMap<>();
+        EntityRef entity = entity(5);
+
+        assertNull(map.put(entity, "a"));
+        assertEquals("a", map.get(entity));
+        assertEquals("a", map.put(entity, "b"));
+        assertEquals(1, map.size());
+        assertEquals("b", map.remove(entity));
+        assertNull(map.get(entity));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testReferencesWithTheSameIdAreTheSameKey() {
+        EntityRefMap<String> map = new EntityRefMap<>();
+        EntityRef entity = entity(7);
+        map.put(entity, "a");
+
+        EntityRef other = entity(7);
+        when(other.exists()).thenReturn(false);
+
+        assertTrue(map.containsKey(other));
+        assertEquals("a", map.put(other, "b"));
+        assertSame(entity, map.keys().iterator().next());
+        assertEquals("b", map.remove(other));
+    }
+
+    @Test
+    public void testManyEntriesWithRemovals() {
+        EntityRefMap<Integer> map = new EntityRefMap<>();
+        List<EntityRef> entities = Lists.newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            // ids that are multiples of a large power of two, to provoke collisions
+            EntityRef entity = entity(i * 4096L);
+            entities.add(entity);
+            map.put(entity, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals((Integer) i, map.remove(entities.get(i)));
+        }
+
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : (Integer) i, map.get(entities.get(i)));
+        }
+        Set<Integer> values = Sets.newHashSet(map.values());
+        assertEquals(500, values.size());
+        map.forEach((entity, value) -> assertSame(entities.get(value), entity));
+    }
+
+    @Test
+    public void testIteratorFailsOnModification() {
+        EntityRefMap<String> map = new EntityRefMap<>();
+        map.put(entity(1), "a");
+        map.put(entity(2), "b");
+
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (EntityRef entity : map.keys()) {
+                map.remove(entity);
+            }
+        });
+    }
+
+    @Test
+    public void testSet() {
+        EntityRefSet set = new EntityRefSet();
+        EntityRef entity = entity(3);
+
+        assertTrue(set.add(entity));
+        assertFalse(set.add(entity(3)));
+        assertTrue(set.contains(entity));
+        assertEquals(Lists.newArrayList(entity), Lists.newArrayList(set));
+        assertTrue(set.remove(entity(3)));
+        assertFalse(set.remove(entity));
+        assertTrue(set.isEmpty());
+    }
+
+    private static EntityRef entity(long id) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getId()).thenReturn(id);
+        when(entity.exists()).thenReturn(true);
+        return entity;
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.terasology.utilities.random.FastRandom;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DynamicPriorityBlockingQueueTest {
+
+    @Test
+    public void testTakesLowestScoreFirst() {
+        DynamicPriorityBlockingQueue<Integer> queue = new DynamicPriorityBlockingQueue<>((Integer value) -> value);
+        FastRandom random = new FastRandom(0L);
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(random.nextInt(100));
+        }
+
+        int previous = Integer.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            int value = queue.poll();
+            assertTrue(previous <= value);
+            previous = value;
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testComparator() {
+        DynamicPriorityBlockingQueue<String> queue = new DynamicPriorityBlockingQueue<>(Comparator.comparing(String::length));
+        queue.offer("ccc");
+        queue.offer("a");
+        queue.offer("bb");
+
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll());
+        assertEquals("bb", queue.poll());
+        assertEquals("ccc", queue.poll());
+    }
+
+    @Test
+    public void testReprioritize() {
+        int[] center = {0};
+        DynamicPriorityBlockingQueue<Integer> queue = new DynamicPriorityBlockingQueue<>((Integer value) -> Math.abs(value - center[0]));
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i * 10);
+        }
+        assertEquals((Integer) 0, queue.peek());
+
+        center[0] = 72;
+        // the cached scores are only updated by reprioritizing
+        assertEquals((Integer) 0, queue.peek());
+        queue.reprioritize();
+
+        List<Integer> order = Lists.newArrayList();
+        queue.drainTo(order, 3);
+        assertEquals(Lists.newArrayList(70, 80, 60), order);
+        assertEquals(7, queue.size());
+    }
+
+    @Test
+    public void testTakeBlocksUntilOffered() throws InterruptedException {
+        DynamicPriorityBlockingQueue<Integer> queue = new DynamicPriorityBlockingQueue<>((Integer value) -> value);
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> queue.offer(5));
+        producer.start();
+        assertEquals((Integer) 5, queue.take());
+        producer.join();
+    }
+}
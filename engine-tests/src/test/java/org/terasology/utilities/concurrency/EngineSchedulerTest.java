@@ -0,0 +1,127 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EngineSchedulerTest {
+
+    @Test
+    public void testRunsAllTasks() throws InterruptedException {
+        EngineScheduler scheduler = new EngineScheduler(4);
+        AtomicInteger count = new AtomicInteger();
+        SchedulerLane<Runnable> lane = scheduler.createLane("test", TaskClass.BACKGROUND, 2, new LinkedBlockingQueue<>(), Runnable::run);
+        for (int i = 0; i < 1000; i++) {
+            lane.offer(count::incrementAndGet);
+        }
+
+        assertTrue(lane.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(1000, count.get());
+    }
+
+    @Test
+    public void testLaneConcurrencyLimit() throws InterruptedException {
+        EngineScheduler scheduler = new EngineScheduler(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        SchedulerLane<Runnable> lane = scheduler.createLane("serial", TaskClass.IO, 1, new LinkedBlockingQueue<>(), Runnable::run);
+        List<Integer> order = Collections.synchronizedList(Lists.newArrayList());
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            lane.offer(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(index);
+                Uninterruptibles.sleepUninterruptibly(1, TimeUnit.MILLISECONDS);
+                running.decrementAndGet();
+            });
+        }
+
+        assertTrue(lane.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 50; i++) {
+            assertEquals((Integer) i, order.get(i));
+        }
+    }
+
+    @Test
+    public void testMoreUrgentClassRunsFirst() throws InterruptedException {
+        EngineScheduler scheduler = new EngineScheduler(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        List<TaskClass> order = Collections.synchronizedList(Lists.newArrayList());
+        SchedulerLane<Runnable> background = scheduler.createLane("background", TaskClass.BACKGROUND, 1, new LinkedBlockingQueue<>(), Runnable::run);
+        SchedulerLane<Runnable> generation = scheduler.createLane("generation", TaskClass.GENERATION, 1, new LinkedBlockingQueue<>(), Runnable::run);
+
+        // occupy the only worker, so that the other tasks queue up
+        background.offer(() -> Uninterruptibles.awaitUninterruptibly(blocker));
+        background.offer(() -> order.add(TaskClass.BACKGROUND));
+        generation.offer(() -> order.add(TaskClass.GENERATION));
+        blocker.countDown();
+
+        assertTrue(background.awaitIdle(10, TimeUnit.SECONDS));
+        assertTrue(generation.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(Lists.newArrayList(TaskClass.GENERATION, TaskClass.BACKGROUND), order);
+    }
+
+    @Test
+    public void testConcurrencyLimitsHaveMinimum() {
+        EngineScheduler scheduler = new EngineScheduler(4);
+
+        assertEquals(2, scheduler.getConcurrencyLimit(TaskClass.BACKGROUND));
+        assertEquals(2, scheduler.getConcurrencyLimit(TaskClass.IO));
+        assertEquals(3, scheduler.getConcurrencyLimit(TaskClass.GENERATION));
+        assertEquals(4, new EngineScheduler(16).getConcurrencyLimit(TaskClass.BACKGROUND));
+    }
+
+    @Test
+    public void testPausedLaneKeepsTasks() throws InterruptedException {
+        EngineScheduler scheduler = new EngineScheduler(2);
+        AtomicInteger count = new AtomicInteger();
+        SchedulerLane<Runnable> lane = scheduler.createLane("paused", TaskClass.BACKGROUND, 1, new LinkedBlockingQueue<>(), Runnable::run);
+        lane.pause();
+        lane.offer(count::incrementAndGet);
+
+        assertTrue(lane.awaitIdle(1, TimeUnit.SECONDS));
+        assertEquals(0, count.get());
+        assertFalse(lane.isIdle());
+
+        lane.resume();
+        assertTrue(lane.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testScheduledTaskMaster() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        TaskMaster<Task> taskMaster = TaskMaster.createFIFOTaskMaster("test", TaskClass.BACKGROUND, 2);
+        for (int i = 0; i < 100; i++) {
+            taskMaster.offer(new AbstractTask() {
+                @Override
+                public String getName() {
+                    return "count";
+                }
+
+                @Override
+                public void run() {
+                    count.incrementAndGet();
+                }
+            });
+        }
+        taskMaster.shutdown(new ShutdownTask(), true);
+
+        assertEquals(100, count.get());
+    }
+}
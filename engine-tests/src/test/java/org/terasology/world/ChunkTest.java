@@ -22,6 +22,7 @@
 import org.terasology.assets.management.AssetManager;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockManager;
@@ -33,16 +34,23 @@
 import org.terasology.world.block.shapes.BlockShape;
 import org.terasology.world.block.tiles.NullWorldAtlas;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkBlockIterator;
 import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.ChunkSnapshot;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkSerializer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ChunkTest extends TerasologyTestingEnvironment {
 
     private Chunk chunk;
     private BlockManagerImpl blockManager;
+    private ExtraBlockDataManager extraDataManager;
     private Block solid;
 
     @BeforeEach
@@ -52,7 +60,7 @@ public void setup() throws Exception {
         blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager);
         CoreRegistry.put(BlockManager.class, blockManager);
 
-        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        extraDataManager = new ExtraBlockDataManager();
 
         chunk = new ChunkImpl(new Vector3i(0, 0, 0), blockManager, extraDataManager);
 
@@ -71,6 +79,135 @@ public void testChangeBlock() {
         assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
     }
 
+    @Test
+    public void testEmptyChunksShareBlockDataUntilWritten() {
+        Chunk other = new ChunkImpl(new Vector3i(1, 0, 0), blockManager, extraDataManager);
+        long copied = ChunkMonitor.getSharedBlockDataCopiedCount();
+
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+
+        assertEquals(copied + 1, ChunkMonitor.getSharedBlockDataCopiedCount());
+        assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
+        assertEquals(BlockManager.AIR_ID, other.getBlock(new Vector3i(1, 2, 3)).getURI());
+        assertTrue(other.getEstimatedMemoryConsumptionInBytes() < chunk.getEstimatedMemoryConsumptionInBytes());
+    }
+
+    @Test
+    public void testWritingUniformValueKeepsBlockDataShared() {
+        long copied = ChunkMonitor.getSharedBlockDataCopiedCount();
+        Block air = blockManager.getBlock(BlockManager.AIR_ID);
+
+        assertEquals(air, chunk.setBlock(new Vector3i(1, 2, 3), air));
+
+        assertEquals(copied, ChunkMonitor.getSharedBlockDataCopiedCount());
+        assertEquals(air, chunk.getBlock(new Vector3i(1, 2, 3)));
+    }
+
+    @Test
+    public void testDecodedUniformChunkIsWritable() {
+        long shared = ChunkMonitor.getSharedBlockDataCount();
+        Chunk decoded = ChunkSerializer.decode(((ChunkImpl) chunk).encode().build(), blockManager, extraDataManager);
+
+        assertEquals(shared + 1, ChunkMonitor.getSharedBlockDataCount());
+        decoded.setBlock(new Vector3i(4, 5, 6), solid);
+        assertEquals(solid, decoded.getBlock(new Vector3i(4, 5, 6)));
+        assertEquals(BlockManager.AIR_ID, decoded.getBlock(new Vector3i(6, 5, 4)).getURI());
+    }
+
+    @Test
+    public void testLifecycleBlocksAreIndexedWhenSet() {
+        solid.setLifecycleEventsRequired(true);
+        Chunk other = new ChunkImpl(new Vector3i(1, 0, 0), blockManager, extraDataManager);
+        other.setBlock(new Vector3i(1, 2, 3), solid);
+        other.setBlock(new Vector3i(4, 5, 6), solid);
+        other.setBlock(new Vector3i(1, 2, 3), blockManager.getBlock(BlockManager.AIR_ID));
+
+        ChunkBlockIterator i = other.getLifecycleBlockIterator();
+        assertTrue(i.next());
+        assertEquals(solid, i.getBlock());
+        assertEquals(new Vector3i(ChunkConstants.SIZE_X + 4, 5, 6), i.getBlockPos());
+        assertFalse(i.next());
+    }
+
+    @Test
+    public void testLifecycleBlocksAreIndexedWhenDecoded() {
+        solid.setLifecycleEventsRequired(true);
+        chunk.setBlock(new Vector3i(7, 8, 9), solid);
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        Chunk decoded = ChunkSerializer.decode(((ChunkImpl) chunk).encode().build(), blockManager, extraDataManager);
+
+        ChunkBlockIterator i = decoded.getLifecycleBlockIterator();
+        assertTrue(i.next());
+        assertEquals(new Vector3i(1, 2, 3), i.getBlockPos());
+        assertTrue(i.next());
+        assertEquals(new Vector3i(7, 8, 9), i.getBlockPos());
+        assertFalse(i.next());
+    }
+
+    @Test
+    public void testSnapshotKeepsStateOfAllArrays() {
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        chunk.setLight(new Vector3i(1, 2, 3), (byte) 5);
+        ChunkSnapshot snapshot = chunk.createSnapshot();
+
+        chunk.setBlock(new Vector3i(1, 2, 3), blockManager.getBlock(BlockManager.AIR_ID));
+        chunk.setLight(new Vector3i(1, 2, 3), (byte) 7);
+        chunk.setSunlight(new Vector3i(1, 2, 3), (byte) 3);
+
+        assertEquals(solid, snapshot.getBlock(1, 2, 3));
+        assertEquals(5, snapshot.getLight(1, 2, 3));
+        assertEquals(0, snapshot.getSunlight(1, 2, 3));
+        assertEquals(BlockManager.AIR_ID, chunk.getBlock(new Vector3i(1, 2, 3)).getURI());
+        assertEquals(7, chunk.getLight(new Vector3i(1, 2, 3)));
+        snapshot.release();
+    }
+
+    @Test
+    public void testSnapshotArraysAreCopiedOnceUntilReleased() {
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        ChunkSnapshot snapshot = chunk.createSnapshot();
+        long copied = ChunkMonitor.getSnapshotArrayCopiedCount();
+
+        chunk.setLight(new Vector3i(1, 2, 3), (byte) 1);
+        chunk.setLight(new Vector3i(4, 5, 6), (byte) 2);
+        chunk.setBlock(new Vector3i(4, 5, 6), solid);
+        assertEquals(copied + 2, ChunkMonitor.getSnapshotArrayCopiedCount());
+
+        snapshot.release();
+        snapshot.release();
+        chunk.setSunlight(new Vector3i(1, 2, 3), (byte) 1);
+        assertEquals(copied + 2, ChunkMonitor.getSnapshotArrayCopiedCount());
+    }
+
+    @Test
+    public void testSnapshotVersionChangesOnWrite() {
+        ChunkSnapshot first = chunk.createSnapshot();
+        ChunkSnapshot unchanged = chunk.createSnapshot();
+        chunk.setSunlightRegen(new Vector3i(1, 2, 3), (byte) 1);
+        ChunkSnapshot changed = chunk.createSnapshot();
+
+        assertEquals(first.getVersion(), unchanged.getVersion());
+        assertNotEquals(first.getVersion(), changed.getVersion());
+        assertEquals(0, first.getSunlightRegen(1, 2, 3));
+        assertEquals(1, changed.getSunlightRegen(1, 2, 3));
+        first.release();
+        unchanged.release();
+        changed.release();
+    }
+
+    @Test
+    public void testSnapshotEncodesStateAtCreation() {
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        ChunkSnapshot snapshot = chunk.createSnapshot();
+        chunk.setBlock(new Vector3i(4, 5, 6), solid);
+
+        Chunk decoded = ChunkSerializer.decode(snapshot.encode().build(), blockManager, extraDataManager);
+        snapshot.release();
+
+        assertEquals(solid, decoded.getBlock(new Vector3i(1, 2, 3)));
+        assertEquals(BlockManager.AIR_ID, decoded.getBlock(new Vector3i(4, 5, 6)).getURI());
+    }
+
     @Test
     public void testGetAabb() {
         assertEquals(new Vector3f(0, 0, 0), chunk.getAABB().getMin());
@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.world.chunks.localChunkProvider;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -17,6 +18,7 @@
 import org.terasology.fixtures.TestWorldGenerator;
 import org.terasology.math.JomlUtil;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.block.BeforeDeactivateBlocks;
 import org.terasology.world.block.Block;
@@ -33,6 +35,7 @@
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
@@ -42,6 +45,9 @@
 
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class LocalChunkProviderTest {
@@ -71,7 +77,7 @@ public void setUp() {
         blockEntityRegistry = mock(BlockEntityRegistry.class);
         worldEntity = mock(EntityRef.class);
         chunkCache = Maps.newConcurrentMap();
-        storageManager = new TestStorageManager();
+        storageManager = spy(new TestStorageManager());
         generator = new TestWorldGenerator(blockManager);
         chunkProvider = new LocalChunkProvider(storageManager,
                 entityManager,
@@ -197,6 +203,56 @@ void testLoadSingleChunk() throws InterruptedException, ExecutionException, Time
                 "Chunk position at event not expected");
     }
 
+    @Test
+    void testEntitiesAreRestoredFromPipelineStore() throws InterruptedException, ExecutionException, TimeoutException {
+        Vector3i chunkPosition = new Vector3i(0, 0, 0);
+        Chunk chunk = new ChunkImpl(chunkPosition, blockManager, extraDataManager);
+        generator.createChunk(chunk, null);
+        storageManager.add(chunk);
+        TestChunkStore chunkStore = (TestChunkStore) storageManager.loadChunkStore(chunkPosition);
+
+        requestCreatingOrLoadingArea(chunkPosition).get(WAIT_CHUNK_IS_READY_IN_SECONDS, TimeUnit.SECONDS);
+        chunkProvider.update();
+
+        // Once by the test itself, and once by the loading pipeline
+        verify(storageManager, times(2)).loadChunkStore(chunkPosition);
+        Assertions.assertTrue(chunkStore.isEntityRestored(), "Entities must be restored by loading");
+    }
+
+    @Test
+    void testActivationIsLimitedPerFrame() throws InterruptedException, ExecutionException, TimeoutException {
+        chunkProvider.setActivationBudget(0, 5);
+        // Only the inner chunks get ready, as the outer ones lack the neighbours to merge light with
+        List<Future<Chunk>> innerChunks = Lists.newArrayList();
+        new BlockRegion(-2, -2, -2, 2, 2, 2).iterator().forEachRemaining(pos -> {
+            Future<Chunk> future = chunkProvider.createOrLoadChunk(JomlUtil.from(pos));
+            if (Math.abs(pos.x) <= 1 && Math.abs(pos.y) <= 1 && Math.abs(pos.z) <= 1) {
+                innerChunks.add(future);
+            }
+        });
+        for (Future<Chunk> future : innerChunks) {
+            future.get(WAIT_CHUNK_IS_READY_IN_SECONDS, TimeUnit.SECONDS);
+        }
+
+        chunkProvider.update();
+        Assertions.assertEquals(5, countLoadedChunkEvents(), "Only the budgeted chunks must be activated");
+        Assertions.assertEquals(22, ChunkMonitor.getChunksAwaitingActivation(),
+                "Chunks over the budget must be reported as awaiting activation");
+
+        for (int frame = 0; frame < 10; frame++) {
+            chunkProvider.update();
+        }
+        Assertions.assertEquals(27, countLoadedChunkEvents(), "Awaiting chunks must be activated in later frames");
+        Assertions.assertEquals(0, ChunkMonitor.getChunksAwaitingActivation());
+    }
+
+    private long countLoadedChunkEvents() {
+        return mockingDetails(worldEntity).getInvocations().stream()
+                .filter(invocation -> invocation.getArguments().length > 0
+                        && invocation.getArguments()[0] instanceof OnChunkLoaded)
+                .count();
+    }
+
     @Test
     void testLoadSingleChunkWithBlockLifecycle() throws InterruptedException, ExecutionException, TimeoutException {
         Vector3i chunkPosition = new Vector3i(0, 0, 0);
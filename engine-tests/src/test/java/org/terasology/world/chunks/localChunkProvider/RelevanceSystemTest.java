@@ -0,0 +1,97 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks.localChunkProvider;
+
+import com.google.common.collect.Sets;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelevanceSystemTest {
+    private static final Vector3ic DISTANCE = new Vector3i(4, 4, 4);
+
+    private RelevanceSystem relevanceSystem;
+    private EntityRef player;
+    private LocationComponent location;
+
+    @BeforeEach
+    void setUp() {
+        relevanceSystem = new RelevanceSystem(mock(LocalChunkProvider.class));
+        location = new LocationComponent(new Vector3f());
+        player = mock(EntityRef.class);
+        when(player.exists()).thenReturn(true);
+        when(player.hasComponent(LocationComponent.class)).thenReturn(true);
+        when(player.getComponent(LocationComponent.class)).thenReturn(location);
+    }
+
+    @Test
+    void testRegionKeepsChunksWithLeeway() {
+        relevanceSystem.addRelevanceEntity(player, DISTANCE, null);
+
+        Assertions.assertTrue(relevanceSystem.isChunkInRegions(new Vector3i(2, 0, 0)));
+        Assertions.assertTrue(relevanceSystem.isChunkInRegions(new Vector3i(3, -3, 3)), "Leeway must be kept");
+        Assertions.assertFalse(relevanceSystem.isChunkInRegions(new Vector3i(4, 0, 0)));
+        Assertions.assertNull(relevanceSystem.pollUnloadCandidate());
+    }
+
+    @Test
+    void testMovedRegionQueuesOnlyLeftChunks() {
+        relevanceSystem.addRelevanceEntity(player, DISTANCE, null);
+
+        location.setLocalPosition(new Vector3f(ChunkConstants.SIZE_X, 0, 0));
+        relevanceSystem.update(0);
+
+        Set<Vector3ic> left = Sets.newHashSet();
+        Vector3ic pos;
+        while ((pos = relevanceSystem.pollUnloadCandidate()) != null) {
+            left.add(new Vector3i(pos));
+        }
+        Assertions.assertEquals(7 * 7, left.size(), "Only the slice left behind must be queued");
+        Assertions.assertTrue(left.contains(new Vector3i(-3, 0, 0)));
+        Assertions.assertFalse(relevanceSystem.isChunkInRegions(new Vector3i(-3, 0, 0)));
+        Assertions.assertTrue(relevanceSystem.isChunkInRegions(new Vector3i(4, 0, 0)));
+    }
+
+    @Test
+    void testOverlappingRegionsKeepSharedChunks() {
+        EntityRef other = mock(EntityRef.class);
+        LocationComponent otherLocation = new LocationComponent(new Vector3f(ChunkConstants.SIZE_X * 4, 0, 0));
+        when(other.exists()).thenReturn(true);
+        when(other.hasComponent(LocationComponent.class)).thenReturn(true);
+        when(other.getComponent(LocationComponent.class)).thenReturn(otherLocation);
+        relevanceSystem.addRelevanceEntity(player, DISTANCE, null);
+        relevanceSystem.addRelevanceEntity(other, DISTANCE, null);
+
+        relevanceSystem.removeRelevanceEntity(player);
+
+        Assertions.assertTrue(relevanceSystem.isChunkInRegions(new Vector3i(1, 0, 0)), "Shared chunk must be kept");
+        Assertions.assertFalse(relevanceSystem.isChunkInRegions(new Vector3i(0, 0, 0)));
+        Vector3ic pos;
+        while ((pos = relevanceSystem.pollUnloadCandidate()) != null) {
+            Assertions.assertTrue(pos.x() < 1, "Chunks kept by the other region must not be queued");
+        }
+    }
+
+    @Test
+    void testChunksOutsideRegionsAreQueuedOnRequest() {
+        relevanceSystem.addRelevanceEntity(player, DISTANCE, null);
+
+        relevanceSystem.queueUnloadIfIrrelevant(new Vector3i(0, 0, 0));
+        relevanceSystem.queueUnloadIfIrrelevant(new Vector3i(10, 0, 0));
+
+        Assertions.assertEquals(new Vector3i(10, 0, 0), relevanceSystem.pollUnloadCandidate());
+        Assertions.assertNull(relevanceSystem.pollUnloadCandidate());
+    }
+}
@@ -0,0 +1,184 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.behavior;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.logic.behavior.CompiledBehaviorTree;
+import org.terasology.logic.behavior.CompiledBehaviorTreeRunner;
+import org.terasology.logic.behavior.DefaultBehaviorTreeRunner;
+import org.terasology.logic.behavior.core.ActionNode;
+import org.terasology.logic.behavior.core.Actor;
+import org.terasology.logic.behavior.core.BaseAction;
+import org.terasology.logic.behavior.core.BehaviorNode;
+import org.terasology.logic.behavior.core.BehaviorState;
+import org.terasology.logic.behavior.core.BehaviorTreeRunner;
+import org.terasology.logic.behavior.core.DecoratorNode;
+import org.terasology.logic.behavior.core.DynamicSelectorNode;
+import org.terasology.logic.behavior.core.FailureNode;
+import org.terasology.logic.behavior.core.ParallelNode;
+import org.terasology.logic.behavior.core.SelectorNode;
+import org.terasology.logic.behavior.core.SequenceNode;
+import org.terasology.logic.behavior.core.SuccessNode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link DefaultBehaviorTreeRunner}, which copies the nodes of a tree for every actor, with the
+ * {@link CompiledBehaviorTreeRunner}, which shares one {@link CompiledBehaviorTree}, for many actors running the same
+ * creature-like tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class BehaviorTreeBenchmark {
+
+    @Benchmark
+    public int stepDefaultRunners(ActorState state) {
+        return step(state.defaultRunners);
+    }
+
+    @Benchmark
+    public int stepCompiledRunners(ActorState state) {
+        return step(state.compiledRunners);
+    }
+
+    @Benchmark
+    public BehaviorTreeRunner[] createDefaultRunners(ActorState state) {
+        BehaviorTreeRunner[] runners = new BehaviorTreeRunner[state.actors.length];
+        for (int i = 0; i < runners.length; i++) {
+            runners[i] = new DefaultBehaviorTreeRunner(state.root, state.actors[i]);
+        }
+        return runners;
+    }
+
+    @Benchmark
+    public BehaviorTreeRunner[] createCompiledRunners(ActorState state) {
+        BehaviorTreeRunner[] runners = new BehaviorTreeRunner[state.actors.length];
+        for (int i = 0; i < runners.length; i++) {
+            runners[i] = new CompiledBehaviorTreeRunner(state.compiledTree, state.actors[i]);
+        }
+        return runners;
+    }
+
+    private static int step(BehaviorTreeRunner[] runners) {
+        int running = 0;
+        for (BehaviorTreeRunner runner : runners) {
+            if (runner.step() == BehaviorState.RUNNING) {
+                running++;
+            }
+        }
+        return running;
+    }
+
+    /**
+     * A tree shaped like typical creature behaviors: a dynamic selector over a few guarded sequences, with decorated
+     * timers and a parallel node.
+     */
+    private static BehaviorNode createTree() {
+        BehaviorNode flee = sequence(new ActionNode(new CounterAction(7, BehaviorState.FAILURE)),
+                new ActionNode(new CounterAction(2, BehaviorState.SUCCESS)));
+        BehaviorNode attack = sequence(new ActionNode(new CounterAction(5, BehaviorState.FAILURE)),
+                decorate(new CounterAction(3, BehaviorState.SUCCESS), new ActionNode(new CounterAction(2, BehaviorState.SUCCESS))),
+                new SuccessNode());
+        BehaviorNode wander = new ParallelNode();
+        wander.insertChild(0, new ActionNode(new CounterAction(4, BehaviorState.SUCCESS)));
+        wander.insertChild(1, new ActionNode(new CounterAction(6, BehaviorState.SUCCESS)));
+        BehaviorNode idle = new SelectorNode();
+        idle.insertChild(0, new FailureNode());
+        idle.insertChild(1, decorate(new CounterAction(1, BehaviorState.SUCCESS), new SuccessNode()));
+
+        BehaviorNode root = new DynamicSelectorNode();
+        root.insertChild(0, flee);
+        root.insertChild(1, attack);
+        root.insertChild(2, wander);
+        root.insertChild(3, idle);
+        return root;
+    }
+
+    private static BehaviorNode sequence(BehaviorNode... children) {
+        BehaviorNode sequence = new SequenceNode();
+        for (int i = 0; i < children.length; i++) {
+            sequence.insertChild(i, children[i]);
+        }
+        return sequence;
+    }
+
+    private static BehaviorNode decorate(CounterAction action, BehaviorNode child) {
+        DecoratorNode decorator = new DecoratorNode(action);
+        decorator.insertChild(0, child);
+        return decorator;
+    }
+
+    @State(Scope.Thread)
+    public static class ActorState {
+        @Param({"10000"})
+        private int actorCount;
+
+        private BehaviorNode root;
+        private CompiledBehaviorTree compiledTree;
+        private Actor[] actors;
+        private BehaviorTreeRunner[] defaultRunners;
+        private BehaviorTreeRunner[] compiledRunners;
+
+        @Setup
+        public void setup() {
+            root = createTree();
+            compiledTree = CompiledBehaviorTree.compile(root);
+            actors = new Actor[actorCount];
+            defaultRunners = new BehaviorTreeRunner[actorCount];
+            compiledRunners = new BehaviorTreeRunner[actorCount];
+            for (int i = 0; i < actorCount; i++) {
+                actors[i] = new Actor(null);
+                defaultRunners[i] = new DefaultBehaviorTreeRunner(root, new Actor(null));
+                compiledRunners[i] = new CompiledBehaviorTreeRunner(compiledTree, new Actor(null));
+            }
+        }
+    }
+
+    /**
+     * Keeps running for a number of ticks and then finishes with the given state. Like real actions, the state of each
+     * actor is kept at the actor.
+     */
+    private static class CounterAction extends BaseAction {
+        private static int nextId;
+
+        private final int ticks;
+        private final BehaviorState finalState;
+
+        CounterAction(int ticks, BehaviorState finalState) {
+            this.ticks = ticks;
+            this.finalState = finalState;
+            setId(nextId++);
+        }
+
+        @Override
+        public String getName() {
+            return "counter";
+        }
+
+        @Override
+        public void construct(Actor actor) {
+            actor.setValue(getId(), 0);
+        }
+
+        @Override
+        public BehaviorState modify(Actor actor, BehaviorState result) {
+            int count = actor.getValue(getId());
+            actor.setValue(getId(), count + 1);
+            return count < ticks ? BehaviorState.RUNNING : finalState;
+        }
+    }
+}
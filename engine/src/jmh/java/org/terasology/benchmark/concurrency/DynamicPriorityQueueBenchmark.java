@@ -0,0 +1,133 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.concurrency;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.utilities.concurrency.DynamicPriorityBlockingQueue;
+import org.terasology.utilities.random.FastRandom;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compares the heap based {@link DynamicPriorityBlockingQueue} with the linked list it replaced, with as many threads
+ * as there are chunk updaters each taking the closest chunk and queueing it again.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class DynamicPriorityQueueBenchmark {
+    private static final int CHUNK_UPDATER_THREADS = 8;
+
+    @Benchmark
+    @Threads(CHUNK_UPDATER_THREADS)
+    public Vector3i takeAndRequeueLinkedList(QueueState state) {
+        Vector3i task = state.linkedListQueue.poll();
+        state.linkedListQueue.offer(task);
+        return task;
+    }
+
+    @Benchmark
+    @Threads(CHUNK_UPDATER_THREADS)
+    public Vector3i takeAndRequeueHeap(QueueState state) {
+        Vector3i task = state.heapQueue.poll();
+        state.heapQueue.offer(task);
+        return task;
+    }
+
+    @Benchmark
+    public int reprioritizeHeap(QueueState state) {
+        state.camera.x++;
+        state.heapQueue.reprioritize();
+        return state.heapQueue.size();
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueueState {
+        @Param({"1000", "5000"})
+        private int taskCount;
+
+        private final Vector3i camera = new Vector3i();
+        private LinkedListPriorityQueue<Vector3i> linkedListQueue;
+        private DynamicPriorityBlockingQueue<Vector3i> heapQueue;
+
+        @Setup
+        public void setup() {
+            // like the old comparator, compares by distance to the camera and allocates on every comparison
+            linkedListQueue = new LinkedListPriorityQueue<>((a, b) ->
+                    (int) (new Vector3i(a).gridDistance(camera) - new Vector3i(b).gridDistance(camera)));
+            heapQueue = new DynamicPriorityBlockingQueue<>((Vector3i pos) ->
+                    Math.abs(pos.x - camera.x) + Math.abs(pos.y - camera.y) + Math.abs(pos.z - camera.z));
+            FastRandom random = new FastRandom(0L);
+            for (int i = 0; i < taskCount; i++) {
+                Vector3i pos = new Vector3i(random.nextInt(-16, 16), random.nextInt(-4, 4), random.nextInt(-16, 16));
+                linkedListQueue.offer(pos);
+                heapQueue.offer(pos);
+            }
+        }
+    }
+
+    /**
+     * The previous implementation of the dynamic priority queue: a linked list that is scanned for the smallest
+     * element on every poll. Only the operations used by the benchmark are kept.
+     */
+    private static class LinkedListPriorityQueue<T> {
+        private final Comparator<T> comparator;
+        private final List<T> elements = Lists.newLinkedList();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        LinkedListPriorityQueue(Comparator<T> comparator) {
+            this.comparator = comparator;
+        }
+
+        public boolean offer(T t) {
+            lock.lock();
+            try {
+                elements.add(t);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public T poll() {
+            lock.lock();
+            try {
+                if (elements.size() == 0) {
+                    return null;
+                }
+                T smallest = elements.remove(0);
+                ListIterator<T> iterator = elements.listIterator();
+                while (iterator.hasNext()) {
+                    T next = iterator.next();
+                    if (comparator.compare(smallest, next) > 0) {
+                        iterator.set(smallest);
+                        smallest = next;
+                    }
+                }
+                return smallest;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
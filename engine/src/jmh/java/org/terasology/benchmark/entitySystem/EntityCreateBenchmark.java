@@ -14,10 +14,17 @@
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.assets.ResourceUrn;
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityBuilder;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.prefab.internal.PrefabTemplate;
 import org.terasology.logic.location.LocationComponent;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
 import org.terasology.rendering.logic.MeshComponent;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.world.block.BlockComponent;
@@ -36,6 +43,22 @@ public EntityRef createEntity(StateObject state) {
         return state.entityManager.create(state.entityData);
     }
 
+    @Benchmark
+    public EntityRef createFromPrefabComponentsCopied(PrefabState state) {
+        EntityBuilder builder = state.entityManager.newBuilder();
+        for (Component component : state.prefabComponents) {
+            builder.addComponent(state.componentLibrary.copy(component));
+        }
+        return builder.buildWithoutLifecycleEvents();
+    }
+
+    @Benchmark
+    public EntityRef createFromPrefabTemplate(PrefabState state) {
+        EntityBuilder builder = state.entityManager.newBuilder();
+        state.template.instantiate(builder);
+        return builder.buildWithoutLifecycleEvents();
+    }
+
     @State(Scope.Thread)
     public static class StateObject {
 
@@ -58,4 +81,44 @@ public void setup() {
             }
         }
     }
+
+    @State(Scope.Thread)
+    public static class PrefabState {
+
+        private List<Component> prefabComponents;
+        private ComponentLibrary componentLibrary;
+        private PrefabTemplate template;
+        private PojoEntityManager entityManager;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            ReflectFactory reflectFactory = new ReflectionReflectFactory();
+            componentLibrary = new ComponentLibrary(null, reflectFactory, new CopyStrategyLibrary(reflectFactory));
+            componentLibrary.register(new ResourceUrn("benchmark", "location"), LocationComponent.class);
+            componentLibrary.register(new ResourceUrn("benchmark", "mesh"), MeshComponent.class);
+            componentLibrary.register(new ResourceUrn("benchmark", "stats"), StatsComponent.class);
+            componentLibrary.register(new ResourceUrn("benchmark", "marker"), MarkerComponent.class);
+            entityManager = new PojoEntityManager();
+            entityManager.setComponentLibrary(componentLibrary);
+
+            StatsComponent stats = new StatsComponent();
+            stats.name = "prefab";
+            stats.health = 20;
+            stats.tags = Lists.newArrayList("a", "b");
+            prefabComponents = Lists.newArrayList(new LocationComponent(), new MeshComponent(), stats,
+                    new MarkerComponent());
+            template = PrefabTemplate.compile(prefabComponents, componentLibrary);
+        }
+    }
+
+    public static final class StatsComponent implements Component {
+        public String name;
+        public int health;
+        public float speed = 1;
+        public boolean hostile;
+        public List<String> tags = Lists.newArrayList();
+    }
+
+    public static final class MarkerComponent implements Component {
+    }
 }
@@ -0,0 +1,129 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.entitySystem;
+
+import com.google.common.collect.Maps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.utilities.collection.EntityRefMap;
+import org.terasology.utilities.random.FastRandom;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a {@code HashMap<EntityRef, V>} with an {@link EntityRefMap} for the per tick lookups done by the physics
+ * and network systems: looking up every entity in random order, and replacing a part of the entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class EntityRefMapBenchmark {
+
+    @Benchmark
+    public int lookupHashMap(MapState state) {
+        int found = 0;
+        for (EntityRef entity : state.lookupOrder) {
+            if (state.hashMap.get(entity) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lookupEntityRefMap(MapState state) {
+        int found = 0;
+        for (EntityRef entity : state.lookupOrder) {
+            if (state.entityRefMap.get(entity) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int churnHashMap(MapState state) {
+        for (int i = 0; i < state.lookupOrder.length; i += 8) {
+            EntityRef entity = state.lookupOrder[i];
+            Object value = state.hashMap.remove(entity);
+            state.hashMap.put(entity, value);
+        }
+        return state.hashMap.size();
+    }
+
+    @Benchmark
+    public int churnEntityRefMap(MapState state) {
+        for (int i = 0; i < state.lookupOrder.length; i += 8) {
+            EntityRef entity = state.lookupOrder[i];
+            Object value = state.entityRefMap.remove(entity);
+            state.entityRefMap.put(entity, value);
+        }
+        return state.entityRefMap.size();
+    }
+
+    @Benchmark
+    public int iterateHashMap(MapState state) {
+        int count = 0;
+        for (Map.Entry<EntityRef, Object> entry : state.hashMap.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int iterateEntityRefMap(MapState state) {
+        int count = 0;
+        for (EntityRefMap.EntryIterator<Object> it = state.entityRefMap.iterator(); it.hasNext(); ) {
+            it.advance();
+            if (it.key() != null && it.value() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @State(Scope.Thread)
+    public static class MapState {
+        @Param({"1000", "10000"})
+        private int entityCount;
+
+        private final Map<EntityRef, Object> hashMap = Maps.newHashMap();
+        private final EntityRefMap<Object> entityRefMap = new EntityRefMap<>();
+        private EntityRef[] lookupOrder;
+
+        @Setup
+        public void setup() {
+            PojoEntityManager entityManager = new PojoEntityManager();
+            lookupOrder = new EntityRef[entityCount];
+            for (int i = 0; i < entityCount; i++) {
+                EntityRef entity = entityManager.create();
+                Object value = new Object();
+                hashMap.put(entity, value);
+                entityRefMap.put(entity, value);
+                lookupOrder[i] = entity;
+            }
+            FastRandom random = new FastRandom(0L);
+            for (int i = entityCount - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                EntityRef swap = lookupOrder[i];
+                lookupOrder[i] = lookupOrder[j];
+                lookupOrder[j] = swap;
+            }
+        }
+    }
+}
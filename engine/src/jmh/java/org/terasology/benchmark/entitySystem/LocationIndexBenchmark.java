@@ -0,0 +1,113 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.entitySystem;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.logic.location.LocationGrid;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.chunks.Chunks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up entities by location in a {@link LocationGrid} with iterating over all located entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class LocationIndexBenchmark {
+    private static final int ENTITY_COUNT = 100_000;
+    private static final float WORLD_SIZE = 2048;
+    private static final float RADIUS = 32;
+
+    @Benchmark
+    public List<EntityRef> radiusByScan(StateObject state) {
+        List<EntityRef> result = new ArrayList<>();
+        Vector3f position = new Vector3f();
+        float radiusSquared = RADIUS * RADIUS;
+        for (EntityRef entity : state.entityManager.getEntitiesWith(LocationComponent.class)) {
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            if (location.getWorldPosition(position).distanceSquared(state.center) <= radiusSquared) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<EntityRef> radiusByGrid(StateObject state) {
+        return state.grid.getEntitiesInRadius(state.center, RADIUS);
+    }
+
+    @Benchmark
+    public List<EntityRef> chunkByScan(StateObject state) {
+        List<EntityRef> result = new ArrayList<>();
+        Vector3f position = new Vector3f();
+        Vector3i chunkPos = new Vector3i();
+        for (EntityRef entity : state.entityManager.getEntitiesWith(LocationComponent.class)) {
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            if (Chunks.toChunkPos(location.getWorldPosition(position), chunkPos).equals(state.chunkPos)) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<EntityRef> chunkByGrid(StateObject state) {
+        return state.grid.getEntitiesInChunk(state.chunkPos);
+    }
+
+    @State(Scope.Thread)
+    public static class StateObject {
+
+        private PojoEntityManager entityManager;
+        private LocationGrid grid;
+        private final Vector3f center = new Vector3f();
+        private final Vector3i chunkPos = new Vector3i();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            ReflectFactory reflectFactory = new ReflectionReflectFactory();
+            ComponentLibrary componentLibrary =
+                    new ComponentLibrary(null, reflectFactory, new CopyStrategyLibrary(reflectFactory));
+            componentLibrary.register(new ResourceUrn("benchmark", "location"), LocationComponent.class);
+            entityManager = new PojoEntityManager();
+            entityManager.setComponentLibrary(componentLibrary);
+            grid = new LocationGrid();
+
+            FastRandom rand = new FastRandom(0L);
+            for (int i = 0; i < ENTITY_COUNT; i++) {
+                Vector3f position = new Vector3f(rand.nextFloat() * WORLD_SIZE, rand.nextFloat() * 256,
+                        rand.nextFloat() * WORLD_SIZE);
+                EntityRef entity = entityManager.create(new LocationComponent(position));
+                grid.update(entity, position);
+            }
+            center.set(WORLD_SIZE / 2, 128, WORLD_SIZE / 2);
+            Chunks.toChunkPos(center, chunkPos);
+        }
+    }
+}
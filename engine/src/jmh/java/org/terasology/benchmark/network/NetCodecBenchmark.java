@@ -0,0 +1,172 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.compression.JdkZlibDecoder;
+import io.netty.handler.codec.compression.JdkZlibEncoder;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.network.internal.codec.BinaryNetMessageDecoder;
+import org.terasology.network.internal.codec.BinaryNetMessageEncoder;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the protobuf and the binary codec of server to client messages, each behind the deflate stage of the
+ * server pipeline, over a session of a few seconds of typical traffic: moving entities, events and block changes.
+ * <p>
+ * The session is synthesized with a fixed seed, so that every run sends the same messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class NetCodecBenchmark {
+    private static final int TICKS = 200;
+    private static final int ENTITIES = 50;
+
+    @Benchmark
+    public long encodeSession(SessionState state) {
+        EmbeddedChannel channel = state.newServerChannel();
+        long bytes = 0;
+        for (NetData.NetMessage message : state.session) {
+            channel.writeOutbound(message);
+            ByteBuf out;
+            while ((out = channel.readOutbound()) != null) {
+                bytes += out.readableBytes();
+                out.release();
+            }
+        }
+        channel.finishAndReleaseAll();
+        return bytes;
+    }
+
+    @Benchmark
+    public int decodeSession(SessionState state) {
+        EmbeddedChannel channel = state.newClientChannel();
+        int messages = 0;
+        for (byte[] frame : state.encodedSession) {
+            channel.writeInbound(channel.alloc().buffer(frame.length).writeBytes(frame));
+            while (channel.readInbound() != null) {
+                messages++;
+            }
+        }
+        channel.finishAndReleaseAll();
+        return messages;
+    }
+
+    @State(Scope.Thread)
+    public static class SessionState {
+        @Param({"protobuf", "binary"})
+        String codec;
+
+        @Param({"3", "6"})
+        int compressionLevel;
+
+        List<NetData.NetMessage> session;
+        List<byte[]> encodedSession;
+
+        @Setup
+        public void setup() {
+            session = recordSession();
+            encodedSession = Lists.newArrayList();
+            EmbeddedChannel channel = newServerChannel();
+            for (NetData.NetMessage message : session) {
+                channel.writeOutbound(message);
+                ByteBuf out;
+                while ((out = channel.readOutbound()) != null) {
+                    byte[] bytes = new byte[out.readableBytes()];
+                    out.readBytes(bytes);
+                    out.release();
+                    encodedSession.add(bytes);
+                }
+            }
+            channel.finishAndReleaseAll();
+        }
+
+        EmbeddedChannel newServerChannel() {
+            ChannelHandler encoder = "binary".equals(codec)
+                    ? new BinaryNetMessageEncoder()
+                    : new ProtobufVarint32LengthFieldPrepender();
+            EmbeddedChannel channel = new EmbeddedChannel(new LengthFieldPrepender(3),
+                    new JdkZlibEncoder(compressionLevel), encoder);
+            if (!"binary".equals(codec)) {
+                channel.pipeline().addLast(new ProtobufEncoder());
+            }
+            return channel;
+        }
+
+        EmbeddedChannel newClientChannel() {
+            ChannelHandler decoder = "binary".equals(codec)
+                    ? new BinaryNetMessageDecoder()
+                    : new ProtobufDecoder(NetData.NetMessage.getDefaultInstance());
+            return new EmbeddedChannel(new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3), new JdkZlibDecoder(),
+                    new ProtobufVarint32FrameDecoder(), decoder);
+        }
+    }
+
+    private static List<NetData.NetMessage> recordSession() {
+        Random random = new Random(42);
+        List<NetData.NetMessage> session = Lists.newArrayListWithCapacity(TICKS);
+        for (int tick = 0; tick < TICKS; tick++) {
+            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder().setTime(1000L + tick * 50L);
+            for (int netId = 1; netId <= ENTITIES; netId++) {
+                // Most entities only move a little each tick
+                if (random.nextInt(4) != 0) {
+                    message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder()
+                            .setNetId(netId)
+                            .setEntity(EntityData.PackedEntity.newBuilder()
+                                    .addComponentId(3)
+                                    .setComponentFieldCounts(ByteString.copyFrom(new byte[]{1}))
+                                    .setFieldIds(ByteString.copyFrom(new byte[]{0}))
+                                    .addFieldValue(EntityData.Value.newBuilder()
+                                            .addFloat(netId * 2 + tick * 0.1f)
+                                            .addFloat(42 + random.nextFloat())
+                                            .addFloat(-netId * 3 + tick * 0.05f))));
+                }
+            }
+            for (int i = random.nextInt(4); i > 0; i--) {
+                message.addEvent(NetData.EventMessage.newBuilder()
+                        .setTargetId(1 + random.nextInt(ENTITIES))
+                        .setEvent(EntityData.Event.newBuilder()
+                                .setType(random.nextInt(20))
+                                .addFieldValue(EntityData.Value.newBuilder().addInteger(random.nextInt(100)))));
+            }
+            // Someone digging or building, one block after another
+            if (tick % 5 == 0) {
+                int x = 100 + tick / 5;
+                for (int y = 40; y < 44; y++) {
+                    message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                            .setPos(NetData.Vector3iData.newBuilder().setX(x).setY(y).setZ(-30))
+                            .setNewBlock(tick % 10 == 0 ? 0 : 17));
+                }
+            }
+            session.add(message.build());
+        }
+        return session;
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.persistence;
+
+import com.google.common.base.Objects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections.Reflections;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
+import org.terasology.persistence.serializers.ComponentSerializer;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.Serializer;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.persistence.typeHandling.TypeHandlerLibraryImpl;
+import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedData;
+import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedDataSerializer;
+import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective field loop the component serializer used to run with its compiled per component plan, for
+ * a component shaped like the location component: mostly floats, of which only the position changes between two
+ * snapshots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class ComponentSerializerBenchmark {
+
+    @Benchmark
+    public EntityData.Component reflectiveDelta(SerializerState state) {
+        EntityData.Component.Builder componentMessage = EntityData.Component.newBuilder();
+        componentMessage.setType(state.metadata.getUri().toString());
+        boolean changed = false;
+        for (ReplicatedFieldMetadata field : state.metadata.getFields()) {
+            if (state.serializer.getHandlerFor(field) != null) {
+                Object origValue = field.getValue(state.base);
+                Object deltaValue = field.getValue(state.delta);
+                if (!Objects.equal(origValue, deltaValue)) {
+                    PersistedData value = state.serializer.serializeValue(field, deltaValue, state.context);
+                    if (!value.isNull()) {
+                        EntityData.Value dataValue = ((ProtobufPersistedData) value).getValue();
+                        componentMessage.addField(EntityData.NameValue.newBuilder().setName(field.getName()).setValue(dataValue).build());
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return changed ? componentMessage.build() : null;
+    }
+
+    @Benchmark
+    public EntityData.Component compiledDelta(SerializerState state) {
+        return state.componentSerializer.serialize(state.base, state.delta);
+    }
+
+    @Benchmark
+    public EntityData.Component reflectiveFull(SerializerState state) {
+        EntityData.Component.Builder componentMessage = EntityData.Component.newBuilder();
+        componentMessage.setType(state.metadata.getUri().toString());
+        for (ReplicatedFieldMetadata<?, ?> field : state.metadata.getFields()) {
+            PersistedData result = state.serializer.serialize(field, state.delta, state.context);
+            if (!result.isNull()) {
+                EntityData.Value itemValue = ((ProtobufPersistedData) result).getValue();
+                componentMessage.addField(EntityData.NameValue.newBuilder().setName(field.getName()).setValue(itemValue));
+            }
+        }
+        return componentMessage.build();
+    }
+
+    @Benchmark
+    public EntityData.Component compiledFull(SerializerState state) {
+        return state.componentSerializer.serialize(state.delta);
+    }
+
+    @State(Scope.Thread)
+    public static class SerializerState {
+        private ComponentMetadata<?> metadata;
+        private Serializer serializer;
+        private ComponentSerializer componentSerializer;
+        private ProtobufPersistedDataSerializer context;
+        private TransformComponent base;
+        private TransformComponent delta;
+
+        @Setup
+        public void setup() {
+            ReflectFactory reflectFactory = new ReflectionReflectFactory();
+            ComponentLibrary componentLibrary = new ComponentLibrary(null, reflectFactory, new CopyStrategyLibrary(reflectFactory));
+            componentLibrary.register(new ResourceUrn("benchmark", "transform"), TransformComponent.class);
+            TypeHandlerLibrary typeHandlerLibrary = TypeHandlerLibraryImpl.withReflections(new Reflections(getClass().getClassLoader()));
+
+            metadata = componentLibrary.getMetadata(TransformComponent.class);
+            serializer = typeHandlerLibrary.getSerializerFor(metadata);
+            componentSerializer = new ComponentSerializer(componentLibrary, typeHandlerLibrary);
+            context = new ProtobufPersistedDataSerializer();
+
+            base = new TransformComponent();
+            base.parentId = 7L;
+            base.rotationW = 1;
+            base.scale = 1;
+            base.name = "transform";
+            delta = new TransformComponent();
+            delta.parentId = 7L;
+            delta.positionX = 12.5f;
+            delta.positionY = 64f;
+            delta.positionZ = -3.25f;
+            delta.rotationW = 1;
+            delta.scale = 1;
+            delta.name = "transform";
+        }
+    }
+
+    public static final class TransformComponent implements Component {
+        public float positionX;
+        public float positionY;
+        public float positionZ;
+        public float rotationX;
+        public float rotationY;
+        public float rotationZ;
+        public float rotationW;
+        public float scale;
+        public long parentId;
+        public boolean replicateChanges = true;
+        public String name;
+    }
+}
@@ -0,0 +1,367 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.physics;
+
+import com.badlogic.gdx.physics.bullet.Bullet;
+import com.badlogic.gdx.physics.bullet.collision.ClosestRayResultCallback;
+import com.badlogic.gdx.physics.bullet.collision.VoxelCollisionAlgorithmWrapper;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btVoxelInfo;
+import com.badlogic.gdx.physics.bullet.collision.btVoxelShape;
+import com.badlogic.gdx.physics.bullet.dynamics.btDiscreteDynamicsWorld;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.badlogic.gdx.physics.bullet.linearmath.btDefaultMotionState;
+import com.google.common.collect.Maps;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.JomlUtil;
+import org.terasology.physics.BlockRaycastResult;
+import org.terasology.physics.BlockRaycaster;
+import org.terasology.physics.StandardCollisionGroup;
+import org.terasology.physics.bullet.BulletPhysics;
+import org.terasology.physics.bullet.shapes.BulletBoxShape;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.BlockFamily;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.Chunks;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.internal.ChunkViewCore;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.terasology.physics.bullet.BulletPhysics.AABB_SIZE;
+
+/**
+ * Compares the block-only {@link BlockRaycaster} with ray tests through Bullet's voxel world shape, for particle-like
+ * short rays above a flat terrain.
+ * <p>
+ * The Bullet variant performs the same work as {@link BulletPhysics#rayTrace} up to the construction of the
+ * {@link org.terasology.physics.HitResult}, so the block entity lookup on hits is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class BlockRaycastBenchmark {
+
+    private static final int WORLD_CHUNKS = 3;
+    private static final int GROUND_HEIGHT = 16;
+
+    @Benchmark
+    public int blockRaycaster(WorldState world, RayState rays) {
+        int hits = 0;
+        for (int i = 0; i < rays.count; i++) {
+            int i3 = i * 3;
+            if (world.raycaster.raycast(rays.origins[i3], rays.origins[i3 + 1], rays.origins[i3 + 2],
+                    rays.directions[i3], rays.directions[i3 + 1], rays.directions[i3 + 2],
+                    rays.distances[i], world.result)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int blockRaycasterBatch(WorldState world, RayState rays) {
+        return world.raycaster.raycast(rays.origins, rays.directions, rays.distances, rays.count, rays.hits);
+    }
+
+    @Benchmark
+    public int bullet(WorldState world, RayState rays) {
+        short filter = world.physics.combineGroups(StandardCollisionGroup.WORLD);
+        Vector3f from = new Vector3f();
+        Vector3f to = new Vector3f();
+        int hits = 0;
+        for (int i = 0; i < rays.count; i++) {
+            int i3 = i * 3;
+            from.set(rays.origins[i3], rays.origins[i3 + 1], rays.origins[i3 + 2]);
+            to.set(rays.directions[i3], rays.directions[i3 + 1], rays.directions[i3 + 2])
+                    .normalize().mul(rays.distances[i]).add(from);
+
+            ClosestRayResultCallback callback = new ClosestRayResultCallback(from, to);
+            callback.setCollisionFilterGroup(StandardCollisionGroup.ALL.getFlag());
+            callback.setCollisionFilterMask(filter);
+            world.dynamicsWorld.rayTest(from, to, callback);
+            if (callback.hasHit()) {
+                hits++;
+            }
+            callback.dispose();
+        }
+        return hits;
+    }
+
+    @State(Scope.Thread)
+    public static class RayState {
+        @Param({"1024"})
+        private int count;
+
+        private float[] origins;
+        private float[] directions;
+        private float[] distances;
+        private boolean[] hits;
+
+        @Setup
+        public void setup() {
+            FastRandom random = new FastRandom(0L);
+            origins = new float[count * 3];
+            directions = new float[count * 3];
+            distances = new float[count];
+            hits = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                int i3 = i * 3;
+                origins[i3] = random.nextFloat(0, WORLD_CHUNKS * Chunks.SIZE_X);
+                origins[i3 + 1] = random.nextFloat(GROUND_HEIGHT, GROUND_HEIGHT + 8);
+                origins[i3 + 2] = random.nextFloat(0, WORLD_CHUNKS * Chunks.SIZE_Z);
+                directions[i3] = random.nextFloat(-1, 1);
+                directions[i3 + 1] = random.nextFloat(-1, 1);
+                directions[i3 + 2] = random.nextFloat(-1, 1);
+                distances[i] = random.nextFloat(0.5f, 6f);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WorldState {
+        private BlockRaycaster raycaster;
+        private BlockRaycastResult result = new BlockRaycastResult();
+        private BulletPhysics physics;
+        private btDiscreteDynamicsWorld dynamicsWorld;
+
+        @Setup
+        public void setup() {
+            Bullet.init(true, false);
+
+            Block air = new Block();
+            air.setId((short) 0);
+            air.setPenetrable(true);
+            Block stone = new Block();
+            stone.setId((short) 1);
+            stone.setCollision(new Vector3f(), new BulletBoxShape(new Vector3f(0.5f, 0.5f, 0.5f)));
+            BlockManager blockManager = new ArrayBlockManager(air, stone);
+
+            Map<Vector3ic, Chunk> chunks = Maps.newHashMap();
+            ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+            for (int x = 0; x < WORLD_CHUNKS; x++) {
+                for (int z = 0; z < WORLD_CHUNKS; z++) {
+                    Chunk chunk = new ChunkImpl(x, 0, z, blockManager, extraDataManager);
+                    for (int by = 0; by < GROUND_HEIGHT; by++) {
+                        for (int bz = 0; bz < Chunks.SIZE_Z; bz++) {
+                            for (int bx = 0; bx < Chunks.SIZE_X; bx++) {
+                                chunk.setBlock(bx, by, bz, stone);
+                            }
+                        }
+                    }
+                    chunks.put(new Vector3i(x, 0, z), chunk);
+                }
+            }
+            raycaster = new BlockRaycaster(new MapChunkProvider(chunks));
+
+            physics = new BulletPhysics();
+            dynamicsWorld = physics.getDiscreteDynamicsWorld();
+            VoxelCollisionAlgorithmWrapper wrapper = new VoxelCollisionAlgorithmWrapper(Chunks.SIZE_X, Chunks.SIZE_Y,
+                    Chunks.SIZE_Z);
+            btVoxelShape worldShape = new btVoxelShape(wrapper, new Vector3f(-AABB_SIZE, -AABB_SIZE, -AABB_SIZE),
+                    new Vector3f(AABB_SIZE, AABB_SIZE, AABB_SIZE));
+            btRigidBody.btRigidBodyConstructionInfo info = new btRigidBody.btRigidBodyConstructionInfo(0,
+                    new btDefaultMotionState(new Matrix4f()), worldShape, new Vector3f());
+            btRigidBody rigidBody = new btRigidBody(info);
+            rigidBody.setCollisionFlags(btCollisionObject.CollisionFlags.CF_STATIC_OBJECT | rigidBody.getCollisionFlags());
+            short mask = (short) (~(StandardCollisionGroup.STATIC.getFlag() | StandardCollisionGroup.LIQUID.getFlag()));
+            dynamicsWorld.addRigidBody(rigidBody, physics.combineGroups(StandardCollisionGroup.WORLD), mask);
+
+            for (Block block : blockManager.listRegisteredBlocks()) {
+                boolean solid = block.getCollisionShape() != null && !block.isPenetrable();
+                wrapper.setVoxelInfo(new btVoxelInfo(solid, solid, block.getId(),
+                        solid ? ((BulletBoxShape) block.getCollisionShape()).underlyingShape : null,
+                        block.getCollisionOffset(), block.getFriction(), block.getRestitution(), block.getFriction()));
+            }
+            for (Map.Entry<Vector3ic, Chunk> entry : chunks.entrySet()) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(2 * Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z);
+                buffer.order(ByteOrder.nativeOrder());
+                for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                    for (int x = 0; x < Chunks.SIZE_X; x++) {
+                        for (int y = 0; y < Chunks.SIZE_Y; y++) {
+                            buffer.putShort(entry.getValue().getBlock(x, y, z).getId());
+                        }
+                    }
+                }
+                buffer.rewind();
+                Vector3ic pos = entry.getKey();
+                wrapper.setRegion(pos.x(), pos.y(), pos.z(), buffer.asShortBuffer());
+            }
+        }
+    }
+
+    /**
+     * Block manager over a fixed set of blocks, indexed by id.
+     */
+    private static class ArrayBlockManager extends BlockManager {
+        private final Block[] blocks;
+
+        ArrayBlockManager(Block... blocks) {
+            this.blocks = blocks;
+        }
+
+        @Override
+        public Map<String, Short> getBlockIdMap() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public BlockFamily getBlockFamily(String uri) {
+            return null;
+        }
+
+        @Override
+        public BlockFamily getBlockFamily(BlockUri uri) {
+            return null;
+        }
+
+        @Override
+        public Block getBlock(String uri) {
+            return null;
+        }
+
+        @Override
+        public Block getBlock(BlockUri uri) {
+            return null;
+        }
+
+        @Override
+        public Block getBlock(short id) {
+            return blocks[id];
+        }
+
+        @Override
+        public Collection<BlockUri> listRegisteredBlockUris() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Collection<BlockFamily> listRegisteredBlockFamilies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int getBlockFamilyCount() {
+            return 0;
+        }
+
+        @Override
+        public Collection<Block> listRegisteredBlocks() {
+            return Arrays.asList(blocks);
+        }
+    }
+
+    /**
+     * Chunk provider over a fixed set of chunks; only the chunk lookups are supported.
+     */
+    private static class MapChunkProvider implements ChunkProvider {
+        private final Map<Vector3ic, Chunk> chunks;
+
+        MapChunkProvider(Map<Vector3ic, Chunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public Chunk getChunk(int x, int y, int z) {
+            return chunks.get(new Vector3i(x, y, z));
+        }
+
+        @Override
+        public Chunk getChunk(org.terasology.math.geom.Vector3i chunkPos) {
+            return getChunk(JomlUtil.from(chunkPos));
+        }
+
+        @Override
+        public Chunk getChunk(Vector3ic chunkPos) {
+            return chunks.get(chunkPos);
+        }
+
+        @Override
+        public boolean isChunkReady(org.terasology.math.geom.Vector3i pos) {
+            return isChunkReady(JomlUtil.from(pos));
+        }
+
+        @Override
+        public boolean isChunkReady(Vector3ic pos) {
+            return chunks.containsKey(pos);
+        }
+
+        @Override
+        public Collection<Chunk> getAllChunks() {
+            return chunks.values();
+        }
+
+        @Override
+        public ChunkViewCore getLocalView(org.terasology.math.geom.Vector3i centerChunkPos) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ChunkViewCore getSubviewAroundBlock(org.terasology.math.geom.Vector3i blockPos, int extent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ChunkViewCore getSubviewAroundChunk(org.terasology.math.geom.Vector3i chunkPos) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setWorldEntity(EntityRef entity) {
+        }
+
+        @Override
+        public void update() {
+        }
+
+        @Override
+        public boolean reloadChunk(org.terasology.math.geom.Vector3i pos) {
+            return false;
+        }
+
+        @Override
+        public void purgeWorld() {
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void restart() {
+        }
+    }
+}
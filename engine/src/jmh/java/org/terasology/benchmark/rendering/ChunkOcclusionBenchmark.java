@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.rendering;
+
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.rendering.world.ChunkOcclusionCuller;
+import org.terasology.rendering.world.ChunkVisibility;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of occlusion culling without a GPU: computing the visibility of a cave-like chunk on the meshing
+ * thread, and walking a region of the size of the mega view distance from a camera underground.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class ChunkOcclusionBenchmark {
+
+    @Benchmark
+    public ChunkVisibility buildVisibility(OcclusionState state) {
+        for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                    if (isCaveWall(x, y, z)) {
+                        state.builder.setOccluding(x, y, z);
+                    }
+                }
+            }
+        }
+        return state.builder.build();
+    }
+
+    @Benchmark
+    public int cullMegaRegion(OcclusionState state) {
+        state.culler.reset(state.region);
+        for (int x = state.region.minX(); x <= state.region.maxX(); x++) {
+            for (int y = state.region.minY(); y <= state.region.maxY(); y++) {
+                for (int z = state.region.minZ(); z <= state.region.maxZ(); z++) {
+                    // Solid ground above the camera, caves at its height and below
+                    ChunkVisibility visibility = y == 1 ? state.solid : state.cave;
+                    state.culler.setVisibility(new Vector3i(x, y, z), visibility);
+                }
+            }
+        }
+        state.culler.cull(state.camera);
+        return state.culler.getCulledCount();
+    }
+
+    private static boolean isCaveWall(int x, int y, int z) {
+        // A winding tunnel along z that leaves the chunk through its front and back faces
+        int tunnelX = 16 + (int) (6 * Math.sin(z * 0.3));
+        int tunnelY = 24 + (int) (4 * Math.cos(z * 0.2));
+        int dx = x - tunnelX;
+        int dy = y - tunnelY;
+        return dx * dx + dy * dy > 9;
+    }
+
+    @State(Scope.Thread)
+    public static class OcclusionState {
+        private ChunkVisibility.Builder builder;
+        private ChunkOcclusionCuller culler;
+        private BlockRegion region;
+        private Vector3i camera;
+        private ChunkVisibility cave;
+        private ChunkVisibility solid;
+
+        @Setup
+        public void setup() {
+            builder = new ChunkVisibility.Builder(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            culler = new ChunkOcclusionCuller();
+            camera = new Vector3i();
+            Vector3i size = new Vector3i(ViewDistance.MEGA.getChunkDistance());
+            region = new BlockRegion(camera).expand(size.x / 2, size.y / 2, size.z / 2);
+
+            for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                    for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                        builder.setOccluding(x, y, z);
+                    }
+                }
+            }
+            solid = builder.build();
+            cave = new ChunkOcclusionBenchmark().buildVisibility(this);
+        }
+    }
+}
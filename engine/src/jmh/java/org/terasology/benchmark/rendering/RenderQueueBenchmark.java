@@ -0,0 +1,179 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.rendering;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.rendering.world.ChunkDistanceShells;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares keeping the chunks around the camera in a sorted list and ordering the render queues with priority queues,
+ * as the renderable world used to, with keeping them in distance shells, for the mega view distance and without a GPU.
+ * The chunks are represented by their positions.
+ * <p>
+ * The "frame" benchmarks fill and drain the five render queues; the "move" benchmarks also move the camera to the next
+ * chunk first. With shells, the alpha blend queue is still sorted by the exact camera distance, like the renderable
+ * world does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class RenderQueueBenchmark {
+    private static final int QUEUE_COUNT = 5;
+
+    @Benchmark
+    public int sortedFrame(SortedState state) {
+        return state.queue();
+    }
+
+    @Benchmark
+    public int sortedMove(SortedState state) {
+        state.move();
+        return state.queue();
+    }
+
+    @Benchmark
+    public int shellFrame(ShellState state) {
+        return state.queue();
+    }
+
+    @Benchmark
+    public int shellMove(ShellState state) {
+        state.move();
+        return state.queue();
+    }
+
+    private static List<Vector3i> megaRegion(Vector3ic center) {
+        Vector3ic size = ViewDistance.MEGA.getChunkDistance();
+        List<Vector3i> chunks = Lists.newArrayListWithCapacity(size.x() * size.y() * size.z());
+        for (int x = -size.x() / 2; x <= size.x() / 2; x++) {
+            for (int y = -size.y() / 2; y <= size.y() / 2; y++) {
+                for (int z = -size.z() / 2; z <= size.z() / 2; z++) {
+                    chunks.add(new Vector3i(center).add(x, y, z));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    @State(Scope.Thread)
+    public static class SortedState {
+        private final Vector3f camera = new Vector3f();
+        private List<Vector3i> chunks;
+        private List<PriorityQueue<Vector3i>> queues;
+        private Comparator<Vector3i> frontToBack;
+
+        @Setup
+        public void setup() {
+            frontToBack = Comparator.comparingDouble(this::squaredDistanceToCamera);
+            chunks = megaRegion(new Vector3i());
+            queues = Lists.newArrayList();
+            for (int i = 0; i < QUEUE_COUNT - 1; i++) {
+                queues.add(new PriorityQueue<>(chunks.size(), frontToBack));
+            }
+            queues.add(new PriorityQueue<>(chunks.size(), frontToBack.reversed()));
+            Collections.sort(chunks, frontToBack);
+        }
+
+        void move() {
+            camera.x += ChunkConstants.SIZE_X;
+            Collections.sort(chunks, frontToBack);
+        }
+
+        int queue() {
+            for (Vector3i chunk : chunks) {
+                for (PriorityQueue<Vector3i> queue : queues) {
+                    queue.add(chunk);
+                }
+            }
+            int count = 0;
+            for (PriorityQueue<Vector3i> queue : queues) {
+                while (queue.poll() != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private double squaredDistanceToCamera(Vector3i chunk) {
+            Vector3f result = new Vector3f(chunk).add(0.5f, 0.5f, 0.5f);
+            result.mul(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            return result.sub(camera).lengthSquared();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ShellState {
+        private final Vector3i center = new Vector3i();
+        private final Vector3f camera = new Vector3f();
+        private ChunkDistanceShells<Vector3i> shells;
+        private List<Deque<Vector3i>> queues;
+        private final List<Vector3i> alphaBlend = Lists.newArrayList();
+
+        @Setup
+        public void setup() {
+            shells = new ChunkDistanceShells<>();
+            for (Vector3i chunk : megaRegion(center)) {
+                shells.add(chunk, chunk);
+            }
+            queues = Lists.newArrayList();
+            for (int i = 0; i < QUEUE_COUNT; i++) {
+                queues.add(new ArrayDeque<>(shells.size()));
+            }
+        }
+
+        void move() {
+            center.x++;
+            camera.x += ChunkConstants.SIZE_X;
+            shells.setCenter(center);
+        }
+
+        int queue() {
+            for (Vector3i chunk : shells) {
+                for (int i = 0; i < QUEUE_COUNT - 1; i++) {
+                    queues.get(i).add(chunk);
+                }
+                alphaBlend.add(chunk);
+            }
+            alphaBlend.sort(Comparator.comparingDouble(this::squaredDistanceToCamera).reversed());
+            queues.get(QUEUE_COUNT - 1).addAll(alphaBlend);
+            alphaBlend.clear();
+            int count = 0;
+            for (Deque<Vector3i> queue : queues) {
+                while (queue.poll() != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private double squaredDistanceToCamera(Vector3i chunk) {
+            Vector3f result = new Vector3f(chunk).add(0.5f, 0.5f, 0.5f);
+            result.mul(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            return result.sub(camera).lengthSquared();
+        }
+    }
+}
@@ -49,6 +49,16 @@ public class NetworkConfig {
      */
     private String masterServer = "meta.terasology.org";
 
+    /**
+     * Whether the server sends, and the client asks for, messages in the compact binary format after joining
+     */
+    private boolean binaryCodec = true;
+
+    /**
+     * The deflate level the server compresses messages with, from 1 (fastest) to 9 (smallest)
+     */
+    private int compressionLevel = 3;
+
     public void clear() {
         servers.clear();
     }
@@ -96,4 +106,20 @@ public String getMasterServer() {
     public void setMasterServer(String masterServer) {
         this.masterServer = masterServer;
     }
+
+    public boolean isBinaryCodec() {
+        return binaryCodec;
+    }
+
+    public void setBinaryCodec(boolean binaryCodec) {
+        this.binaryCodec = binaryCodec;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
 }
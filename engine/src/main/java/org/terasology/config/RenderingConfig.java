@@ -68,6 +68,7 @@ public class RenderingConfig extends AbstractSubscribable {
     public static final String RENDER_NEAREST = "RenderNearest";
     public static final String PARTICLE_EFFECT_LIMIT = "ParticleEffectLimit";
     public static final String MESH_LIMIT = "MeshLimit";
+    public static final String OCCLUSION_CULLING = "OcclusionCulling";
     public static final String V_SYNC = "VSync";
     public static final String FRAME_LIMIT = "FrameLimit";
     public static final String FBO_SCALE = "FboScale";
@@ -116,6 +117,7 @@ public class RenderingConfig extends AbstractSubscribable {
     private int particleEffectLimit;
     private int frameLimit;
     private int meshLimit;
+    private boolean occlusionCulling;
     private boolean inscattering;
     private boolean localReflections;
     private boolean vSync;
@@ -572,6 +574,19 @@ public void setMeshLimit(int meshLimit) {
         this.meshLimit = meshLimit;
         propertyChangeSupport.firePropertyChange(MESH_LIMIT, oldLimit, this.meshLimit);
     }
+
+    /**
+     * @return whether chunks that cannot be seen through the air connecting them to the camera are culled
+     */
+    public boolean isOcclusionCulling() {
+        return occlusionCulling;
+    }
+
+    public void setOcclusionCulling(boolean occlusionCulling) {
+        boolean oldValue = this.occlusionCulling;
+        this.occlusionCulling = occlusionCulling;
+        propertyChangeSupport.firePropertyChange(OCCLUSION_CULLING, oldValue, this.occlusionCulling);
+    }
     public boolean isVSync() {
         return this.vSync;
     }
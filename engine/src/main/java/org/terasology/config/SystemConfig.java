@@ -31,6 +31,10 @@ public class SystemConfig {
     private boolean monitoringEnabled;
     private boolean writeSaveGamesEnabled;
     private long chunkGenerationFailTimeoutInMs;
+    private int behaviorTickThreads;
+    private boolean behaviorLodEnabled = true;
+    private int chunkActivationTimePerFrameInMs = 4;
+    private int chunkActivationsPerFrame = 32;
     private String locale;
 
     public long getDayNightLengthInMs() {
@@ -101,6 +105,51 @@ public void setChunkGenerationFailTimeoutInMs(long chunkGenerationFailTimeoutInM
         this.chunkGenerationFailTimeoutInMs = chunkGenerationFailTimeoutInMs;
     }
 
+    public int getBehaviorTickThreads() {
+        return behaviorTickThreads;
+    }
+
+    /**
+     * @param behaviorTickThreads the number of worker threads that tick behavior trees in addition to the main thread,
+     *                            0 to tick all behavior trees on the main thread. Only safe if all behavior nodes
+     *                            change the world through their actor alone, see
+     *                            {@link org.terasology.logic.behavior.BehaviorSystem}
+     */
+    public void setBehaviorTickThreads(int behaviorTickThreads) {
+        this.behaviorTickThreads = behaviorTickThreads;
+    }
+
+    public boolean isBehaviorLodEnabled() {
+        return behaviorLodEnabled;
+    }
+
+    public void setBehaviorLodEnabled(boolean behaviorLodEnabled) {
+        this.behaviorLodEnabled = behaviorLodEnabled;
+    }
+
+    public int getChunkActivationTimePerFrameInMs() {
+        return chunkActivationTimePerFrameInMs;
+    }
+
+    /**
+     * @param chunkActivationTimePerFrameInMs the time after which no more ready chunks are activated in a frame,
+     *                                        0 for no limit
+     */
+    public void setChunkActivationTimePerFrameInMs(int chunkActivationTimePerFrameInMs) {
+        this.chunkActivationTimePerFrameInMs = chunkActivationTimePerFrameInMs;
+    }
+
+    public int getChunkActivationsPerFrame() {
+        return chunkActivationsPerFrame;
+    }
+
+    /**
+     * @param chunkActivationsPerFrame the number of ready chunks activated at most in a frame, 0 for no limit
+     */
+    public void setChunkActivationsPerFrame(int chunkActivationsPerFrame) {
+        this.chunkActivationsPerFrame = chunkActivationsPerFrame;
+    }
+
     public Locale getLocale() {
         if (locale == null) {
             setLocale(Locale.getDefault(Category.DISPLAY));
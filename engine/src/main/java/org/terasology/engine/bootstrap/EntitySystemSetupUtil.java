@@ -131,7 +131,7 @@ public static void addEntityManagementRelatedClasses(Context context) {
 
         // Event System
         EventSystem eventSystem = createEventSystem(networkSystem, entityManager, library, recordedEventStore,
-                recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+                recordAndReplaySerializer, recordAndReplayCurrentStatus);
         entityManager.setEventSystem(eventSystem);
         context.put(EventSystem.class, eventSystem);
 
@@ -143,12 +143,12 @@ public static void addEntityManagementRelatedClasses(Context context) {
 
     private static EventSystem createEventSystem(NetworkSystem networkSystem, PojoEntityManager entityManager, EntitySystemLibrary library,
                                                  RecordedEventStore recordedEventStore, RecordAndReplaySerializer recordAndReplaySerializer,
-                                                 RecordAndReplayUtils recordAndReplayUtils, RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
+                                                 RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
         EventSystem eventSystem;
         List<Class<?>> selectedClassesToRecord = createSelectedClassesToRecordList();
         if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.PREPARING_REPLAY) {
             eventSystem = new EventSystemReplayImpl(library.getEventLibrary(), networkSystem, entityManager, recordedEventStore,
-                    recordAndReplaySerializer, recordAndReplayUtils, selectedClassesToRecord, recordAndReplayCurrentStatus);
+                    recordAndReplaySerializer, selectedClassesToRecord, recordAndReplayCurrentStatus);
         } else {
             EventCatcher eventCatcher = new EventCatcher(selectedClassesToRecord, recordedEventStore);
             eventSystem = new EventSystemImpl(library.getEventLibrary(), networkSystem, eventCatcher, recordAndReplayCurrentStatus);
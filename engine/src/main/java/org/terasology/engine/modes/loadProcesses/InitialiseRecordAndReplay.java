@@ -43,6 +43,7 @@ public String getMessage() {
     public boolean step() {
         //Activate record when the preparations are ready
         if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.PREPARING_RECORD) {
+            recordAndReplaySerializer.startRecording();
             recordAndReplayCurrentStatus.setStatus(RecordAndReplayStatus.RECORDING);
         }
 
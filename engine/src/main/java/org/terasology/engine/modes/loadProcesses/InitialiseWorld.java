@@ -7,6 +7,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.config.Config;
+import org.terasology.config.SystemConfig;
 import org.terasology.context.Context;
 import org.terasology.engine.ComponentSystemManager;
 import org.terasology.engine.GameEngine;
@@ -135,6 +136,9 @@ public boolean step() {
         context.put(RelevanceSystem.class, relevanceSystem);
         context.get(ComponentSystemManager.class).register(relevanceSystem, "engine:relevanceSystem");
         chunkProvider.setRelevanceSystem(relevanceSystem);
+        SystemConfig systemConfig = context.get(Config.class).getSystem();
+        chunkProvider.setActivationBudget(systemConfig.getChunkActivationTimePerFrameInMs(),
+                systemConfig.getChunkActivationsPerFrame());
         Block unloadedBlock = blockManager.getBlock(BlockManager.UNLOADED_ID);
         WorldProviderCoreImpl worldProviderCore = new WorldProviderCoreImpl(worldInfo, chunkProvider, unloadedBlock, context);
         EntityAwareWorldProvider entityWorldProvider = new EntityAwareWorldProvider(worldProviderCore, context);
@@ -23,6 +23,7 @@
 import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.utilities.concurrency.ShutdownTask;
 import org.terasology.utilities.concurrency.Task;
+import org.terasology.utilities.concurrency.TaskClass;
 import org.terasology.utilities.concurrency.TaskMaster;
 
 import java.util.concurrent.RejectedExecutionException;
@@ -34,7 +35,7 @@ public class ThreadManagerSubsystem implements EngineSubsystem, ThreadManager {
     private static final int MAX_NUMBER_THREADS = 16;
     private static final Logger logger = LoggerFactory.getLogger(ThreadManagerSubsystem.class);
 
-    private final TaskMaster<Task> commonThreadPool = TaskMaster.createFIFOTaskMaster("common", MAX_NUMBER_THREADS);
+    private final TaskMaster<Task> commonThreadPool = TaskMaster.createFIFOTaskMaster("common", TaskClass.BACKGROUND, MAX_NUMBER_THREADS);
 
     @Override
     public void submitTask(String name, Runnable task) {
@@ -47,8 +48,6 @@ public String getName() {
 
                 @Override
                 public void run() {
-                    Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
-                    Thread.currentThread().setName("Engine-Task-Pool");
                     try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getClass().getSimpleName())) {
                         task.run();
                     } catch (RejectedExecutionException e) {
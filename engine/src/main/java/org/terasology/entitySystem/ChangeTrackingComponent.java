@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.entitySystem;
+
+import java.util.Collection;
+
+/**
+ * A component that records which of its fields it changed, so that saving it only replicates and persists those
+ * fields instead of the whole component.
+ * <p>
+ * Implementations typically keep a transient set of field names that their setters add to. The entity manager clears
+ * the changes once everybody has been notified of the saved component. If the changes are empty when the component
+ * is saved, the whole component is treated as changed, as for any other component.
+ * <pre>
+ * public class HealthComponent implements ChangeTrackingComponent {
+ *     private int currentHealth;
+ *     private transient Set&lt;String&gt; changedFields = new HashSet&lt;&gt;();
+ *
+ *     public void setCurrentHealth(int currentHealth) {
+ *         this.currentHealth = currentHealth;
+ *         changedFields.add("currentHealth");
+ *     }
+ *     ...
+ * }
+ * </pre>
+ */
+public interface ChangeTrackingComponent extends Component {
+
+    /**
+     * @return the names of the fields that changed since the component was last saved
+     */
+    Collection<String> getChangedFields();
+
+    /**
+     * Forgets the recorded changes. Called by the entity manager after the component has been saved.
+     */
+    void clearChangedFields();
+}
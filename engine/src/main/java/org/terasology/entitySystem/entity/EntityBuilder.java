@@ -27,6 +27,7 @@
 import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnAddedComponent;
 import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.internal.PojoPrefab;
 
 import java.util.Collections;
 import java.util.List;
@@ -88,8 +89,12 @@ public boolean addPrefab(String prefabName) {
      */
     public void addPrefab(Prefab prefab) {
         if (prefab != null) {
-            for (Component component : prefab.iterateComponents()) {
-                addComponent(entityManager.getComponentLibrary().copy(component));
+            if (prefab instanceof PojoPrefab) {
+                ((PojoPrefab) prefab).getInstantiationTemplate(entityManager.getComponentLibrary()).instantiate(this);
+            } else {
+                for (Component component : prefab.iterateComponents()) {
+                    addComponent(entityManager.getComponentLibrary().copy(component));
+                }
             }
             addComponent(new EntityInfoComponent(prefab, prefab.isPersisted(), prefab.isAlwaysRelevant()));
         } else {
@@ -29,6 +29,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.TerasologyConstants;
+import org.terasology.entitySystem.ChangeTrackingComponent;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityBuilder;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -626,6 +627,9 @@ public void saveComponent(long entityId, Component component) {
         } else {
             notifyComponentChanged(getEntity(entityId), component.getClass());
         }
+        if (component instanceof ChangeTrackingComponent) {
+            ((ChangeTrackingComponent) component).clearChangedFields();
+        }
     }
 
 
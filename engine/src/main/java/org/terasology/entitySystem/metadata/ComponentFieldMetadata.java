@@ -26,7 +26,11 @@
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.utilities.ReflectionUtil;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Map;
@@ -41,6 +45,8 @@
 
     private CopyStrategy<U> copyWithOwnedEntitiesStrategy;
 
+    private final MethodHandle getterHandle;
+
     public ComponentFieldMetadata(ClassMetadata<T, ?> owner, Field field, CopyStrategyLibrary copyStrategyLibrary, ReflectFactory factory, boolean replicatedByDefault)
             throws InaccessibleFieldException {
         super(owner, field, copyStrategyLibrary, factory, replicatedByDefault);
@@ -51,6 +57,38 @@ public ComponentFieldMetadata(ClassMetadata<T, ?> owner, Field field, CopyStrate
         } else {
             copyWithOwnedEntitiesStrategy = copyStrategy;
         }
+        getterHandle = createGetterHandle(owner.getType(), field);
+    }
+
+    /**
+     * Creates a handle that reads the field the same way as the field accessor of the reflect factory: through the
+     * getter if the component has both a getter and a setter for it, directly otherwise.
+     */
+    private static MethodHandle createGetterHandle(Class<?> ownerType, Field field) {
+        try {
+            MethodHandle handle;
+            Method getter = ReflectionUtil.findGetter(field.getName(), ownerType, field.getType());
+            if (getter != null && ReflectionUtil.findSetter(field.getName(), ownerType, field.getType()) != null) {
+                handle = MethodHandles.lookup().unreflect(getter);
+            } else {
+                field.setAccessible(true);
+                handle = MethodHandles.lookup().unreflectGetter(field);
+            }
+            return handle.asType(MethodType.methodType(field.getType(), Object.class));
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A handle to read this field without reflection, for serializers that are called very often. Primitive fields
+     * are read without boxing.
+     *
+     * @return a method handle of type {@code (Object)} to the type of the field, or null if the field cannot be read
+     *     through a method handle
+     */
+    public MethodHandle getGetterHandle() {
+        return getterHandle;
     }
 
     /**
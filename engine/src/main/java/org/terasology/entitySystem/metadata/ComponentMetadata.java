@@ -20,11 +20,13 @@
 import com.google.common.collect.Lists;
 import org.terasology.assets.ResourceUrn;
 import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.ChangeTrackingComponent;
 import org.terasology.entitySystem.Component;
 import org.terasology.network.Replicate;
 import org.terasology.reflection.copy.CopyStrategy;
 import org.terasology.reflection.copy.CopyStrategyLibrary;
 import org.terasology.reflection.metadata.ClassMetadata;
+import org.terasology.reflection.metadata.FieldMetadata;
 import org.terasology.reflection.reflect.InaccessibleFieldException;
 import org.terasology.reflection.reflect.ReflectFactory;
 import org.terasology.world.block.ForceBlockActive;
@@ -32,6 +34,7 @@
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -40,6 +43,11 @@
  */
 public class ComponentMetadata<T extends Component> extends ClassMetadata<T, ComponentFieldMetadata<T, ?>> {
 
+    /**
+     * A field mask that contains every field.
+     */
+    public static final long ALL_FIELDS = -1L;
+
     private boolean replicated;
     private boolean replicatedFromOwner;
     private boolean referenceOwner;
@@ -159,4 +167,56 @@ public T copyWithOwnedEntitiesRaw(Object object) {
         }
         return null;
     }
+
+    /**
+     * Determines which fields of a saved component have changed. Bit {@code n} of the mask stands for the field with
+     * id {@code n}.
+     *
+     * @param component a component of the type described by this metadata
+     * @return the fields reported as changed by a {@link ChangeTrackingComponent}, or {@link #ALL_FIELDS} if the
+     *     changes are not known
+     */
+    public long getChangedFieldMask(Component component) {
+        if (!(component instanceof ChangeTrackingComponent)) {
+            return ALL_FIELDS;
+        }
+        Collection<String> changedFields = ((ChangeTrackingComponent) component).getChangedFields();
+        if (changedFields == null || changedFields.isEmpty()) {
+            return ALL_FIELDS;
+        }
+        long mask = 0;
+        for (String fieldName : changedFields) {
+            ComponentFieldMetadata<T, ?> field = getField(fieldName);
+            if (field == null || fieldBit(field) == ALL_FIELDS) {
+                return ALL_FIELDS;
+            }
+            mask |= fieldBit(field);
+        }
+        return mask;
+    }
+
+    /**
+     * Copies the fields in the mask from one instance of this class onto another, using the copy strategies of the
+     * fields.
+     */
+    public void copyFields(T from, T to, long fieldMask) {
+        for (ComponentFieldMetadata<T, ?> field : fields.values()) {
+            if (isInMask(fieldMask, field)) {
+                field.setValue(to, field.getCopyOfValue(from));
+            }
+        }
+    }
+
+    /**
+     * @return whether the field is part of a mask obtained from {@link #getChangedFieldMask(Component)}
+     */
+    public static boolean isInMask(long fieldMask, FieldMetadata<?, ?> field) {
+        return (fieldMask & fieldBit(field)) != 0;
+    }
+
+    private static long fieldBit(FieldMetadata<?, ?> field) {
+        int id = field.getId() & 0xFF;
+        // Fields beyond the size of the mask are part of every non-empty mask
+        return id < Long.SIZE ? 1L << id : ALL_FIELDS;
+    }
 }
@@ -21,6 +21,7 @@
 import org.terasology.assets.AssetType;
 import org.terasology.assets.ResourceUrn;
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.prefab.PrefabData;
 
@@ -37,6 +38,7 @@ public class PojoPrefab extends Prefab {
     private List<Prefab> children = Lists.newArrayList();
     private boolean persisted;
     private boolean alwaysRelevant = true;
+    private volatile PrefabTemplate template;
 
     public PojoPrefab(ResourceUrn urn, AssetType<?, PrefabData> assetType, PrefabData data) {
         super(urn, assetType);
@@ -93,12 +95,26 @@ public Iterable<Component> iterateComponents() {
         return ImmutableList.copyOf(componentMap.values());
     }
 
+    /**
+     * @param componentLibrary the library of the entity manager the prefab is instantiated by
+     * @return the template for creating entities from this prefab, compiled on first use
+     */
+    public PrefabTemplate getInstantiationTemplate(ComponentLibrary componentLibrary) {
+        PrefabTemplate result = template;
+        if (result == null || result.getComponentLibrary() != componentLibrary) {
+            result = PrefabTemplate.compile(componentMap.values(), componentLibrary);
+            template = result;
+        }
+        return result;
+    }
+
     @Override
     protected void doReload(PrefabData data) {
         this.componentMap = ImmutableMap.copyOf(data.getComponents());
         this.persisted = data.isPersisted();
         this.alwaysRelevant = data.isAlwaysRelevant();
         this.parent = data.getParent();
+        this.template = null;
         if (parent != null && parent instanceof PojoPrefab) {
             ((PojoPrefab) parent).children.add(this);
         }
@@ -0,0 +1,167 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.entitySystem.prefab.internal;
+
+import com.google.common.collect.Lists;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.MutableComponentContainer;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.reflection.reflect.FieldCopier;
+import org.terasology.reflection.reflect.FieldCopierGenerator;
+import org.terasology.utilities.ReflectionUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * The components of a prefab, prepared for creating many entities from the prefab.
+ * <p>
+ * Components without fields cannot be changed, so all entities share the prefab's instance of them. The others are
+ * copied field by field: fields holding immutable values in public fields are copied by generated code, the rest
+ * through their metadata and copy strategies, like {@link ComponentLibrary#copy} does.
+ */
+public final class PrefabTemplate {
+    private static final FieldCopierGenerator GENERATOR = new FieldCopierGenerator();
+
+    private final ComponentLibrary componentLibrary;
+    private final List<Component> sharedComponents = Lists.newArrayList();
+    private final List<ComponentTemplate<?>> copiedComponents = Lists.newArrayList();
+
+    private PrefabTemplate(ComponentLibrary componentLibrary) {
+        this.componentLibrary = componentLibrary;
+    }
+
+    /**
+     * @param components the components of the prefab
+     * @param componentLibrary the library to copy the components with
+     */
+    public static PrefabTemplate compile(Iterable<Component> components, ComponentLibrary componentLibrary) {
+        PrefabTemplate template = new PrefabTemplate(componentLibrary);
+        for (Component component : components) {
+            ComponentMetadata<?> metadata = componentLibrary.getMetadata(component.getClass());
+            if (metadata == null) {
+                // Copied by the library, which returns null just like before
+                template.copiedComponents.add(new ComponentTemplate<>(component, null, null));
+            } else if (hasNoState(component.getClass())) {
+                template.sharedComponents.add(component);
+            } else {
+                template.copiedComponents.add(ComponentTemplate.compile(component, metadata));
+            }
+        }
+        return template;
+    }
+
+    public ComponentLibrary getComponentLibrary() {
+        return componentLibrary;
+    }
+
+    /**
+     * Adds the components of the prefab to the given container, copied where needed.
+     */
+    public void instantiate(MutableComponentContainer target) {
+        for (Component component : sharedComponents) {
+            target.addComponent(component);
+        }
+        for (ComponentTemplate<?> component : copiedComponents) {
+            Component copy = component.copy(componentLibrary);
+            if (copy != null) {
+                target.addComponent(copy);
+            }
+        }
+    }
+
+    /**
+     * Components may hold fields that are not part of their metadata, like transient ones, so check the class itself.
+     */
+    private static boolean hasNoState(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class ComponentTemplate<T extends Component> {
+        private final T prefabComponent;
+        private final ComponentMetadata<T> metadata;
+        private final FieldCopier generatedCopier;
+        private final List<ComponentFieldMetadata<T, ?>> copiedFields = Lists.newArrayList();
+
+        private ComponentTemplate(T prefabComponent, ComponentMetadata<T> metadata, FieldCopier generatedCopier) {
+            this.prefabComponent = prefabComponent;
+            this.metadata = metadata;
+            this.generatedCopier = generatedCopier;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T extends Component> ComponentTemplate<T> compile(Component component, ComponentMetadata<T> metadata) {
+            Class<T> type = metadata.getType();
+            List<Field> generatedFields = Lists.newArrayList();
+            List<ComponentFieldMetadata<T, ?>> copiedFields = Lists.newArrayList();
+            for (ComponentFieldMetadata<T, ?> field : metadata.getFields()) {
+                Field javaField = findField(type, field.getName());
+                if (javaField != null && canGenerateCopy(type, javaField)) {
+                    generatedFields.add(javaField);
+                } else {
+                    copiedFields.add(field);
+                }
+            }
+
+            FieldCopier copier = generatedFields.isEmpty() ? null : GENERATOR.generate(type, generatedFields);
+            if (copier == null) {
+                // Copy all fields through their metadata instead
+                copiedFields = Lists.newArrayList(metadata.getFields());
+            }
+            ComponentTemplate<T> template = new ComponentTemplate<>((T) component, metadata, copier);
+            template.copiedFields.addAll(copiedFields);
+            return template;
+        }
+
+        Component copy(ComponentLibrary componentLibrary) {
+            if (metadata == null) {
+                return componentLibrary.copy(prefabComponent);
+            }
+            T result = metadata.newInstance();
+            if (result == null) {
+                return null;
+            }
+            if (generatedCopier != null) {
+                generatedCopier.copyFields(prefabComponent, result);
+            }
+            for (ComponentFieldMetadata<T, ?> field : copiedFields) {
+                field.setValue(result, field.getCopyOfValue(prefabComponent));
+            }
+            return result;
+        }
+
+        private static Field findField(Class<?> type, String name) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                try {
+                    return current.getDeclaredField(name);
+                } catch (NoSuchFieldException ignored) {
+                    // Declared by a superclass
+                }
+            }
+            return null;
+        }
+
+        private static boolean canGenerateCopy(Class<?> type, Field field) {
+            return isImmutable(field.getType()) && FieldCopierGenerator.isDirectlyAccessible(type, field)
+                    // Field accessors prefer the getter and setter over the field when there are both
+                    && (ReflectionUtil.findGetter(field) == null || ReflectionUtil.findSetter(field) == null);
+        }
+
+        private static boolean isImmutable(Class<?> type) {
+            return type.isPrimitive() || type.isEnum() || type == String.class || type == Boolean.class
+                    || type == Byte.class || type == Short.class || type == Character.class || type == Integer.class
+                    || type == Long.class || type == Float.class || type == Double.class;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.entitySystem.sectors;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps chunk positions to the sector-scope entities watching them, so chunk events only need to visit those entities.
+ *
+ * The index may hold entries that are no longer watched, e.g. after a {@link SectorRegionComponent} was removed, so
+ * users should check {@link SectorUtil#getWatchedChunks(EntityRef)} before acting on an entity, and
+ * {@link #remove(EntityRef, Vector3ic) remove} the entries that turn out to be stale. It never misses a watched chunk
+ * as long as it is {@link #update updated} whenever the watched chunks of an entity change.
+ */
+final class SectorChunkIndex {
+    private final Map<Vector3i, Set<EntityRef>> entitiesByChunk = new HashMap<>();
+    private final Map<EntityRef, Set<Vector3i>> chunksByEntity = new HashMap<>();
+
+    /**
+     * Replaces the indexed chunks of the entity.
+     *
+     * @param entity the sector-scope entity
+     * @param watchedChunks the positions of the chunks the entity currently watches
+     */
+    void update(EntityRef entity, Set<Vector3i> watchedChunks) {
+        Set<Vector3i> indexed = chunksByEntity.computeIfAbsent(entity, e -> new HashSet<>());
+        indexed.removeIf(pos -> {
+            if (watchedChunks.contains(pos)) {
+                return false;
+            }
+            removeFromChunk(entity, pos);
+            return true;
+        });
+        for (Vector3i pos : watchedChunks) {
+            if (indexed.add(new Vector3i(pos))) {
+                entitiesByChunk.computeIfAbsent(new Vector3i(pos), p -> new HashSet<>()).add(entity);
+            }
+        }
+        if (indexed.isEmpty()) {
+            chunksByEntity.remove(entity);
+        }
+    }
+
+    /**
+     * Removes all entries of the entity.
+     */
+    void remove(EntityRef entity) {
+        Set<Vector3i> indexed = chunksByEntity.remove(entity);
+        if (indexed != null) {
+            for (Vector3i pos : indexed) {
+                removeFromChunk(entity, pos);
+            }
+        }
+    }
+
+    /**
+     * Removes a single entry, when the entity turned out not to watch the chunk anymore.
+     */
+    void remove(EntityRef entity, Vector3ic chunkPos) {
+        Vector3i pos = new Vector3i(chunkPos);
+        Set<Vector3i> indexed = chunksByEntity.get(entity);
+        if (indexed != null && indexed.remove(pos)) {
+            removeFromChunk(entity, pos);
+            if (indexed.isEmpty()) {
+                chunksByEntity.remove(entity);
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the entities indexed for the chunk, which may include entities no longer watching it
+     */
+    Collection<EntityRef> getEntities(Vector3ic chunkPos) {
+        Set<EntityRef> entities = entitiesByChunk.get(new Vector3i(chunkPos));
+        if (entities == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(entities);
+    }
+
+    void clear() {
+        entitiesByChunk.clear();
+        chunksByEntity.clear();
+    }
+
+    private void removeFromChunk(EntityRef entity, Vector3i pos) {
+        Set<EntityRef> entities = entitiesByChunk.get(pos);
+        if (entities != null) {
+            entities.remove(entity);
+            if (entities.isEmpty()) {
+                entitiesByChunk.remove(pos);
+            }
+        }
+    }
+}
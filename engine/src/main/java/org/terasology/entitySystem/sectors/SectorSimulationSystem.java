@@ -15,12 +15,15 @@
  */
 package org.terasology.entitySystem.sectors;
 
+import org.joml.Vector3ic;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.BaseEntityRef;
 import org.terasology.entitySystem.entity.internal.EntityScope;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnAddedComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
@@ -28,6 +31,7 @@
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.logic.delay.DelayManager;
 import org.terasology.logic.delay.PeriodicActionTriggeredEvent;
+import org.terasology.logic.location.LocationComponent;
 import org.terasology.registry.In;
 import org.terasology.world.WorldComponent;
 import org.terasology.world.chunks.ChunkProvider;
@@ -56,6 +60,9 @@
  * It also sends {@link OnChunkLoaded} and {@link BeforeChunkUnload} events to the entities, whenever the status of a
  * watched chunk changes. These should be captured by filtering only to entities with a
  * {@link SectorSimulationComponent}, to avoid capturing the event sent to the world entity.
+ *
+ * To find the entities watching a chunk without visiting every sector-scope entity, the watched chunks of each entity
+ * are indexed whenever its {@link SectorRegionComponent} or {@link LocationComponent} changes.
  */
 @RegisterSystem
 public class SectorSimulationSystem extends BaseComponentSystem {
@@ -74,6 +81,69 @@ public class SectorSimulationSystem extends BaseComponentSystem {
 
     public static final String SECTOR_SIMULATION_ACTION = "sector:simulationAction";
 
+    private final SectorChunkIndex chunkIndex = new SectorChunkIndex();
+
+    @Override
+    public void postBegin() {
+        for (EntityRef entity : entityManager.getEntitiesWith(SectorSimulationComponent.class,
+                LocationComponent.class)) {
+            chunkIndex.update(entity, SectorUtil.getWatchedChunks(entity));
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        chunkIndex.clear();
+    }
+
+
+    /* Index the watched chunks of each entity */
+
+
+    @ReceiveEvent(components = {SectorSimulationComponent.class, LocationComponent.class})
+    public void locationActivated(OnActivatedComponent event, EntityRef entity) {
+        chunkIndex.update(entity, SectorUtil.getWatchedChunks(entity));
+    }
+
+    @ReceiveEvent(components = {SectorSimulationComponent.class, LocationComponent.class})
+    public void locationChanged(OnChangedComponent event, EntityRef entity) {
+        chunkIndex.update(entity, SectorUtil.getWatchedChunks(entity));
+    }
+
+    @ReceiveEvent(components = {SectorSimulationComponent.class, SectorRegionComponent.class, LocationComponent.class})
+    public void regionActivated(OnActivatedComponent event, EntityRef entity) {
+        chunkIndex.update(entity, SectorUtil.getWatchedChunks(entity));
+    }
+
+    @ReceiveEvent(components = {SectorSimulationComponent.class, SectorRegionComponent.class, LocationComponent.class})
+    public void regionChanged(OnChangedComponent event, EntityRef entity) {
+        chunkIndex.update(entity, SectorUtil.getWatchedChunks(entity));
+    }
+
+    @ReceiveEvent(components = SectorSimulationComponent.class)
+    public void simulationComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        chunkIndex.remove(entity);
+    }
+
+    /**
+     * Check whether an entity found in the index still watches the chunk, and drop the entry if it does not.
+     *
+     * @param entity the entity indexed for the chunk
+     * @param chunkPos the position of the chunk
+     * @return whether the entity watches the chunk
+     */
+    private boolean isWatching(EntityRef entity, Vector3ic chunkPos) {
+        if (!entity.hasComponent(SectorSimulationComponent.class) || !entity.hasComponent(LocationComponent.class)) {
+            chunkIndex.remove(entity);
+            return false;
+        }
+        if (!SectorUtil.getWatchedChunks(entity).contains(chunkPos)) {
+            chunkIndex.remove(entity, chunkPos);
+            return false;
+        }
+        return true;
+    }
+
 
     /* Set periodic events for each entity */
 
@@ -176,8 +246,8 @@ public void processPeriodicSectorEvent(PeriodicActionTriggeredEvent event, Entit
      */
     @ReceiveEvent(components = WorldComponent.class)
     public void chunkLoad(OnChunkLoaded event, EntityRef worldEntity) {
-        for (EntityRef entity : entityManager.getEntitiesWith(SectorSimulationComponent.class)) {
-            if (SectorUtil.getWatchedChunks(entity).contains(event.getChunkPos())) {
+        for (EntityRef entity : chunkIndex.getEntities(event.getChunkPos())) {
+            if (isWatching(entity, event.getChunkPos())) {
                 entity.send(new OnChunkLoaded(event.getChunkPos()));
                 if (SectorUtil.onlyWatchedChunk(entity, event.getChunkPos(), chunkProvider)) {
                     entity.send(new SectorEntityLoad());
@@ -198,8 +268,8 @@ public void chunkLoad(OnChunkLoaded event, EntityRef worldEntity) {
      */
     @ReceiveEvent(components = WorldComponent.class)
     public void chunkUnload(BeforeChunkUnload event, EntityRef worldEntity) {
-        for (EntityRef entity : entityManager.getEntitiesWith(SectorSimulationComponent.class)) {
-            if (SectorUtil.getWatchedChunks(entity).contains(event.getChunkPos())) {
+        for (EntityRef entity : chunkIndex.getEntities(event.getChunkPos())) {
+            if (isWatching(entity, event.getChunkPos())) {
                 entity.send(new BeforeChunkUnload(event.getChunkPos()));
                 if (SectorUtil.onlyWatchedChunk(entity, event.getChunkPos(), chunkProvider)) {
                     entity.send(new SectorEntityUnload());
@@ -16,11 +16,19 @@
 package org.terasology.logic.behavior;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import gnu.trove.iterator.TObjectLongIterator;
+import gnu.trove.map.TObjectLongMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
+import org.joml.Vector3f;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.assets.ResourceUrn;
 import org.terasology.assets.management.AssetManager;
 import org.terasology.audio.StaticSound;
+import org.terasology.config.Config;
 import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -37,7 +45,10 @@
 import org.terasology.logic.behavior.asset.BehaviorTreeFormat;
 import org.terasology.logic.behavior.core.Actor;
 import org.terasology.logic.behavior.core.BehaviorNode;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.naming.Name;
+import org.terasology.network.ClientComponent;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
@@ -46,9 +57,16 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Behavior tree system
@@ -57,6 +75,16 @@
  * is loaded and an interpreter is started.
  * <p/>
  * Modifications made to a behavior tree will reflect to all entities using this tree.
+ * <p/>
+ * Behaviors far away from all players are ticked at a reduced rate, with the time of the skipped frames added to
+ * the delta of the next tick. If worker threads are configured, behaviors are ticked in parallel: their actors buffer
+ * saved components and sent events, which are applied on the main thread in a stable order once all behaviors have
+ * been ticked. Only {@link Actor#save} and {@link Actor#send} are deferred: any other change a node makes, e.g. to
+ * components it modifies without saving, to other entities or to the world, happens on a worker thread while other
+ * behaviors are ticked. Worker threads must therefore only be configured if all behavior nodes in use change the
+ * world through the actor alone.
+ * <p/>
+ * The time spent ticking each tree is reported to the {@link PerformanceMonitor}.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(BehaviorSystem.class)
@@ -64,15 +92,43 @@ public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscri
 
     public static final Name BEHAVIORS = new Name("Behaviors");
     private static final Logger logger = LoggerFactory.getLogger(BehaviorSystem.class);
+
+    /**
+     * Distances to the nearest player from which behaviors tick at the rate given in {@link #LOD_INTERVALS}.
+     */
+    private static final float[] LOD_DISTANCES = {32, 64, 128};
+    /**
+     * Number of frames between two ticks; powers of two, so that ticks can be spread over frames with a mask.
+     */
+    private static final int[] LOD_INTERVALS = {1, 2, 4, 8};
+
+    private static final long NANOS_PER_MS = TimeUnit.MILLISECONDS.toNanos(1);
+
     @In
     private EntityManager entityManager;
     @In
     private PrefabManager prefabManager;
     @In
     private AssetManager assetManager;
+    @In
+    private Config config;
 
     private List<BehaviorTree> trees = Lists.newArrayList();
 
+    private ExecutorService tickExecutor;
+    private int tickThreads;
+    private boolean lodEnabled = true;
+    private long frame;
+
+    private final List<Interpreter> dueInterpreters = Lists.newArrayList();
+    private float[] dueDeltas = new float[64];
+    private long[] tickNanos = new long[64];
+    private final List<Vector3f> playerPositions = Lists.newArrayList();
+    private final Vector3f position = new Vector3f();
+
+    private final TObjectLongMap<BehaviorTree> pendingTreeNanos = new TObjectLongHashMap<>();
+    private final Map<BehaviorTree, String> treeActivityNames = Maps.newHashMap();
+
     @Override
     public void initialise() {
         List<ResourceUrn> uris = Lists.newArrayList();
@@ -85,6 +141,22 @@ public void initialise() {
                 logger.info("Failed to load behavior tree asset {}.", uri, e);
             }
         }
+        if (config != null) {
+            tickThreads = Math.max(0, config.getSystem().getBehaviorTickThreads());
+            lodEnabled = config.getSystem().isBehaviorLodEnabled();
+        }
+        if (tickThreads > 0) {
+            tickExecutor = Executors.newFixedThreadPool(tickThreads,
+                    new ThreadFactoryBuilder().setNameFormat("Behavior-Tick-%d").setDaemon(true).build());
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (tickExecutor != null) {
+            tickExecutor.shutdownNow();
+            tickExecutor = null;
+        }
     }
 
     @ReceiveEvent
@@ -99,8 +171,46 @@ public void onBehaviorActivated(OnActivatedComponent event, EntityRef entityRef,
 
     @Override
     public void update(float delta) {
-        Iterable<EntityRef> entities = entityManager.getEntitiesWith(BehaviorComponent.class);
-        for (EntityRef entity : entities) {
+        frame++;
+        collectPlayerPositions();
+        collectDueInterpreters(delta);
+        int count = dueInterpreters.size();
+        if (count == 0) {
+            return;
+        }
+        if (tickExecutor != null && count > 1) {
+            tickInParallel(count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                tick(i);
+            }
+        }
+        if (tickExecutor != null) {
+            // apply in the order of the entities, independent of which thread ticked which behavior
+            for (Interpreter interpreter : dueInterpreters) {
+                interpreter.actor().applyDeferredEffects();
+            }
+        }
+        recordTickTimes(count);
+        dueInterpreters.clear();
+    }
+
+    private void collectPlayerPositions() {
+        playerPositions.clear();
+        if (!lodEnabled) {
+            return;
+        }
+        for (EntityRef client : entityManager.getEntitiesWith(ClientComponent.class)) {
+            ClientComponent clientComponent = client.getComponent(ClientComponent.class);
+            LocationComponent location = clientComponent.character.getComponent(LocationComponent.class);
+            if (location != null) {
+                playerPositions.add(location.getWorldPosition(new Vector3f()));
+            }
+        }
+    }
+
+    private void collectDueInterpreters(float delta) {
+        for (EntityRef entity : entityManager.getEntitiesWith(BehaviorComponent.class)) {
             BehaviorComponent behaviorComponent = entity.getComponent(BehaviorComponent.class);
             // NPE observed in the past, suspected to be about loss of behavior state. Hopefully one skip is OK then resume next tick?
             // TODO: Highlight this log entry to the telemetry system to gather better data over time
@@ -108,7 +218,96 @@ public void update(float delta) {
                 logger.warn("Found a null interpreter during tick updates, skipping for entity {}", entity);
                 continue;
             }
-            behaviorComponent.interpreter.tick(delta);
+            Interpreter interpreter = behaviorComponent.interpreter;
+            interpreter.skippedDelta += delta;
+            interpreter.skippedFrames++;
+            int interval = tickInterval(entity);
+            // spread the ticks of far away behaviors over the frames of their interval
+            if (interpreter.skippedFrames < interval && ((frame + entity.getId()) & (interval - 1)) != 0) {
+                continue;
+            }
+            int index = dueInterpreters.size();
+            if (index == dueDeltas.length) {
+                dueDeltas = Arrays.copyOf(dueDeltas, index * 2);
+                tickNanos = Arrays.copyOf(tickNanos, index * 2);
+            }
+            dueDeltas[index] = interpreter.skippedDelta;
+            dueInterpreters.add(interpreter);
+            interpreter.skippedDelta = 0;
+            interpreter.skippedFrames = 0;
+            if (tickExecutor != null && !interpreter.actor().isDeferringEffects()) {
+                interpreter.actor().setDeferringEffects(true);
+            }
+        }
+    }
+
+    private int tickInterval(EntityRef entity) {
+        if (playerPositions.isEmpty()) {
+            return 1;
+        }
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return 1;
+        }
+        location.getWorldPosition(position);
+        float nearest = Float.POSITIVE_INFINITY;
+        for (Vector3f playerPosition : playerPositions) {
+            nearest = Math.min(nearest, playerPosition.distanceSquared(position));
+        }
+        int level = 0;
+        while (level < LOD_DISTANCES.length && nearest >= LOD_DISTANCES[level] * LOD_DISTANCES[level]) {
+            level++;
+        }
+        return LOD_INTERVALS[level];
+    }
+
+    private void tick(int index) {
+        long start = System.nanoTime();
+        dueInterpreters.get(index).tick(dueDeltas[index]);
+        tickNanos[index] = System.nanoTime() - start;
+    }
+
+    /**
+     * Ticks the due interpreters on the worker threads and the main thread, and waits until all of them are done.
+     */
+    private void tickInParallel(int count) {
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                try {
+                    tick(i);
+                } catch (RuntimeException e) {
+                    tickNanos[i] = 0;
+                    logger.error("Failed to tick behavior of entity {}", dueInterpreters.get(i).actor().getEntity(), e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = 0; i < Math.min(tickThreads, count - 1); i++) {
+            tickExecutor.execute(worker);
+        }
+        worker.run();
+        Uninterruptibles.awaitUninterruptibly(done);
+    }
+
+    private void recordTickTimes(int count) {
+        for (int i = 0; i < count; i++) {
+            BehaviorTree tree = dueInterpreters.get(i).getTree();
+            if (tree != null) {
+                pendingTreeNanos.adjustOrPutValue(tree, tickNanos[i], tickNanos[i]);
+            }
+        }
+        // the performance monitor works in whole milliseconds, so carry the remainder over to the next frame
+        for (TObjectLongIterator<BehaviorTree> it = pendingTreeNanos.iterator(); it.hasNext(); ) {
+            it.advance();
+            long nanos = it.value();
+            if (nanos >= NANOS_PER_MS) {
+                String activity = treeActivityNames.computeIfAbsent(it.key(), tree -> "Behavior: " + tree.getUrn());
+                PerformanceMonitor.recordActivityTime(activity, nanos / NANOS_PER_MS);
+                it.setValue(nanos % NANOS_PER_MS);
+            }
         }
     }
 
@@ -160,6 +359,7 @@ public List<Interpreter> getInterpreters() {
     }
 
     public void treeModified(BehaviorTree tree) {
+        tree.invalidateCompiledTree();
         for (EntityRef entity : entityManager.getEntitiesWith(BehaviorComponent.class)) {
             BehaviorComponent behaviorComponent = entity.getComponent(BehaviorComponent.class);
             if (behaviorComponent.tree == tree) {
@@ -151,6 +151,7 @@ public List<CollectiveInterpreter> getInterpreters() {
     }
 
     public void treeModified(BehaviorTree tree) {
+        tree.invalidateCompiledTree();
         for (EntityRef entity : entityManager.getEntitiesWith(CollectiveBehaviorComponent.class)) {
             CollectiveBehaviorComponent collectiveBehaviorComponent = entity.getComponent(CollectiveBehaviorComponent.class);
             if (collectiveBehaviorComponent.tree == tree) {
@@ -0,0 +1,173 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.behavior;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.terasology.logic.behavior.core.Action;
+import org.terasology.logic.behavior.core.ActionNode;
+import org.terasology.logic.behavior.core.BehaviorNode;
+import org.terasology.logic.behavior.core.DecoratorNode;
+import org.terasology.logic.behavior.core.DynamicSelectorNode;
+import org.terasology.logic.behavior.core.FailureNode;
+import org.terasology.logic.behavior.core.ParallelNode;
+import org.terasology.logic.behavior.core.RunningNode;
+import org.terasology.logic.behavior.core.SelectorNode;
+import org.terasology.logic.behavior.core.SequenceNode;
+import org.terasology.logic.behavior.core.SuccessNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A behavior tree flattened into arrays, which can be run by any number of actors through a
+ * {@link CompiledBehaviorTreeRunner}.
+ * <p/>
+ * The nodes are numbered in depth first order; their kind, children and actions are stored in arrays indexed by that
+ * number. The compiled tree holds no actor state, so it is shared by all actors that run the same tree, and each
+ * runner only needs a few primitive arrays for the state of its actor.
+ * <p/>
+ * The built-in node types are compiled. Any other node (e.g. subclasses of the built-in nodes) is kept as an opaque
+ * node, which each runner copies and runs through the {@link BehaviorNode} interface.
+ */
+public final class CompiledBehaviorTree {
+    static final byte OPAQUE = 0;
+    static final byte ACTION = 1;
+    static final byte DECORATOR = 2;
+    static final byte SEQUENCE = 3;
+    static final byte SELECTOR = 4;
+    static final byte DYNAMIC_SELECTOR = 5;
+    static final byte PARALLEL_REQUIRE_ONE = 6;
+    static final byte PARALLEL_REQUIRE_ALL = 7;
+    static final byte SUCCESS = 8;
+    static final byte FAILURE = 9;
+    static final byte RUNNING = 10;
+
+    final byte[] kinds;
+    /**
+     * Offset of the first child of each node in {@link #children}.
+     */
+    final int[] firstChild;
+    final int[] childCount;
+    final int[] children;
+    final Action[] actions;
+    /**
+     * Index of each opaque node in the per runner copies, -1 for compiled nodes.
+     */
+    final int[] opaqueIndex;
+    final int opaqueCount;
+    final boolean hasDynamicSelectors;
+
+    /**
+     * The nodes the tree was compiled from, reported to callbacks and copied for opaque nodes.
+     */
+    private final BehaviorNode[] nodes;
+
+    private CompiledBehaviorTree(Compiler compiler) {
+        int count = compiler.nodes.size();
+        nodes = compiler.nodes.toArray(new BehaviorNode[count]);
+        kinds = new byte[count];
+        firstChild = new int[count];
+        childCount = new int[count];
+        actions = new Action[count];
+        opaqueIndex = new int[count];
+        int opaque = 0;
+        boolean dynamic = false;
+        for (int i = 0; i < count; i++) {
+            kinds[i] = compiler.kinds.get(i);
+            firstChild[i] = compiler.firstChild.get(i);
+            childCount[i] = compiler.childCount.get(i);
+            opaqueIndex[i] = kinds[i] == OPAQUE ? opaque++ : -1;
+            dynamic |= kinds[i] == DYNAMIC_SELECTOR;
+            if (kinds[i] == ACTION || kinds[i] == DECORATOR) {
+                actions[i] = ((ActionNode) nodes[i]).getAction();
+            }
+        }
+        children = compiler.children.toArray();
+        opaqueCount = opaque;
+        hasDynamicSelectors = dynamic;
+    }
+
+    /**
+     * Compiles the tree below the given node. Later modifications of the nodes are not reflected in the compiled tree.
+     *
+     * @param root the root node of the tree
+     * @return the compiled tree
+     */
+    public static CompiledBehaviorTree compile(BehaviorNode root) {
+        Compiler compiler = new Compiler();
+        compiler.add(root);
+        return new CompiledBehaviorTree(compiler);
+    }
+
+    /**
+     * @return the number of nodes in the compiled tree, including the root
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @return the number of child references of all nodes, which is the size of the per actor state of dynamic
+     * selectors
+     */
+    int getChildSlotCount() {
+        return children.length;
+    }
+
+    BehaviorNode getNode(int node) {
+        return nodes[node];
+    }
+
+    private static byte kindOf(BehaviorNode node) {
+        // exact class checks, since subclasses may change the behavior of a node
+        Class<?> type = node.getClass();
+        if (type == ActionNode.class) {
+            return ACTION;
+        } else if (type == DecoratorNode.class) {
+            return DECORATOR;
+        } else if (type == SequenceNode.class) {
+            return SEQUENCE;
+        } else if (type == SelectorNode.class) {
+            return SELECTOR;
+        } else if (type == DynamicSelectorNode.class) {
+            return DYNAMIC_SELECTOR;
+        } else if (type == ParallelNode.class) {
+            return ((ParallelNode) node).isRequireAll() ? PARALLEL_REQUIRE_ALL : PARALLEL_REQUIRE_ONE;
+        } else if (type == SuccessNode.class) {
+            return SUCCESS;
+        } else if (type == FailureNode.class) {
+            return FAILURE;
+        } else if (type == RunningNode.class) {
+            return RUNNING;
+        }
+        return OPAQUE;
+    }
+
+    private static final class Compiler {
+        private final List<BehaviorNode> nodes = new ArrayList<>();
+        private final List<Byte> kinds = new ArrayList<>();
+        private final TIntArrayList firstChild = new TIntArrayList();
+        private final TIntArrayList childCount = new TIntArrayList();
+        private final TIntArrayList children = new TIntArrayList();
+
+        private int add(BehaviorNode node) {
+            int index = nodes.size();
+            byte kind = kindOf(node);
+            nodes.add(node);
+            kinds.add(kind);
+            int count = kind == OPAQUE ? 0 : node.getChildrenCount();
+            int offset = children.size();
+            firstChild.add(offset);
+            childCount.add(count);
+            // reserve the child slots first, so that the children of a node are adjacent
+            for (int i = 0; i < count; i++) {
+                children.add(-1);
+            }
+            for (int i = 0; i < count; i++) {
+                children.set(offset + i, add(node.getChild(i)));
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.behavior;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.logic.behavior.asset.BehaviorTree;
+import org.terasology.logic.behavior.core.Action;
+import org.terasology.logic.behavior.core.Actor;
+import org.terasology.logic.behavior.core.BehaviorNode;
+import org.terasology.logic.behavior.core.BehaviorState;
+import org.terasology.logic.behavior.core.BehaviorTreeRunner;
+
+import java.util.Arrays;
+
+/**
+ * Tree runner, that runs a {@link CompiledBehaviorTree}.
+ * <p/>
+ * Behaves like the {@link DefaultBehaviorTreeRunner}, but instead of copying the node objects of the tree for every
+ * actor, the compiled tree is shared and the state of the actor is kept in one int per node (plus one flag per child
+ * of dynamic selectors).
+ */
+public class CompiledBehaviorTreeRunner implements BehaviorTreeRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CompiledBehaviorTreeRunner.class);
+    private static final BehaviorState[] STATES = BehaviorState.values();
+    private static final boolean[] NO_FLAGS = new boolean[0];
+    private static final BehaviorNode[] NO_NODES = new BehaviorNode[0];
+
+    private final BehaviorTree tree;
+    private final CompiledBehaviorTree compiled;
+    private DefaultBehaviorTreeRunner.Callback callback;
+    private Actor actor;
+    private BehaviorState state = BehaviorState.UNDEFINED;
+
+    /**
+     * Per node state: the index of the current child for sequences and selectors, the ordinal of the last state of the
+     * child for decorators.
+     */
+    private final int[] nodeStates;
+    /**
+     * Per child slot: whether the child of a dynamic selector is constructed.
+     */
+    private final boolean[] constructed;
+    private final BehaviorNode[] opaqueNodes;
+
+    public CompiledBehaviorTreeRunner(CompiledBehaviorTree compiled, Actor actor) {
+        this(null, compiled, actor, null);
+    }
+
+    public CompiledBehaviorTreeRunner(BehaviorTree tree, Actor actor, DefaultBehaviorTreeRunner.Callback callback) {
+        this(tree, tree.getCompiledTree(), actor, callback);
+    }
+
+    private CompiledBehaviorTreeRunner(BehaviorTree tree, CompiledBehaviorTree compiled, Actor actor,
+                                       DefaultBehaviorTreeRunner.Callback callback) {
+        this.tree = tree;
+        this.compiled = compiled;
+        this.actor = actor;
+        this.callback = callback;
+        nodeStates = new int[compiled.getNodeCount()];
+        Arrays.fill(nodeStates, BehaviorState.UNDEFINED.ordinal());
+        constructed = compiled.hasDynamicSelectors ? new boolean[compiled.getChildSlotCount()] : NO_FLAGS;
+        if (compiled.opaqueCount > 0) {
+            opaqueNodes = new BehaviorNode[compiled.opaqueCount];
+            for (int node = 0; node < compiled.getNodeCount(); node++) {
+                if (compiled.opaqueIndex[node] >= 0) {
+                    opaqueNodes[compiled.opaqueIndex[node]] = compiled.getNode(node).deepCopy();
+                }
+            }
+        } else {
+            opaqueNodes = NO_NODES;
+        }
+    }
+
+    @Override
+    public BehaviorTree getTree() {
+        return tree;
+    }
+
+    public CompiledBehaviorTree getCompiledTree() {
+        return compiled;
+    }
+
+    @Override
+    public BehaviorState step() {
+        if (state != BehaviorState.RUNNING) {
+            construct(0);
+        }
+
+        state = execute(0);
+        if (state != BehaviorState.RUNNING) {
+            destruct(0);
+        }
+
+        return state;
+    }
+
+    @Override
+    public Actor getActor() {
+        return actor;
+    }
+
+    @Override
+    public void setActor(Actor actor) {
+        this.actor = actor;
+    }
+
+    private void construct(int node) {
+        switch (compiled.kinds[node]) {
+            case CompiledBehaviorTree.ACTION:
+            case CompiledBehaviorTree.DECORATOR:
+                Action action = compiled.actions[node];
+                if (action != null) {
+                    try {
+                        action.construct(actor);
+                    } catch (Exception e) {
+                        logger.info("Exception while running construct() of action {} from entity {}: {}", action, actor.getEntity(), e.getMessage());
+                    }
+                }
+                break;
+            case CompiledBehaviorTree.SEQUENCE:
+            case CompiledBehaviorTree.SELECTOR:
+                nodeStates[node] = 0;
+                constructCurrentChild(node);
+                break;
+            case CompiledBehaviorTree.DYNAMIC_SELECTOR:
+                int first = compiled.firstChild[node];
+                Arrays.fill(constructed, first, first + compiled.childCount[node], false);
+                break;
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ONE:
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ALL:
+                for (int i = 0; i < compiled.childCount[node]; i++) {
+                    construct(child(node, i));
+                }
+                break;
+            case CompiledBehaviorTree.OPAQUE:
+                opaqueNodes[compiled.opaqueIndex[node]].construct(actor);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private BehaviorState execute(int node) {
+        BehaviorState result;
+        switch (compiled.kinds[node]) {
+            case CompiledBehaviorTree.ACTION:
+                result = executeAction(node);
+                break;
+            case CompiledBehaviorTree.DECORATOR:
+                result = executeDecorator(node);
+                break;
+            case CompiledBehaviorTree.SEQUENCE:
+                result = executeSequence(node, BehaviorState.FAILURE, BehaviorState.SUCCESS);
+                break;
+            case CompiledBehaviorTree.SELECTOR:
+                result = executeSequence(node, BehaviorState.SUCCESS, BehaviorState.FAILURE);
+                break;
+            case CompiledBehaviorTree.DYNAMIC_SELECTOR:
+                result = executeDynamicSelector(node);
+                break;
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ONE:
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ALL:
+                result = executeParallel(node);
+                break;
+            case CompiledBehaviorTree.SUCCESS:
+                result = BehaviorState.SUCCESS;
+                break;
+            case CompiledBehaviorTree.FAILURE:
+                result = BehaviorState.FAILURE;
+                break;
+            case CompiledBehaviorTree.RUNNING:
+                result = BehaviorState.RUNNING;
+                break;
+            default:
+                result = opaqueNodes[compiled.opaqueIndex[node]].execute(actor);
+                break;
+        }
+        if (callback != null) {
+            callback.afterExecute(compiled.getNode(node), result);
+        }
+        return result;
+    }
+
+    private void destruct(int node) {
+        switch (compiled.kinds[node]) {
+            case CompiledBehaviorTree.ACTION:
+            case CompiledBehaviorTree.DECORATOR:
+                Action action = compiled.actions[node];
+                if (action != null) {
+                    action.destruct(actor);
+                }
+                break;
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ONE:
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ALL:
+                for (int i = 0; i < compiled.childCount[node]; i++) {
+                    destruct(child(node, i));
+                }
+                break;
+            case CompiledBehaviorTree.OPAQUE:
+                opaqueNodes[compiled.opaqueIndex[node]].destruct(actor);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private int child(int node, int index) {
+        return compiled.children[compiled.firstChild[node] + index];
+    }
+
+    private BehaviorState executeAction(int node) {
+        Action action = compiled.actions[node];
+        if (action == null) {
+            return BehaviorState.UNDEFINED;
+        }
+        try {
+            return action.modify(actor, BehaviorState.UNDEFINED);
+        } catch (Exception e) {
+            logger.info("Exception while running action {} from entity {}: ", action, actor.getEntity(), e);
+            return BehaviorState.FAILURE;
+        }
+    }
+
+    private BehaviorState executeDecorator(int node) {
+        Action action = compiled.actions[node];
+        if (action == null || !action.prune(actor)) {
+            runDecoratedChild(node);
+        }
+        BehaviorState lastState = STATES[nodeStates[node]];
+        if (action == null) {
+            return lastState;
+        }
+
+        BehaviorState modifiedState;
+        try {
+            modifiedState = action.modify(actor, lastState);
+        } catch (Exception e) {
+            logger.info("Exception while running action {} from entity {}: {}", action, actor.getEntity(), e.getStackTrace());
+            return BehaviorState.FAILURE;
+        }
+
+        if (modifiedState != BehaviorState.RUNNING && lastState == BehaviorState.RUNNING) {
+            destruct(child(node, 0));
+        }
+        return modifiedState;
+    }
+
+    private void runDecoratedChild(int node) {
+        if (compiled.childCount[node] == 0) {
+            return;
+        }
+        int decorated = child(node, 0);
+        if (nodeStates[node] != BehaviorState.RUNNING.ordinal()) {
+            construct(decorated);
+        }
+        BehaviorState lastState = execute(decorated);
+        nodeStates[node] = lastState.ordinal();
+        if (lastState != BehaviorState.RUNNING) {
+            destruct(decorated);
+        }
+    }
+
+    /**
+     * Runs the children one after another, until one finishes with the stop state.
+     */
+    private BehaviorState executeSequence(int node, BehaviorState stopState, BehaviorState completeState) {
+        int count = compiled.childCount[node];
+        while (nodeStates[node] < count) {
+            int current = child(node, nodeStates[node]);
+            BehaviorState result = execute(current);
+            if (result == BehaviorState.RUNNING) {
+                return BehaviorState.RUNNING;
+            }
+            destruct(current);
+            if (result == stopState) {
+                return stopState;
+            }
+            nodeStates[node]++;
+            constructCurrentChild(node);
+        }
+        return completeState;
+    }
+
+    private void constructCurrentChild(int node) {
+        if (nodeStates[node] < compiled.childCount[node]) {
+            construct(child(node, nodeStates[node]));
+        }
+    }
+
+    private BehaviorState executeDynamicSelector(int node) {
+        int first = compiled.firstChild[node];
+        for (int i = 0; i < compiled.childCount[node]; i++) {
+            int current = compiled.children[first + i];
+            if (!constructed[first + i]) {
+                construct(current);
+                constructed[first + i] = true;
+            }
+            BehaviorState result = execute(current);
+            if (result == BehaviorState.RUNNING) {
+                return BehaviorState.RUNNING;
+            }
+            destruct(current);
+            constructed[first + i] = false;
+            if (result == BehaviorState.SUCCESS) {
+                return BehaviorState.SUCCESS;
+            }
+        }
+        return BehaviorState.FAILURE;
+    }
+
+    private BehaviorState executeParallel(int node) {
+        int count = compiled.childCount[node];
+        int successCounter = 0;
+        for (int i = 0; i < count; i++) {
+            BehaviorState result = execute(child(node, i));
+            if (result == BehaviorState.FAILURE) {
+                return BehaviorState.FAILURE;
+            }
+            if (result == BehaviorState.SUCCESS) {
+                successCounter++;
+            }
+        }
+        if (compiled.kinds[node] == CompiledBehaviorTree.PARALLEL_REQUIRE_ALL) {
+            return successCounter == count ? BehaviorState.SUCCESS : BehaviorState.RUNNING;
+        }
+        return successCounter > 0 ? BehaviorState.SUCCESS : BehaviorState.RUNNING;
+    }
+}
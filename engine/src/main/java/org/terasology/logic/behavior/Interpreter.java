@@ -22,8 +22,8 @@
 import org.terasology.module.sandbox.API;
 
 /**
- * An interpreter evaluates a behavior tree. Uses BehaviorTreeRunner to actually evaluate the tree. The runner
- * is kept up to date when there are modifications at the tree.
+ * An interpreter evaluates a behavior tree. Uses a {@link CompiledBehaviorTreeRunner} to actually evaluate the tree.
+ * The runner is kept up to date when there are modifications at the tree.
  *
  */
 @API
@@ -34,6 +34,10 @@ public class Interpreter {
     private BehaviorTree tree;
     private DefaultBehaviorTreeRunner.Callback callback;
 
+    // Time and frames that passed since the last tick, while the BehaviorSystem ticks this interpreter at a reduced rate
+    float skippedDelta;
+    int skippedFrames;
+
     public Interpreter(Actor actor) {
         this.actor = actor;
     }
@@ -65,7 +69,7 @@ public void reset() {
     public void tick(float delta) {
         actor.setDelta(delta);
         if (treeRunner == null && tree != null) {
-            treeRunner = new DefaultBehaviorTreeRunner(tree, actor, callback);
+            treeRunner = new CompiledBehaviorTreeRunner(tree, actor, callback);
             //        Assembler assembler = new Assembler("Test", tree.getRoot());
             //        treeRunner = assembler.createInstance(actor);
         }
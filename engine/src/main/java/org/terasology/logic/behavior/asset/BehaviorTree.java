@@ -18,6 +18,7 @@
 import org.terasology.assets.Asset;
 import org.terasology.assets.AssetType;
 import org.terasology.assets.ResourceUrn;
+import org.terasology.logic.behavior.CompiledBehaviorTree;
 import org.terasology.logic.behavior.core.BehaviorNode;
 import org.terasology.module.sandbox.API;
 
@@ -29,6 +30,7 @@
 @API
 public class BehaviorTree extends Asset<BehaviorTreeData> {
     private BehaviorTreeData data;
+    private volatile CompiledBehaviorTree compiledTree;
 
     /**
      * The constructor for an asset. It is suggested that implementing classes provide a constructor taking both the urn, and an initial AssetData to load.
@@ -45,6 +47,25 @@ public BehaviorNode getRoot() {
         return data.getRoot();
     }
 
+    /**
+     * @return the compiled form of this tree, shared by all actors running it
+     */
+    public CompiledBehaviorTree getCompiledTree() {
+        CompiledBehaviorTree result = compiledTree;
+        if (result == null) {
+            result = CompiledBehaviorTree.compile(getRoot());
+            compiledTree = result;
+        }
+        return result;
+    }
+
+    /**
+     * Drops the compiled form of this tree, so that modifications of its nodes are picked up by new runners.
+     */
+    public void invalidateCompiledTree() {
+        compiledTree = null;
+    }
+
     public BehaviorTreeData getData() {
         return data;
     }
@@ -57,6 +78,7 @@ public String toString() {
     @Override
     protected void doReload(BehaviorTreeData newData) {
         this.data = newData;
+        this.compiledTree = null;
     }
 
     }
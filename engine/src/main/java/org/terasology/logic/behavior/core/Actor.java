@@ -22,6 +22,7 @@
 import org.terasology.engine.ComponentFieldUri;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EntitySystemLibrary;
@@ -30,6 +31,8 @@
 import org.terasology.registry.CoreRegistry;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,6 +40,10 @@
  * <br><br>
  * Besides the actual entity, a blackboard is stored for each actor. Every node may read or write to this blackboard,
  * to communicate their states or exchange variables with other nodes.
+ * <br><br>
+ * While the actor is deferring effects, components saved with {@link #save(Component)} and events sent with
+ * {@link #send(Event)} are buffered instead of being applied to the entity, until {@link #applyDeferredEffects()} is
+ * called. This allows the tree to be ticked off the main thread.
  */
 @API
 public class Actor {
@@ -51,6 +58,9 @@ public class Actor {
 
     private float delta;
 
+    // Effects buffered while deferring, or null if effects are applied immediately
+    private List<Runnable> deferredEffects;
+
     public Actor(EntityRef entity) {
         this.entity = entity;
         blackboard = Maps.newHashMap();
@@ -121,7 +131,57 @@ public boolean hasComponent(Class<? extends Component> component) {
     }
 
     public void save(Component component) {
-        entity.saveComponent(component);
+        if (deferredEffects != null) {
+            deferredEffects.add(() -> entity.saveComponent(component));
+        } else {
+            entity.saveComponent(component);
+        }
+    }
+
+    /**
+     * Sends an event to the actor's entity, or buffers it if the actor is deferring effects.
+     *
+     * @param event The event to send
+     */
+    public void send(Event event) {
+        if (deferredEffects != null) {
+            deferredEffects.add(() -> entity.send(event));
+        } else {
+            entity.send(event);
+        }
+    }
+
+    public boolean isDeferringEffects() {
+        return deferredEffects != null;
+    }
+
+    /**
+     * Switches between buffering the effects of the actor and applying them immediately. Effects that are still
+     * buffered when deferring is switched off are applied right away.
+     *
+     * @param defer true if saved components and sent events should be buffered
+     */
+    public void setDeferringEffects(boolean defer) {
+        if (defer && deferredEffects == null) {
+            deferredEffects = new ArrayList<>();
+        } else if (!defer && deferredEffects != null) {
+            applyDeferredEffects();
+            deferredEffects = null;
+        }
+    }
+
+    /**
+     * Applies the buffered effects to the entity, in the order they were made. Must be called on the main thread.
+     */
+    public void applyDeferredEffects() {
+        if (deferredEffects == null || deferredEffects.isEmpty()) {
+            return;
+        }
+        // effects may cause further effects to be buffered, which are applied as well
+        for (int i = 0; i < deferredEffects.size(); i++) {
+            deferredEffects.get(i).run();
+        }
+        deferredEffects.clear();
     }
 
     public EntityRef getEntity() {
@@ -62,6 +62,13 @@ public BehaviorState execute(Actor actor) {
         return checkSuccess(successCounter);
     }
 
+    /**
+     * @return true if all children have to succeed for this node to succeed, false if one successful child is enough
+     */
+    public boolean isRequireAll() {
+        return policy == Policy.REQUIRE_ALL;
+    }
+
     public BehaviorState checkSuccess(int successCounter) {
         if (policy == Policy.REQUIRE_ALL && successCounter == children.size()) {
             return BehaviorState.SUCCESS;
@@ -17,8 +17,6 @@
 package org.terasology.logic.characters;
 
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 import org.slf4j.Logger;
@@ -45,11 +43,10 @@
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 import org.terasology.utilities.collection.CircularBuffer;
+import org.terasology.utilities.collection.EntityRefMap;
+import org.terasology.utilities.collection.EntityRefSet;
 import org.terasology.world.WorldProvider;
 
-import java.util.List;
-import java.util.Map;
-
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(PredictionSystem.class)
 public class ServerCharacterPredictionSystem extends BaseComponentSystem implements UpdateSubscriberSystem,
@@ -86,9 +83,9 @@ public class ServerCharacterPredictionSystem extends BaseComponentSystem impleme
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
 
     private CharacterMover characterMover;
-    private Map<EntityRef, CircularBuffer<CharacterStateEvent>> characterStates = Maps.newHashMap();
-    private List<EntityRef> characterStatesToRemove = Lists.newArrayList();
-    private Map<EntityRef, CharacterMoveInputEvent> lastInputEvent = Maps.newHashMap();
+    private EntityRefMap<CircularBuffer<CharacterStateEvent>> characterStates = new EntityRefMap<>();
+    private EntityRefSet characterStatesToRemove = new EntityRefSet();
+    private EntityRefMap<CharacterMoveInputEvent> lastInputEvent = new EntityRefMap<>();
     private long nextSendState;
     private CharacterMovementSystemUtility characterMovementSystemUtility;
 
@@ -207,35 +204,39 @@ private CharacterStateEvent stepState(CharacterMoveInputEvent input, CharacterSt
     public void update(float delta) {
         if (nextSendState < time.getGameTimeInMs()) {
             long lastSendTime = nextSendState - TIME_BETWEEN_STATE_REPLICATE;
-            for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-                if (entry.getValue().size() > 0) {
-                    CharacterStateEvent state = entry.getValue().getLast();
+            for (EntityRefMap.EntryIterator<CircularBuffer<CharacterStateEvent>> it = characterStates.iterator(); it.hasNext(); ) {
+                it.advance();
+                if (it.value().size() > 0) {
+                    CharacterStateEvent state = it.value().getLast();
                     if (state.getTime() >= lastSendTime) {
-                        entry.getKey().send(state);
+                        it.key().send(state);
                     } else if (time.getGameTimeInMs() - state.getTime() > MAX_INPUT_UNDERFLOW) {
                         // Haven't received input in a while, repeat last input
-                        CharacterMoveInputEvent lastInput = lastInputEvent.get(entry.getKey());
+                        CharacterMoveInputEvent lastInput = lastInputEvent.get(it.key());
                         if (lastInput != null) {
                             CharacterMoveInputEvent newInput = new CharacterMoveInputEvent(lastInput,
                                     (int) (time.getGameTimeInMs() - state.getTime()));
-                            onPlayerInput(newInput, entry.getKey());
+                            onPlayerInput(newInput, it.key());
                         }
-                        entry.getKey().send(state);
+                        it.key().send(state);
                     }
                 }
             }
             nextSendState += TIME_BETWEEN_STATE_REPLICATE;
         }
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            if (entry.getKey().equals(localPlayer.getCharacterEntity())) {
+        for (EntityRefMap.EntryIterator<CircularBuffer<CharacterStateEvent>> it = characterStates.iterator(); it.hasNext(); ) {
+            it.advance();
+            if (it.key().equals(localPlayer.getCharacterEntity())) {
                 continue;
             }
-            if (!characterStatesToRemove.contains(entry.getKey())) {
-                setToTime(renderTime, entry.getKey(), entry.getValue());
+            if (!characterStatesToRemove.contains(it.key())) {
+                setToTime(renderTime, it.key(), it.value());
             }
         }
-        characterStates.keySet().removeAll(characterStatesToRemove);
+        for (EntityRef entity : characterStatesToRemove) {
+            characterStates.remove(entity);
+        }
         characterStatesToRemove.clear();
     }
 
@@ -261,20 +262,18 @@ private void setToTime(long renderTime, EntityRef entity, CircularBuffer<Charact
 
     @Override
     public void lagCompensate(EntityRef client, long timeMs) {
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            if (networkSystem.getOwnerEntity(entry.getKey()).equals(client)) {
-                characterMovementSystemUtility.setToState(entry.getKey(), entry.getValue().getLast());
+        characterStates.forEach((entity, buffer) -> {
+            if (networkSystem.getOwnerEntity(entity).equals(client)) {
+                characterMovementSystemUtility.setToState(entity, buffer.getLast());
             } else {
-                setToTime(timeMs - RENDER_DELAY, entry.getKey(), entry.getValue());
+                setToTime(timeMs - RENDER_DELAY, entity, buffer);
             }
-        }
+        });
     }
 
     @Override
     public void restoreToPresent() {
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            setToTime(renderTime, entry.getKey(), entry.getValue());
-        }
+        characterStates.forEach((entity, buffer) -> setToTime(renderTime, entity, buffer));
     }
 }
@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.world.block.ForceBlockActive;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -74,6 +75,20 @@ public boolean containsActionId(String actionId) {
         return actionIdsWakeUp.containsKey(actionId);
     }
 
+    /**
+     * @return the wake up time of the given action, or {@link Long#MAX_VALUE} if it is not scheduled
+     */
+    public long getWakeUp(String actionId) {
+        return actionIdsWakeUp.getOrDefault(actionId, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return a read-only view of the scheduled actions and their wake up times
+     */
+    public Map<String, Long> getScheduledActions() {
+        return Collections.unmodifiableMap(actionIdsWakeUp);
+    }
+
     private long findSmallestWakeUp() {
         long result = Long.MAX_VALUE;
         for (long value : actionIdsWakeUp.values()) {
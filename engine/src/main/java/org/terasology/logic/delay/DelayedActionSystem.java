@@ -15,9 +15,11 @@
  */
 package org.terasology.logic.delay;
 
-import com.google.common.collect.Ordering;
-import com.google.common.collect.SortedSetMultimap;
-import com.google.common.collect.TreeMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.MultimapBuilder;
+import gnu.trove.map.TObjectLongMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.Time;
@@ -32,13 +34,18 @@
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Provides support for scheduling events that will trigger at some point in the future.
+ * <p>
+ * The {@link DelayedActionComponent} and {@link PeriodicActionComponent} of an entity hold the persistent schedule.
+ * While the entity is active, each of its actions is also scheduled in a {@link TimingWheel}, so that scheduling,
+ * cancelling and firing an action does not depend on the number of other scheduled actions. Actions firing in the
+ * same update are grouped per entity, so each entity's component is only fetched and saved once.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(value = DelayManager.class)
@@ -48,8 +55,14 @@ public class DelayedActionSystem extends BaseComponentSystem implements UpdateSu
     @In
     private Time time;
 
-    private SortedSetMultimap<Long, EntityRef> delayedOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
-    private SortedSetMultimap<Long, EntityRef> periodicOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
+    private final TimingWheel<ScheduledAction> delayedOperations = new TimingWheel<>(0);
+    private final TimingWheel<ScheduledAction> periodicOperations = new TimingWheel<>(0);
+
+    private final Map<EntityRef, TObjectLongMap<String>> delayedHandles = Maps.newHashMap();
+    private final Map<EntityRef, TObjectLongMap<String>> periodicHandles = Maps.newHashMap();
+
+    private final List<ScheduledAction> firedActions = new ArrayList<>();
+    private final ListMultimap<EntityRef, String> firedActionsByEntity = MultimapBuilder.linkedHashKeys().arrayListValues().build();
 
     // ONLY use this for testing. DO NOT use this during regular usage.
     void setTime(Time t) {
@@ -64,29 +77,31 @@ public void update(float delta) {
     }
 
     private void invokeDelayedOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = delayedOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
-            }
-            operationsToInvoke.addAll(delayedOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
+        if (!collectFiredActions(delayedOperations, delayedHandles, currentWorldTime)) {
+            return;
         }
 
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(delayedEntity -> {
+        for (Map.Entry<EntityRef, Collection<String>> entry : firedActionsByEntity.asMap().entrySet()) {
+            final EntityRef delayedEntity = entry.getKey();
+            if (!delayedEntity.exists()) {
+                continue;
+            }
             final DelayedActionComponent delayedActions = delayedEntity.getComponent(DelayedActionComponent.class);
 
             // If there is a DelayedActionComponent, proceed. Else report an error to the log.
             if (delayedActions != null) {
-                final Set<String> actionIds = delayedActions.removeActionsUpTo(currentWorldTime);
-                saveOrRemoveComponent(delayedEntity, delayedActions);
-
-                if (!delayedActions.isEmpty()) {
-                    delayedOperationsSortedByTime.put(delayedActions.getLowestWakeUp(), delayedEntity);
+                final List<String> actionIds = new ArrayList<>(entry.getValue().size());
+                for (String actionId : entry.getValue()) {
+                    final long wakeUp = delayedActions.getWakeUp(actionId);
+                    if (wakeUp <= currentWorldTime) {
+                        delayedActions.removeActionId(actionId);
+                        actionIds.add(actionId);
+                    } else if (wakeUp != Long.MAX_VALUE) {
+                        // The component has been rescheduled behind our back, follow it
+                        schedule(delayedOperations, delayedHandles, delayedEntity, actionId, wakeUp);
+                    }
                 }
+                saveOrRemoveComponent(delayedEntity, delayedActions);
 
                 for (String actionId : actionIds) {
                     delayedEntity.send(new DelayedActionTriggeredEvent(actionId));
@@ -95,62 +110,94 @@ private void invokeDelayedOperations(long currentWorldTime) {
                 logger.error("ERROR: This entity is missing a DelayedActionComponent: {}. " +
                         "So skipping delayed actions for this entity.", delayedEntity);
             }
-        });
+        }
+        firedActionsByEntity.clear();
     }
 
     private void invokePeriodicOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = periodicOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
-            }
-            operationsToInvoke.addAll(periodicOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
+        if (!collectFiredActions(periodicOperations, periodicHandles, currentWorldTime)) {
+            return;
         }
 
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(periodicEntity -> {
+        for (Map.Entry<EntityRef, Collection<String>> entry : firedActionsByEntity.asMap().entrySet()) {
+            final EntityRef periodicEntity = entry.getKey();
+            if (!periodicEntity.exists()) {
+                continue;
+            }
             final PeriodicActionComponent periodicActionComponent = periodicEntity.getComponent(PeriodicActionComponent.class);
 
             // If there is a PeriodicActionComponent, proceed. Else report an error to the log.
             if (periodicActionComponent != null) {
-                final Set<String> actionIds = periodicActionComponent.getTriggeredActionsAndReschedule(currentWorldTime);
-                saveOrRemoveComponent(periodicEntity, periodicActionComponent);
-
-                if (!periodicActionComponent.isEmpty()) {
-                    periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), periodicEntity);
+                final List<String> actionIds = new ArrayList<>(entry.getValue().size());
+                for (String actionId : entry.getValue()) {
+                    final long wakeUp = periodicActionComponent.getWakeUp(actionId);
+                    if (wakeUp <= currentWorldTime) {
+                        final long nextWakeUp = periodicActionComponent.rescheduleActionId(actionId, currentWorldTime);
+                        schedule(periodicOperations, periodicHandles, periodicEntity, actionId, nextWakeUp);
+                        actionIds.add(actionId);
+                    } else if (wakeUp != Long.MAX_VALUE) {
+                        schedule(periodicOperations, periodicHandles, periodicEntity, actionId, wakeUp);
+                    }
                 }
+                saveOrRemoveComponent(periodicEntity, periodicActionComponent);
 
                 for (String actionId : actionIds) {
                     periodicEntity.send(new PeriodicActionTriggeredEvent(actionId));
                 }
             } else {
-                logger.error("ERROR: This entity is missing a DelayedActionComponent: {}. " +
-                        "So skipping delayed actions for this entity", periodicEntity);
+                logger.error("ERROR: This entity is missing a PeriodicActionComponent: {}. " +
+                        "So skipping periodic actions for this entity", periodicEntity);
             }
-        });
+        }
+        firedActionsByEntity.clear();
+    }
+
+    /**
+     * Advances the given wheel and groups the fired actions by entity into {@link #firedActionsByEntity}.
+     *
+     * @return true if any action fired
+     */
+    private boolean collectFiredActions(TimingWheel<ScheduledAction> wheel, Map<EntityRef, TObjectLongMap<String>> handles,
+                                        long currentWorldTime) {
+        if (wheel.advance(currentWorldTime, firedActions) == 0) {
+            return false;
+        }
+        for (ScheduledAction action : firedActions) {
+            TObjectLongMap<String> entityHandles = handles.get(action.entity);
+            if (entityHandles != null) {
+                entityHandles.remove(action.actionId);
+                if (entityHandles.isEmpty()) {
+                    handles.remove(action.entity);
+                }
+            }
+            firedActionsByEntity.put(action.entity, action.actionId);
+        }
+        firedActions.clear();
+        return true;
     }
 
     @ReceiveEvent
     public void delayedComponentActivated(OnActivatedComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.put(delayedActionComponent.getLowestWakeUp(), entity);
+        for (Map.Entry<String, Long> action : delayedActionComponent.getScheduledActions().entrySet()) {
+            schedule(delayedOperations, delayedHandles, entity, action.getKey(), action.getValue());
+        }
     }
 
     @ReceiveEvent
     public void periodicComponentActivated(OnActivatedComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), entity);
+        for (Map.Entry<String, Long> action : periodicActionComponent.getScheduledActions().entrySet()) {
+            schedule(periodicOperations, periodicHandles, entity, action.getKey(), action.getValue());
+        }
     }
 
     @ReceiveEvent
     public void delayedComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.remove(delayedActionComponent.getLowestWakeUp(), entity);
+        cancelAll(delayedOperations, delayedHandles, entity);
     }
 
     @ReceiveEvent
     public void periodicComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        delayedOperationsSortedByTime.remove(periodicActionComponent.getLowestWakeUp(), entity);
+        cancelAll(periodicOperations, periodicHandles, entity);
     }
 
     @Override
@@ -159,19 +206,11 @@ public void addDelayedAction(EntityRef entity, String actionId, long delay) {
 
         DelayedActionComponent delayedActionComponent = entity.getComponent(DelayedActionComponent.class);
         if (delayedActionComponent != null) {
-            final long oldWakeUp = delayedActionComponent.getLowestWakeUp();
             delayedActionComponent.addActionId(actionId, scheduleTime);
             entity.saveComponent(delayedActionComponent);
-            final long newWakeUp = delayedActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-                delayedOperationsSortedByTime.put(newWakeUp, entity);
-            } else {
-                // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-                // to the delayedOperationsSortedByTime mapping.
-                delayedOperationsSortedByTime.put(scheduleTime, entity);
-            }
+            schedule(delayedOperations, delayedHandles, entity, actionId, scheduleTime);
         } else {
+            // The action gets scheduled once the new component is activated
             delayedActionComponent = new DelayedActionComponent();
             delayedActionComponent.addActionId(actionId, scheduleTime);
             entity.addComponent(delayedActionComponent);
@@ -184,19 +223,11 @@ public void addPeriodicAction(EntityRef entity, String actionId, long initialDel
 
         PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
         if (periodicActionComponent != null) {
-            final long oldWakeUp = periodicActionComponent.getLowestWakeUp();
             periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
             entity.saveComponent(periodicActionComponent);
-            final long newWakeUp = periodicActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-                periodicOperationsSortedByTime.put(newWakeUp, entity);
-            } else {
-                // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-                // to the delayedOperationsSortedByTime mapping.
-                periodicOperationsSortedByTime.put(scheduleTime, entity);
-            }
+            schedule(periodicOperations, periodicHandles, entity, actionId, scheduleTime);
         } else {
+            // The action gets scheduled once the new component is activated
             periodicActionComponent = new PeriodicActionComponent();
             periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
             entity.addComponent(periodicActionComponent);
@@ -206,30 +237,22 @@ public void addPeriodicAction(EntityRef entity, String actionId, long initialDel
     @Override
     public void cancelDelayedAction(EntityRef entity, String actionId) {
         DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
-        long oldWakeUp = delayedComponent.getLowestWakeUp();
-        delayedComponent.removeActionId(actionId);
-        long newWakeUp = delayedComponent.getLowestWakeUp();
-        if (!delayedComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-            delayedOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (delayedComponent.isEmpty()) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
+        if (delayedComponent == null || !delayedComponent.containsActionId(actionId)) {
+            return;
         }
+        cancel(delayedOperations, delayedHandles, entity, actionId);
+        delayedComponent.removeActionId(actionId);
         saveOrRemoveComponent(entity, delayedComponent);
     }
 
     @Override
     public void cancelPeriodicAction(EntityRef entity, String actionId) {
         PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-        periodicActionComponent.removeScheduledActionId(actionId);
-        long newWakeUp = periodicActionComponent.getLowestWakeUp();
-        if (!periodicActionComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-            periodicOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (periodicActionComponent.isEmpty()) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
+        if (periodicActionComponent == null || !periodicActionComponent.containsActionId(actionId)) {
+            return;
         }
+        cancel(periodicOperations, periodicHandles, entity, actionId);
+        periodicActionComponent.removeScheduledActionId(actionId);
         saveOrRemoveComponent(entity, periodicActionComponent);
     }
 
@@ -245,6 +268,43 @@ public boolean hasPeriodicAction(EntityRef entity, String actionId) {
         return periodicActionComponent != null && periodicActionComponent.containsActionId(actionId);
     }
 
+    /**
+     * Schedules the action in the wheel, replacing a previously scheduled instance of the same action.
+     */
+    private void schedule(TimingWheel<ScheduledAction> wheel, Map<EntityRef, TObjectLongMap<String>> handles,
+                          EntityRef entity, String actionId, long wakeUp) {
+        TObjectLongMap<String> entityHandles = handles.computeIfAbsent(entity, key -> new TObjectLongHashMap<>());
+        if (entityHandles.containsKey(actionId)) {
+            long handle = entityHandles.get(actionId);
+            if (wheel.getDeadline(handle) == wakeUp) {
+                return;
+            }
+            wheel.cancel(handle);
+        }
+        entityHandles.put(actionId, wheel.schedule(wakeUp, new ScheduledAction(entity, actionId)));
+    }
+
+    private void cancel(TimingWheel<ScheduledAction> wheel, Map<EntityRef, TObjectLongMap<String>> handles,
+                        EntityRef entity, String actionId) {
+        TObjectLongMap<String> entityHandles = handles.get(entity);
+        if (entityHandles != null && entityHandles.containsKey(actionId)) {
+            wheel.cancel(entityHandles.remove(actionId));
+            if (entityHandles.isEmpty()) {
+                handles.remove(entity);
+            }
+        }
+    }
+
+    private void cancelAll(TimingWheel<ScheduledAction> wheel, Map<EntityRef, TObjectLongMap<String>> handles, EntityRef entity) {
+        TObjectLongMap<String> entityHandles = handles.remove(entity);
+        if (entityHandles != null) {
+            entityHandles.forEachValue(handle -> {
+                wheel.cancel(handle);
+                return true;
+            });
+        }
+    }
+
     private void saveOrRemoveComponent(EntityRef delayedEntity, DelayedActionComponent delayedActionComponent) {
         if (delayedActionComponent.isEmpty()) {
             delayedEntity.removeComponent(DelayedActionComponent.class);
@@ -260,4 +320,14 @@ private void saveOrRemoveComponent(EntityRef periodicEntity, PeriodicActionCompo
             periodicEntity.saveComponent(periodicActionComponent);
         }
     }
+
+    private static final class ScheduledAction {
+        private final EntityRef entity;
+        private final String actionId;
+
+        private ScheduledAction(EntityRef entity, String actionId) {
+            this.entity = entity;
+            this.actionId = actionId;
+        }
+    }
 }
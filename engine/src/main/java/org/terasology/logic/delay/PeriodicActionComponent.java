@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.world.block.ForceBlockActive;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -71,6 +72,22 @@ public Set<String> getTriggeredActionsAndReschedule(final long worldTime) {
         return result;
     }
 
+    /**
+     * Schedules the next invocation of a triggered action one period after the given time.
+     *
+     * @return the new wake up time of the action
+     */
+    public long rescheduleActionId(String actionId, long worldTime) {
+        final long wakeUp = worldTime + actionIdsPeriod.get(actionId);
+        final Long previousWakeUp = actionIdsWakeUp.put(actionId, wakeUp);
+        if (previousWakeUp != null && previousWakeUp == lowestWakeUp) {
+            lowestWakeUp = findSmallestWakeUp();
+        } else {
+            lowestWakeUp = Math.min(lowestWakeUp, wakeUp);
+        }
+        return wakeUp;
+    }
+
     public long getLowestWakeUp() {
         return lowestWakeUp;
     }
@@ -90,4 +107,18 @@ public boolean isEmpty() {
     public boolean containsActionId(String actionId) {
         return actionIdsWakeUp.containsKey(actionId);
     }
+
+    /**
+     * @return the wake up time of the given action, or {@link Long#MAX_VALUE} if it is not scheduled
+     */
+    public long getWakeUp(String actionId) {
+        return actionIdsWakeUp.getOrDefault(actionId, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return a read-only view of the scheduled actions and their next wake up times
+     */
+    public Map<String, Long> getScheduledActions() {
+        return Collections.unmodifiableMap(actionIdsWakeUp);
+    }
 }
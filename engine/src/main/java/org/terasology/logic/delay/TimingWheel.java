@@ -0,0 +1,340 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.delay;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * A hierarchical timing wheel with millisecond resolution, used by the {@link DelayedActionSystem} to keep track of
+ * scheduled actions.
+ * <p>
+ * The wheel has four levels of 256 slots each, covering about 50 days; anything further away is kept in an overflow
+ * list and moved into the wheel once it comes into range. Scheduled entries live in primitive arrays and are linked
+ * into their slot with int indices, so scheduling and cancelling an entry is O(1) and does not allocate once the
+ * internal arrays have grown to fit.
+ * <p>
+ * Entries are identified by the handle returned from {@link #schedule(long, Object)}. Handles stay unique after the
+ * entry has fired or was cancelled, so cancelling a stale handle is a harmless no-op.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> the type of the payload attached to each entry
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final long SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long HORIZON_MASK = (1L << (LEVELS * SLOT_BITS)) - 1;
+
+    private static final int OVERFLOW_LIST = LEVELS * SLOTS;
+    private static final int DUE_LIST = OVERFLOW_LIST + 1;
+    private static final int FREE = -1;
+    private static final int NIL = -1;
+
+    /**
+     * Advancing by more ticks than this re-sorts all entries at once instead of stepping through every tick.
+     */
+    private static final long REBUILD_THRESHOLD = SLOTS * SLOTS;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int[] heads = new int[DUE_LIST + 1];
+
+    private long[] deadlines;
+    private int[] next;
+    private int[] prev;
+    private int[] location;
+    private int[] generations;
+    private Object[] payloads;
+    private int freeHead = NIL;
+    private int used;
+    private int size;
+
+    /**
+     * The last tick that has been fully processed. Entries due at or before this time have been fired.
+     */
+    private long currentTime;
+
+    /**
+     * @param startTime the time from which the wheel starts advancing
+     */
+    public TimingWheel(long startTime) {
+        this.currentTime = startTime;
+        Arrays.fill(heads, NIL);
+        deadlines = new long[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        prev = new int[INITIAL_CAPACITY];
+        location = new int[INITIAL_CAPACITY];
+        generations = new int[INITIAL_CAPACITY];
+        payloads = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Schedules the payload to be returned by the first {@link #advance} call that reaches the deadline. Deadlines
+     * that are already in the past fire on the next advance.
+     *
+     * @param deadline the time at which the entry is due
+     * @param payload the payload to hand out when the entry fires
+     * @return a handle that can be used to cancel the entry
+     */
+    public long schedule(long deadline, T payload) {
+        int node = allocate();
+        deadlines[node] = deadline;
+        payloads[node] = payload;
+        insert(node, currentTime + 1);
+        size++;
+        return ((long) generations[node] << 32) | node;
+    }
+
+    /**
+     * Cancels a scheduled entry.
+     *
+     * @param handle the handle returned by {@link #schedule(long, Object)}
+     * @return true if the entry was still pending and has been removed
+     */
+    public boolean cancel(long handle) {
+        int node = resolve(handle);
+        if (node == NIL) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        return true;
+    }
+
+    /**
+     * @param handle the handle returned by {@link #schedule(long, Object)}
+     * @return true if the entry has neither fired nor been cancelled
+     */
+    public boolean isScheduled(long handle) {
+        return resolve(handle) != NIL;
+    }
+
+    /**
+     * @param handle the handle returned by {@link #schedule(long, Object)}
+     * @return the deadline of the entry, or {@link Long#MAX_VALUE} if it is no longer scheduled
+     */
+    public long getDeadline(long handle) {
+        int node = resolve(handle);
+        return node != NIL ? deadlines[node] : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of pending entries
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the time up to which all entries have been fired
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Advances the wheel to the given time and fires every entry whose deadline is at or before it.
+     *
+     * @param now the time to advance to; advancing backwards only fires entries scheduled in the past
+     * @param expired receives the payloads of the fired entries, ordered by deadline (entries that were scheduled in
+     *                the past come first)
+     * @return the number of fired entries
+     */
+    public int advance(long now, Collection<? super T> expired) {
+        int fired = fireList(DUE_LIST, expired);
+        if (now <= currentTime) {
+            return fired;
+        }
+        if (size == 0) {
+            currentTime = now;
+            return fired;
+        }
+        if (now - currentTime > REBUILD_THRESHOLD) {
+            return fired + rebuild(now, expired);
+        }
+        for (long tick = currentTime + 1; tick <= now; tick++) {
+            cascade(tick);
+            fired += fireList((int) (tick & SLOT_MASK), expired);
+            currentTime = tick;
+            if (size == 0) {
+                currentTime = now;
+                break;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Removes all entries without firing them.
+     */
+    public void clear() {
+        for (int list = 0; list < heads.length; list++) {
+            int node = heads[list];
+            while (node != NIL) {
+                int following = next[node];
+                release(node);
+                node = following;
+            }
+            heads[list] = NIL;
+        }
+    }
+
+    private void insert(int node, long reference) {
+        long deadline = deadlines[node];
+        if (deadline < reference) {
+            link(node, DUE_LIST);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            if ((deadline >> shift) - (reference >> shift) < SLOTS) {
+                link(node, level * SLOTS + (int) ((deadline >> shift) & SLOT_MASK));
+                return;
+            }
+        }
+        link(node, OVERFLOW_LIST);
+    }
+
+    /**
+     * Moves the entries of every slot that starts at the given tick down into finer levels.
+     */
+    private void cascade(long tick) {
+        if ((tick & HORIZON_MASK) == 0) {
+            relink(OVERFLOW_LIST, tick);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = level * SLOT_BITS;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                relink(level * SLOTS + (int) ((tick >> shift) & SLOT_MASK), tick);
+            }
+        }
+    }
+
+    private void relink(int list, long reference) {
+        int node = heads[list];
+        heads[list] = NIL;
+        while (node != NIL) {
+            int following = next[node];
+            insert(node, reference);
+            node = following;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int fireList(int list, Collection<? super T> expired) {
+        int node = heads[list];
+        if (node == NIL) {
+            return 0;
+        }
+        heads[list] = NIL;
+        int fired = 0;
+        while (node != NIL) {
+            int following = next[node];
+            expired.add((T) payloads[node]);
+            release(node);
+            fired++;
+            node = following;
+        }
+        return fired;
+    }
+
+    /**
+     * Fires everything due up to the given time in deadline order, and re-sorts the remaining entries relative to it.
+     */
+    @SuppressWarnings("unchecked")
+    private int rebuild(long now, Collection<? super T> expired) {
+        Integer[] nodes = new Integer[size];
+        int count = 0;
+        for (int list = 0; list < heads.length; list++) {
+            for (int node = heads[list]; node != NIL; node = next[node]) {
+                nodes[count++] = node;
+            }
+            heads[list] = NIL;
+        }
+        Arrays.sort(nodes, 0, count, Comparator.comparingLong(node -> deadlines[node]));
+
+        currentTime = now;
+        int fired = 0;
+        for (int i = 0; i < count; i++) {
+            int node = nodes[i];
+            if (deadlines[node] <= now) {
+                expired.add((T) payloads[node]);
+                release(node);
+                fired++;
+            } else {
+                insert(node, now + 1);
+            }
+        }
+        return fired;
+    }
+
+    private void link(int node, int list) {
+        int head = heads[list];
+        next[node] = head;
+        prev[node] = NIL;
+        if (head != NIL) {
+            prev[head] = node;
+        }
+        heads[list] = node;
+        location[node] = list;
+    }
+
+    private void unlink(int node) {
+        int before = prev[node];
+        int after = next[node];
+        if (before != NIL) {
+            next[before] = after;
+        } else {
+            heads[location[node]] = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        }
+    }
+
+    private int resolve(long handle) {
+        int node = (int) handle;
+        int generation = (int) (handle >>> 32);
+        if (node < 0 || node >= used || location[node] == FREE || generations[node] != generation) {
+            return NIL;
+        }
+        return node;
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (used == deadlines.length) {
+            int capacity = used * 2;
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            location = Arrays.copyOf(location, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        return used++;
+    }
+
+    private void release(int node) {
+        payloads[node] = null;
+        location[node] = FREE;
+        generations[node]++;
+        next[node] = freeHead;
+        freeHead = node;
+        size--;
+    }
+}
@@ -0,0 +1,162 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.logic.location;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.world.chunks.Chunks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A hash grid of entity positions, bucketed by the chunk containing them.
+ * <p>
+ * Queries look at the buckets of the chunks overlapping the queried area only, and test the positions the entities were
+ * last {@link #update updated} with. The grid does not follow changes of {@link LocationComponent}s by itself: it is
+ * only exact as long as its owner updates it whenever one of its entities moves.
+ */
+public final class LocationGrid {
+    private final Map<Vector3i, Map<EntityRef, Vector3f>> buckets = new HashMap<>();
+    private final Map<EntityRef, Vector3i> entityChunks = new HashMap<>();
+
+    /**
+     * Adds the entity to the grid, or moves it if it is already part of it.
+     *
+     * @param entity the entity
+     * @param worldPosition the world position of the entity, which must be finite
+     */
+    public void update(EntityRef entity, Vector3fc worldPosition) {
+        Vector3i chunkPos = Chunks.toChunkPos(worldPosition, new Vector3i());
+        Vector3i oldChunkPos = entityChunks.get(entity);
+        if (oldChunkPos != null && oldChunkPos.equals(chunkPos)) {
+            buckets.get(oldChunkPos).get(entity).set(worldPosition);
+            return;
+        }
+        if (oldChunkPos != null) {
+            removeFromBucket(entity, oldChunkPos);
+        }
+        entityChunks.put(entity, chunkPos);
+        // Keep the order entities were added in, so queries return them in a stable order
+        buckets.computeIfAbsent(chunkPos, pos -> new LinkedHashMap<>()).put(entity, new Vector3f(worldPosition));
+    }
+
+    /**
+     * Removes the entity from the grid, if it is part of it.
+     */
+    public void remove(EntityRef entity) {
+        Vector3i chunkPos = entityChunks.remove(entity);
+        if (chunkPos != null) {
+            removeFromBucket(entity, chunkPos);
+        }
+    }
+
+    public boolean contains(EntityRef entity) {
+        return entityChunks.containsKey(entity);
+    }
+
+    public int size() {
+        return entityChunks.size();
+    }
+
+    public void clear() {
+        buckets.clear();
+        entityChunks.clear();
+    }
+
+    /**
+     * @param chunkPos the position of the chunk
+     * @return the entities located in the chunk
+     */
+    public List<EntityRef> getEntitiesInChunk(Vector3ic chunkPos) {
+        Map<EntityRef, Vector3f> bucket = buckets.get(new Vector3i(chunkPos));
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(bucket.keySet());
+    }
+
+    /**
+     * @param center the center of the sphere, in world coordinates
+     * @param radius the radius of the sphere
+     * @return the entities located within the sphere
+     */
+    public List<EntityRef> getEntitiesInRadius(Vector3fc center, float radius) {
+        List<EntityRef> result = new ArrayList<>();
+        float radiusSquared = radius * radius;
+        Vector3i min = Chunks.toChunkPos(center.x() - radius, center.y() - radius, center.z() - radius, new Vector3i());
+        Vector3i max = Chunks.toChunkPos(center.x() + radius, center.y() + radius, center.z() + radius, new Vector3i());
+        forEachBucket(min, max, bucket -> {
+            for (Map.Entry<EntityRef, Vector3f> entry : bucket.entrySet()) {
+                if (entry.getValue().distanceSquared(center) <= radiusSquared) {
+                    result.add(entry.getKey());
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @param box the box, in world coordinates
+     * @return the entities located within the box
+     */
+    public List<EntityRef> getEntitiesInBox(AABBf box) {
+        List<EntityRef> result = new ArrayList<>();
+        Vector3i min = Chunks.toChunkPos(box.minX, box.minY, box.minZ, new Vector3i());
+        Vector3i max = Chunks.toChunkPos(box.maxX, box.maxY, box.maxZ, new Vector3i());
+        forEachBucket(min, max, bucket -> {
+            for (Map.Entry<EntityRef, Vector3f> entry : bucket.entrySet()) {
+                Vector3f pos = entry.getValue();
+                if (pos.x >= box.minX && pos.y >= box.minY && pos.z >= box.minZ
+                        && pos.x <= box.maxX && pos.y <= box.maxY && pos.z <= box.maxZ) {
+                    result.add(entry.getKey());
+                }
+            }
+        });
+        return result;
+    }
+
+    private void forEachBucket(Vector3ic min, Vector3ic max, Consumer<Map<EntityRef, Vector3f>> visitor) {
+        long chunkCount = (long) (max.x() - min.x() + 1) * (max.y() - min.y() + 1) * (max.z() - min.z() + 1);
+        if (chunkCount > buckets.size()) {
+            // Large areas cover more chunks than there are occupied ones
+            for (Map.Entry<Vector3i, Map<EntityRef, Vector3f>> bucket : buckets.entrySet()) {
+                Vector3i pos = bucket.getKey();
+                if (pos.x >= min.x() && pos.y >= min.y() && pos.z >= min.z()
+                        && pos.x <= max.x() && pos.y <= max.y() && pos.z <= max.z()) {
+                    visitor.accept(bucket.getValue());
+                }
+            }
+            return;
+        }
+        Vector3i pos = new Vector3i();
+        for (int x = min.x(); x <= max.x(); x++) {
+            for (int y = min.y(); y <= max.y(); y++) {
+                for (int z = min.z(); z <= max.z(); z++) {
+                    Map<EntityRef, Vector3f> bucket = buckets.get(pos.set(x, y, z));
+                    if (bucket != null) {
+                        visitor.accept(bucket);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeFromBucket(EntityRef entity, Vector3i chunkPos) {
+        Map<EntityRef, Vector3f> bucket = buckets.get(chunkPos);
+        bucket.remove(entity);
+        if (bucket.isEmpty()) {
+            buckets.remove(chunkPos);
+        }
+    }
+}
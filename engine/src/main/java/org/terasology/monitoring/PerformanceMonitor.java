@@ -89,6 +89,24 @@ public static void endActivity() {
         instance.endActivity();
     }
 
+    /**
+     * Adds execution time that was measured outside of startActivity()/endActivity() to an activity, e.g. work that
+     * was done on other threads on behalf of the main thread. The time is added to the current cycle as if the
+     * activity had run for that long, but does not affect the time assigned to any running activity.
+     * <br><br>
+     * Like the other methods, this is ignored when called from a thread other than the main thread.
+     * <br><br>
+     * Work that happens rarely but takes long, e.g. preparing a save, shows up as a single spike of its whole duration
+     * in the cycle it is recorded in. The spike of such an activity is the cost of one occurrence, not of a frame, and
+     * its running mean is that cost spread over the cycles of the mean, even though the main thread was not blocked.
+     *
+     * @param activityName the name of the activity to add the time to.
+     * @param timeInMs the execution time in milliseconds.
+     */
+    public static void recordActivityTime(String activityName, long timeInMs) {
+        instance.recordActivityTime(activityName, timeInMs);
+    }
+
     /**
      * Drops old information and updates the metrics. Should be called once per frame.
      */
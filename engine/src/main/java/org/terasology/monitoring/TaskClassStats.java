@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue and latency statistics of one class of tasks of the engine scheduler. Obtained from
+ * {@link ThreadMonitor#getTaskClassStats()}; updated concurrently by the threads of the scheduler.
+ * <p>
+ * The wait time of a task is the time between queueing and starting it. For queues that do not run tasks in the order
+ * they were queued, the times are matched up in queueing order, so the mean wait time is exact but the maximum is an
+ * approximation.
+ */
+public final class TaskClassStats {
+    private final String name;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    TaskClassStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of tasks waiting to be run
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * @return the number of tasks being run right now
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of tasks that ended with an exception
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public double getMeanWaitMs() {
+        return meanMs(totalWaitNanos.sum());
+    }
+
+    public double getMaxWaitMs() {
+        return maxWaitNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMeanRunMs() {
+        return meanMs(totalRunNanos.sum());
+    }
+
+    private double meanMs(long totalNanos) {
+        long count = completed.sum() + failed.sum();
+        return count == 0 ? 0 : totalNanos / (double) TimeUnit.MILLISECONDS.toNanos(1) / count;
+    }
+
+    public void taskQueued(int count) {
+        queued.addAndGet(count);
+    }
+
+    public void taskStarted(long waitNanos) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        totalWaitNanos.add(waitNanos);
+        long max = maxWaitNanos.get();
+        while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = maxWaitNanos.get();
+        }
+    }
+
+    public void taskFinished(long runNanos, boolean success) {
+        running.decrementAndGet();
+        totalRunNanos.add(runNanos);
+        if (success) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+    }
+}
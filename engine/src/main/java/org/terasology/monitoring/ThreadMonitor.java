@@ -24,6 +24,7 @@
 import org.terasology.monitoring.impl.ThreadActivityInternal;
 import org.terasology.monitoring.impl.ThreadMonitorEvent;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +32,7 @@ public final class ThreadMonitor {
 
     private static final EventBus EVENT_BUS = new EventBus("ThreadMonitor");
     private static final Map<Thread, SingleThreadMonitor> THREAD_INFO_BY_ID = Maps.newConcurrentMap();
+    private static final Map<String, TaskClassStats> TASK_CLASS_STATS = Collections.synchronizedMap(Maps.newLinkedHashMap());
 
     private ThreadMonitor() {
     }
@@ -57,6 +59,22 @@ public static synchronized List<SingleThreadMonitor> getThreadMonitors(boolean a
         return getThreadMonitors(Lists.<SingleThreadMonitor>newArrayList(), aliveThreadsOnly);
     }
 
+    /**
+     * @return the statistics of the given class of tasks of the engine scheduler; created if they do not exist yet
+     */
+    public static TaskClassStats getTaskClassStats(String taskClass) {
+        return TASK_CLASS_STATS.computeIfAbsent(taskClass, TaskClassStats::new);
+    }
+
+    /**
+     * @return the statistics of all classes of tasks of the engine scheduler, in the order they were created
+     */
+    public static List<TaskClassStats> getTaskClassStats() {
+        synchronized (TASK_CLASS_STATS) {
+            return Lists.newArrayList(TASK_CLASS_STATS.values());
+        }
+    }
+
     public static void registerForEvents(Object object) {
         Preconditions.checkNotNull(object, "The parameter 'object' must not be null");
         EVENT_BUS.register(object);
@@ -25,11 +25,19 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class ChunkMonitor {
 
     private static final EventBus EVENT_BUS = new EventBus("ChunkMonitor");
     private static final Map<Vector3i, ChunkMonitorEntry> CHUNKS = Maps.newConcurrentMap();
+    private static final AtomicLong SHARED_BLOCK_DATA = new AtomicLong();
+    private static final AtomicLong SHARED_BLOCK_DATA_COPIED = new AtomicLong();
+    private static final AtomicLong SNAPSHOTS = new AtomicLong();
+    private static final AtomicLong SNAPSHOT_ARRAYS_COPIED = new AtomicLong();
+    private static final AtomicInteger CHUNKS_AWAITING_ACTIVATION = new AtomicInteger();
+    private static final AtomicLong BUDGET_LIMITED_ACTIVATIONS = new AtomicLong();
 
     private ChunkMonitor() {
     }
@@ -92,6 +100,91 @@ public static void fireChunkTessellated(Vector3i chunkPos, ChunkMesh mesh) {
         post(new ChunkMonitorEvent.Tessellated(chunkPos, mesh));
     }
 
+    /**
+     * Records that a chunk was created with shared block data, e.g. because it is all air.
+     */
+    public static void recordSharedBlockData() {
+        SHARED_BLOCK_DATA.incrementAndGet();
+    }
+
+    /**
+     * Records that a chunk replaced its shared block data by a copy of its own, because a block was set in it.
+     */
+    public static void recordSharedBlockDataCopied() {
+        SHARED_BLOCK_DATA_COPIED.incrementAndGet();
+    }
+
+    /**
+     * @return the number of chunks created with shared block data so far
+     */
+    public static long getSharedBlockDataCount() {
+        return SHARED_BLOCK_DATA.get();
+    }
+
+    /**
+     * @return the number of chunks that copied their shared block data so far. The difference with
+     * {@link #getSharedBlockDataCount()} is the number of chunks that never needed a block array of their own.
+     */
+    public static long getSharedBlockDataCopiedCount() {
+        return SHARED_BLOCK_DATA_COPIED.get();
+    }
+
+    /**
+     * Records that a snapshot of a chunk was taken.
+     */
+    public static void recordChunkSnapshot() {
+        SNAPSHOTS.incrementAndGet();
+    }
+
+    /**
+     * Records that a chunk copied one of its arrays before writing to it, because a snapshot still shared it.
+     */
+    public static void recordSnapshotArrayCopied() {
+        SNAPSHOT_ARRAYS_COPIED.incrementAndGet();
+    }
+
+    /**
+     * @return the number of chunk snapshots taken so far
+     */
+    public static long getChunkSnapshotCount() {
+        return SNAPSHOTS.get();
+    }
+
+    /**
+     * @return the number of arrays chunks copied so far because they were shared with a snapshot. Compared to
+     * {@link #getChunkSnapshotCount()}, it shows how much copying the snapshots cost.
+     */
+    public static long getSnapshotArrayCopiedCount() {
+        return SNAPSHOT_ARRAYS_COPIED.get();
+    }
+
+    /**
+     * Records how a frame activated ready chunks.
+     *
+     * @param activated the number of chunks activated in the frame
+     * @param awaiting the number of ready chunks left for the next frames because the budget was used up
+     */
+    public static void recordChunkActivation(int activated, int awaiting) {
+        CHUNKS_AWAITING_ACTIVATION.set(awaiting);
+        if (awaiting > 0) {
+            BUDGET_LIMITED_ACTIVATIONS.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of ready chunks that were waiting for activation after the last frame
+     */
+    public static int getChunksAwaitingActivation() {
+        return CHUNKS_AWAITING_ACTIVATION.get();
+    }
+
+    /**
+     * @return the number of frames so far in which not all ready chunks could be activated within the budget
+     */
+    public static long getBudgetLimitedActivationCount() {
+        return BUDGET_LIMITED_ACTIVATIONS.get();
+    }
+
     public static synchronized void getChunks(List<ChunkMonitorEntry> output) {
         Preconditions.checkNotNull(output, "The parameter 'output' must not be null");
         output.addAll(CHUNKS.values());
@@ -38,6 +38,10 @@ public Activity startActivity(String activity) {
     public void endActivity() {
     }
 
+    @Override
+    public void recordActivityTime(String activity, long timeInMs) {
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         return metrics;
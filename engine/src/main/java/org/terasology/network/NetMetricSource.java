@@ -42,4 +42,25 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @return The amount of buffers allocated, or grown, to assemble outgoing messages since last time this method was
+     * called
+     */
+    int getOutboundBufferAllocationsSinceLastCall();
+
+    /**
+     * @return The amount of bytes allocated for buffers of outgoing messages since last time this method was called
+     */
+    int getOutboundBufferBytesAllocatedSinceLastCall();
+
+    /**
+     * @return The amount of outgoing messages assembled in a reused buffer since last time this method was called
+     */
+    int getOutboundBufferReusesSinceLastCall();
+
+    /**
+     * @return The size in bytes of the largest outgoing message assembled since last time this method was called
+     */
+    int getLargestOutboundMessageSinceLastCall();
 }
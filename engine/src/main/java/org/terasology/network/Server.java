@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.protobuf.NetData;
 import org.terasology.world.chunks.remoteChunkProvider.ChunkReadyListener;
 
@@ -39,6 +40,13 @@ public interface Server extends ChunkReadyListener {
 
     void setComponentDirty(int netId, Class<? extends Component> componentType);
 
+    /**
+     * Marks fields of a component as changed, so that only those are sent with the next update.
+     *
+     * @param fieldMask the changed fields, see {@link ComponentMetadata#getChangedFieldMask(Component)}
+     */
+    void setComponentDirty(int netId, Class<? extends Component> componentType, long fieldMask);
+
     NetMetricSource getMetrics();
 
 }
@@ -0,0 +1,208 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal;
+
+import com.google.common.collect.Lists;
+import io.netty.channel.ChannelFuture;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.rendering.world.ChunkDistanceShells;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides which of the chunks ready to be sent to a client are sent with the next net tick.
+ * <p>
+ * Ready chunks are kept in {@link ChunkDistanceShells distance shells} around the chunk of the client's character, so
+ * the nearest chunks are found without scanning all of them. Among the nearest candidates, chunks in the direction the
+ * character looks are preferred over the ones behind it.
+ * <p>
+ * How many chunks are sent per tick is limited twice: by the share of the upstream bandwidth of the client, which
+ * accumulates as credit from tick to tick, and by a window that adapts to the channel. The window grows by one chunk
+ * every tick the previous chunks were written in time, and halves when they were not, or when the channel is no
+ * longer writable.
+ */
+public class ChunkStreamScheduler {
+    public static final int MAX_CHUNKS_PER_TICK = 16;
+
+    // How many of the nearest chunks are considered for each chunk sent
+    private static final int CANDIDATES_PER_CHUNK = 4;
+    // A chunk straight behind the character counts as this many times farther than one in front of it
+    private static final float BEHIND_FACTOR = 4.0f;
+    private static final long DEFAULT_TARGET_WRITE_LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ChunkDistanceShells<ReadyChunk> readyChunks = new ChunkDistanceShells<>();
+    private final Vector3f viewDirection = new Vector3f();
+    private final long targetWriteLatency;
+
+    private float credit = 1.0f;
+    private float window = 1.0f;
+
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private volatile long lastWriteLatency;
+    private volatile long oldestPendingWrite;
+
+    public ChunkStreamScheduler() {
+        this(DEFAULT_TARGET_WRITE_LATENCY);
+    }
+
+    /**
+     * @param targetWriteLatency the time in nanoseconds in which chunks have to be written to keep the window growing
+     */
+    public ChunkStreamScheduler(long targetWriteLatency) {
+        this.targetWriteLatency = targetWriteLatency;
+    }
+
+    public void add(Vector3ic position, Chunk chunk) {
+        if (readyChunks.isEmpty()) {
+            // Keeps the shells few until the viewer is known
+            readyChunks.setCenter(position);
+        }
+        readyChunks.add(position, new ReadyChunk(position, chunk));
+    }
+
+    public void remove(Vector3ic position) {
+        readyChunks.remove(position);
+    }
+
+    public boolean isEmpty() {
+        return readyChunks.isEmpty();
+    }
+
+    public int size() {
+        return readyChunks.size();
+    }
+
+    /**
+     * @return the number of chunks the channel currently allows per tick, regardless of bandwidth
+     */
+    public float getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets where the client's character is and where it looks, which decides which chunks are sent first.
+     *
+     * @param chunkPosition the chunk the character is in
+     * @param direction the direction it looks in, or a zero vector if unknown
+     */
+    public void setViewer(Vector3ic chunkPosition, Vector3fc direction) {
+        readyChunks.setCenter(chunkPosition);
+        viewDirection.set(direction);
+        if (viewDirection.lengthSquared() > 0) {
+            viewDirection.normalize();
+        }
+    }
+
+    /**
+     * Removes the chunks to send with this tick from the ready chunks.
+     *
+     * @param bandwidthChunks the number of chunks per tick the bandwidth share of the client allows
+     * @param writable whether the channel to the client is writable
+     * @return the chunks to send, in the order to send them
+     */
+    public List<Chunk> nextChunks(float bandwidthChunks, boolean writable) {
+        if (readyChunks.isEmpty()) {
+            // Send the first chunk immediately once chunks become ready again
+            credit = 1.0f;
+            return Collections.emptyList();
+        }
+        adaptWindow(writable);
+        credit = Math.min(credit + bandwidthChunks, MAX_CHUNKS_PER_TICK);
+        int count = Math.min((int) Math.min(credit, window), readyChunks.size());
+        if (!writable || count == 0) {
+            return Collections.emptyList();
+        }
+        credit -= count;
+        return pick(count);
+    }
+
+    /**
+     * Tracks how long it takes to write a message with chunks, which is how the window adapts to the channel.
+     */
+    public void trackWrite(ChannelFuture future) {
+        long start = System.nanoTime();
+        if (pendingWrites.getAndIncrement() == 0) {
+            oldestPendingWrite = start;
+        }
+        future.addListener(written -> {
+            lastWriteLatency = System.nanoTime() - start;
+            pendingWrites.decrementAndGet();
+        });
+    }
+
+    private void adaptWindow(boolean writable) {
+        boolean late = lastWriteLatency > targetWriteLatency
+                || pendingWrites.get() > 0 && System.nanoTime() - oldestPendingWrite > targetWriteLatency;
+        if (!writable || late) {
+            window = Math.max(1.0f, window / 2);
+            // Only react once to each late write
+            lastWriteLatency = 0;
+        } else {
+            window = Math.min(window + 1, MAX_CHUNKS_PER_TICK);
+        }
+    }
+
+    private List<Chunk> pick(int count) {
+        int candidateCount = Math.min(count * CANDIDATES_PER_CHUNK, readyChunks.size());
+        List<ReadyChunk> candidates = Lists.newArrayListWithCapacity(candidateCount);
+        for (ReadyChunk readyChunk : readyChunks) {
+            if (candidates.size() == candidateCount) {
+                break;
+            }
+            readyChunk.score = score(readyChunk.position);
+            candidates.add(readyChunk);
+        }
+
+        // Selection of the best scores, as there are only a few candidates
+        List<Chunk> result = Lists.newArrayListWithCapacity(count);
+        for (int i = 0; i < count; i++) {
+            int best = i;
+            for (int j = i + 1; j < candidateCount; j++) {
+                if (candidates.get(j).score < candidates.get(best).score) {
+                    best = j;
+                }
+            }
+            ReadyChunk chosen = candidates.get(best);
+            candidates.set(best, candidates.get(i));
+            readyChunks.remove(chosen.position);
+            result.add(chosen.chunk);
+        }
+        return result;
+    }
+
+    private float score(Vector3ic position) {
+        Vector3ic center = readyChunks.getCenter();
+        // In blocks, as chunks are not cubes
+        float dx = (position.x() - center.x()) * ChunkConstants.SIZE_X;
+        float dy = (position.y() - center.y()) * ChunkConstants.SIZE_Y;
+        float dz = (position.z() - center.z()) * ChunkConstants.SIZE_Z;
+        float distanceSquared = dx * dx + dy * dy + dz * dz;
+        if (distanceSquared == 0 || viewDirection.lengthSquared() == 0) {
+            return distanceSquared;
+        }
+        float cos = (dx * viewDirection.x + dy * viewDirection.y + dz * viewDirection.z)
+                / (float) Math.sqrt(distanceSquared);
+        // 1 in front of the character, BEHIND_FACTOR behind it
+        return distanceSquared * (1 + (BEHIND_FACTOR - 1) * (1 - cos) / 2);
+    }
+
+    private static final class ReadyChunk {
+        private final Vector3i position;
+        private final Chunk chunk;
+        private float score;
+
+        private ReadyChunk(Vector3ic position, Chunk chunk) {
+            this.position = new Vector3i(position);
+            this.chunk = chunk;
+        }
+    }
+}
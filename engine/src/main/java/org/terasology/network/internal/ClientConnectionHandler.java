@@ -18,6 +18,7 @@
 import org.terasology.naming.Name;
 import org.terasology.naming.Version;
 import org.terasology.network.JoinStatus;
+import org.terasology.network.internal.codec.BinaryNetCodec;
 import org.terasology.protobuf.NetData;
 import org.terasology.registry.CoreRegistry;
 
@@ -247,6 +248,10 @@ private void completeJoin(ChannelHandlerContext channelHandlerContext, NetData.J
         logger.info("Join complete received");
         server.setClientId(joinComplete.getClientId());
 
+        // The server sends everything after the join complete message in the binary format if it accepted it
+        if (BinaryNetCodec.isBinaryCodecAccepted(joinComplete)) {
+            BinaryNetCodec.useBinaryDecoder(channelHandlerContext.pipeline());
+        }
         channelHandlerContext.pipeline().remove(this);
         channelHandlerContext.pipeline().get(ClientHandler.class).joinComplete(server);
         joinStatus.setComplete();
@@ -296,6 +301,9 @@ private void sendJoin(ChannelHandlerContext channelHandlerContext) {
         bldr.setName(config.getPlayer().getName());
         bldr.setViewDistanceLevel(config.getRendering().getViewDistance().getIndex());
         bldr.setColor(clrbldr.setRgba(config.getPlayer().getColor().rgba()).build());
+        if (config.getNetwork().isBinaryCodec()) {
+            BinaryNetCodec.requestBinaryCodec(bldr);
+        }
 
         channelHandlerContext.channel().writeAndFlush(NetData.NetMessage.newBuilder().setJoin(bldr).build());
     }
@@ -0,0 +1,48 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.terasology.entitySystem.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Accumulates which fields of the dirty components of network entities changed since the last update was sent.
+ * Components that are dirty but have no mask here are sent in full.
+ */
+final class DirtyFieldMasks {
+    private final Map<Integer, Map<Class<? extends Component>, Long>> masks = Maps.newHashMap();
+
+    /**
+     * Adds the fields in the mask to the changed fields of the component.
+     */
+    void add(int netId, Class<? extends Component> componentType, long fieldMask) {
+        masks.computeIfAbsent(netId, id -> Maps.newHashMap()).merge(componentType, fieldMask, (a, b) -> a | b);
+    }
+
+    /**
+     * @return the changed fields of each component of the entity
+     */
+    Map<Class<? extends Component>, Long> get(int netId) {
+        Map<Class<? extends Component>, Long> entityMasks = masks.get(netId);
+        return entityMasks != null ? entityMasks : Collections.emptyMap();
+    }
+
+    void remove(int netId, Class<? extends Component> componentType) {
+        Map<Class<? extends Component>, Long> entityMasks = masks.get(netId);
+        if (entityMasks != null) {
+            entityMasks.remove(componentType);
+        }
+    }
+
+    void remove(int netId) {
+        masks.remove(netId);
+    }
+
+    void clear() {
+        masks.clear();
+    }
+}
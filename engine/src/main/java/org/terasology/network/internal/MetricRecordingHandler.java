@@ -35,6 +35,10 @@ public class MetricRecordingHandler extends ChannelDuplexHandler implements NetM
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private AtomicInteger outboundBufferAllocations = new AtomicInteger();
+    private AtomicInteger outboundBufferBytesAllocated = new AtomicInteger();
+    private AtomicInteger outboundBufferReuses = new AtomicInteger();
+    private AtomicInteger largestOutboundMessage = new AtomicInteger();
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
@@ -52,6 +56,22 @@ public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
         super.write(ctx, msg, promise);
     }
 
+    /**
+     * Records that a buffer for outgoing messages was allocated, or grown to the given capacity.
+     */
+    public void recordOutboundBufferAllocation(int capacity) {
+        outboundBufferAllocations.incrementAndGet();
+        outboundBufferBytesAllocated.addAndGet(capacity);
+    }
+
+    public void recordOutboundBufferReuse() {
+        outboundBufferReuses.incrementAndGet();
+    }
+
+    public void recordOutboundMessage(int size) {
+        largestOutboundMessage.accumulateAndGet(size, Math::max);
+    }
+
     @Override
     public int getReceivedMessagesSinceLastCall() {
         return receivedMessages.getAndSet(0);
@@ -71,4 +91,24 @@ public int getSentMessagesSinceLastCall() {
     public int getSentBytesSinceLastCall() {
         return sentBytes.getAndSet(0);
     }
+
+    @Override
+    public int getOutboundBufferAllocationsSinceLastCall() {
+        return outboundBufferAllocations.getAndSet(0);
+    }
+
+    @Override
+    public int getOutboundBufferBytesAllocatedSinceLastCall() {
+        return outboundBufferBytesAllocated.getAndSet(0);
+    }
+
+    @Override
+    public int getOutboundBufferReusesSinceLastCall() {
+        return outboundBufferReuses.getAndSet(0);
+    }
+
+    @Override
+    public int getLargestOutboundMessageSinceLastCall() {
+        return largestOutboundMessage.getAndSet(0);
+    }
 }
@@ -6,14 +6,18 @@
 import com.google.common.base.Objects;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
 import org.joml.RoundingMode;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
@@ -25,6 +29,7 @@
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
 import org.terasology.entitySystem.metadata.NetworkEventType;
@@ -56,10 +61,10 @@
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.Chunk;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -72,6 +77,11 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
     private static final float NET_TICK_RATE = 0.05f;
 
+    private static final ServerComponentFieldCheck OWNER_UPDATE_CHECK = new ServerComponentFieldCheck(true, false);
+    private static final ServerComponentFieldCheck UPDATE_CHECK = new ServerComponentFieldCheck(false, false);
+    private static final ServerComponentFieldCheck OWNER_CREATE_CHECK = new ServerComponentFieldCheck(true, true);
+    private static final ServerComponentFieldCheck CREATE_CHECK = new ServerComponentFieldCheck(false, true);
+
     private Time time;
     private NetworkSystemImpl networkSystem;
     private Channel channel;
@@ -79,6 +89,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private EventSerializer eventSerializer;
     private EventLibrary eventLibrary;
     private NetMetricSource metricSource;
+    private boolean binaryCodecRequested;
+    private OutboundMessageAssembler outboundMessages;
 
     // Relevance
     private Set<Vector3i> relevantChunks = Sets.newHashSet();
@@ -89,25 +101,28 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private TIntSet netDirty = new TIntHashSet();
     private TIntSet netRemoved = new TIntHashSet();
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
+    private DirtyFieldMasks dirtyFieldMasks = new DirtyFieldMasks();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
 
     private String preferredName = "Player";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
 
     private float chunkSendRate = 0.05469f;
 
     private PublicIdentityCertificate identity;
 
-    // Outgoing messages
-    private BlockingQueue<NetData.BlockChangeMessage> queuedOutgoingBlockChanges = Queues.newLinkedBlockingQueue();
-    private BlockingQueue<NetData.ExtraDataChangeMessage> queuedOutgoingExtraDataChanges = Queues.newLinkedBlockingQueue();
-    private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
+    // Outgoing messages. Block changes are queued as x, y, z and block id, extra data changes as index, x, y, z and
+    // value, since they are reported from any thread. Events are added to the outbound messages right away.
+    private final TIntList queuedOutgoingBlockChanges = new TIntArrayList();
+    private final TIntList queuedOutgoingExtraDataChanges = new TIntArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
-    private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
+    // Reused for every message
+    private final NetData.CreateEntityMessage.Builder createEntityMessage = NetData.CreateEntityMessage.newBuilder();
+
+    private ChunkStreamScheduler chunkStream = new ChunkStreamScheduler();
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
 
 
@@ -130,6 +145,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
         metricSource = (NetMetricSource) channel.pipeline().get(MetricRecordingHandler.NAME);
+        outboundMessages = new OutboundMessageAssembler(channel.alloc(), (MetricRecordingHandler) metricSource);
         this.networkSystem = networkSystem;
         this.time = CoreRegistry.get(Time.class);
         this.identity = identity;
@@ -196,6 +212,7 @@ public void disconnect() {
         if (channel.isOpen()) {
             channel.close().awaitUninterruptibly();
         }
+        outboundMessages.release();
 
         WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
         if (worldProvider != null) {
@@ -206,16 +223,20 @@ public void disconnect() {
     @Override
     public void update(boolean netTick) {
         if (netTick) {
-            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
-            message.setTime(time.getGameTimeInMs());
+            NetData.NetMessage.Builder message = outboundMessages.newMessage();
+            outboundMessages.setTime(time.getGameTimeInMs());
             sendRegisteredBlocks(message);
-            sendChunkInvalidations(message);
+            sendChunkInvalidations();
             sendNewChunks(message);
-            sendRemovedEntities(message);
+            sendRemovedEntities();
             sendInitialEntities(message);
-            sendDirtyEntities(message);
-            sendEvents(message);
-            send(message.build());
+            sendDirtyEntities();
+            sendEvents();
+            boolean hasChunks = message.getChunkInfoCount() > 0;
+            ChannelFuture future = sendAssembledMessage();
+            if (hasChunks && future != null) {
+                chunkStream.trackWrite(future);
+            }
         }
         processReceivedMessages();
     }
@@ -235,44 +256,31 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
     }
 
     private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    Vector3f target = loc.getWorldPosition(new Vector3f());
-                    if (target.isFinite()) {
-                        center.set(target, RoundingMode.HALF_UP); // use center as temporary variable
-                        ChunkMath.calcChunkPos(center, center); // update center to chunkPos
-                    }
-                }
-                Vector3i pos = null;
-                long distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    long chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
+        if (!chunkStream.isEmpty()) {
+            LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+            if (loc != null) {
+                Vector3f target = loc.getWorldPosition(new Vector3f());
+                if (target.isFinite()) {
+                    Vector3i center = new Vector3i(target, RoundingMode.HALF_UP);
+                    ChunkMath.calcChunkPos(center, center);
+                    chunkStream.setViewer(center, loc.getWorldDirection(new Vector3f()));
                 }
-                Chunk chunk = readyChunks.remove(pos);
-                relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
             }
-        } else {
-            chunkSendCounter = 1.0f;
+        }
+        float bandwidthChunks = chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
+        for (Chunk chunk : chunkStream.nextChunks(bandwidthChunks, channel.isWritable())) {
+            relevantChunks.add(chunk.getPosition(new Vector3i()));
+            message.addChunkInfo(chunk.encode());
         }
     }
 
-    private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
+    private void sendChunkInvalidations() {
         Iterator<Vector3i> i = invalidatedChunks.iterator();
         while (i.hasNext()) {
             Vector3i pos = i.next();
             i.remove();
             relevantChunks.remove(pos);
-            message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(NetMessageUtil.convert(pos)));
+            outboundMessages.addInvalidatedChunk(pos.x, pos.y, pos.z);
         }
         invalidatedChunks.clear();
     }
@@ -286,6 +294,7 @@ public void setNetRemoved(int netId) {
             netRemoved.add(netId);
         }
         dirtyComponents.keySet().remove(netId);
+        dirtyFieldMasks.remove(netId);
         addedComponents.keySet().remove(netId);
         removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
@@ -296,6 +305,7 @@ public void setComponentAdded(int networkId, Class<? extends Component> componen
         if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
             if (removedComponents.remove(networkId, component)) {
                 dirtyComponents.put(networkId, component);
+                dirtyFieldMasks.add(networkId, component, ComponentMetadata.ALL_FIELDS);
             } else {
                 addedComponents.put(networkId, component);
                 netDirty.add(networkId);
@@ -310,13 +320,24 @@ public void setComponentRemoved(int networkId, Class<? extends Component> compon
                 if (!dirtyComponents.remove(networkId, component)) {
                     netDirty.add(networkId);
                 }
+                dirtyFieldMasks.remove(networkId, component);
             }
         }
     }
 
     public void setComponentDirty(int netId, Class<? extends Component> componentType) {
+        setComponentDirty(netId, componentType, ComponentMetadata.ALL_FIELDS);
+    }
+
+    /**
+     * Marks fields of a component as changed, so that only those are sent with the next update.
+     *
+     * @param fieldMask the changed fields, see {@link ComponentMetadata#getChangedFieldMask(Component)}
+     */
+    public void setComponentDirty(int netId, Class<? extends Component> componentType, long fieldMask) {
         if (netRelevant.contains(netId) && !netInitial.contains(netId) && !addedComponents.get(netId).contains(componentType)) {
             dirtyComponents.put(netId, componentType);
+            dirtyFieldMasks.add(netId, componentType, fieldMask);
             netDirty.add(netId);
         }
     }
@@ -336,17 +357,15 @@ public void send(Event event, EntityRef target) {
             BlockComponent blockComp = target.getComponent(BlockComponent.class);
             if (blockComp != null) {
                 if (relevantChunks.contains(ChunkMath.calcChunkPos(JomlUtil.from(blockComp.position), new Vector3i()))) {
-                    queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
-                        .setTargetBlockPos(NetMessageUtil.convert(blockComp.position))
-                        .setEvent(eventSerializer.serialize(event)).build());
+                    outboundMessages.addBlockEvent(blockComp.position.x, blockComp.position.y, blockComp.position.z,
+                            eventSerializer.serialize(event));
                 }
             } else {
                 NetworkComponent networkComponent = target.getComponent(NetworkComponent.class);
                 if (networkComponent != null) {
                     if (netRelevant.contains(networkComponent.getNetworkId()) || netInitial.contains(networkComponent.getNetworkId())) {
-                        queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
-                            .setTargetId(networkComponent.getNetworkId())
-                            .setEvent(eventSerializer.serialize(event)).build());
+                        outboundMessages.addEntityEvent(networkComponent.getNetworkId(),
+                                eventSerializer.serialize(event));
                     }
                 }
             }
@@ -365,24 +384,83 @@ public boolean isLocal() {
         return false;
     }
 
-    void send(NetData.NetMessage data) {
+    /**
+     * @return whether the client asked to receive messages in the binary format when it joined
+     */
+    public boolean isBinaryCodecRequested() {
+        return binaryCodecRequested;
+    }
+
+    public void setBinaryCodecRequested(boolean binaryCodecRequested) {
+        this.binaryCodecRequested = binaryCodecRequested;
+    }
+
+    /**
+     * @return whether messages to the client are assembled, which is required for the binary format
+     */
+    boolean canUseBinaryCodec() {
+        return channel.pipeline().context(OutboundMessageAssembler.HANDLER_NAME) != null;
+    }
+
+    /**
+     * Sends all messages after the ones already sent in the binary format.
+     */
+    void useBinaryCodec() {
+        outboundMessages.setBinaryCodec(true);
+    }
+
+    /**
+     * @return the future of the write, or null if the message could not be written
+     */
+    ChannelFuture send(NetData.NetMessage data) {
         logger.trace("Sending packet with size {}", data.getSerializedSize());
         sentMessages.incrementAndGet();
         sentBytes.addAndGet(data.getSerializedSize());
-        channel.writeAndFlush(data);
+        ChannelHandlerContext assembledMessages = channel.pipeline().context(OutboundMessageAssembler.HANDLER_NAME);
+        if (assembledMessages == null) {
+            return channel.writeAndFlush(data);
+        }
+        try {
+            return assembledMessages.writeAndFlush(outboundMessages.assemble(data));
+        } catch (IOException e) {
+            logger.error("Failed to assemble message", e);
+            return null;
+        }
+    }
+
+    /**
+     * Sends the message assembled from the contents of this tick.
+     *
+     * @return the future of the write, or null if the message could not be written
+     */
+    private ChannelFuture sendAssembledMessage() {
+        ChannelHandlerContext assembledMessages = channel.pipeline().context(OutboundMessageAssembler.HANDLER_NAME);
+        if (assembledMessages == null) {
+            return send(outboundMessages.buildMessage());
+        }
+        try {
+            ByteBuf assembled = outboundMessages.assembleMessage();
+            logger.trace("Sending packet with size {}", assembled.readableBytes());
+            sentMessages.incrementAndGet();
+            sentBytes.addAndGet(assembled.readableBytes());
+            return assembledMessages.writeAndFlush(assembled);
+        } catch (IOException e) {
+            logger.error("Failed to assemble message", e);
+            return null;
+        }
     }
 
     @Override
     public void onChunkRelevant(Vector3ic pos, Chunk chunk) {
         Vector3i result = new Vector3i(pos);
         invalidatedChunks.remove(result);
-        readyChunks.put(result, chunk);
+        chunkStream.add(result, chunk);
     }
 
     @Override
     public void onChunkIrrelevant(Vector3ic pos) {
         Vector3i result = new Vector3i(pos);
-        readyChunks.remove(result);
+        chunkStream.remove(result);
         invalidatedChunks.add(result);
     }
 
@@ -391,10 +469,12 @@ public void onChunkIrrelevant(Vector3ic pos) {
     public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
         org.joml.Vector3i chunkPos = ChunkMath.calcChunkPos(pos, new org.joml.Vector3i());
         if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
-                .setPos(NetMessageUtil.convert(pos))
-                .setNewBlock(newBlock.getId())
-                .build());
+            synchronized (queuedOutgoingBlockChanges) {
+                queuedOutgoingBlockChanges.add(pos.x());
+                queuedOutgoingBlockChanges.add(pos.y());
+                queuedOutgoingBlockChanges.add(pos.z());
+                queuedOutgoingBlockChanges.add(newBlock.getId());
+            }
         }
     }
 
@@ -402,11 +482,13 @@ public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
     public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
         org.joml.Vector3i chunkPos = ChunkMath.calcChunkPos(pos, new org.joml.Vector3i());
         if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingExtraDataChanges.add(NetData.ExtraDataChangeMessage.newBuilder()
-                .setIndex(i)
-                .setPos(NetMessageUtil.convert(pos))
-                .setNewData(newData)
-                .build());
+            synchronized (queuedOutgoingExtraDataChanges) {
+                queuedOutgoingExtraDataChanges.add(i);
+                queuedOutgoingExtraDataChanges.add(pos.x());
+                queuedOutgoingExtraDataChanges.add(pos.y());
+                queuedOutgoingExtraDataChanges.add(pos.z());
+                queuedOutgoingExtraDataChanges.add(newData);
+            }
         }
     }
 
@@ -424,17 +506,23 @@ private void processReceivedMessages() {
         }
     }
 
-    private void sendEvents(NetData.NetMessage.Builder message) {
-        List<NetData.BlockChangeMessage> blockChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBlockChanges.size());
-        queuedOutgoingBlockChanges.drainTo(blockChanges);
-        message.addAllBlockChange(blockChanges);
-
-        List<NetData.ExtraDataChangeMessage> extraDataChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingExtraDataChanges.size());
-        queuedOutgoingExtraDataChanges.drainTo(extraDataChanges);
-        message.addAllExtraDataChange(extraDataChanges);
-
-        message.addAllEvent(queuedOutgoingEvents);
-        queuedOutgoingEvents.clear();
+    private void sendEvents() {
+        synchronized (queuedOutgoingBlockChanges) {
+            TIntList changes = queuedOutgoingBlockChanges;
+            for (int i = 0; i < changes.size(); i += 4) {
+                outboundMessages.addBlockChange(changes.get(i), changes.get(i + 1), changes.get(i + 2),
+                        changes.get(i + 3));
+            }
+            changes.resetQuick();
+        }
+        synchronized (queuedOutgoingExtraDataChanges) {
+            TIntList changes = queuedOutgoingExtraDataChanges;
+            for (int i = 0; i < changes.size(); i += 5) {
+                outboundMessages.addExtraDataChange(changes.get(i), changes.get(i + 1), changes.get(i + 2),
+                        changes.get(i + 3), changes.get(i + 4));
+            }
+            changes.resetQuick();
+        }
     }
 
     private void processEntityUpdates(NetData.NetMessage message) {
@@ -447,7 +535,7 @@ private void processEntityUpdates(NetData.NetMessage message) {
         }
     }
 
-    private void sendDirtyEntities(NetData.NetMessage.Builder message) {
+    private void sendDirtyEntities() {
         TIntIterator dirtyIterator = netDirty.iterator();
         while (dirtyIterator.hasNext()) {
             int netId = dirtyIterator.next();
@@ -457,21 +545,22 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
             EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+                    isOwner ? OWNER_UPDATE_CHECK : UPDATE_CHECK, dirtyFieldMasks.get(netId));
             if (entityData != null) {
-                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
+                outboundMessages.addUpdatedEntity(netId, entityData);
             }
         }
         netDirty.clear();
         addedComponents.clear();
         removedComponents.clear();
         dirtyComponents.clear();
+        dirtyFieldMasks.clear();
     }
 
-    private void sendRemovedEntities(NetData.NetMessage.Builder message) {
+    private void sendRemovedEntities() {
         TIntIterator initialIterator = netRemoved.iterator();
         while (initialIterator.hasNext()) {
-            message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(initialIterator.next()));
+            outboundMessages.addRemovedEntity(initialIterator.next());
         }
         netRemoved.clear();
     }
@@ -489,8 +578,8 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
             }
             // Note: Send owner->server fields on initial create
             Client owner = networkSystem.getOwner(entity);
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, true, new ServerComponentFieldCheck(owner == this, true)).build();
-            NetData.CreateEntityMessage.Builder createMessage = NetData.CreateEntityMessage.newBuilder().setEntity(entityData);
+            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, true, owner == this ? OWNER_CREATE_CHECK : CREATE_CHECK).build();
+            NetData.CreateEntityMessage.Builder createMessage = createEntityMessage.clear().setEntity(entityData);
             BlockComponent blockComponent = entity.getComponent(BlockComponent.class);
             if (blockComponent != null) {
                 createMessage.setBlockPos(NetMessageUtil.convert(blockComponent.position));
@@ -4,11 +4,9 @@
 package org.terasology.network.internal;
 
 import com.google.common.base.Objects;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
-import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import com.google.protobuf.ByteString;
 import gnu.trove.map.TIntLongMap;
@@ -58,6 +56,7 @@
 import org.terasology.network.events.ConnectedEvent;
 import org.terasology.network.events.DisconnectedEvent;
 import org.terasology.network.exceptions.HostingFailedException;
+import org.terasology.network.internal.codec.BinaryNetCodec;
 import org.terasology.network.internal.pipelineFactory.TerasologyClientPipelineFactory;
 import org.terasology.network.internal.pipelineFactory.TerasologyServerPipelineFactory;
 import org.terasology.network.serialization.NetComponentSerializeCheck;
@@ -73,6 +72,8 @@
 import org.terasology.reflection.metadata.ClassMetadata;
 import org.terasology.reflection.metadata.FieldMetadata;
 import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.collection.EntityRefMap;
+import org.terasology.utilities.collection.EntityRefSet;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.BlockManager;
@@ -129,9 +130,9 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private BlockingQueue<NetClient> newClients = Queues.newLinkedBlockingQueue();
     private BlockingQueue<NetClient> disconnectedClients = Queues.newLinkedBlockingQueue();
     private int nextNetId = 1;
-    private Map<EntityRef, Client> clientPlayerLookup = Maps.newHashMap();
-    private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
-    private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
+    private EntityRefMap<Client> clientPlayerLookup = new EntityRefMap<>();
+    private EntityRefMap<EntityRef> ownerLookup = new EntityRefMap<>();
+    private EntityRefMap<EntityRefSet> ownedLookup = new EntityRefMap<>();
     private StorageManager storageManager;
 
     // Client only
@@ -167,7 +168,7 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
                         .localAddress(port)
                         .childOption(ChannelOption.TCP_NODELAY, true)
                         .childOption(ChannelOption.SO_KEEPALIVE, true)
-                        .childHandler(new TerasologyServerPipelineFactory(this));
+                        .childHandler(new TerasologyServerPipelineFactory(this, config));
                 // Start the server.
                 serverChannelFuture = b.bind();
 
@@ -470,7 +471,7 @@ public void registerNetworkEntity(EntityRef entity) {
             EntityRef owner = entity.getOwner();
             if (owner.exists()) {
                 ownerLookup.put(entity, owner);
-                ownedLookup.put(owner, entity);
+                addOwned(owner, entity);
             }
         }
 
@@ -505,11 +506,11 @@ public void updateOwnership(EntityRef entity) {
             }
 
             if (lastOwnerEntity.exists()) {
-                ownedLookup.remove(lastOwnerEntity, entity);
+                removeOwned(lastOwnerEntity, entity);
             }
             if (newOwnerEntity.exists()) {
                 ownerLookup.put(entity, newOwnerEntity);
-                ownedLookup.put(newOwnerEntity, entity);
+                addOwned(newOwnerEntity, entity);
             } else {
                 ownerLookup.remove(entity);
             }
@@ -530,12 +531,31 @@ private void recursiveUpdateOwnership(EntityRef entity, NetClient lastOwner, Net
                     newOwner.setNetInitial(networkComponent.getNetworkId());
                 }
             }
-            for (EntityRef owned : ownedLookup.get(entity)) {
-                recursiveUpdateOwnership(owned, lastOwner, newOwner);
+            EntityRefSet ownedEntities = ownedLookup.get(entity);
+            if (ownedEntities != null) {
+                for (EntityRef owned : ownedEntities) {
+                    recursiveUpdateOwnership(owned, lastOwner, newOwner);
+                }
             }
         }
     }
 
+    private void addOwned(EntityRef owner, EntityRef owned) {
+        EntityRefSet ownedEntities = ownedLookup.get(owner);
+        if (ownedEntities == null) {
+            ownedEntities = new EntityRefSet();
+            ownedLookup.put(owner, ownedEntities);
+        }
+        ownedEntities.add(owned);
+    }
+
+    private void removeOwned(EntityRef owner, EntityRef owned) {
+        EntityRefSet ownedEntities = ownedLookup.get(owner);
+        if (ownedEntities != null && ownedEntities.remove(owned) && ownedEntities.isEmpty()) {
+            ownedLookup.remove(owner);
+        }
+    }
+
     public void unregisterClientNetworkEntity(int netId) {
         netIdToEntityId.remove(netId);
     }
@@ -648,14 +668,15 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
                     if (metadata.isReplicated()) {
+                        long fieldMask = metadata.getChangedFieldMask(entity.getComponent(component));
                         for (NetClient client : netClientList) {
-                            client.setComponentDirty(netComp.getNetworkId(), component);
+                            client.setComponentDirty(netComp.getNetworkId(), component, fieldMask);
                         }
                     }
                     break;
                 case CLIENT:
                     if (server != null && metadata.isReplicatedFromOwner() && getOwnerEntity(entity).equals(server.getClientEntity())) {
-                        server.setComponentDirty(netComp.getNetworkId(), component);
+                        server.setComponentDirty(netComp.getNetworkId(), component, metadata.getChangedFieldMask(entity.getComponent(component)));
                     }
                     break;
                 default:
@@ -849,8 +870,16 @@ private void processNewClient(NetClient client) {
         }
 
         client.connected(entityManager, entitySerializer, eventSerializer, eventLibrary);
-        client.send(NetData.NetMessage.newBuilder().setJoinComplete(
-                NetData.JoinCompleteMessage.newBuilder().setClientId(client.getEntity().getComponent(NetworkComponent.class).getNetworkId())).build());
+        NetData.JoinCompleteMessage.Builder joinComplete = NetData.JoinCompleteMessage.newBuilder()
+                .setClientId(client.getEntity().getComponent(NetworkComponent.class).getNetworkId());
+        boolean binaryCodec = config.isBinaryCodec() && client.isBinaryCodecRequested() && client.canUseBinaryCodec();
+        if (binaryCodec) {
+            BinaryNetCodec.acceptBinaryCodec(joinComplete);
+        }
+        client.send(NetData.NetMessage.newBuilder().setJoinComplete(joinComplete).build());
+        if (binaryCodec) {
+            client.useBinaryCodec();
+        }
         clientList.add(client);
         netClientList.add(client);
         clientPlayerLookup.put(client.getEntity(), client);
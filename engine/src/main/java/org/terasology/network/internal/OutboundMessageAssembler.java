@@ -0,0 +1,371 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.CodedOutputStream;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import org.terasology.network.internal.codec.BinaryNetMessageEncoder;
+import org.terasology.network.internal.codec.BinaryNetMessageWriter;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Assembles the messages the server sends to one client, reusing the same message builder and the same pooled buffer
+ * every tick instead of allocating new ones.
+ * <p>
+ * Messages are written with their length in front, in the format the client expects, so that they skip the encoders
+ * of the pipeline: they are written from the {@link #HANDLER_NAME} position, straight to the deflate stage. The buffer
+ * is reused as soon as the pipeline has released the previous message; while it is still being written a new buffer
+ * is taken from the pool instead.
+ * <p>
+ * The frequent contents of the per tick message (block and extra data changes, invalidated chunks, entity updates and
+ * removals, and events) are collected as the values they consist of and are only turned into protobuf messages when
+ * the message is sent in protobuf. In the binary format they are written straight into the buffer.
+ */
+public class OutboundMessageAssembler {
+    /**
+     * The position in the pipeline after the message encoders, from which assembled messages are written
+     */
+    public static final String HANDLER_NAME = "assembledMessages";
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Buffers that had to grow beyond this for a large message, usually one with chunks, are not kept
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+    private static final int ENTITY_TARGET = 0;
+    private static final int BLOCK_TARGET = 1;
+
+    private final ByteBufAllocator allocator;
+    private final MetricRecordingHandler metrics;
+    private final NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+    private ByteBuf buffer;
+    private boolean binaryCodec;
+
+    // Contents of the next assembled message
+    private long time;
+    private boolean hasTime;
+    // x, y, z and block id of each change
+    private final TIntList blockChanges = new TIntArrayList();
+    // index, x, y, z and value of each change
+    private final TIntList extraDataChanges = new TIntArrayList();
+    // x, y, z of each chunk
+    private final TIntList invalidatedChunks = new TIntArrayList();
+    private final TIntList removedEntities = new TIntArrayList();
+    private final TIntList updatedEntityIds = new TIntArrayList();
+    private final List<EntityData.PackedEntity> updatedEntities = Lists.newArrayList();
+    // Kind of target followed by either the network id and two unused values, or the x, y, z of the block
+    private final TIntList eventTargets = new TIntArrayList();
+    private final List<EntityData.Event> events = Lists.newArrayList();
+
+    public OutboundMessageAssembler(ByteBufAllocator allocator, MetricRecordingHandler metrics) {
+        this.allocator = allocator;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the builder for the fields of the next assembled message that are not collected by this assembler,
+     * cleared of the previous message
+     */
+    public NetData.NetMessage.Builder newMessage() {
+        return message.clear();
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+        this.hasTime = true;
+    }
+
+    public void addBlockChange(int x, int y, int z, int blockId) {
+        blockChanges.add(x);
+        blockChanges.add(y);
+        blockChanges.add(z);
+        blockChanges.add(blockId);
+    }
+
+    public void addExtraDataChange(int index, int x, int y, int z, int value) {
+        extraDataChanges.add(index);
+        extraDataChanges.add(x);
+        extraDataChanges.add(y);
+        extraDataChanges.add(z);
+        extraDataChanges.add(value);
+    }
+
+    public void addInvalidatedChunk(int x, int y, int z) {
+        invalidatedChunks.add(x);
+        invalidatedChunks.add(y);
+        invalidatedChunks.add(z);
+    }
+
+    public void addRemovedEntity(int netId) {
+        removedEntities.add(netId);
+    }
+
+    public void addUpdatedEntity(int netId, EntityData.PackedEntity entity) {
+        updatedEntityIds.add(netId);
+        updatedEntities.add(entity);
+    }
+
+    /**
+     * Adds an event sent to the entity with the given network id.
+     */
+    public void addEntityEvent(int targetId, EntityData.Event event) {
+        eventTargets.add(ENTITY_TARGET);
+        eventTargets.add(targetId);
+        eventTargets.add(0);
+        eventTargets.add(0);
+        events.add(event);
+    }
+
+    /**
+     * Adds an event sent to the block at the given position.
+     */
+    public void addBlockEvent(int x, int y, int z, EntityData.Event event) {
+        eventTargets.add(BLOCK_TARGET);
+        eventTargets.add(x);
+        eventTargets.add(y);
+        eventTargets.add(z);
+        events.add(event);
+    }
+
+    public boolean isBinaryCodec() {
+        return binaryCodec;
+    }
+
+    /**
+     * Sets whether messages are written in the {@link org.terasology.network.internal.codec.BinaryNetCodec binary
+     * format} rather than in protobuf.
+     */
+    public void setBinaryCodec(boolean binaryCodec) {
+        this.binaryCodec = binaryCodec;
+    }
+
+    /**
+     * Writes a message preceded by its length into the pooled buffer.
+     *
+     * @return the buffer holding the message, which has to be written to the pipeline, which releases it
+     */
+    public ByteBuf assemble(NetData.NetMessage msg) throws IOException {
+        int size = msg.getSerializedSize();
+        ByteBuf out = acquire(CodedOutputStream.computeRawVarint32Size(size) + size);
+        int capacity = out.capacity();
+        if (binaryCodec) {
+            BinaryNetMessageEncoder.writeFrame(msg, out);
+        } else {
+            writeFrame(msg, out);
+        }
+        return assembled(out, capacity);
+    }
+
+    /**
+     * Writes the message made of the collected contents and the fields set on the builder of {@link #newMessage()}
+     * into the pooled buffer, and clears the collected contents. In the binary format no protobuf message is built
+     * for the collected contents.
+     *
+     * @return the buffer holding the message, which has to be written to the pipeline, which releases it
+     */
+    public ByteBuf assembleMessage() throws IOException {
+        if (!binaryCodec) {
+            return assemble(buildMessage());
+        }
+        try {
+            ByteBuf out = acquire(INITIAL_CAPACITY);
+            int capacity = out.capacity();
+            writeMessage(new BinaryNetMessageWriter(out));
+            return assembled(out, capacity);
+        } finally {
+            clearContents();
+        }
+    }
+
+    /**
+     * Builds the message made of the collected contents and the fields set on the builder of {@link #newMessage()},
+     * for channels that do not write assembled messages, and clears the collected contents.
+     */
+    public NetData.NetMessage buildMessage() {
+        try {
+            if (hasTime) {
+                message.setTime(time);
+            }
+            for (int i = 0; i < blockChanges.size(); i += 4) {
+                message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                        .setPos(vector(blockChanges, i))
+                        .setNewBlock(blockChanges.get(i + 3)));
+            }
+            for (int i = 0; i < extraDataChanges.size(); i += 5) {
+                message.addExtraDataChange(NetData.ExtraDataChangeMessage.newBuilder()
+                        .setIndex(extraDataChanges.get(i))
+                        .setPos(vector(extraDataChanges, i + 1))
+                        .setNewData(extraDataChanges.get(i + 4)));
+            }
+            for (int i = 0; i < invalidatedChunks.size(); i += 3) {
+                message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder()
+                        .setPos(vector(invalidatedChunks, i)));
+            }
+            for (int i = 0; i < removedEntities.size(); i++) {
+                message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(removedEntities.get(i)));
+            }
+            for (int i = 0; i < updatedEntities.size(); i++) {
+                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder()
+                        .setNetId(updatedEntityIds.get(i))
+                        .setEntity(updatedEntities.get(i)));
+            }
+            for (int i = 0; i < events.size(); i++) {
+                NetData.EventMessage.Builder event = NetData.EventMessage.newBuilder().setEvent(events.get(i));
+                if (eventTargets.get(4 * i) == BLOCK_TARGET) {
+                    event.setTargetBlockPos(vector(eventTargets, 4 * i + 1));
+                } else {
+                    event.setTargetId(eventTargets.get(4 * i + 1));
+                }
+                message.addEvent(event);
+            }
+            return message.build();
+        } finally {
+            clearContents();
+        }
+    }
+
+    private void writeMessage(BinaryNetMessageWriter writer) throws IOException {
+        if (hasTime) {
+            writer.writeTime(time);
+        }
+        if (!blockChanges.isEmpty()) {
+            writer.beginBlockChanges(blockChanges.size() / 4);
+            for (int i = 0; i < blockChanges.size(); i += 4) {
+                writer.writeBlockChange(blockChanges.get(i), blockChanges.get(i + 1), blockChanges.get(i + 2),
+                        blockChanges.get(i + 3));
+            }
+        }
+        if (!extraDataChanges.isEmpty()) {
+            writer.beginExtraDataChanges(extraDataChanges.size() / 5);
+            for (int i = 0; i < extraDataChanges.size(); i += 5) {
+                writer.writeExtraDataChange(extraDataChanges.get(i), extraDataChanges.get(i + 1),
+                        extraDataChanges.get(i + 2), extraDataChanges.get(i + 3), extraDataChanges.get(i + 4));
+            }
+        }
+        if (!invalidatedChunks.isEmpty()) {
+            writer.beginInvalidatedChunks(invalidatedChunks.size() / 3);
+            for (int i = 0; i < invalidatedChunks.size(); i += 3) {
+                writer.writeInvalidatedChunk(invalidatedChunks.get(i), invalidatedChunks.get(i + 1),
+                        invalidatedChunks.get(i + 2));
+            }
+        }
+        if (!removedEntities.isEmpty()) {
+            writer.beginRemovedEntities(removedEntities.size());
+            for (int i = 0; i < removedEntities.size(); i++) {
+                writer.writeRemovedEntity(removedEntities.get(i));
+            }
+        }
+        if (!updatedEntities.isEmpty()) {
+            writer.beginUpdatedEntities(updatedEntities.size());
+            for (int i = 0; i < updatedEntities.size(); i++) {
+                writer.writeUpdatedEntity(updatedEntityIds.get(i), updatedEntities.get(i));
+            }
+        }
+        if (!events.isEmpty()) {
+            writer.beginEvents(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                int target = 4 * i;
+                if (eventTargets.get(target) == BLOCK_TARGET) {
+                    writer.writeBlockEvent(eventTargets.get(target + 1), eventTargets.get(target + 2),
+                            eventTargets.get(target + 3), events.get(i));
+                } else {
+                    writer.writeEntityEvent(eventTargets.get(target + 1), events.get(i));
+                }
+            }
+        }
+        NetData.NetMessage other = message.build();
+        if (other.getSerializedSize() > 0) {
+            writer.writeOther(other);
+        }
+        writer.finish();
+    }
+
+    private void clearContents() {
+        hasTime = false;
+        blockChanges.resetQuick();
+        extraDataChanges.resetQuick();
+        invalidatedChunks.resetQuick();
+        removedEntities.resetQuick();
+        updatedEntityIds.resetQuick();
+        updatedEntities.clear();
+        eventTargets.resetQuick();
+        events.clear();
+        message.clear();
+    }
+
+    private static NetData.Vector3iData vector(TIntList values, int offset) {
+        return NetData.Vector3iData.newBuilder()
+                .setX(values.get(offset))
+                .setY(values.get(offset + 1))
+                .setZ(values.get(offset + 2))
+                .build();
+    }
+
+    private ByteBuf assembled(ByteBuf out, int capacity) {
+        if (out.capacity() != capacity) {
+            metrics.recordOutboundBufferAllocation(out.capacity());
+        }
+        metrics.recordOutboundMessage(out.readableBytes());
+
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            // Hand the only reference over to the pipeline, so that the buffer goes back to the pool once written
+            buffer = null;
+            return out;
+        }
+        return out.retain();
+    }
+
+    /**
+     * Releases the pooled buffer. Messages still being written are not affected.
+     */
+    public void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
+    private ByteBuf acquire(int expectedSize) {
+        if (buffer != null) {
+            // Only our own reference is left once the pipeline has written the previous message
+            if (buffer.refCnt() == 1) {
+                buffer.clear();
+                metrics.recordOutboundBufferReuse();
+                return buffer;
+            }
+            buffer.release();
+        }
+        // The deflate stage copies direct buffers into a new array, so heap buffers are cheaper here
+        buffer = allocator.heapBuffer(Math.max(expectedSize, INITIAL_CAPACITY));
+        metrics.recordOutboundBufferAllocation(buffer.capacity());
+        return buffer;
+    }
+
+    private static void writeFrame(NetData.NetMessage msg, ByteBuf out) throws IOException {
+        int size = msg.getSerializedSize();
+        int frameSize = CodedOutputStream.computeRawVarint32Size(size) + size;
+        out.ensureWritable(frameSize);
+        if (out.hasArray()) {
+            CodedOutputStream output = CodedOutputStream.newInstance(out.array(), out.arrayOffset() + out.writerIndex(),
+                    frameSize);
+            output.writeRawVarint32(size);
+            msg.writeTo(output);
+            output.checkNoSpaceLeft();
+            out.writerIndex(out.writerIndex() + frameSize);
+        } else {
+            CodedOutputStream output = CodedOutputStream.newInstance(new ByteBufOutputStream(out), frameSize);
+            output.writeRawVarint32(size);
+            msg.writeTo(output);
+            output.flush();
+        }
+    }
+}
@@ -12,6 +12,7 @@
 import org.terasology.identity.PublicIdentityCertificate;
 import org.terasology.module.Module;
 import org.terasology.naming.Name;
+import org.terasology.network.internal.codec.BinaryNetCodec;
 import org.terasology.nui.Color;
 import org.terasology.protobuf.NetData;
 import org.terasology.registry.CoreRegistry;
@@ -120,6 +121,7 @@ private void receivedConnect(NetData.JoinMessage message) {
         client.setPreferredName(message.getName());
         client.setColor(new Color(message.getColor().getRgba()));
         client.setViewDistanceMode(ViewDistance.forIndex(message.getViewDistanceLevel()));
+        client.setBinaryCodecRequested(BinaryNetCodec.isBinaryCodecRequested(message));
         channelHandlerContext.pipeline().remove(this);
         serverHandler.connectionComplete(client);
     }
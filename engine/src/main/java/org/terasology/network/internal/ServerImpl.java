@@ -22,6 +22,7 @@
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.network.NetMetricSource;
@@ -84,6 +85,7 @@ public class ServerImpl implements Server {
     private BlockingQueue<Chunk> chunkQueue = Queues.newLinkedBlockingQueue();
     private TIntSet netDirty = new TIntHashSet();
     private SetMultimap<Integer, Class<? extends Component>> changedComponents = HashMultimap.create();
+    private DirtyFieldMasks changedFieldMasks = new DirtyFieldMasks();
     private ListMultimap<Vector3i, NetData.BlockChangeMessage> awaitingChunkReadyBlockUpdates = ArrayListMultimap.create();
     private ListMultimap<Vector3i, NetData.ExtraDataChangeMessage> awaitingChunkReadyExtraDataUpdates = ArrayListMultimap.create();
 
@@ -202,13 +204,14 @@ private void sendEntities(NetData.NetMessage.Builder message) {
             if (isOwned(entity)) {
                 Set<Class<? extends Component>> emptyComponentClassSet = Collections.emptySet();
                 EntityData.PackedEntity entityData = entitySerializer.serialize(entity, emptyComponentClassSet, changedComponents.get(netId),
-                        emptyComponentClassSet, new ClientComponentFieldCheck());
+                        emptyComponentClassSet, new ClientComponentFieldCheck(), changedFieldMasks.get(netId));
                 if (entityData != null) {
                     message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
                 }
             }
         }
         netDirty.clear();
+        changedFieldMasks.clear();
     }
 
     private boolean isOwned(EntityRef entity) {
@@ -387,8 +390,14 @@ public void queueMessage(NetData.NetMessage message) {
 
     @Override
     public void setComponentDirty(int netId, Class<? extends Component> componentType) {
+        setComponentDirty(netId, componentType, ComponentMetadata.ALL_FIELDS);
+    }
+
+    @Override
+    public void setComponentDirty(int netId, Class<? extends Component> componentType, long fieldMask) {
         netDirty.add(netId);
         changedComponents.put(netId, componentType);
+        changedFieldMasks.add(netId, componentType, fieldMask);
     }
 
     @Override
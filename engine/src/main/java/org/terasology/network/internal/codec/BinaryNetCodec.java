@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal.codec;
+
+import com.google.protobuf.UnknownFieldSet;
+import io.netty.channel.ChannelPipeline;
+import org.terasology.protobuf.NetData;
+
+/**
+ * The binary wire format used instead of plain protobuf for the messages the server sends to a client, once both have
+ * agreed to it.
+ * <p>
+ * A message is written as a sequence of sections, each starting with its tag and ending with {@link #END}. The frequent
+ * parts of a message (time, block and extra data changes, invalidated chunks, entity updates and removals, and events)
+ * have sections of their own with varint layouts, where positions of changes are deltas from the previous change. All
+ * other fields are carried in a single {@link #OTHER} section as an embedded protobuf message.
+ * <p>
+ * Support is negotiated during the join: a client that supports the format marks its join message, and a server that
+ * accepts marks its join complete message and writes all messages after it in the binary format, through the
+ * {@link org.terasology.network.internal.OutboundMessageAssembler} of the client. The client switches its decoder when
+ * it receives the marked join complete message. The mark is an unknown field in the extension range of those
+ * messages, so peers that do not know the format ignore it.
+ */
+public final class BinaryNetCodec {
+    public static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int TIME = 1;
+    static final int BLOCK_CHANGES = 2;
+    static final int EXTRA_DATA_CHANGES = 3;
+    static final int INVALIDATED_CHUNKS = 4;
+    static final int REMOVED_ENTITIES = 5;
+    static final int UPDATED_ENTITIES = 6;
+    static final int EVENTS = 7;
+    static final int OTHER = 8;
+
+    // Flags telling which optional fields of a sub-message follow
+    static final int HAS_POS = 1;
+    static final int HAS_VALUE = 1 << 1;
+    static final int HAS_INDEX = 1 << 2;
+    static final int HAS_TARGET_ID = 1;
+    static final int HAS_TARGET_BLOCK_POS = 1 << 1;
+    static final int HAS_EVENT = 1 << 2;
+    static final int HAS_NET_ID = 1;
+    static final int HAS_ENTITY = 1 << 1;
+
+    /**
+     * The field of the join and join complete messages that holds the version of the format
+     */
+    private static final int CAPABILITY_FIELD = 5000;
+
+    private static final String DECODER_NAME = "binaryDecoder";
+
+    private BinaryNetCodec() {
+    }
+
+    /**
+     * Marks a join message as coming from a client that can receive the binary format.
+     */
+    public static NetData.JoinMessage.Builder requestBinaryCodec(NetData.JoinMessage.Builder join) {
+        return join.setUnknownFields(withCapability(join.getUnknownFields()));
+    }
+
+    public static boolean isBinaryCodecRequested(NetData.JoinMessage join) {
+        return hasCapability(join.getUnknownFields());
+    }
+
+    /**
+     * Marks a join complete message as the last message the server sends in protobuf.
+     */
+    public static NetData.JoinCompleteMessage.Builder acceptBinaryCodec(
+            NetData.JoinCompleteMessage.Builder joinComplete) {
+        return joinComplete.setUnknownFields(withCapability(joinComplete.getUnknownFields()));
+    }
+
+    public static boolean isBinaryCodecAccepted(NetData.JoinCompleteMessage joinComplete) {
+        return hasCapability(joinComplete.getUnknownFields());
+    }
+
+    /**
+     * Switches the inbound messages of a client channel to the binary format. Must be called on the event loop of the
+     * channel, while it handles the join complete message.
+     */
+    public static void useBinaryDecoder(ChannelPipeline pipeline) {
+        if (pipeline.get(DECODER_NAME) == null && pipeline.get("protobufDecoder") != null) {
+            pipeline.replace("protobufDecoder", DECODER_NAME, new BinaryNetMessageDecoder());
+        }
+    }
+
+    private static UnknownFieldSet withCapability(UnknownFieldSet fields) {
+        return UnknownFieldSet.newBuilder(fields)
+                .addField(CAPABILITY_FIELD, UnknownFieldSet.Field.newBuilder().addVarint(VERSION).build())
+                .build();
+    }
+
+    private static boolean hasCapability(UnknownFieldSet fields) {
+        return fields.hasField(CAPABILITY_FIELD)
+                && fields.getField(CAPABILITY_FIELD).getVarintList().contains((long) VERSION);
+    }
+}
@@ -0,0 +1,168 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads messages in the {@link BinaryNetCodec binary format} from frames split by a
+ * {@link io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder}, and turns them back into the protobuf messages
+ * the rest of the pipeline handles. It replaces the protobuf decoder.
+ */
+public class BinaryNetMessageDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws IOException {
+        final byte[] array;
+        final int offset;
+        final int length = msg.readableBytes();
+        if (msg.hasArray()) {
+            array = msg.array();
+            offset = msg.arrayOffset() + msg.readerIndex();
+        } else {
+            array = new byte[length];
+            msg.getBytes(msg.readerIndex(), array, 0, length);
+            offset = 0;
+        }
+        out.add(read(CodedInputStream.newInstance(array, offset, length)));
+    }
+
+    /**
+     * Reads the sections of a message, up to the end section.
+     */
+    static NetData.NetMessage read(CodedInputStream input) throws IOException {
+        NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+        ExtensionRegistryLite registry = ExtensionRegistryLite.getEmptyRegistry();
+        int section = input.readRawVarint32();
+        while (section != BinaryNetCodec.END) {
+            switch (section) {
+                case BinaryNetCodec.TIME:
+                    message.setTime(input.readRawVarint64());
+                    break;
+                case BinaryNetCodec.BLOCK_CHANGES: {
+                    int count = input.readRawVarint32();
+                    PositionDeltas deltas = new PositionDeltas();
+                    for (int i = 0; i < count; i++) {
+                        NetData.BlockChangeMessage.Builder change = NetData.BlockChangeMessage.newBuilder();
+                        int flags = input.readRawVarint32();
+                        if ((flags & BinaryNetCodec.HAS_POS) != 0) {
+                            change.setPos(deltas.read(input));
+                        }
+                        if ((flags & BinaryNetCodec.HAS_VALUE) != 0) {
+                            change.setNewBlock(input.readRawVarint32());
+                        }
+                        message.addBlockChange(change);
+                    }
+                    break;
+                }
+                case BinaryNetCodec.EXTRA_DATA_CHANGES: {
+                    int count = input.readRawVarint32();
+                    PositionDeltas deltas = new PositionDeltas();
+                    for (int i = 0; i < count; i++) {
+                        NetData.ExtraDataChangeMessage.Builder change = NetData.ExtraDataChangeMessage.newBuilder();
+                        int flags = input.readRawVarint32();
+                        if ((flags & BinaryNetCodec.HAS_INDEX) != 0) {
+                            change.setIndex(input.readRawVarint32());
+                        }
+                        if ((flags & BinaryNetCodec.HAS_POS) != 0) {
+                            change.setPos(deltas.read(input));
+                        }
+                        if ((flags & BinaryNetCodec.HAS_VALUE) != 0) {
+                            change.setNewData(input.readSInt32());
+                        }
+                        message.addExtraDataChange(change);
+                    }
+                    break;
+                }
+                case BinaryNetCodec.INVALIDATED_CHUNKS: {
+                    int count = input.readRawVarint32();
+                    PositionDeltas deltas = new PositionDeltas();
+                    for (int i = 0; i < count; i++) {
+                        message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder()
+                                .setPos(deltas.read(input)));
+                    }
+                    break;
+                }
+                case BinaryNetCodec.REMOVED_ENTITIES: {
+                    int count = input.readRawVarint32();
+                    for (int i = 0; i < count; i++) {
+                        message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder()
+                                .setNetId(input.readRawVarint32()));
+                    }
+                    break;
+                }
+                case BinaryNetCodec.UPDATED_ENTITIES: {
+                    int count = input.readRawVarint32();
+                    for (int i = 0; i < count; i++) {
+                        NetData.UpdateEntityMessage.Builder update = NetData.UpdateEntityMessage.newBuilder();
+                        int flags = input.readRawVarint32();
+                        if ((flags & BinaryNetCodec.HAS_NET_ID) != 0) {
+                            update.setNetId(input.readRawVarint32());
+                        }
+                        if ((flags & BinaryNetCodec.HAS_ENTITY) != 0) {
+                            EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
+                            input.readMessage(entity, registry);
+                            update.setEntity(entity);
+                        }
+                        message.addUpdateEntity(update);
+                    }
+                    break;
+                }
+                case BinaryNetCodec.EVENTS: {
+                    int count = input.readRawVarint32();
+                    for (int i = 0; i < count; i++) {
+                        NetData.EventMessage.Builder event = NetData.EventMessage.newBuilder();
+                        int flags = input.readRawVarint32();
+                        if ((flags & BinaryNetCodec.HAS_TARGET_ID) != 0) {
+                            event.setTargetId(input.readRawVarint32());
+                        }
+                        if ((flags & BinaryNetCodec.HAS_TARGET_BLOCK_POS) != 0) {
+                            event.setTargetBlockPos(NetData.Vector3iData.newBuilder()
+                                    .setX(input.readSInt32())
+                                    .setY(input.readSInt32())
+                                    .setZ(input.readSInt32()));
+                        }
+                        if ((flags & BinaryNetCodec.HAS_EVENT) != 0) {
+                            EntityData.Event.Builder eventData = EntityData.Event.newBuilder();
+                            input.readMessage(eventData, registry);
+                            event.setEvent(eventData);
+                        }
+                        message.addEvent(event);
+                    }
+                    break;
+                }
+                case BinaryNetCodec.OTHER:
+                    message.mergeFrom(input.readBytes());
+                    break;
+                default:
+                    throw new CorruptedFrameException("Unknown section " + section + " in binary message");
+            }
+            section = input.readRawVarint32();
+        }
+        return message.build();
+    }
+
+    private static final class PositionDeltas {
+        private int x;
+        private int y;
+        private int z;
+
+        NetData.Vector3iData.Builder read(CodedInputStream input) throws IOException {
+            x += input.readSInt32();
+            y += input.readSInt32();
+            z += input.readSInt32();
+            return NetData.Vector3iData.newBuilder().setX(x).setY(y).setZ(z);
+        }
+    }
+}
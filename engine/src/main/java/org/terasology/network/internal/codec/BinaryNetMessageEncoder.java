@@ -0,0 +1,107 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+
+/**
+ * Writes built messages in the {@link BinaryNetCodec binary format}, each preceded by its length, through a
+ * {@link BinaryNetMessageWriter}. It replaces both the protobuf encoder and the length prepender.
+ * <p>
+ * The server does not need it: it writes its messages from their contents through the
+ * {@link org.terasology.network.internal.OutboundMessageAssembler}, without building them first.
+ */
+public class BinaryNetMessageEncoder extends MessageToByteEncoder<NetData.NetMessage> {
+
+    public BinaryNetMessageEncoder() {
+        super(NetData.NetMessage.class);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, NetData.NetMessage msg, ByteBuf out) throws IOException {
+        writeFrame(msg, out);
+    }
+
+    /**
+     * Writes a message preceded by its length, as the encoder does, to the end of the given buffer.
+     */
+    public static void writeFrame(NetData.NetMessage msg, ByteBuf out) throws IOException {
+        BinaryNetMessageWriter writer = new BinaryNetMessageWriter(out);
+        if (msg.hasTime()) {
+            writer.writeTime(msg.getTime());
+        }
+        if (msg.getBlockChangeCount() > 0) {
+            writer.beginBlockChanges(msg.getBlockChangeCount());
+            for (NetData.BlockChangeMessage change : msg.getBlockChangeList()) {
+                writer.writeBlockChange(change);
+            }
+        }
+        if (msg.getExtraDataChangeCount() > 0) {
+            writer.beginExtraDataChanges(msg.getExtraDataChangeCount());
+            for (NetData.ExtraDataChangeMessage change : msg.getExtraDataChangeList()) {
+                writer.writeExtraDataChange(change);
+            }
+        }
+        if (msg.getInvalidateChunkCount() > 0) {
+            writer.beginInvalidatedChunks(msg.getInvalidateChunkCount());
+            for (NetData.InvalidateChunkMessage invalidate : msg.getInvalidateChunkList()) {
+                NetData.Vector3iData pos = invalidate.getPos();
+                writer.writeInvalidatedChunk(pos.getX(), pos.getY(), pos.getZ());
+            }
+        }
+        if (msg.getRemoveEntityCount() > 0) {
+            writer.beginRemovedEntities(msg.getRemoveEntityCount());
+            for (NetData.RemoveEntityMessage remove : msg.getRemoveEntityList()) {
+                writer.writeRemovedEntity(remove.getNetId());
+            }
+        }
+        if (msg.getUpdateEntityCount() > 0) {
+            writer.beginUpdatedEntities(msg.getUpdateEntityCount());
+            for (NetData.UpdateEntityMessage update : msg.getUpdateEntityList()) {
+                writer.writeUpdatedEntity(update);
+            }
+        }
+        if (msg.getEventCount() > 0) {
+            writer.beginEvents(msg.getEventCount());
+            for (NetData.EventMessage event : msg.getEventList()) {
+                writer.writeEvent(event);
+            }
+        }
+        if (hasOtherFields(msg)) {
+            writer.writeOther(msg.toBuilder()
+                    .clearTime()
+                    .clearBlockChange()
+                    .clearExtraDataChange()
+                    .clearInvalidateChunk()
+                    .clearRemoveEntity()
+                    .clearUpdateEntity()
+                    .clearEvent()
+                    .build());
+        }
+        writer.finish();
+    }
+
+    private static boolean hasOtherFields(NetData.NetMessage msg) {
+        return msg.getChunkInfoCount() > 0
+                || msg.getCreateEntityCount() > 0
+                || msg.getBlockFamilyRegisteredCount() > 0
+                || msg.getModuleRequestCount() > 0
+                || msg.hasServerInfoRequest()
+                || msg.hasServerInfo()
+                || msg.hasJoin()
+                || msg.hasModuleDataHeader()
+                || msg.hasModuleData()
+                || msg.hasJoinComplete()
+                || msg.hasHandshakeHello()
+                || msg.hasNewIdentityRequest()
+                || msg.hasProvisionIdentity()
+                || msg.hasHandshakeVerification()
+                || !msg.getUnknownFields().asMap().isEmpty();
+    }
+}
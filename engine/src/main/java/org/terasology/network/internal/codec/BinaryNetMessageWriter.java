@@ -0,0 +1,222 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.network.internal.codec;
+
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+
+/**
+ * Writes one message in the {@link BinaryNetCodec binary format} to the end of a buffer, section by section, straight
+ * from the values it consists of. No protobuf message has to be built for the frequent parts of a message; only the
+ * entity and event payloads the serializers produce are embedded as they are.
+ * <p>
+ * A section is started with the number of its entries, which then have to be written one by one. The message is
+ * preceded by its length, written as a varint padded to {@link #LENGTH_FIELD_SIZE} bytes, so that it can be filled in
+ * by {@link #finish()} and still be read by a {@link io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder}.
+ */
+public final class BinaryNetMessageWriter {
+    static final int LENGTH_FIELD_SIZE = 4;
+    private static final int MAX_LENGTH = (1 << (7 * LENGTH_FIELD_SIZE)) - 1;
+
+    private final ByteBuf out;
+    private final int start;
+    private final CodedOutputStream output;
+
+    // The previous position of the current section, which positions are written relative to
+    private int x;
+    private int y;
+    private int z;
+
+    public BinaryNetMessageWriter(ByteBuf out) {
+        this.out = out;
+        this.start = out.writerIndex();
+        out.writeZero(LENGTH_FIELD_SIZE);
+        this.output = CodedOutputStream.newInstance(new ByteBufOutputStream(out), 256);
+    }
+
+    public void writeTime(long time) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.TIME);
+        output.writeRawVarint64(time);
+    }
+
+    public void beginBlockChanges(int count) throws IOException {
+        beginSection(BinaryNetCodec.BLOCK_CHANGES, count);
+    }
+
+    public void writeBlockChange(int posX, int posY, int posZ, int blockId) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.HAS_POS | BinaryNetCodec.HAS_VALUE);
+        writePosition(posX, posY, posZ);
+        output.writeRawVarint32(blockId);
+    }
+
+    void writeBlockChange(NetData.BlockChangeMessage change) throws IOException {
+        output.writeRawVarint32((change.hasPos() ? BinaryNetCodec.HAS_POS : 0)
+                | (change.hasNewBlock() ? BinaryNetCodec.HAS_VALUE : 0));
+        if (change.hasPos()) {
+            writePosition(change.getPos());
+        }
+        if (change.hasNewBlock()) {
+            output.writeRawVarint32(change.getNewBlock());
+        }
+    }
+
+    public void beginExtraDataChanges(int count) throws IOException {
+        beginSection(BinaryNetCodec.EXTRA_DATA_CHANGES, count);
+    }
+
+    public void writeExtraDataChange(int index, int posX, int posY, int posZ, int value) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.HAS_POS | BinaryNetCodec.HAS_VALUE | BinaryNetCodec.HAS_INDEX);
+        output.writeRawVarint32(index);
+        writePosition(posX, posY, posZ);
+        output.writeSInt32NoTag(value);
+    }
+
+    void writeExtraDataChange(NetData.ExtraDataChangeMessage change) throws IOException {
+        output.writeRawVarint32((change.hasPos() ? BinaryNetCodec.HAS_POS : 0)
+                | (change.hasNewData() ? BinaryNetCodec.HAS_VALUE : 0)
+                | (change.hasIndex() ? BinaryNetCodec.HAS_INDEX : 0));
+        if (change.hasIndex()) {
+            output.writeRawVarint32(change.getIndex());
+        }
+        if (change.hasPos()) {
+            writePosition(change.getPos());
+        }
+        if (change.hasNewData()) {
+            output.writeSInt32NoTag(change.getNewData());
+        }
+    }
+
+    public void beginInvalidatedChunks(int count) throws IOException {
+        beginSection(BinaryNetCodec.INVALIDATED_CHUNKS, count);
+    }
+
+    public void writeInvalidatedChunk(int posX, int posY, int posZ) throws IOException {
+        writePosition(posX, posY, posZ);
+    }
+
+    public void beginRemovedEntities(int count) throws IOException {
+        beginSection(BinaryNetCodec.REMOVED_ENTITIES, count);
+    }
+
+    public void writeRemovedEntity(int netId) throws IOException {
+        output.writeRawVarint32(netId);
+    }
+
+    public void beginUpdatedEntities(int count) throws IOException {
+        beginSection(BinaryNetCodec.UPDATED_ENTITIES, count);
+    }
+
+    public void writeUpdatedEntity(int netId, EntityData.PackedEntity entity) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.HAS_NET_ID | BinaryNetCodec.HAS_ENTITY);
+        output.writeRawVarint32(netId);
+        output.writeMessageNoTag(entity);
+    }
+
+    void writeUpdatedEntity(NetData.UpdateEntityMessage update) throws IOException {
+        output.writeRawVarint32((update.hasNetId() ? BinaryNetCodec.HAS_NET_ID : 0)
+                | (update.hasEntity() ? BinaryNetCodec.HAS_ENTITY : 0));
+        if (update.hasNetId()) {
+            output.writeRawVarint32(update.getNetId());
+        }
+        if (update.hasEntity()) {
+            output.writeMessageNoTag(update.getEntity());
+        }
+    }
+
+    public void beginEvents(int count) throws IOException {
+        beginSection(BinaryNetCodec.EVENTS, count);
+    }
+
+    /**
+     * Writes an event sent to the entity with the given network id.
+     */
+    public void writeEntityEvent(int targetId, EntityData.Event event) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.HAS_TARGET_ID | BinaryNetCodec.HAS_EVENT);
+        output.writeRawVarint32(targetId);
+        output.writeMessageNoTag(event);
+    }
+
+    /**
+     * Writes an event sent to the block at the given position.
+     */
+    public void writeBlockEvent(int posX, int posY, int posZ, EntityData.Event event) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.HAS_TARGET_BLOCK_POS | BinaryNetCodec.HAS_EVENT);
+        output.writeSInt32NoTag(posX);
+        output.writeSInt32NoTag(posY);
+        output.writeSInt32NoTag(posZ);
+        output.writeMessageNoTag(event);
+    }
+
+    void writeEvent(NetData.EventMessage event) throws IOException {
+        output.writeRawVarint32((event.hasTargetId() ? BinaryNetCodec.HAS_TARGET_ID : 0)
+                | (event.hasTargetBlockPos() ? BinaryNetCodec.HAS_TARGET_BLOCK_POS : 0)
+                | (event.hasEvent() ? BinaryNetCodec.HAS_EVENT : 0));
+        if (event.hasTargetId()) {
+            output.writeRawVarint32(event.getTargetId());
+        }
+        if (event.hasTargetBlockPos()) {
+            NetData.Vector3iData pos = event.getTargetBlockPos();
+            output.writeSInt32NoTag(pos.getX());
+            output.writeSInt32NoTag(pos.getY());
+            output.writeSInt32NoTag(pos.getZ());
+        }
+        if (event.hasEvent()) {
+            output.writeMessageNoTag(event.getEvent());
+        }
+    }
+
+    /**
+     * Writes the fields of a message that have no section of their own, e.g. chunks and created entities.
+     */
+    public void writeOther(NetData.NetMessage other) throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.OTHER);
+        output.writeMessageNoTag(other);
+    }
+
+    /**
+     * Ends the message and fills in its length.
+     */
+    public void finish() throws IOException {
+        output.writeRawVarint32(BinaryNetCodec.END);
+        output.flush();
+
+        int length = out.writerIndex() - start - LENGTH_FIELD_SIZE;
+        if (length > MAX_LENGTH) {
+            throw new IOException("Message too large for the binary codec: " + length + " bytes");
+        }
+        for (int i = 0; i < LENGTH_FIELD_SIZE - 1; i++) {
+            out.setByte(start + i, ((length >>> (7 * i)) & 0x7F) | 0x80);
+        }
+        out.setByte(start + LENGTH_FIELD_SIZE - 1, length >>> (7 * (LENGTH_FIELD_SIZE - 1)));
+    }
+
+    private void beginSection(int section, int count) throws IOException {
+        output.writeRawVarint32(section);
+        output.writeRawVarint32(count);
+        x = 0;
+        y = 0;
+        z = 0;
+    }
+
+    /**
+     * Writes a position as the difference to the previous position, which is small for changes close to each other.
+     */
+    private void writePosition(int posX, int posY, int posZ) throws IOException {
+        output.writeSInt32NoTag(posX - x);
+        output.writeSInt32NoTag(posY - y);
+        output.writeSInt32NoTag(posZ - z);
+        x = posX;
+        y = posY;
+        z = posZ;
+    }
+
+    private void writePosition(NetData.Vector3iData pos) throws IOException {
+        writePosition(pos.getX(), pos.getY(), pos.getZ());
+    }
+}
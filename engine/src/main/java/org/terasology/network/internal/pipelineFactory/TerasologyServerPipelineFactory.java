@@ -18,6 +18,7 @@
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.codec.compression.JdkZlibEncoder;
@@ -25,8 +26,10 @@
 import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.terasology.config.NetworkConfig;
 import org.terasology.network.internal.MetricRecordingHandler;
 import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.network.internal.OutboundMessageAssembler;
 import org.terasology.network.internal.ServerConnectionHandler;
 import org.terasology.network.internal.ServerHandler;
 import org.terasology.network.internal.ServerHandshakeHandler;
@@ -38,9 +41,11 @@
 public class TerasologyServerPipelineFactory extends ChannelInitializer {
 
     private NetworkSystemImpl networkSystem;
+    private NetworkConfig config;
 
-    public TerasologyServerPipelineFactory(NetworkSystemImpl networkSystem) {
+    public TerasologyServerPipelineFactory(NetworkSystemImpl networkSystem, NetworkConfig config) {
         this.networkSystem = networkSystem;
+        this.config = config;
     }
 
     @Override
@@ -52,7 +57,8 @@ protected void initChannel(Channel ch) throws Exception {
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
         p.addLast("frameLengthEncoder", new LengthFieldPrepender(3));
-        p.addLast("deflateEncoder", new JdkZlibEncoder());
+        p.addLast("deflateEncoder", new JdkZlibEncoder(config.getCompressionLevel()));
+        p.addLast(OutboundMessageAssembler.HANDLER_NAME, new ChannelOutboundHandlerAdapter());
         p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
         p.addLast("protobufEncoder", new ProtobufEncoder());
 
@@ -32,9 +32,11 @@
 import org.terasology.particles.rendering.ParticleRenderingData;
 import org.terasology.particles.updating.ParticleUpdater;
 import org.terasology.particles.updating.ParticleUpdaterImpl;
+import org.terasology.physics.BlockRaycaster;
 import org.terasology.physics.Physics;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
+import org.terasology.world.chunks.ChunkProvider;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -58,6 +60,9 @@ public class ParticleSystemManagerImpl extends BaseComponentSystem implements Up
     @In
     private ModuleManager moduleManager;
 
+    @In
+    private ChunkProvider chunkProvider;
+
     private ParticleUpdater particleUpdater;
 
 
@@ -87,7 +92,8 @@ public void onEmitterDeactivated(BeforeDeactivateComponent event, EntityRef enti
      * Creates and initializes a new {@link ParticleUpdater}.
      */
     public void initialise() {
-        particleUpdater = new ParticleUpdaterImpl(physics, moduleManager);
+        BlockRaycaster blockRaycaster = chunkProvider != null ? new BlockRaycaster(chunkProvider) : null;
+        particleUpdater = new ParticleUpdaterImpl(physics, moduleManager, blockRaycaster);
         particleUpdater.initialize();
     }
 
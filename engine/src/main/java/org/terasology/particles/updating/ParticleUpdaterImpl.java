@@ -21,6 +21,7 @@
 import org.terasology.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.particles.functions.affectors.AffectorFunction;
 import org.terasology.particles.functions.generators.GeneratorFunction;
+import org.terasology.physics.BlockRaycaster;
 import org.terasology.physics.HitResult;
 import org.terasology.physics.Physics;
 import org.terasology.physics.StandardCollisionGroup;
@@ -65,11 +66,30 @@ public class ParticleUpdaterImpl implements ParticleUpdater {
 
     private final FastRandom random = new FastRandom();
     private final Physics physics;
+    private final BlockRaycaster blockRaycaster;
     private float movingAvgDelta = 1.0f / 60.0f; // Starting guess average physics updateParticleSystem delta
 
+    /**
+     * Scratch buffers for batched block ray casts, grown on demand and reused across updates.
+     */
+    private float[] rayOrigins = new float[0];
+    private float[] rayDirections = new float[0];
+    private float[] rayDistances = new float[0];
+    private int[] rayParticles = new int[0];
+    private boolean[] rayHits = new boolean[0];
+
     public ParticleUpdaterImpl(final Physics physics, final ModuleManager moduleManager) {
+        this(physics, moduleManager, null);
+    }
+
+    /**
+     * @param blockRaycaster used for particle collision instead of the physics engine; particles only collide with
+     *                       blocks anyway. If null, collisions are traced through {@link Physics#rayTrace}.
+     */
+    public ParticleUpdaterImpl(final Physics physics, final ModuleManager moduleManager, final BlockRaycaster blockRaycaster) {
         this.physics = physics;
         this.moduleManager = moduleManager;
+        this.blockRaycaster = blockRaycaster;
     }
 
     @Override
@@ -196,6 +216,11 @@ private void mapAffectorFunction(AffectorFunction affectorFunction, Class<? exte
     }
 
     private void checkCollision(final ParticlePool pool, final int offset) {
+        if (blockRaycaster != null) {
+            checkBlockCollision(pool, offset);
+            return;
+        }
+
         final Vector3f vel = new Vector3f();
         final Vector3f halfVelDir = new Vector3f();
         final Vector3f curr = new Vector3f();
@@ -216,6 +241,57 @@ private void checkCollision(final ParticlePool pool, final int offset) {
         }
     }
 
+    /**
+     * Same sampling as {@link #checkCollision(ParticlePool, int)}, but traces all sampled particles in one batch
+     * against the block data.
+     */
+    private void checkBlockCollision(final ParticlePool pool, final int offset) {
+        int count = 0;
+        for (int i = offset; i < pool.livingParticles(); i += PHYSICS_SKIP_NR) {
+            count++;
+        }
+        ensureRayCapacity(count);
+
+        int ray = 0;
+        for (int i = offset; i < pool.livingParticles(); i += PHYSICS_SKIP_NR) {
+            int i3 = i * 3;
+            int r3 = ray * 3;
+            float velX = pool.velocity[i3 + 0];
+            float velY = pool.velocity[i3 + 1];
+            float velZ = pool.velocity[i3 + 2];
+            float speed = (float) Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+            float halfInvSpeed = speed > 0 ? 0.5f / speed : 0;
+
+            rayOrigins[r3 + 0] = pool.position[i3 + 0] - velX * halfInvSpeed;
+            rayOrigins[r3 + 1] = pool.position[i3 + 1] - velY * halfInvSpeed;
+            rayOrigins[r3 + 2] = pool.position[i3 + 2] - velZ * halfInvSpeed;
+            rayDirections[r3 + 0] = velX;
+            rayDirections[r3 + 1] = velY;
+            rayDirections[r3 + 2] = velZ;
+            rayDistances[ray] = (speed + 0.5f) * movingAvgDelta * PHYSICS_SKIP_NR * 1.5f;
+            rayParticles[ray] = i;
+            ray++;
+        }
+
+        if (blockRaycaster.raycast(rayOrigins, rayDirections, rayDistances, count, rayHits) > 0) {
+            for (int r = 0; r < count; r++) {
+                if (rayHits[r]) {
+                    pool.energy[rayParticles[r]] = 0;
+                }
+            }
+        }
+    }
+
+    private void ensureRayCapacity(int count) {
+        if (rayParticles.length < count) {
+            rayOrigins = new float[count * 3];
+            rayDirections = new float[count * 3];
+            rayDistances = new float[count];
+            rayParticles = new int[count];
+            rayHits = new boolean[count];
+        }
+    }
+
     private void updateLifeRemaining(final ParticlePool pool, final float delta) {
         for (int i = 0; i < pool.livingParticles(); i++) {
             pool.energy[i] -= delta;
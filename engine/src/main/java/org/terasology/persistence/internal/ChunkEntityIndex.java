@@ -0,0 +1,205 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.persistence.internal;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
+import org.terasology.network.ClientComponent;
+import org.terasology.protobuf.EntityData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the entities that get saved with each chunk, across save transactions.
+ * <br><br>
+ * The entities of the private entity manager that are stored in chunks are indexed by chunk position, and only updated
+ * for the entities that are part of a save delta. A chunk becomes dirty when such an entity enters or leaves it, or
+ * when an entity that was stored with it changes. The entity store of a clean chunk is reused from the previous save
+ * instead of being serialized again.
+ * <br><br>
+ * Only used by the thread running the save transactions.
+ */
+final class ChunkEntityIndex {
+    private final Map<Vector3i, TLongSet> chunkEntities = new HashMap<>();
+    private final TLongObjectMap<Vector3i> entityChunks = new TLongObjectHashMap<>();
+
+    private final Map<Vector3i, StoredChunk> storedChunks = new HashMap<>();
+    private final TLongObjectMap<Vector3i> storedEntityChunks = new TLongObjectHashMap<>();
+    private final Set<Vector3i> dirtyChunks = new HashSet<>();
+
+    /**
+     * Indexes an entity again after a save delta has been applied to it.
+     *
+     * @param entityManager the private entity manager the delta has been applied to
+     * @param entityId the id of a changed, destroyed or deactivated entity
+     */
+    void update(EngineEntityManager entityManager, long entityId) {
+        Vector3i storedChunk = storedEntityChunks.get(entityId);
+        if (storedChunk != null) {
+            dirtyChunks.add(storedChunk);
+        }
+        Vector3i oldChunk = entityChunks.remove(entityId);
+        if (oldChunk != null) {
+            dirtyChunks.add(oldChunk);
+            TLongSet entities = chunkEntities.get(oldChunk);
+            entities.remove(entityId);
+            if (entities.isEmpty()) {
+                chunkEntities.remove(oldChunk);
+            }
+        }
+
+        if (!entityManager.isActiveEntity(entityId)) {
+            return;
+        }
+        EntityRef entity = entityManager.getEntity(entityId);
+        Vector3i chunkPos = getStorageChunk(entity);
+        if (chunkPos != null) {
+            entityChunks.put(entityId, chunkPos);
+            chunkEntities.computeIfAbsent(chunkPos, pos -> new TLongHashSet()).add(entityId);
+            dirtyChunks.add(chunkPos);
+        }
+        // Children move along with their parent without being part of the delta
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location != null) {
+            for (EntityRef child : location.getChildren()) {
+                if (child.isActive()) {
+                    update(entityManager, child.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the chunk the entity gets stored in, or null if it gets stored elsewhere
+     */
+    private static Vector3i getStorageChunk(EntityRef entity) {
+        /*
+         * Note: Entities with owners get saved with the owner. Entities that are always relevant don't get stored
+         * in chunk as the chunk is not always loaded
+         */
+        if (!entity.isPersistent() || entity.getOwner().exists() || entity.hasComponent(ClientComponent.class)
+                || entity.isAlwaysRelevant()) {
+            return null;
+        }
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null) {
+            return null;
+        }
+        Vector3f loc = location.getWorldPosition(new Vector3f());
+        return ChunkMath.calcChunkPos((int) loc.x, (int) loc.y, (int) loc.z, new Vector3i());
+    }
+
+    /**
+     * @return the entities located in the chunk that get stored with it
+     */
+    Collection<EntityRef> getEntities(EngineEntityManager entityManager, Vector3i chunkPos) {
+        TLongSet ids = chunkEntities.get(chunkPos);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<EntityRef> entities = new ArrayList<>(ids.size());
+        ids.forEach(id -> {
+            entities.add(entityManager.getEntity(id));
+            return true;
+        });
+        return entities;
+    }
+
+    /**
+     * @return whether the entities of the chunk need to be serialized again
+     */
+    boolean isDirty(Vector3i chunkPos) {
+        return dirtyChunks.contains(chunkPos) || !storedChunks.containsKey(chunkPos);
+    }
+
+    /**
+     * @return the entity store of a chunk that is not {@link #isDirty dirty}
+     */
+    EntityData.EntityStore getEntityStore(Vector3i chunkPos) {
+        return storedChunks.get(chunkPos).entityStore;
+    }
+
+    /**
+     * @return all entities stored with a chunk that is not {@link #isDirty dirty}, including owned ones
+     */
+    Set<EntityRef> getStoredEntities(Vector3i chunkPos) {
+        return storedChunks.get(chunkPos).storedEntities;
+    }
+
+    /**
+     * Remembers the entities a chunk has been saved with, making it clean.
+     */
+    void setStored(Vector3i chunkPos, EntityData.EntityStore entityStore, Set<EntityRef> storedEntities) {
+        removeStored(chunkPos);
+        StoredChunk storedChunk = new StoredChunk(entityStore, storedEntities);
+        storedChunks.put(chunkPos, storedChunk);
+        storedChunk.storedIds.forEach(id -> {
+            storedEntityChunks.put(id, chunkPos);
+            return true;
+        });
+        dirtyChunks.remove(chunkPos);
+    }
+
+    /**
+     * Forgets the stores of all chunks that are no longer loaded, as they will be serialized again once reloaded.
+     */
+    void retainStored(Set<Vector3i> loadedChunks) {
+        Iterator<Vector3i> iterator = storedChunks.keySet().iterator();
+        while (iterator.hasNext()) {
+            Vector3i chunkPos = iterator.next();
+            if (!loadedChunks.contains(chunkPos)) {
+                removeStoredEntityChunks(chunkPos, storedChunks.get(chunkPos));
+                iterator.remove();
+            }
+        }
+        dirtyChunks.retainAll(loadedChunks);
+    }
+
+    private void removeStored(Vector3i chunkPos) {
+        StoredChunk storedChunk = storedChunks.remove(chunkPos);
+        if (storedChunk != null) {
+            removeStoredEntityChunks(chunkPos, storedChunk);
+        }
+    }
+
+    private void removeStoredEntityChunks(Vector3i chunkPos, StoredChunk storedChunk) {
+        // The stored entities might have been destroyed since, so their ids are kept separately
+        storedChunk.storedIds.forEach(id -> {
+            if (chunkPos.equals(storedEntityChunks.get(id))) {
+                storedEntityChunks.remove(id);
+            }
+            return true;
+        });
+    }
+
+    private static final class StoredChunk {
+        private final EntityData.EntityStore entityStore;
+        private final Set<EntityRef> storedEntities;
+        private final TLongSet storedIds = new TLongHashSet();
+
+        private StoredChunk(EntityData.EntityStore entityStore, Set<EntityRef> storedEntities) {
+            this.entityStore = entityStore;
+            this.storedEntities = storedEntities;
+            for (EntityRef entity : storedEntities) {
+                storedIds.add(entity.getId());
+            }
+        }
+    }
+}
@@ -18,7 +18,7 @@
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.protobuf.EntityData;
-import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.ChunkSnapshot;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -27,60 +27,46 @@
 import java.util.zip.GZIPOutputStream;
 
 /**
- * Provides an easy to get a compressed version of a chunk. Either the chunk most have a snapshot of it's state
- * or it must be an unloaded chunk which no longer changes.
+ * Provides an easy to get a compressed version of a chunk from a snapshot of it's state, so the chunk can be modified
+ * (or unloaded) concurrently. The snapshot gets released once the chunk has been encoded.
  *
  */
 public class CompressedChunkBuilder {
     private EntityData.EntityStore entityStore;
-    private ChunkImpl chunk;
-    private boolean viaSnapshot;
+    private ChunkSnapshot snapshot;
     private byte[] result;
     private Set<EntityRef> storedEntities;
 
     /**
      *
+     * @param snapshot       snapshot of the chunk to encode, taken by the thread modifying the chunk
      * @param entitiesToSave all persistent entities within the given chunk
-     * @param chunkUnloaded if true the chunk data will be used directly.  If deactivate is false then the chunk will be
-     *                      but in snapshot mode so that concurrent modifications (and possibly future unload) is
-     *                      possible.
      */
-    public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkImpl chunk,
-                                  Collection<EntityRef> entitiesToSave,
-                                  boolean chunkUnloaded) {
+    public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkSnapshot snapshot,
+                                  Collection<EntityRef> entitiesToSave) {
         EntityStorer storer = new EntityStorer(entityManager);
         entitiesToSave.stream().filter(EntityRef::isPersistent).forEach(storer::store);
         storedEntities = storer.getStoredEntities();
         this.entityStore = storer.finaliseStore();
 
-        this.chunk = chunk;
-        this.viaSnapshot = !chunkUnloaded;
-        if (viaSnapshot) {
-            this.chunk.createSnapshot();
-        }
+        this.snapshot = snapshot;
     }
 
     /**
      *
      * @param entityStore encoded entities to be stored.
-     * @param chunk       chunk for which {@link ChunkImpl#createSnapshot()} has been called.
-     * @param viaSnapshot specifies if the previously taken snapshot will be encoded or if
+     * @param snapshot    snapshot of the chunk to encode, taken by the thread modifying the chunk
      */
-    public CompressedChunkBuilder(EntityData.EntityStore entityStore, ChunkImpl chunk, boolean viaSnapshot) {
+    public CompressedChunkBuilder(EntityData.EntityStore entityStore, ChunkSnapshot snapshot) {
         this.entityStore = entityStore;
-        this.chunk = chunk;
-        this.viaSnapshot = viaSnapshot;
+        this.snapshot = snapshot;
     }
 
     public synchronized byte[] buildEncodedChunk() {
         if (result == null) {
-
-            EntityData.ChunkStore.Builder encoded;
-            if (viaSnapshot) {
-                encoded = chunk.encodeAndReleaseSnapshot();
-            } else {
-                encoded = chunk.encode();
-            }
+            EntityData.ChunkStore.Builder encoded = snapshot.encode();
+            snapshot.release();
+            snapshot = null;
             encoded.setStore(entityStore);
             EntityData.ChunkStore store = encoded.build();
             result = compressChunkStore(store);
@@ -102,4 +88,8 @@ private byte[] compressChunkStore(EntityData.ChunkStore store) {
     public Set<EntityRef> getStoredEntities() {
         return storedEntities;
     }
+
+    public EntityData.EntityStore getEntityStore() {
+        return entityStore;
+    }
 }
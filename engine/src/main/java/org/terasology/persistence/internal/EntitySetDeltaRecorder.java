@@ -24,6 +24,7 @@
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
 
 import java.util.Collection;
 import java.util.Map;
@@ -66,11 +67,31 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
         if (entity.isPersistent()) {
             EntityDelta entityDelta = getOrCreateEntityDeltaFor(entity);
             Component component = entity.getComponent(componentClass);
+            Component previousSnapshot = entityDelta.getChangedComponents().get(componentClass);
+            if (previousSnapshot != null && updateChangedFields(previousSnapshot, component)) {
+                return;
+            }
             Component componentSnapshot = componentLibrary.copy(component);
             entityDelta.setChangedComponent(componentSnapshot);
         }
     }
 
+    /**
+     * Copies only the changed fields of a component onto the snapshot that is already in the delta, if the component
+     * tracks its changes.
+     *
+     * @return whether the snapshot was updated
+     */
+    private <T extends Component> boolean updateChangedFields(T snapshot, Component component) {
+        ComponentMetadata<T> metadata = componentLibrary.getMetadata(snapshot);
+        long fieldMask = metadata.getChangedFieldMask(component);
+        if (fieldMask == ComponentMetadata.ALL_FIELDS) {
+            return false;
+        }
+        metadata.copyFields(metadata.getType().cast(component), snapshot, fieldMask);
+        return true;
+    }
+
     public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component> component) {
         if (entity.isPersistent()) {
             EntityDelta entityDelta = getOrCreateEntityDeltaFor(entity);
@@ -55,6 +55,7 @@
 import org.terasology.utilities.FilesUtil;
 import org.terasology.utilities.concurrency.ShutdownTask;
 import org.terasology.utilities.concurrency.Task;
+import org.terasology.utilities.concurrency.TaskClass;
 import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.block.family.BlockFamily;
@@ -62,7 +63,6 @@
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.ManagedChunk;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
-import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.internal.WorldInfo;
 
 import java.io.IOException;
@@ -111,6 +111,10 @@ public final class ReadWriteStorageManager extends AbstractStorageManager implem
 
     private EngineEntityManager privateEntityManager;
     private EntitySetDeltaRecorder entitySetDeltaRecorder;
+    /**
+     * The chunks the entities of the private entity manager get stored in, used by the save transactions only.
+     */
+    private final ChunkEntityIndex chunkEntityIndex = new ChunkEntityIndex();
     private RecordAndReplaySerializer recordAndReplaySerializer;
     private RecordAndReplayUtils recordAndReplayUtils;
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
@@ -139,7 +143,7 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
         this.privateEntityManager = createPrivateEntityManager(entityManager.getComponentLibrary());
         Files.createDirectories(getStoragePathProvider().getStoragePathDirectory());
         this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
-        this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
+        this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", TaskClass.IO, 1);
         this.config = CoreRegistry.get(Config.class);
         this.entityRefReplacingComponentLibrary = privateEntityManager.getComponentLibrary()
                 .createCopyUsingCopyStrategy(EntityRef.class, new DelayedEntityRefCopyStrategy(this));
@@ -174,6 +178,9 @@ private void checkSaveTransactionAndClearUpIfItIsDone() {
                 if (t != null) {
                     throw new RuntimeException("Saving failed", t);
                 }
+                // Recorded on the main thread, as the performance monitor ignores other threads. This is the time of
+                // the whole save, done off the main thread: it shows up as one spike in this frame, not as frame time.
+                PerformanceMonitor.recordActivityTime("Save Preparation", saveTransaction.getPreparationTime());
                 saveTransaction = null;
             }
             unloadedAndSavingChunkMap.clear();
@@ -231,8 +238,8 @@ private void addChunksToSaveTransaction(SaveTransactionBuilder saveTransactionBu
         chunkProvider.getAllChunks().stream().filter(ManagedChunk::isReady).forEach(chunk -> {
             // If there is a newer undisposed version of the chunk,we don't need to save the disposed version:
             unloadedAndSavingChunkMap.remove(chunk.getPosition());
-            ChunkImpl chunkImpl = (ChunkImpl) chunk;  // this storage manager can only work with ChunkImpls
-            saveTransactionBuilder.addLoadedChunk(chunk.getPosition(), chunkImpl);
+            // The snapshot keeps the chunk consistent for the save thread, while it keeps being modified here
+            saveTransactionBuilder.addLoadedChunk(chunk.getPosition(), chunk.createSnapshot());
         });
 
         for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : unloadedAndSavingChunkMap.entrySet()) {
@@ -264,8 +271,8 @@ private void waitForCompletionOfPreviousSave() {
 
     private SaveTransaction createSaveTransaction() {
         SaveTransactionBuilder saveTransactionBuilder = new SaveTransactionBuilder(privateEntityManager,
-                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), worldDirectoryWriteLock,
-                recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+                entitySetDeltaRecorder, chunkEntityIndex, isStoreChunksInZips(), getStoragePathProvider(),
+                worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
         ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
@@ -326,9 +333,8 @@ private PlayerStoreBuilder createPlayerStore(Client client, EntityRef character)
     @Override
     public void deactivateChunk(Chunk chunk) {
         Collection<EntityRef> entitiesOfChunk = getEntitiesOfChunk(chunk);
-        ChunkImpl chunkImpl = (ChunkImpl) chunk; // storage manager only works with ChunkImpl
-        unloadedAndUnsavedChunkMap.put(chunk.getPosition(), new CompressedChunkBuilder(getEntityManager(), chunkImpl,
-                entitiesOfChunk, true));
+        unloadedAndUnsavedChunkMap.put(chunk.getPosition(), new CompressedChunkBuilder(getEntityManager(),
+                chunk.createSnapshot(), entitiesOfChunk));
 
         entitiesOfChunk.forEach(this::deactivateOrDestroyEntityRecursive);
     }
@@ -18,25 +18,20 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import org.joml.Vector3f;
 import org.joml.Vector3i;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.game.GameManifest;
-import org.terasology.logic.location.LocationComponent;
-import org.terasology.math.ChunkMath;
-import org.terasology.network.ClientComponent;
 import org.terasology.protobuf.EntityData;
 import org.terasology.recording.RecordAndReplayCurrentStatus;
 import org.terasology.recording.RecordAndReplaySerializer;
 import org.terasology.recording.RecordAndReplayStatus;
 import org.terasology.recording.RecordAndReplayUtils;
 import org.terasology.utilities.concurrency.AbstractTask;
-import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.ChunkSnapshot;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -58,11 +53,20 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 /**
  * Task that writes a previously created memory snapshot of the game to the disk.
  * <br><br>
+ * The snapshot is the private entity manager of the storage manager, to which the changes recorded since the last save
+ * are applied first. All stores are built from it. Only the entities of chunks that are affected by the applied changes
+ * are serialized again, see {@link ChunkEntityIndex}; the player and global stores are built in full.
+ * <br><br>
+ * The chunk entity stores are incremental, the save as a whole is not: the private entity manager still holds a copy
+ * of every persistent entity, the recorded changes are still replayed onto it, and the global store still visits all
+ * of its entities.
+ * <br><br>
  * The result of this task can be obtained via {@link #getResult()}.
  *
  */
@@ -74,13 +78,15 @@ public class SaveTransaction extends AbstractTask {
     private final Lock worldDirectoryWriteLock;
     private final EngineEntityManager privateEntityManager;
     private final EntitySetDeltaRecorder deltaToSave;
+    private final ChunkEntityIndex chunkEntityIndex;
     private volatile SaveTransactionResult result;
+    private volatile long preparationTime;
 
     // Unprocessed data to save:
     private final Map<String, EntityData.PlayerStore> unloadedPlayers;
     private final Map<String, PlayerStoreBuilder> loadedPlayers;
     private final Map<Vector3i, CompressedChunkBuilder> unloadedChunks;
-    private final Map<Vector3i, ChunkImpl> loadedChunks;
+    private final Map<Vector3i, ChunkSnapshot> loadedChunks;
     private final GlobalStoreBuilder globalStoreBuilder;
 
     // processed data:
@@ -103,9 +109,11 @@ public class SaveTransaction extends AbstractTask {
 
 
     public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
+                           ChunkEntityIndex chunkEntityIndex,
                            Map<String, EntityData.PlayerStore> unloadedPlayers,
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
-                           Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
+                           Map<Vector3i, CompressedChunkBuilder> unloadedChunks,
+                           Map<Vector3i, ChunkSnapshot> loadedChunks,
                            GameManifest gameManifest, boolean storeChunksInZips,
                            StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock,
                            RecordAndReplaySerializer recordAndReplaySerializer,
@@ -113,6 +121,7 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
+        this.chunkEntityIndex = chunkEntityIndex;
         this.unloadedPlayers = unloadedPlayers;
         this.loadedPlayers = loadedPlayers;
         this.unloadedChunks = unloadedChunks;
@@ -145,8 +154,11 @@ public void run() {
                 throw new IOException("Save rand while there were unmerged changes");
             }
             saveTransactionHelper.cleanupSaveTransactionDirectory();
+            long preparationStart = System.nanoTime();
             applyDeltaToPrivateEntityManager();
+            updateChunkEntityIndex();
             prepareChunksPlayersAndGlobalStore();
+            preparationTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - preparationStart);
             createPreviewImagesFolder();
             createSaveTransactionDirectory();
             writePlayerStores();
@@ -156,7 +168,7 @@ public void run() {
             perpareChangesForMerge();
             mergeChanges();
             result = SaveTransactionResult.createSuccessResult();
-            logger.info("Save game finished");
+            logger.info("Save game finished, preparation took {} ms", preparationTime);
             saveRecordingData();
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
@@ -176,8 +188,7 @@ private void saveRecordingData() {
                 recordAndReplayCurrentStatus.setStatus(RecordAndReplayStatus.NOT_ACTIVATED);
                 recordAndReplayUtils.reset();
             } else {
-                String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
-                recordAndReplaySerializer.serializeRecordedEvents(recordingPath);
+                recordAndReplaySerializer.serializeRecordedEvents();
             }
         }
     }
@@ -218,22 +229,30 @@ private void prepareChunksPlayersAndGlobalStore() {
      *                        This method removes entities it saves.
      */
     private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
-        Map<Vector3i, Collection<EntityRef>> chunkPosToEntitiesMap = createChunkPosToUnsavedOwnerLessEntitiesMap();
+        chunkEntityIndex.retainStored(loadedChunks.keySet());
 
         allChunks = Maps.newHashMap();
         allChunks.putAll(unloadedChunks);
-        for (Map.Entry<Vector3i, ChunkImpl> chunkEntry : loadedChunks.entrySet()) {
-            Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkEntry.getKey());
-            if (entitiesToStore == null) {
-                entitiesToStore = Collections.emptySet();
+        int serializedChunks = 0;
+        for (Map.Entry<Vector3i, ChunkSnapshot> chunkEntry : loadedChunks.entrySet()) {
+            Vector3i chunkPos = chunkEntry.getKey();
+            ChunkSnapshot chunk = chunkEntry.getValue();
+            CompressedChunkBuilder compressedChunkBuilder;
+            if (chunkEntityIndex.isDirty(chunkPos)) {
+                Collection<EntityRef> entitiesToStore = chunkEntityIndex.getEntities(privateEntityManager, chunkPos);
+                unsavedEntities.removeAll(entitiesToStore);
+                compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk, entitiesToStore);
+                chunkEntityIndex.setStored(chunkPos, compressedChunkBuilder.getEntityStore(),
+                        compressedChunkBuilder.getStoredEntities());
+                serializedChunks++;
+            } else {
+                // None of the entities of the chunk changed since the last save, only its blocks get encoded again
+                compressedChunkBuilder = new CompressedChunkBuilder(chunkEntityIndex.getEntityStore(chunkPos), chunk);
             }
-            ChunkImpl chunk = chunkEntry.getValue();
-            unsavedEntities.removeAll(entitiesToStore);
-            CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
-                    entitiesToStore, false);
-            unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
-            allChunks.put(chunkEntry.getKey(), compressedChunkBuilder);
+            unsavedEntities.removeAll(chunkEntityIndex.getStoredEntities(chunkPos));
+            allChunks.put(chunkPos, compressedChunkBuilder);
         }
+        logger.debug("Serialized the entities of {} of {} loaded chunks", serializedChunks, loadedChunks.size());
     }
 
     /**
@@ -256,32 +275,24 @@ private void preparePlayerStores(Set<EntityRef> unsavedEntities) {
         }
     }
 
-    private Map<Vector3i, Collection<EntityRef>> createChunkPosToUnsavedOwnerLessEntitiesMap() {
-        Map<Vector3i, Collection<EntityRef>> chunkPosToEntitiesMap = Maps.newHashMap();
-        for (EntityRef entity : privateEntityManager.getEntitiesWith(LocationComponent.class)) {
-            /*
-             * Note: Entities with owners get saved with the owner. Entities that are always relevant don't get stored
-             * in chunk as the chunk is not always loaded
-             */
-            if (entity.isPersistent() && !entity.getOwner().exists() && !entity.hasComponent(ClientComponent.class)
-                    && !entity.isAlwaysRelevant()) {
-                LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
-                if (locationComponent != null) {
-                    Vector3f loc = locationComponent.getWorldPosition(new Vector3f());
-                    Vector3i chunkPos = ChunkMath.calcChunkPos((int) loc.x, (int) loc.y, (int) loc.z, new Vector3i());
-                    Collection<EntityRef> collection = chunkPosToEntitiesMap.get(chunkPos);
-                    if (collection == null) {
-                        collection = Lists.newArrayList();
-                        chunkPosToEntitiesMap.put(chunkPos, collection);
-                    }
-                    collection.add(entity);
-                }
-            }
-        }
-        return chunkPosToEntitiesMap;
+    /**
+     * Updates the chunk entity index for all entities of the applied delta.
+     */
+    private void updateChunkEntityIndex() {
+        deltaToSave.getEntityDeltas().forEachKey(entityId -> {
+            chunkEntityIndex.update(privateEntityManager, entityId);
+            return true;
+        });
+        deltaToSave.getDestroyedEntities().forEach(entityId -> {
+            chunkEntityIndex.update(privateEntityManager, entityId);
+            return true;
+        });
+        deltaToSave.getDeactivatedEntities().forEach(entityId -> {
+            chunkEntityIndex.update(privateEntityManager, entityId);
+            return true;
+        });
     }
 
-
     private void applyDeltaToPrivateEntityManager() {
         deltaToSave.getEntityDeltas().forEachEntry((entityId, delta) -> {
             if (entityId >= privateEntityManager.getNextId()) {
@@ -465,6 +476,14 @@ public SaveTransactionResult getResult() {
         return result;
     }
 
+    /**
+     * @return the time spent applying the delta and preparing the stores to write, in ms, or 0 if not done yet. This is
+     *         the preparation of the whole save, measured on the thread running this transaction.
+     */
+    public long getPreparationTime() {
+        return preparationTime;
+    }
+
     private void saveGameManifest() {
         try {
             Path path = storagePathProvider.getGameManifestTempPath();
@@ -24,7 +24,7 @@
 import org.terasology.recording.RecordAndReplayCurrentStatus;
 import org.terasology.recording.RecordAndReplaySerializer;
 import org.terasology.recording.RecordAndReplayUtils;
-import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.ChunkSnapshot;
 
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
@@ -37,10 +37,11 @@ class SaveTransactionBuilder {
     private final Lock worldDirectoryWriteLock;
     private final EngineEntityManager privateEntityManager;
     private final EntitySetDeltaRecorder deltaToSave;
+    private final ChunkEntityIndex chunkEntityIndex;
     private Map<String, EntityData.PlayerStore> unloadedPlayers = Maps.newHashMap();
     private Map<String, PlayerStoreBuilder> loadedPlayers = Maps.newHashMap();
     private Map<Vector3i, CompressedChunkBuilder> unloadedChunks = Maps.newHashMap();
-    private Map<Vector3i, ChunkImpl> loadedChunks = Maps.newHashMap();
+    private Map<Vector3i, ChunkSnapshot> loadedChunks = Maps.newHashMap();
     private GlobalStoreBuilder globalStoreBuilder;
     private final boolean storeChunksInZips;
     private final StoragePathProvider storagePathProvider;
@@ -50,12 +51,14 @@ class SaveTransactionBuilder {
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
 
     SaveTransactionBuilder(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
-                           boolean storeChunksInZips, StoragePathProvider storagePathProvider,
+                           ChunkEntityIndex chunkEntityIndex, boolean storeChunksInZips,
+                           StoragePathProvider storagePathProvider,
                            Lock worldDirectoryWriteLock, RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
+        this.chunkEntityIndex = chunkEntityIndex;
         this.storeChunksInZips = storeChunksInZips;
         this.storagePathProvider = storagePathProvider;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
@@ -81,13 +84,13 @@ void addUnloadedChunk(final org.terasology.math.geom.Vector3i chunkPosition, fin
     }
 
 
-    void addLoadedChunk(final org.terasology.math.geom.Vector3i chunkPosition, final ChunkImpl chunk) {
-        loadedChunks.put(JomlUtil.from(chunkPosition), chunk);
+    void addLoadedChunk(final org.terasology.math.geom.Vector3i chunkPosition, final ChunkSnapshot snapshot) {
+        loadedChunks.put(JomlUtil.from(chunkPosition), snapshot);
     }
 
     public SaveTransaction build() {
-        return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
-                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
+        return new SaveTransaction(privateEntityManager, deltaToSave, chunkEntityIndex, unloadedPlayers, loadedPlayers,
+                globalStoreBuilder, unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
                 worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
     }
@@ -0,0 +1,181 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.persistence.serializers;
+
+import com.google.common.base.Objects;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.PersistedDataSerializer;
+import org.terasology.persistence.typeHandling.Serializer;
+import org.terasology.persistence.typeHandling.TypeHandler;
+import org.terasology.persistence.typeHandling.coreTypes.BooleanTypeHandler;
+import org.terasology.persistence.typeHandling.coreTypes.DoubleTypeHandler;
+import org.terasology.persistence.typeHandling.coreTypes.FloatTypeHandler;
+import org.terasology.persistence.typeHandling.coreTypes.IntTypeHandler;
+import org.terasology.persistence.typeHandling.coreTypes.LongTypeHandler;
+import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedData;
+import org.terasology.protobuf.EntityData;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+
+/**
+ * The serialization plan of one component class, used by the component and network entity serializers.
+ * <p>
+ * Fields are read through the method handles of their {@link ComponentFieldMetadata}. Fields of primitive type that
+ * use the core type handlers are compared without boxing and written straight into a protobuf value; all other fields
+ * go through their type handler as before.
+ */
+final class CompiledComponentSerializer {
+
+    private static final int OBJECT = 0;
+    private static final int BOOLEAN = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int FLOAT = 4;
+    private static final int DOUBLE = 5;
+
+    private static final EntityData.Value NULL_VALUE = EntityData.Value.getDefaultInstance();
+
+    private final ComponentFieldMetadata<?, ?>[] fields;
+    private final TypeHandler<?>[] handlers;
+    private final MethodHandle[] getters;
+    private final int[] kinds;
+    private final PersistedDataSerializer context;
+
+    CompiledComponentSerializer(ComponentMetadata<?> componentMetadata, Serializer serializer, PersistedDataSerializer context) {
+        Collection<? extends ComponentFieldMetadata<?, ?>> fieldList = componentMetadata.getFields();
+        this.fields = fieldList.toArray(new ComponentFieldMetadata<?, ?>[0]);
+        this.handlers = new TypeHandler<?>[fields.length];
+        this.getters = new MethodHandle[fields.length];
+        this.kinds = new int[fields.length];
+        this.context = context;
+        for (int i = 0; i < fields.length; i++) {
+            handlers[i] = serializer.getHandlerFor(fields[i]);
+            getters[i] = fields[i].getGetterHandle();
+            kinds[i] = getters[i] == null ? OBJECT : kindOf(fields[i].getType(), handlers[i]);
+        }
+    }
+
+    private static int kindOf(Class<?> type, TypeHandler<?> handler) {
+        if (handler == null) {
+            return OBJECT;
+        }
+        Class<?> handlerType = handler.getClass();
+        if (type == boolean.class && handlerType == BooleanTypeHandler.class) {
+            return BOOLEAN;
+        } else if (type == int.class && handlerType == IntTypeHandler.class) {
+            return INT;
+        } else if (type == long.class && handlerType == LongTypeHandler.class) {
+            return LONG;
+        } else if (type == float.class && handlerType == FloatTypeHandler.class) {
+            return FLOAT;
+        } else if (type == double.class && handlerType == DoubleTypeHandler.class) {
+            return DOUBLE;
+        }
+        return OBJECT;
+    }
+
+    int getFieldCount() {
+        return fields.length;
+    }
+
+    ComponentFieldMetadata<?, ?> getField(int index) {
+        return fields[index];
+    }
+
+    boolean hasHandler(int index) {
+        return handlers[index] != null;
+    }
+
+    /**
+     * @return whether the field differs between the two components, with the semantics of {@link Objects#equal}
+     */
+    boolean isChanged(int index, Component base, Component delta) {
+        try {
+            MethodHandle getter = getters[index];
+            switch (kinds[index]) {
+                case BOOLEAN:
+                    return (boolean) getter.invokeExact((Object) base) != (boolean) getter.invokeExact((Object) delta);
+                case INT:
+                    return (int) getter.invokeExact((Object) base) != (int) getter.invokeExact((Object) delta);
+                case LONG:
+                    return (long) getter.invokeExact((Object) base) != (long) getter.invokeExact((Object) delta);
+                case FLOAT:
+                    return Float.floatToIntBits((float) getter.invokeExact((Object) base))
+                            != Float.floatToIntBits((float) getter.invokeExact((Object) delta));
+                case DOUBLE:
+                    return Double.doubleToLongBits((double) getter.invokeExact((Object) base))
+                            != Double.doubleToLongBits((double) getter.invokeExact((Object) delta));
+                default:
+                    return !Objects.equal(getValue(index, base), getValue(index, delta));
+            }
+        } catch (Throwable e) {
+            throw propagate(index, e);
+        }
+    }
+
+    /**
+     * Serializes a field of the given component.
+     *
+     * @return the serialized value, or null if the field is null or could not be serialized
+     */
+    @SuppressWarnings("unchecked")
+    EntityData.Value serialize(int index, Component component) {
+        try {
+            MethodHandle getter = getters[index];
+            switch (kinds[index]) {
+                case BOOLEAN:
+                    return EntityData.Value.newBuilder().addBoolean((boolean) getter.invokeExact((Object) component)).build();
+                case INT:
+                    return EntityData.Value.newBuilder().addInteger((int) getter.invokeExact((Object) component)).build();
+                case LONG:
+                    return EntityData.Value.newBuilder().addLong((long) getter.invokeExact((Object) component)).build();
+                case FLOAT:
+                    return EntityData.Value.newBuilder().addFloat((float) getter.invokeExact((Object) component)).build();
+                case DOUBLE:
+                    return EntityData.Value.newBuilder().addDouble((double) getter.invokeExact((Object) component)).build();
+                default:
+                    Object rawValue = getValue(index, component);
+                    TypeHandler handler = handlers[index];
+                    if (rawValue == null || handler == null) {
+                        return null;
+                    }
+                    PersistedData data = handler.serialize(rawValue, context);
+                    return data.isNull() ? null : ((ProtobufPersistedData) data).getValue();
+            }
+        } catch (Throwable e) {
+            throw propagate(index, e);
+        }
+    }
+
+    /**
+     * Serializes a field of the given component, like {@link #serialize(int, Component)}, but writes an empty value
+     * for null fields.
+     */
+    EntityData.Value serializeOrNull(int index, Component component) {
+        EntityData.Value value = serialize(index, component);
+        return value != null ? value : NULL_VALUE;
+    }
+
+    private Object getValue(int index, Component component) throws Throwable {
+        MethodHandle getter = getters[index];
+        if (getter == null) {
+            return fields[index].getValue(component);
+        }
+        return getter.invoke((Object) component);
+    }
+
+    private RuntimeException propagate(int index, Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException("Failed to read field " + fields[index].getName(), e);
+    }
+}
@@ -16,7 +16,6 @@
 
 package org.terasology.persistence.serializers;
 
-import com.google.common.base.Objects;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
@@ -57,6 +56,7 @@ public class ComponentSerializer {
     private boolean usingFieldIds;
     private TypeHandlerLibrary typeHandlerLibrary;
     private ProtobufPersistedDataSerializer serializationContext;
+    private final Map<ComponentMetadata<?>, CompiledComponentSerializer> compiledSerializers = Maps.newConcurrentMap();
 
     /**
      * Creates the component serializer.
@@ -225,12 +225,12 @@ public EntityData.Component serialize(Component component, FieldSerializeCheck<C
         EntityData.Component.Builder componentMessage = EntityData.Component.newBuilder();
         serializeComponentType(componentMetadata, componentMessage);
 
-        Serializer serializer = typeHandlerLibrary.getSerializerFor(componentMetadata);
-        for (ReplicatedFieldMetadata<?, ?> field : componentMetadata.getFields()) {
+        CompiledComponentSerializer compiled = getCompiledSerializer(componentMetadata);
+        for (int i = 0; i < compiled.getFieldCount(); i++) {
+            ReplicatedFieldMetadata<?, ?> field = compiled.getField(i);
             if (check.shouldSerializeField(field, component)) {
-                PersistedData result = serializer.serialize(field, component, serializationContext);
-                if (!result.isNull()) {
-                    EntityData.Value itemValue = ((ProtobufPersistedData) result).getValue();
+                EntityData.Value itemValue = compiled.serialize(i, component);
+                if (itemValue != null) {
                     if (usingFieldIds) {
                         componentMessage.addField(EntityData.NameValue.newBuilder().setNameIndex(field.getId()).setValue(itemValue));
                     } else {
@@ -243,6 +243,11 @@ public EntityData.Component serialize(Component component, FieldSerializeCheck<C
         return componentMessage.build();
     }
 
+    private CompiledComponentSerializer getCompiledSerializer(ComponentMetadata<?> componentMetadata) {
+        return compiledSerializers.computeIfAbsent(componentMetadata, metadata ->
+                new CompiledComponentSerializer(metadata, typeHandlerLibrary.getSerializerFor(metadata), serializationContext));
+    }
+
     private void serializeComponentType(ComponentMetadata<?> componentMetadata, EntityData.Component.Builder componentMessage) {
         Integer compId = idTable.get(componentMetadata.getType());
         if (compId != null) {
@@ -281,17 +286,14 @@ public EntityData.Component serialize(Component base, Component delta, FieldSeri
         EntityData.Component.Builder componentMessage = EntityData.Component.newBuilder();
         serializeComponentType(componentMetadata, componentMessage);
 
-        Serializer serializer = typeHandlerLibrary.getSerializerFor(componentMetadata);
+        CompiledComponentSerializer compiled = getCompiledSerializer(componentMetadata);
         boolean changed = false;
-        for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
-            if (check.shouldSerializeField(field, delta) && serializer.getHandlerFor(field) != null) {
-                Object origValue = field.getValue(base);
-                Object deltaValue = field.getValue(delta);
-
-                if (!Objects.equal(origValue, deltaValue)) {
-                    PersistedData value = serializer.serializeValue(field, deltaValue, serializationContext);
-                    if (!value.isNull()) {
-                        EntityData.Value dataValue = ((ProtobufPersistedData) value).getValue();
+        for (int i = 0; i < compiled.getFieldCount(); i++) {
+            ReplicatedFieldMetadata<?, ?> field = compiled.getField(i);
+            if (check.shouldSerializeField(field, delta) && compiled.hasHandler(i)) {
+                if (compiled.isChanged(i, base, delta)) {
+                    EntityData.Value dataValue = compiled.serialize(i, delta);
+                    if (dataValue != null) {
                         if (usingFieldIds) {
                             componentMessage.addField(EntityData.NameValue.newBuilder().setNameIndex(field.getId()).setValue(dataValue).build());
                         } else {
@@ -16,10 +16,10 @@
 
 package org.terasology.persistence.serializers;
 
-import com.google.common.base.Objects;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.ByteString;
@@ -34,13 +34,13 @@
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.entitySystem.prefab.Prefab;
-import org.terasology.persistence.typeHandling.PersistedData;
 import org.terasology.persistence.typeHandling.Serializer;
 import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
 import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedData;
 import org.terasology.persistence.typeHandling.protobuf.ProtobufPersistedDataSerializer;
 import org.terasology.protobuf.EntityData;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -54,6 +54,7 @@ public class NetworkEntitySerializer {
     private ComponentLibrary componentLibrary;
     private TypeHandlerLibrary typeHandlerLibrary;
     private ProtobufPersistedDataSerializer serializationContext;
+    private final Map<ComponentMetadata<?>, CompiledComponentSerializer> compiledSerializers = Maps.newConcurrentMap();
     private BiMap<Class<? extends Component>, Integer> idTable = ImmutableBiMap.<Class<? extends Component>, Integer>builder().build();
 
     public NetworkEntitySerializer(EngineEntityManager entityManager, ComponentLibrary componentLibrary, TypeHandlerLibrary typeHandlerLibrary) {
@@ -97,7 +98,7 @@ private EntityData.PackedEntity.Builder serializeEntityFull(EntityRef entityRef,
                 continue;
             }
 
-            serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+            serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true, ComponentMetadata.ALL_FIELDS);
         }
         entity.setFieldIds(fieldIds.toByteString());
         entity.setComponentFieldCounts(componentFieldCounts.toByteString());
@@ -122,7 +123,7 @@ private EntityData.PackedEntity.Builder serializeEntityDelta(EntityRef entityRef
             Component prefabComponent = prefab.getComponent(component.getClass());
 
             if (prefabComponent == null) {
-                serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+                serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true, ComponentMetadata.ALL_FIELDS);
             } else {
                 serializeComponentDelta(prefabComponent, component, fieldCheck, entity, fieldIds, componentFieldCounts, true);
             }
@@ -148,16 +149,15 @@ private void serializeComponentDelta(Component oldComponent, Component newCompon
         }
 
         byte fieldCount = 0;
-        Serializer serializer = typeHandlerLibrary.getSerializerFor(componentMetadata);
-        for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
+        CompiledComponentSerializer compiled = getCompiledSerializer(componentMetadata);
+        for (int i = 0; i < compiled.getFieldCount(); i++) {
+            ReplicatedFieldMetadata<?, ?> field = compiled.getField(i);
             if (fieldCheck.shouldSerializeField(field, newComponent, componentInitial)) {
-                Object oldValue = field.getValue(oldComponent);
-                Object newValue = field.getValue(newComponent);
-                if (!Objects.equal(oldValue, newValue)) {
-                    PersistedData data = serializer.serializeValue(field, newValue, serializationContext);
-                    if (!data.isNull()) {
+                if (compiled.isChanged(i, oldComponent, newComponent)) {
+                    EntityData.Value data = compiled.serialize(i, newComponent);
+                    if (data != null) {
                         entityFieldIds.write(field.getId());
-                        entityData.addFieldValue(((ProtobufPersistedData) data).getValue());
+                        entityData.addFieldValue(data);
                         fieldCount++;
                     } else {
                         logger.error("Exception serializing component type: {}, field: {} - returned null", componentMetadata, field);
@@ -174,21 +174,21 @@ private void serializeComponentDelta(Component oldComponent, Component newCompon
 
     private void serializeComponentFull(Component component, boolean ignoreIfNoFields, FieldSerializeCheck<Component> fieldCheck,
                                         EntityData.PackedEntity.Builder entityData, ByteString.Output entityFieldIds, ByteString.Output componentFieldCounts,
-                                        boolean componentInitial) {
+                                        boolean componentInitial, long fieldMask) {
         ComponentMetadata<?> componentMetadata = componentLibrary.getMetadata(component.getClass());
         if (componentMetadata == null) {
             logger.error("Unregistered component type: {}", component.getClass());
             return;
         }
 
-        Serializer serializer = typeHandlerLibrary.getSerializerFor(componentMetadata);
+        CompiledComponentSerializer compiled = getCompiledSerializer(componentMetadata);
         byte fieldCount = 0;
-        for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
-            if (fieldCheck.shouldSerializeField(field, component, componentInitial)) {
-                PersistedData fieldValue = serializer.serialize(field, component, serializationContext);
+        for (int i = 0; i < compiled.getFieldCount(); i++) {
+            ReplicatedFieldMetadata<?, ?> field = compiled.getField(i);
+            if (ComponentMetadata.isInMask(fieldMask, field) && fieldCheck.shouldSerializeField(field, component, componentInitial)) {
                 entityFieldIds.write(field.getId());
 
-                entityData.addFieldValue(((ProtobufPersistedData) fieldValue).getValue());
+                entityData.addFieldValue(compiled.serializeOrNull(i, component));
                 fieldCount++;
             }
         }
@@ -199,6 +199,11 @@ private void serializeComponentFull(Component component, boolean ignoreIfNoField
         }
     }
 
+    private CompiledComponentSerializer getCompiledSerializer(ComponentMetadata<?> componentMetadata) {
+        return compiledSerializers.computeIfAbsent(componentMetadata, metadata ->
+                new CompiledComponentSerializer(metadata, typeHandlerLibrary.getSerializerFor(metadata), serializationContext));
+    }
+
     public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedEntity entityData) {
         deserializeOnto(entity, entityData, FieldSerializeCheck.NullCheck.<Component>newInstance());
     }
@@ -270,6 +275,20 @@ public EntityRef deserialize(EntityData.PackedEntity entityData) {
 
     public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
                                              Set<Class<? extends Component>> removed, FieldSerializeCheck<Component> fieldCheck) {
+        return serialize(entityRef, added, changed, removed, fieldCheck, Collections.emptyMap());
+    }
+
+    /**
+     * Serializes the changes to an entity.
+     *
+     * @param changedFieldMasks the fields that changed for each changed component, as masks obtained from
+     *                          {@link ComponentMetadata#getChangedFieldMask(Component)}. Components without a mask are
+     *                          sent in full.
+     * @return the changes, or null if there is nothing to send
+     */
+    public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+                                             Set<Class<? extends Component>> removed, FieldSerializeCheck<Component> fieldCheck,
+                                             Map<Class<? extends Component>, Long> changedFieldMasks) {
         EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
 
         ByteString.Output fieldIds = ByteString.newOutput();
@@ -279,12 +298,15 @@ public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extend
             if (component == null) {
                 logger.error("Non-existent component marked as added: {}", componentType);
             }
-            serializeComponentFull(entityRef.getComponent(componentType), false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+            serializeComponentFull(entityRef.getComponent(componentType), false, fieldCheck, entity, fieldIds, componentFieldCounts, true,
+                    ComponentMetadata.ALL_FIELDS);
         }
         for (Class<? extends Component> componentType : changed) {
             Component comp = entityRef.getComponent(componentType);
             if (comp != null) {
-                serializeComponentFull(comp, true, fieldCheck, entity, fieldIds, componentFieldCounts, false);
+                Long fieldMask = changedFieldMasks.get(componentType);
+                serializeComponentFull(comp, true, fieldCheck, entity, fieldIds, componentFieldCounts, false,
+                        fieldMask != null ? fieldMask : ComponentMetadata.ALL_FIELDS);
             } else {
                 logger.error("Non-existent component marked as changed: {}", componentType);
             }
@@ -0,0 +1,73 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.physics;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+/**
+ * Mutable result of a {@link BlockRaycaster} query.
+ * <p>
+ * Instances are meant to be reused across many ray casts, so that block-only queries do not allocate.
+ */
+public class BlockRaycastResult {
+    private boolean hit;
+    private float distance;
+    private final Vector3i blockPosition = new Vector3i();
+    private final Vector3f hitPoint = new Vector3f();
+    private final Vector3f hitNormal = new Vector3f();
+
+    /**
+     * @return true if a solid block was hit by the last ray cast
+     */
+    public boolean isHit() {
+        return hit;
+    }
+
+    /**
+     * @return the distance along the ray to the hit point, or the maximum distance of the ray if nothing was hit
+     */
+    public float getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return the position of the block that was hit; undefined if {@link #isHit()} is false
+     */
+    public Vector3ic getBlockPosition() {
+        return blockPosition;
+    }
+
+    /**
+     * @return the point on the block surface where the ray entered the block; undefined if {@link #isHit()} is false
+     */
+    public Vector3fc getHitPoint() {
+        return hitPoint;
+    }
+
+    /**
+     * The normal of the block face that was entered. This is the zero vector if the ray started inside a solid block.
+     *
+     * @return the normal of the hit face; undefined if {@link #isHit()} is false
+     */
+    public Vector3fc getHitNormal() {
+        return hitNormal;
+    }
+
+    void setHit(int blockX, int blockY, int blockZ, float pointX, float pointY, float pointZ,
+                int normalX, int normalY, int normalZ, float hitDistance) {
+        this.hit = true;
+        this.distance = hitDistance;
+        this.blockPosition.set(blockX, blockY, blockZ);
+        this.hitPoint.set(pointX, pointY, pointZ);
+        this.hitNormal.set(normalX, normalY, normalZ);
+    }
+
+    void setMiss(float maxDistance) {
+        this.hit = false;
+        this.distance = maxDistance;
+    }
+}
@@ -0,0 +1,195 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.physics;
+
+import org.joml.Vector3fc;
+import org.terasology.math.TeraMath;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.Chunks;
+
+/**
+ * Casts rays against the block data of loaded chunks using a 3D DDA voxel traversal (Amanatides &amp; Woo).
+ * <p>
+ * This is a lightweight alternative to {@link Physics#rayTrace} for queries that only care about block solidity,
+ * e.g. particle or projectile collision. Every block that is not penetrable counts as a full, solid cube;
+ * entities and the exact collision shapes of blocks are ignored. Unloaded chunks are treated as empty.
+ * <p>
+ * The traversal does not allocate and remembers the chunk it last looked at, so consecutive blocks (and consecutive
+ * rays of a batch) inside the same chunk skip the chunk lookup. Instances are not thread safe.
+ */
+public class BlockRaycaster {
+
+    private static final int AXIS_NONE = -1;
+    private static final int AXIS_X = 0;
+    private static final int AXIS_Y = 1;
+    private static final int AXIS_Z = 2;
+
+    private final ChunkProvider chunkProvider;
+
+    private Chunk cachedChunk;
+    private boolean cacheValid;
+    private int cachedChunkX;
+    private int cachedChunkY;
+    private int cachedChunkZ;
+
+    public BlockRaycaster(ChunkProvider chunkProvider) {
+        this.chunkProvider = chunkProvider;
+    }
+
+    /**
+     * Casts a single ray against the loaded blocks.
+     *
+     * @param origin the start of the ray
+     * @param direction the direction of the ray, does not need to be normalized
+     * @param maxDistance the maximum distance to travel along the ray
+     * @param result receives the details of the hit
+     * @return true if a solid block was hit within maxDistance
+     */
+    public boolean raycast(Vector3fc origin, Vector3fc direction, float maxDistance, BlockRaycastResult result) {
+        return raycast(origin.x(), origin.y(), origin.z(), direction.x(), direction.y(), direction.z(), maxDistance, result);
+    }
+
+    /**
+     * Casts a single ray against the loaded blocks.
+     *
+     * @param result receives the details of the hit, may be null if only the hit test is of interest
+     * @return true if a solid block was hit within maxDistance
+     * @see #raycast(Vector3fc, Vector3fc, float, BlockRaycastResult)
+     */
+    public boolean raycast(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+                           float maxDistance, BlockRaycastResult result) {
+        cacheValid = false;
+        boolean hit = traverse(originX, originY, originZ, dirX, dirY, dirZ, maxDistance, result);
+        cachedChunk = null;
+        return hit;
+    }
+
+    /**
+     * Casts a batch of rays against the loaded blocks. Vectors are packed as consecutive x, y, z triples, as in
+     * {@link org.terasology.particles.ParticlePool}.
+     * <p>
+     * The chunk lookup is shared between the rays of a batch, so spatially coherent rays are cheapest.
+     *
+     * @param origins the ray origins, at least {@code 3 * count} values
+     * @param directions the ray directions, at least {@code 3 * count} values, do not need to be normalized
+     * @param maxDistances the maximum distance of each ray, at least {@code count} values
+     * @param count the number of rays to cast
+     * @param hits receives whether each ray hit a solid block, at least {@code count} values
+     * @return the number of rays that hit a solid block
+     */
+    public int raycast(float[] origins, float[] directions, float[] maxDistances, int count, boolean[] hits) {
+        cacheValid = false;
+        int hitCount = 0;
+        for (int i = 0; i < count; i++) {
+            int i3 = i * 3;
+            hits[i] = traverse(origins[i3], origins[i3 + 1], origins[i3 + 2],
+                    directions[i3], directions[i3 + 1], directions[i3 + 2], maxDistances[i], null);
+            if (hits[i]) {
+                hitCount++;
+            }
+        }
+        cachedChunk = null;
+        return hitCount;
+    }
+
+    private boolean traverse(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+                             float maxDistance, BlockRaycastResult result) {
+        float length = (float) Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+        if (length == 0 || !Float.isFinite(length) || !(maxDistance >= 0) || !Float.isFinite(maxDistance)
+                || !Float.isFinite(originX) || !Float.isFinite(originY) || !Float.isFinite(originZ)) {
+            if (result != null) {
+                result.setMiss(maxDistance);
+            }
+            return false;
+        }
+        float dx = dirX / length;
+        float dy = dirY / length;
+        float dz = dirZ / length;
+
+        // blocks are centered on integer coordinates, so shift by half a block to get cell-aligned coordinates
+        float startX = originX + 0.5f;
+        float startY = originY + 0.5f;
+        float startZ = originZ + 0.5f;
+        int x = TeraMath.floorToInt(startX);
+        int y = TeraMath.floorToInt(startY);
+        int z = TeraMath.floorToInt(startZ);
+
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
+
+        float deltaX = stepX != 0 ? Math.abs(1.0f / dx) : Float.POSITIVE_INFINITY;
+        float deltaY = stepY != 0 ? Math.abs(1.0f / dy) : Float.POSITIVE_INFINITY;
+        float deltaZ = stepZ != 0 ? Math.abs(1.0f / dz) : Float.POSITIVE_INFINITY;
+
+        float nextX = boundaryDistance(startX, x, stepX, deltaX);
+        float nextY = boundaryDistance(startY, y, stepY, deltaY);
+        float nextZ = boundaryDistance(startZ, z, stepZ, deltaZ);
+
+        float distance = 0;
+        int axis = AXIS_NONE;
+        while (true) {
+            if (isSolid(x, y, z)) {
+                if (result != null) {
+                    result.setHit(x, y, z,
+                            originX + dx * distance, originY + dy * distance, originZ + dz * distance,
+                            axis == AXIS_X ? -stepX : 0, axis == AXIS_Y ? -stepY : 0, axis == AXIS_Z ? -stepZ : 0,
+                            distance);
+                }
+                return true;
+            }
+            if (nextX < nextY && nextX < nextZ) {
+                distance = nextX;
+                x += stepX;
+                nextX += deltaX;
+                axis = AXIS_X;
+            } else if (nextY < nextZ) {
+                distance = nextY;
+                y += stepY;
+                nextY += deltaY;
+                axis = AXIS_Y;
+            } else {
+                distance = nextZ;
+                z += stepZ;
+                nextZ += deltaZ;
+                axis = AXIS_Z;
+            }
+            if (distance > maxDistance) {
+                if (result != null) {
+                    result.setMiss(maxDistance);
+                }
+                return false;
+            }
+        }
+    }
+
+    private static float boundaryDistance(float start, int cell, int step, float delta) {
+        if (step > 0) {
+            return (cell + 1 - start) * delta;
+        } else if (step < 0) {
+            return (start - cell) * delta;
+        }
+        return Float.POSITIVE_INFINITY;
+    }
+
+    private boolean isSolid(int x, int y, int z) {
+        int chunkX = Chunks.toChunkPosX(x);
+        int chunkY = Chunks.toChunkPosY(y);
+        int chunkZ = Chunks.toChunkPosZ(z);
+        if (!cacheValid || chunkX != cachedChunkX || chunkY != cachedChunkY || chunkZ != cachedChunkZ) {
+            cachedChunk = chunkProvider.getChunk(chunkX, chunkY, chunkZ);
+            cachedChunkX = chunkX;
+            cachedChunkY = chunkY;
+            cachedChunkZ = chunkZ;
+            cacheValid = true;
+        }
+        if (cachedChunk == null) {
+            return false;
+        }
+        Block block = cachedChunk.getBlock(Chunks.toRelativeX(x), Chunks.toRelativeY(y), Chunks.toRelativeZ(z));
+        return !block.isPenetrable();
+    }
+}
@@ -29,7 +29,6 @@
 import com.badlogic.gdx.physics.bullet.dynamics.btDiscreteDynamicsWorld;
 import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
 import com.badlogic.gdx.physics.bullet.dynamics.btSequentialImpulseConstraintSolver;
-import com.google.api.client.util.Maps;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -69,6 +68,7 @@
 import org.terasology.physics.engine.RigidBody;
 import org.terasology.physics.engine.SweepCallback;
 import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.collection.EntityRefMap;
 import org.terasology.world.BlockEntityRegistry;
 
 import java.nio.FloatBuffer;
@@ -78,7 +78,6 @@
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -99,9 +98,9 @@ public class BulletPhysics implements PhysicsEngine {
     private final btBroadphaseInterface broadphase;
     private final btDiscreteDynamicsWorld discreteDynamicsWorld;
     private final BlockEntityRegistry blockEntityRegistry;
-    private Map<EntityRef, BulletRigidBody> entityRigidBodies = Maps.newHashMap();
-    private Map<EntityRef, BulletCharacterMoverCollider> entityColliders = Maps.newHashMap();
-    private Map<EntityRef, btPairCachingGhostObject> entityTriggers = Maps.newHashMap();
+    private EntityRefMap<BulletRigidBody> entityRigidBodies = new EntityRefMap<>();
+    private EntityRefMap<BulletCharacterMoverCollider> entityColliders = new EntityRefMap<>();
+    private EntityRefMap<btPairCachingGhostObject> entityTriggers = new EntityRefMap<>();
     private List<PhysicsSystem.CollisionPair> collisions = new ArrayList<>();
     private btPersistentManifoldArray manifolds = new btPersistentManifoldArray();
 
@@ -146,8 +145,8 @@ public void dispose() {
         this.discreteDynamicsWorld.dispose();
         this.dispatcher.dispose();
         this.defaultCollisionConfiguration.dispose();
-        this.entityTriggers.forEach((k,v) -> v.dispose());
-        this.entityRigidBodies.forEach((k,v)-> v.dispose());
+        this.entityTriggers.values().forEach(btPairCachingGhostObject::dispose);
+        this.entityRigidBodies.values().forEach(BulletRigidBody::dispose);
         this.ghostPairCallback.dispose();
     }
 
@@ -226,14 +225,17 @@ public HitResult rayTrace(Vector3f from1, Vector3f direction, float distance, Se
         // lookup all the collision item ids for these entities
         Set<Integer> excludedCollisionIds = Sets.newHashSet();
         for (EntityRef excludedEntity : excludedEntities) {
-            if (entityRigidBodies.containsKey(excludedEntity)) {
-                excludedCollisionIds.add(entityRigidBodies.get(excludedEntity).rb.getBroadphaseHandle().getUid());
+            BulletRigidBody rigidBody = entityRigidBodies.get(excludedEntity);
+            if (rigidBody != null) {
+                excludedCollisionIds.add(rigidBody.rb.getBroadphaseHandle().getUid());
             }
-            if (entityColliders.containsKey(excludedEntity)) {
-                excludedCollisionIds.add(entityColliders.get(excludedEntity).collider.getBroadphaseHandle().getUid());
+            BulletCharacterMoverCollider collider = entityColliders.get(excludedEntity);
+            if (collider != null) {
+                excludedCollisionIds.add(collider.collider.getBroadphaseHandle().getUid());
             }
-            if (entityTriggers.containsKey(excludedEntity)) {
-                excludedCollisionIds.add(entityTriggers.get(excludedEntity).getBroadphaseHandle().getUid());
+            btPairCachingGhostObject trigger = entityTriggers.get(excludedEntity);
+            if (trigger != null) {
+                excludedCollisionIds.add(trigger.getBroadphaseHandle().getUid());
             }
         }
         ClosestRayResultCallback callback = new ClosestRayResultCallback(from, to);
@@ -448,12 +450,12 @@ public boolean hasCharacterCollider(EntityRef entity) {
 
     @Override
     public Set<EntityRef> getPhysicsEntities() {
-        return ImmutableSet.copyOf(entityRigidBodies.keySet());
+        return ImmutableSet.copyOf(entityRigidBodies.keys());
     }
 
     @Override
     public Iterator<EntityRef> physicsEntitiesIterator() {
-        return entityRigidBodies.keySet().iterator();
+        return entityRigidBodies.keys().iterator();
     }
 
     @Override
@@ -601,9 +603,7 @@ private void removeCollider(btCollisionObject collider) {
      * @return The newly created and added to the physics engine, Collider object.
      */
     private CharacterCollider createCustomCollider(Vector3f pos, btConvexShape shape, short groups, short filters, int collisionFlags, EntityRef entity) {
-        if (entityColliders.containsKey(entity)) {
-            entityColliders.remove(entity);
-        }
+        entityColliders.remove(entity);
         final BulletCharacterMoverCollider bulletCollider = new BulletCharacterMoverCollider(pos, shape, groups, filters, collisionFlags, entity);
         entityColliders.put(entity, bulletCollider);
         return bulletCollider;
@@ -639,8 +639,7 @@ private synchronized void processQueuedBodies() {
      */
     private void applyPendingImpulsesAndForces() {
 
-        for (Map.Entry<EntityRef, BulletRigidBody> entree : entityRigidBodies.entrySet()) {
-            BulletRigidBody body = entree.getValue();
+        for (BulletRigidBody body : entityRigidBodies.values()) {
             if(body.pendingImpulse.lengthSquared() > .01f || body.pendingForce.lengthSquared() > .01f ) {
                 body.rb.applyCentralImpulse(body.pendingImpulse);
                 body.rb.applyCentralForce(body.pendingForce);
@@ -16,7 +16,6 @@
 package org.terasology.recording;
 
 import org.terasology.assets.ResourceUrn;
-import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.event.internal.EventReceiver;
 import org.terasology.entitySystem.event.internal.EventSystem;
@@ -73,10 +72,10 @@
 
 /**
  * Event System used during a replay. It works almost the same as EventSystemImpl, with most methods being exactly the
- * same, with the exception of 'send' and 'process'. On the 'process' method, the recorded events are loaded from a file
- * to the RecordedEventStore and then they are processed for a certain amount of time. The 'send' filters which events can
- * be sent by the engine during a replay. This is important to ensure that the recorded events are replayed correctly
- * and that the player does not interfere with the replay.
+ * same, with the exception of 'send' and 'process'. On the 'process' method, the recorded events are read from the event
+ * log to the RecordedEventStore a frame at a time and then they are processed for a certain amount of time. The 'send'
+ * filters which events can be sent by the engine during a replay. This is important to ensure that the recorded events
+ * are replayed correctly and that the player does not interfere with the replay.
  */
 public class EventSystemReplayImpl implements EventSystem {
 
@@ -108,8 +107,6 @@ public class EventSystemReplayImpl implements EventSystem {
     private RecordedEventStore recordedEventStore;
     /** Class responsible for deserializing recorded data */
     private RecordAndReplaySerializer recordAndReplaySerializer;
-    /** Responsible for knowing the game name of the recording */
-    private RecordAndReplayUtils recordAndReplayUtils;
     /** List of classes selected to replay */
     private List<Class<?>> selectedClassesToReplay;
     /** The current Status of Record And Replay */
@@ -120,7 +117,7 @@ public class EventSystemReplayImpl implements EventSystem {
 
     public EventSystemReplayImpl(EventLibrary eventLibrary, NetworkSystem networkSystem, EngineEntityManager entityManager,
                                  RecordedEventStore recordedEventStore, RecordAndReplaySerializer recordAndReplaySerializer,
-                                 RecordAndReplayUtils recordAndReplayUtils, List<Class<?>> selectedClassesToReplay,
+                                 List<Class<?>> selectedClassesToReplay,
                                  RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
         this.mainThread = Thread.currentThread();
         this.eventLibrary = eventLibrary;
@@ -128,7 +125,6 @@ public EventSystemReplayImpl(EventLibrary eventLibrary, NetworkSystem networkSys
         this.entityManager = entityManager;
         this.recordedEventStore = recordedEventStore;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
-        this.recordAndReplayUtils = recordAndReplayUtils;
         this.selectedClassesToReplay = selectedClassesToReplay;
         this.recordAndReplayCurrentStatus = recordAndReplayCurrentStatus;
     }
@@ -137,8 +133,7 @@ public EventSystemReplayImpl(EventLibrary eventLibrary, NetworkSystem networkSys
      * Fills recordedEvents with the events in RecordedEventStore.
      */
     private void fillRecordedEvents() {
-        Collection<RecordedEvent> events = recordedEventStore.getEvents();
-        for (RecordedEvent event : events) {
+        for (RecordedEvent event : recordedEventStore.popEvents()) {
             this.recordedEvents.offer(event);
         }
     }
@@ -209,8 +204,8 @@ private void processRecordedEvents() {
         if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.REPLAYING) {
             processRecordedEventsBatch(1);
             if (this.recordedEvents.isEmpty()) {
-                if (recordAndReplayUtils.getFileCount() <= recordAndReplayUtils.getFileAmount()) { //Get next recorded events file
-                    loadNextRecordedEventFile();
+                if (recordAndReplaySerializer.deserializeRecordedEvents()) { //Get the next recorded events of the log
+                    fillRecordedEvents();
                 } else {
                     finishReplay();
                 }
@@ -226,10 +221,22 @@ private void finishReplay() {
         recordAndReplayCurrentStatus.setStatus(RecordAndReplayStatus.REPLAY_FINISHED); // stops the replay if every recorded event was already replayed
     }
 
-    private void loadNextRecordedEventFile() {
-        String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
-        recordAndReplaySerializer.deserializeRecordedEvents(recordingPath);
-        fillRecordedEvents();
+    /**
+     * Skips to the recorded events sent at the given time of the recording, continuing the replay from there.
+     *
+     * @param timestamp the time since the start of the recording, in ms
+     */
+    public void skipTo(long timestamp) {
+        if (recordAndReplayCurrentStatus.getStatus() != RecordAndReplayStatus.REPLAYING) {
+            return;
+        }
+        recordedEvents.clear();
+        recordedEventStore.popEvents();
+        if (recordAndReplaySerializer.seekRecordedEvents(timestamp)) {
+            fillRecordedEvents();
+        }
+        this.areRecordedEventsLoaded = true;
+        replayEventsLoadTime = System.currentTimeMillis() - timestamp;
     }
 
     private void initialiseReplayData() {
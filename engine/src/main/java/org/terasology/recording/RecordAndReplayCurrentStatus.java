@@ -26,9 +26,10 @@
  * every time an event is sent.
  *
  * The RECORDING status will also make the {@link DirectionAndOriginPosRecorder} and {@link CharacterStateEventPositionMap}
- * record the data they are supposed to. Every time the game is saved during the recording, {@link org.terasology.persistence.internal.SaveTransaction}'s
- * saveRecordingData() is called and the events in the {@link RecordedEventStore} are saved in an "event file", reseting
- * the store and updating {@link RecordAndReplayUtils}.
+ * record the data they are supposed to. The recorded events are appended to the event log of the recording by the
+ * {@link RecordedEventStore} as they are caught, and written by a background thread. Every time the game is saved during
+ * the recording, {@link org.terasology.persistence.internal.SaveTransaction}'s saveRecordingData() is called and the
+ * events caught so far are handed over to be written.
  *
  * When the game shutdowns with the RECORDING status, the {@link RecordAndReplayUtils}'s shutdownRequested is set to true
  * and then every recorded  data that was not stored yet will be serialized and stored once {@link org.terasology.persistence.internal.SaveTransaction}'s
@@ -45,8 +46,8 @@
  *
  * With the game loaded and the {@link #status} as REPLAYING, the {@link EventSystemReplayImpl} will load the events from the
  * {@link RecordedEventStore} and play them according to the timestamp, while blocking these events from being sent normally
- * by the user. When the event system replays every event in the store, it checks to see if there are more "event files".
- * If there are, the store is updated and the event system continues to replay the events. It is important to notice that
+ * by the user. When the event system replays every event in the store, the next events are read from the event log.
+ * If there are any, the store is updated and the event system continues to replay the events. It is important to notice that
  * the REPLAYING status also makes the {@link DirectionAndOriginPosRecorderList} and {@link CharacterStateEventPositionMap}
  * to replace some variables for the recorded ones. Once there is no more events to be replayed, the {@link #status} is set to
  * REPLAY_FINISHED and the {@link EventSystemReplayImpl} will work exactly like {@link org.terasology.entitySystem.event.internal.EventSystemImpl}.
@@ -31,9 +31,12 @@
 
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,9 +45,8 @@
 public final class RecordAndReplaySerializer {
 
     private static final Logger logger = LoggerFactory.getLogger(RecordAndReplaySerializer.class);
-    private static final String EVENT_DIR = "/events";
+    private static final String EVENT_LOG = "/events.log";
     private static final String JSON = ".json";
-    private static final String FILE_AMOUNT = "/file_amount" + JSON;
     private static final String STATE_EVENT_POSITION = "/state_event_position" + JSON;
     private static final String DIRECTION_ORIGIN_LIST = "/direction_origin_list" + JSON;
 
@@ -53,6 +55,7 @@ public final class RecordAndReplaySerializer {
     private CharacterStateEventPositionMap characterStateEventPositionMap;
     private DirectionAndOriginPosRecorderList directionAndOriginPosRecorderList;
     private RecordedEventSerializer recordedEventSerializer;
+    private RecordedEventLogReader recordedEventLogReader;
 
     public RecordAndReplaySerializer(EntityManager manager, RecordedEventStore store,
                                      RecordAndReplayUtils recordAndReplayUtils,
@@ -66,29 +69,36 @@ public RecordAndReplaySerializer(EntityManager manager, RecordedEventStore store
         this.recordedEventSerializer = new RecordedEventSerializer(manager, moduleManager, typeRegistry);
     }
 
+    /**
+     * Start appending the recorded events to the event log of the recording.
+     */
+    public void startRecording() {
+        String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
+        try {
+            recordedEventStore.setLogWriter(
+                    new RecordedEventLogWriter(Paths.get(recordingPath + EVENT_LOG), recordedEventSerializer, true));
+        } catch (IOException e) {
+            logger.error("Error while creating recorded event log:", e);
+        }
+    }
+
     /**
      * Serialize the recorded data.
      */
     public void serializeRecordAndReplayData() {
         String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
-        serializeRecordedEvents(recordingPath);
+        recordedEventStore.closeLog();
+        logger.info("RecordedEvents Serialization completed!");
         Gson gson = new GsonBuilder().create();
-        serializeFileAmount(gson, recordingPath);
         serializeCharacterStateEventPositionMap(gson, recordingPath);
         serializeAttackEventExtraRecorder(gson, recordingPath);
     }
 
     /**
-     * Serialize RecordedEvents.
-     *
-     * @param recordingPath path where the data should be saved.
+     * Write the RecordedEvents recorded so far to the event log, without waiting for them to be written.
      */
-    public void serializeRecordedEvents(String recordingPath) {
-        String filepath = recordingPath + EVENT_DIR + recordAndReplayUtils.getFileCount() + JSON;
-        recordAndReplayUtils.setFileAmount(recordAndReplayUtils.getFileAmount() + 1);
-        recordAndReplayUtils.setFileCount(recordAndReplayUtils.getFileCount() + 1);
-        recordedEventSerializer.serializeRecordedEvents(recordedEventStore.popEvents(), filepath);
-        logger.info("RecordedEvents Serialization completed!");
+    public void serializeRecordedEvents() {
+        recordedEventStore.flushLog();
     }
 
     /**
@@ -96,47 +106,60 @@ public void serializeRecordedEvents(String recordingPath) {
      */
     public void deserializeRecordAndReplayData() {
         String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
-        deserializeRecordedEvents(recordingPath);
+        try {
+            recordedEventLogReader = new RecordedEventLogReader(Paths.get(recordingPath + EVENT_LOG),
+                    recordedEventSerializer);
+            deserializeRecordedEvents();
+        } catch (IOException e) {
+            logger.error("Error while opening recorded event log:", e);
+        }
         Gson gson = new GsonBuilder().create();
-        deserializeFileAmount(gson, recordingPath);
         deserializeCharacterStateEventPositionMap(gson, recordingPath);
         deserializeAttackEventExtraRecorder(gson, recordingPath);
     }
 
     /**
-     * Deserialize RecordedEvents.
+     * Deserialize the next RecordedEvents of the event log into the {@link RecordedEventStore}.
      *
-     * @param recordingPath path where the data was saved.
+     * @return whether there were events left in the log.
      */
-    void deserializeRecordedEvents(String recordingPath) {
-        String filepath = recordingPath + EVENT_DIR + recordAndReplayUtils.getFileCount() + JSON;
-        recordAndReplayUtils.setFileCount(recordAndReplayUtils.getFileCount() + 1);
-        recordedEventStore.setEvents(recordedEventSerializer.deserializeRecordedEvents(filepath));
-        logger.info("RecordedEvents Deserialization completed!");
+    boolean deserializeRecordedEvents() {
+        if (recordedEventLogReader == null) {
+            return false;
+        }
+        List<RecordedEvent> events = recordedEventLogReader.readNextEvents();
+        recordedEventStore.setEvents(events);
+        if (events.isEmpty()) {
+            closeRecordedEventLog();
+            logger.info("RecordedEvents Deserialization completed!");
+            return false;
+        }
+        return true;
     }
 
-    private void serializeFileAmount(Gson gson, String recordingPath) {
-        try {
-            JsonWriter writer = new JsonWriter(new FileWriter(recordingPath + FILE_AMOUNT));
-            gson.toJson(recordAndReplayUtils.getFileAmount(), Integer.class, writer);
-            writer.close();
-            logger.info("File Amount Serialization completed!");
-        } catch (Exception e) {
-            logger.error("Error while serializing file amount:", e);
+    /**
+     * Deserialize the RecordedEvents from the given time on into the {@link RecordedEventStore}, skipping the ones
+     * before.
+     *
+     * @param timestamp the time since the start of the recording, in ms.
+     * @return whether there were events left in the log.
+     */
+    boolean seekRecordedEvents(long timestamp) {
+        if (recordedEventLogReader == null) {
+            return false;
         }
+        List<RecordedEvent> events = recordedEventLogReader.seek(timestamp);
+        recordedEventStore.setEvents(events);
+        return !events.isEmpty();
     }
 
-    private void deserializeFileAmount(Gson gson, String recordingPath) {
-        try (FileReader fileReader = new FileReader(recordingPath + FILE_AMOUNT)) {
-            JsonParser parser = new JsonParser();
-            JsonElement jsonElement = parser.parse(fileReader);
-            Type typeOfCount = new TypeToken<Integer>() {
-            }.getType();
-            recordAndReplayUtils.setFileAmount(gson.fromJson(jsonElement, typeOfCount));
-            logger.info("File Amount Deserialization completed!");
-        } catch (Exception e) {
-            logger.error("Error while deserializing file amount:", e);
+    private void closeRecordedEventLog() {
+        try {
+            recordedEventLogReader.close();
+        } catch (IOException e) {
+            logger.error("Error while closing recorded event log:", e);
         }
+        recordedEventLogReader = null;
     }
 
     private void serializeCharacterStateEventPositionMap(Gson gson, String recordingPath) {
@@ -0,0 +1,150 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.recording;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.persistence.typeHandling.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a log written by {@link RecordedEventLogWriter} one frame at a time, so only the events about to be replayed
+ * are kept in memory.
+ */
+final class RecordedEventLogReader implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RecordedEventLogReader.class);
+    private static final int HEADER_SIZE = 6;
+
+    private final RandomAccessFile file;
+    private final RecordedEventSerializer serializer;
+    private final boolean compressed;
+
+    /**
+     * @param path the log file
+     * @param serializer deserializes the single events
+     */
+    RecordedEventLogReader(Path path, RecordedEventSerializer serializer) throws IOException {
+        this.file = new RandomAccessFile(path.toFile(), "r");
+        this.serializer = serializer;
+        try {
+            if (file.readInt() != RecordedEventLogWriter.MAGIC) {
+                throw new IOException("Not a recorded event log: " + path);
+            }
+            byte version = file.readByte();
+            if (version != RecordedEventLogWriter.VERSION) {
+                throw new IOException("Unsupported recorded event log version " + version + ": " + path);
+            }
+            compressed = (file.readByte() & RecordedEventLogWriter.FLAG_COMPRESSED) != 0;
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the events of the next frame, or an empty list at the end of the log
+     */
+    public List<RecordedEvent> readNextEvents() {
+        try {
+            return readFrame(Long.MIN_VALUE);
+        } catch (IOException | SerializationException | DataFormatException e) {
+            logger.error("Error while reading recorded events", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Moves to the first event recorded at or after the given time.
+     *
+     * @param timestamp the time since the start of the recording, in ms
+     * @return the events of the frame containing that event, starting with it, or an empty list if the log ends first
+     */
+    public List<RecordedEvent> seek(long timestamp) {
+        try {
+            file.seek(HEADER_SIZE);
+            while (true) {
+                long frameStart = file.getFilePointer();
+                if (frameStart >= file.length()) {
+                    return Collections.emptyList();
+                }
+                file.readInt();
+                file.readLong();
+                long lastTimestamp = file.readLong();
+                file.readInt();
+                int length = file.readInt();
+                if (lastTimestamp >= timestamp) {
+                    file.seek(frameStart);
+                    return readFrame(timestamp);
+                }
+                file.seek(file.getFilePointer() + length);
+            }
+        } catch (IOException | SerializationException | DataFormatException e) {
+            logger.error("Error while seeking recorded events", e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private List<RecordedEvent> readFrame(long fromTimestamp)
+            throws IOException, SerializationException, DataFormatException {
+        if (file.getFilePointer() >= file.length()) {
+            return Collections.emptyList();
+        }
+        int eventCount = file.readInt();
+        file.readLong();
+        file.readLong();
+        int rawLength = file.readInt();
+        byte[] payload = new byte[file.readInt()];
+        try {
+            file.readFully(payload);
+        } catch (EOFException e) {
+            // The recording was not closed properly, the last frame is incomplete
+            logger.warn("Recorded event log ends with an incomplete frame");
+            return Collections.emptyList();
+        }
+
+        InputStream events = new ByteArrayInputStream(compressed ? inflate(payload, rawLength) : payload);
+        List<RecordedEvent> result = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            RecordedEvent event = serializer.deserializeRecordedEvent(events);
+            if (event.getTimestamp() >= fromTimestamp) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    private static byte[] inflate(byte[] payload, int rawLength) throws DataFormatException {
+        byte[] result = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(result, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated recorded event frame");
+                }
+                length += inflated;
+            }
+        } finally {
+            inflater.end();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.recording;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.persistence.typeHandling.SerializationException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Appends RecordedEvents to a binary log file while recording.
+ *
+ * The log starts with a header, followed by frames of consecutive events:
+ * <pre>
+ * header: int magic, byte version, byte flags
+ * frame:  int eventCount, long firstTimestamp, long lastTimestamp, int rawLength, int length, byte[length] events
+ * </pre>
+ * The events of a frame are serialized by the {@link RecordedEventSerializer} one after another, and deflated if the
+ * log is compressed. The timestamps let readers skip whole frames when seeking.
+ *
+ * Events are serialized on the thread appending them, while frames are compressed and written by a background thread.
+ */
+final class RecordedEventLogWriter implements AutoCloseable {
+    static final int MAGIC = 0x54524543;
+    static final byte VERSION = 1;
+    static final byte FLAG_COMPRESSED = 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordedEventLogWriter.class);
+    private static final int FRAME_SIZE = 64 * 1024;
+
+    private final RecordedEventSerializer serializer;
+    private final boolean compressed;
+    private final DataOutputStream output;
+    private final ExecutorService writer;
+
+    private final ByteArrayOutputStream eventBuffer = new ByteArrayOutputStream();
+    private ByteArrayOutputStream frame = new ByteArrayOutputStream(FRAME_SIZE);
+    private int frameEventCount;
+    private long firstTimestamp;
+    private long lastTimestamp;
+
+    /**
+     * @param file the log file to create, replacing any existing log
+     * @param serializer serializes the single events
+     * @param compressed whether to deflate the frames
+     */
+    RecordedEventLogWriter(Path file, RecordedEventSerializer serializer, boolean compressed) throws IOException {
+        this.serializer = serializer;
+        this.compressed = compressed;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(compressed ? FLAG_COMPRESSED : 0);
+        this.writer = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Recorded-Event-Writer-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Adds an event to the current frame, handing the frame over to the writer once it is full.
+     *
+     * @param event the event to append, with a timestamp no earlier than the previously appended one
+     */
+    public synchronized void append(RecordedEvent event) {
+        eventBuffer.reset();
+        try {
+            serializer.serializeRecordedEvent(event, eventBuffer);
+        } catch (SerializationException e) {
+            logger.error("Error while serializing recorded event {}", event.getIndex(), e);
+            return;
+        }
+        byte[] serialized = eventBuffer.toByteArray();
+        frame.write(serialized, 0, serialized.length);
+        if (frameEventCount == 0) {
+            firstTimestamp = event.getTimestamp();
+        }
+        lastTimestamp = event.getTimestamp();
+        frameEventCount++;
+        if (frame.size() >= FRAME_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands the current frame over to the writer, even if it is not full.
+     */
+    public synchronized void flush() {
+        if (frameEventCount == 0) {
+            return;
+        }
+        byte[] events = frame.toByteArray();
+        int eventCount = frameEventCount;
+        long first = firstTimestamp;
+        long last = lastTimestamp;
+        writer.execute(() -> writeFrame(eventCount, first, last, events));
+        frame = new ByteArrayOutputStream(FRAME_SIZE);
+        frameEventCount = 0;
+    }
+
+    /**
+     * Writes the remaining events and closes the log, waiting for the writer to finish.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        writer.execute(() -> {
+            try {
+                output.close();
+            } catch (IOException e) {
+                logger.error("Error while closing recorded event log", e);
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.error("Timed out writing recorded event log");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeFrame(int eventCount, long first, long last, byte[] events) {
+        try {
+            byte[] payload = compressed ? deflate(events) : events;
+            output.writeInt(eventCount);
+            output.writeLong(first);
+            output.writeLong(last);
+            output.writeInt(events.length);
+            output.writeInt(payload.length);
+            output.write(payload);
+            output.flush();
+        } catch (IOException e) {
+            logger.error("Error while writing recorded events", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(data.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream stream = new DeflaterOutputStream(result, deflater)) {
+            stream.write(data);
+        } finally {
+            deflater.end();
+        }
+        return result.toByteArray();
+    }
+}
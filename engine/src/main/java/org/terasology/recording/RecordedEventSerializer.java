@@ -2,13 +2,11 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.recording;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
-import org.terasology.persistence.serializers.GsonSerializer;
+import org.terasology.persistence.serializers.ProtobufSerializer;
 import org.terasology.persistence.typeHandling.SerializationException;
 import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
 import org.terasology.persistence.typeHandling.TypeHandlerLibraryImpl;
@@ -16,57 +14,42 @@
 import org.terasology.reflection.TypeInfo;
 import org.terasology.reflection.TypeRegistry;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
- * Serializes and deserializes RecordedEvents.
+ * Serializes single RecordedEvents in a binary format, so they can be appended to and read from a
+ * {@link RecordedEventLogWriter recorded event log} one by one.
  */
 class RecordedEventSerializer {
 
-    private static final Logger logger = LoggerFactory.getLogger(RecordedEventSerializer.class);
+    private static final TypeInfo<RecordedEvent> RECORDED_EVENT = TypeInfo.of(RecordedEvent.class);
 
-    private GsonSerializer gsonSerializer;
+    private ProtobufSerializer protobufSerializer;
 
     public RecordedEventSerializer(EntityManager entityManager, ModuleManager moduleManager, TypeRegistry typeRegistry) {
         TypeHandlerLibrary typeHandlerLibrary = TypeHandlerLibraryImpl.forModuleEnvironment(moduleManager, typeRegistry);
         typeHandlerLibrary.addTypeHandler(EntityRef.class, new EntityRefTypeHandler((EngineEntityManager) entityManager));
 
-        gsonSerializer = new GsonSerializer(typeHandlerLibrary);
+        protobufSerializer = new ProtobufSerializer(typeHandlerLibrary);
     }
 
     /**
-     * Serializes RecordedEvent's list.
+     * Serializes a RecordedEvent, delimited so that several events can be written to the same stream.
      *
-     * @param events RecordedEvent's list.
-     * @param filePath path where the data should be saved.
+     * @param event the RecordedEvent.
+     * @param stream the stream to write the event to.
      */
-    public void serializeRecordedEvents(List<RecordedEvent> events, String filePath) {
-        try {
-            gsonSerializer.writeJson(events, new TypeInfo<List<RecordedEvent>>() {}, filePath);
-        } catch (IOException | SerializationException e) {
-            logger.error("Error while serializing recorded events", e);
-        }
+    public void serializeRecordedEvent(RecordedEvent event, OutputStream stream) throws SerializationException {
+        protobufSerializer.writeBytes(event, RECORDED_EVENT, stream);
     }
 
     /**
-     * Deserializes RecordedEvent's list.
+     * Deserializes the next RecordedEvent of a stream.
      *
-     * @param filePath path where the data should be saved.
+     * @param stream the stream written by {@link #serializeRecordedEvent(RecordedEvent, OutputStream)}.
      */
-    public List<RecordedEvent> deserializeRecordedEvents(String filePath) {
-        List<RecordedEvent> events = new ArrayList<>();
-
-        try {
-            List<RecordedEvent> recordedEvents =
-                    gsonSerializer.fromJson(new File(filePath), new TypeInfo<List<RecordedEvent>>() {});
-            events.addAll(recordedEvents);
-        } catch (SerializationException | IOException e) {
-            logger.error("Error while serializing recorded events", e);
-        }
-
-        return events;
+    public RecordedEvent deserializeRecordedEvent(InputStream stream) throws SerializationException {
+        return protobufSerializer.fromBytes(stream, RECORDED_EVENT);
     }
 }
@@ -20,10 +20,14 @@
 
 /**
  * Responsible for storing the recorded events.
+ *
+ * While a {@link RecordedEventLogWriter log} is attached during a recording, the events are appended to it instead of
+ * being kept in memory.
  */
 public class RecordedEventStore {
 
     private List<RecordedEvent> events;
+    private volatile RecordedEventLogWriter logWriter;
 
     public RecordedEventStore() {
         events = new ArrayList<>();
@@ -31,6 +35,11 @@ public RecordedEventStore() {
 
 
     public boolean add(RecordedEvent event) {
+        RecordedEventLogWriter writer = logWriter;
+        if (writer != null) {
+            writer.append(event);
+            return true;
+        }
         return events.add(event);
     }
 
@@ -47,4 +56,35 @@ List<RecordedEvent> popEvents() {
     public void setEvents(List<RecordedEvent> deserializedEvents) {
         events = deserializedEvents;
     }
+
+    /**
+     * Appends the events added from now on to the given log.
+     */
+    void setLogWriter(RecordedEventLogWriter writer) {
+        for (RecordedEvent event : popEvents()) {
+            writer.append(event);
+        }
+        logWriter = writer;
+    }
+
+    /**
+     * Makes sure the events added so far are written to the log, if there is one.
+     */
+    void flushLog() {
+        RecordedEventLogWriter writer = logWriter;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes the remaining events and detaches the log, if there is one.
+     */
+    void closeLog() {
+        RecordedEventLogWriter writer = logWriter;
+        if (writer != null) {
+            logWriter = null;
+            writer.close();
+        }
+    }
 }
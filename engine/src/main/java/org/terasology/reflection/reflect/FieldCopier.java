@@ -0,0 +1,20 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.reflection.reflect;
+
+import org.terasology.module.sandbox.API;
+
+/**
+ * Copies a fixed set of fields from one instance of a class to another with plain field assignments, as generated by
+ * {@link FieldCopierGenerator}.
+ */
+@API
+public interface FieldCopier {
+
+    /**
+     * @param from the instance to copy the fields from
+     * @param to the instance to copy the fields to, of the same class
+     */
+    void copyFields(Object from, Object to);
+}
@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.reflection.reflect;
+
+import com.google.common.collect.Sets;
+import javassist.CannotCompileException;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import javassist.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Generates {@link FieldCopier field copiers} with javassist, in the same way {@link ByteCodeReflectFactory} generates
+ * constructors. Only public fields of public classes can be copied by generated code; callers are expected to copy
+ * the other fields themselves.
+ */
+public final class FieldCopierGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(FieldCopierGenerator.class);
+
+    private final ClassPool pool = new ClassPool(true);
+    private final CtClass copierInterface;
+    private final Set<ClassLoader> searchedLoaders = Sets.newIdentityHashSet();
+
+    public FieldCopierGenerator() {
+        try {
+            pool.insertClassPath(new ClassClassPath(FieldCopier.class));
+            copierInterface = pool.get(FieldCopier.class.getName());
+        } catch (NotFoundException e) {
+            throw new RuntimeException("Error establishing field copier generator", e);
+        }
+    }
+
+    /**
+     * @return whether generated code can assign the field of the given class directly
+     */
+    public static boolean isDirectlyAccessible(Class<?> type, Field field) {
+        int modifiers = field.getModifiers();
+        return isAccessible(type) && Modifier.isPublic(modifiers)
+                && !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers);
+    }
+
+    /**
+     * Generates a copier for the given fields of a class.
+     *
+     * @param type the class the fields belong to
+     * @param fields fields that are {@link #isDirectlyAccessible(Class, Field) directly accessible}
+     * @return the copier, or null if it could not be generated
+     */
+    public synchronized FieldCopier generate(Class<?> type, Collection<Field> fields) {
+        StringBuilder names = new StringBuilder();
+        fields.forEach(field -> names.append(field.getName()).append(','));
+        String copierName = type.getName() + "_FieldCopier" + Integer.toHexString(names.toString().hashCode());
+        try {
+            return (FieldCopier) type.getClassLoader().loadClass(copierName).getConstructor().newInstance();
+        } catch (ClassNotFoundException ignored) {
+            // Not generated yet
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Failed to instantiate field copier for '{}'", type, e);
+            return null;
+        }
+
+        StringBuilder body = new StringBuilder("public void copyFields(Object from, Object to) {");
+        String typeName = type.getName();
+        body.append(typeName).append(" source = (").append(typeName).append(") from;");
+        body.append(typeName).append(" target = (").append(typeName).append(") to;");
+        for (Field field : fields) {
+            body.append("target.").append(field.getName()).append(" = source.").append(field.getName()).append(';');
+        }
+        body.append('}');
+
+        try {
+            if (searchedLoaders.add(type.getClassLoader())) {
+                pool.insertClassPath(new ClassClassPath(type));
+            }
+            CtClass copierClass = pool.makeClass(copierName);
+            copierClass.setInterfaces(new CtClass[]{copierInterface});
+            copierClass.addMethod(CtNewMethod.make(body.toString(), copierClass));
+            Class<?> generated = copierClass.toClass(type.getClassLoader(), type.getProtectionDomain());
+            copierClass.detach();
+            return (FieldCopier) generated.getConstructor().newInstance();
+        } catch (CannotCompileException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+            logger.warn("Failed to generate field copier for '{}', falling back on reflection", type, e);
+            return null;
+        }
+    }
+
+    private static boolean isAccessible(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())
+                    || current.getEnclosingClass() != null && !Modifier.isStatic(current.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
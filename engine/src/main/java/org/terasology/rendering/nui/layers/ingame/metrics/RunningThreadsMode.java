@@ -16,6 +16,7 @@
 
 package org.terasology.rendering.nui.layers.ingame.metrics;
 
+import org.terasology.monitoring.TaskClassStats;
 import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.monitoring.impl.SingleThreadMonitor;
 
@@ -38,6 +39,12 @@ public String getMetrics() {
             builder.append(threads.getLastTask());
             builder.append("\n");
         });
+        builder.append("\n- Scheduled Tasks -\n");
+        for (TaskClassStats stats : ThreadMonitor.getTaskClassStats()) {
+            builder.append(String.format("%s - running: %d, queued: %d, wait: %.1fms (max %.1fms), run: %.1fms\n",
+                    stats.getName(), stats.getRunning(), stats.getQueued(), stats.getMeanWaitMs(), stats.getMaxWaitMs(),
+                    stats.getMeanRunMs()));
+        }
         return builder.toString();
     }
 
@@ -29,6 +29,7 @@
 import org.terasology.module.sandbox.API;
 import org.terasology.rendering.VertexBufferObjectUtil;
 import org.terasology.rendering.assets.material.Material;
+import org.terasology.rendering.world.ChunkVisibility;
 import org.terasology.world.chunks.ChunkConstants;
 
 import java.nio.IntBuffer;
@@ -116,6 +117,9 @@ public enum RenderPhase {
     private int timeToGenerateBlockVertices;
     private int timeToGenerateOptimizedBuffers;
 
+    /* OCCLUSION */
+    private volatile ChunkVisibility visibility = ChunkVisibility.ALL_CONNECTED;
+
     private GLBufferPool bufferPool;
 
     public ChunkMesh(GLBufferPool bufferPool) {
@@ -360,6 +364,17 @@ public int getTimeToGenerateOptimizedBuffers() {
         return timeToGenerateOptimizedBuffers;
     }
 
+    /**
+     * @return which faces of the chunk can see each other through the blocks of this mesh
+     */
+    public ChunkVisibility getVisibility() {
+        return visibility;
+    }
+
+    void setVisibility(ChunkVisibility visibility) {
+        this.visibility = visibility;
+    }
+
     /**
      * Data structure for storing vertex data. Abused like a "struct" in C/C++. Just sad.
      */
@@ -24,6 +24,7 @@
 import org.terasology.math.geom.Vector3f;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.rendering.RenderMath;
+import org.terasology.rendering.world.ChunkVisibility;
 import org.terasology.world.ChunkView;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.ChunkConstants;
@@ -38,6 +39,9 @@ public final class ChunkTessellator {
 
     private static int statVertexArrayUpdateCount;
 
+    private static final ThreadLocal<ChunkVisibility.Builder> VISIBILITY_BUILDER = ThreadLocal.withInitial(
+            () -> new ChunkVisibility.Builder(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z));
+
     private GLBufferPool bufferPool;
 
     public ChunkTessellator(GLBufferPool bufferPool) {
@@ -50,6 +54,10 @@ public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalO
 
         final Stopwatch watch = Stopwatch.createStarted();
 
+        // Only a mesh of the whole chunk tells which of its faces see each other
+        ChunkVisibility.Builder visibility = (verticalOffset == 0 && meshHeight == ChunkConstants.SIZE_Y) ? VISIBILITY_BUILDER.get() : null;
+        Block lastBlock = null;
+        boolean lastOccluding = false;
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
                 for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
@@ -57,9 +65,21 @@ public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalO
                     if (block != null && block.getMeshGenerator() != null) {
                         block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
                     }
+                    if (visibility != null && block != null) {
+                        if (block != lastBlock) {
+                            lastBlock = block;
+                            lastOccluding = ChunkVisibility.isOccluding(block);
+                        }
+                        if (lastOccluding) {
+                            visibility.setOccluding(x, y, z);
+                        }
+                    }
                 }
             }
         }
+        if (visibility != null) {
+            mesh.setVisibility(visibility.build());
+        }
         watch.stop();
 
         mesh.setTimeToGenerateBlockVertices((int) watch.elapsed(TimeUnit.MILLISECONDS));
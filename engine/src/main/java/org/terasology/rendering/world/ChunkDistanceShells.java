@@ -0,0 +1,188 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.rendering.world;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Keeps chunks ordered by their distance to a center chunk, usually the one containing the camera, without sorting.
+ * <p>
+ * Chunks are kept in shells: all chunks whose centers are at the same distance from the center of the center chunk
+ * share a shell, and the shells are iterated from the nearest to the farthest. Adding and removing a chunk only
+ * touches its own shell, and moving the center redistributes the chunks over the shells in linear time.
+ * <p>
+ * The order is by the distance between chunk centers, so it can differ from the order by distance to the exact camera
+ * position for chunks at almost the same distance. That is good enough for front to back rendering, which only reduces
+ * overdraw, but not for alpha blending, which needs the exact back to front order. The order of the chunks within a
+ * shell changes when chunks are removed. There is one shell per possible distance up to the farthest chunk, so the
+ * center should be set before adding chunks around it.
+ *
+ * @param <T> the type of the chunks, usually {@link org.terasology.world.chunks.RenderableChunk}
+ */
+public class ChunkDistanceShells<T> implements Iterable<T> {
+    // Chunks are not cubes, so distances along each axis are weighted by the squared size of the chunk on that axis
+    private static final int MIN_SIZE = Math.min(ChunkConstants.SIZE_X, Math.min(ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z));
+    private static final int WEIGHT_X = ChunkConstants.SIZE_X * ChunkConstants.SIZE_X / (MIN_SIZE * MIN_SIZE);
+    private static final int WEIGHT_Y = ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Y / (MIN_SIZE * MIN_SIZE);
+    private static final int WEIGHT_Z = ChunkConstants.SIZE_Z * ChunkConstants.SIZE_Z / (MIN_SIZE * MIN_SIZE);
+
+    private final Vector3i center = new Vector3i();
+    private final Map<Vector3ic, Entry<T>> entries = Maps.newHashMap();
+    private final List<List<Entry<T>>> shells = Lists.newArrayList();
+
+    /**
+     * @return the position of the chunk the distances are measured from
+     */
+    public Vector3ic getCenter() {
+        return center;
+    }
+
+    /**
+     * Moves the center the distances are measured from.
+     *
+     * @return true if the center changed, and the chunks were redistributed over the shells
+     */
+    public boolean setCenter(Vector3ic newCenter) {
+        if (center.equals(newCenter)) {
+            return false;
+        }
+        center.set(newCenter);
+        for (List<Entry<T>> shell : shells) {
+            shell.clear();
+        }
+        for (Entry<T> entry : entries.values()) {
+            insert(entry);
+        }
+        // Drop the shells beyond the farthest chunk, which the previous center may have needed
+        int last = shells.size() - 1;
+        while (last >= 0 && shells.get(last).isEmpty()) {
+            shells.remove(last--);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a chunk, replacing the chunk previously at the same position.
+     *
+     * @return the chunk previously at the position, or null if there was none
+     */
+    public T add(Vector3ic position, T chunk) {
+        T previous = remove(position);
+        Entry<T> entry = new Entry<>(position, chunk);
+        entries.put(entry.position, entry);
+        insert(entry);
+        return previous;
+    }
+
+    /**
+     * @return the chunk that was at the position, or null if there was none
+     */
+    public T remove(Vector3ic position) {
+        Entry<T> entry = entries.remove(position);
+        if (entry == null) {
+            return null;
+        }
+        // Move the last chunk of the shell into the gap, instead of shifting all chunks after it
+        List<Entry<T>> shell = shells.get(entry.shell);
+        Entry<T> last = shell.remove(shell.size() - 1);
+        if (last != entry) {
+            shell.set(entry.index, last);
+            last.index = entry.index;
+        }
+        return entry.chunk;
+    }
+
+    /**
+     * @return the chunk at the position, or null if there is none
+     */
+    public T get(Vector3ic position) {
+        Entry<T> entry = entries.get(position);
+        return entry != null ? entry.chunk : null;
+    }
+
+    public boolean contains(Vector3ic position) {
+        return entries.containsKey(position);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        entries.clear();
+        shells.clear();
+    }
+
+    /**
+     * @return an iterator over the chunks from the nearest to the farthest. It does not support removal.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int shellIndex;
+            private int entryIndex;
+
+            @Override
+            public boolean hasNext() {
+                while (shellIndex < shells.size()) {
+                    if (entryIndex < shells.get(shellIndex).size()) {
+                        return true;
+                    }
+                    shellIndex++;
+                    entryIndex = 0;
+                }
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return shells.get(shellIndex).get(entryIndex++).chunk;
+            }
+        };
+    }
+
+    private void insert(Entry<T> entry) {
+        int dx = entry.position.x - center.x;
+        int dy = entry.position.y - center.y;
+        int dz = entry.position.z - center.z;
+        entry.shell = dx * dx * WEIGHT_X + dy * dy * WEIGHT_Y + dz * dz * WEIGHT_Z;
+        while (shells.size() <= entry.shell) {
+            shells.add(Lists.newArrayListWithCapacity(4));
+        }
+        List<Entry<T>> shell = shells.get(entry.shell);
+        entry.index = shell.size();
+        shell.add(entry);
+    }
+
+    private static final class Entry<T> {
+        private final Vector3i position;
+        private final T chunk;
+        private int shell;
+        /**
+         * The index of the entry within its shell
+         */
+        private int index;
+
+        private Entry(Vector3ic position, T chunk) {
+            this.position = new Vector3i(position);
+            this.chunk = chunk;
+        }
+    }
+}
@@ -21,12 +21,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.math.ChunkMath;
-import org.terasology.math.JomlUtil;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.utilities.concurrency.TaskClass;
 import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.ChunkView;
 import org.terasology.world.WorldProvider;
@@ -36,13 +36,15 @@
 import org.terasology.world.chunks.RenderableChunk;
 import org.terasology.world.chunks.pipeline.ChunkTask;
 import org.terasology.world.chunks.pipeline.ShutdownChunkTask;
+import org.terasology.world.internal.ChunkSnapshotView;
+import org.terasology.world.internal.ChunkViewCore;
 
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
 
 /**
  * Provides the mechanism for updating and generating chunk meshes.
@@ -57,24 +59,29 @@ public final class ChunkMeshUpdateManager {
     private final Set<RenderableChunk> chunksProcessing = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     private final BlockingDeque<RenderableChunk> chunksComplete = Queues.newLinkedBlockingDeque();
+    /**
+     * Tasks that hold a snapshot view which has not been released yet, so that it can be released on shutdown.
+     */
+    private final Set<ChunkUpdateTask> queuedTasks = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     private TaskMaster<ChunkTask> chunkUpdater;
 
     private final ChunkTessellator tessellator;
     private final WorldProvider worldProvider;
     /**
-     * This variable is volatile, so that it's value is visible to worker thread that calculates the best task to
-     * process
+     * The chunk the camera is in. Tasks are scored against it when they are queued, and all queued tasks are scored
+     * again when it changes.
      */
-    private volatile float cameraChunkPosX;
-    private volatile float cameraChunkPosY;
-    private volatile float cameraChunkPosZ;
+    private volatile int cameraChunkPosX;
+    private volatile int cameraChunkPosY;
+    private volatile int cameraChunkPosZ;
 
     public ChunkMeshUpdateManager(ChunkTessellator tessellator, WorldProvider worldProvider) {
         this.tessellator = tessellator;
         this.worldProvider = worldProvider;
 
-        chunkUpdater = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Updater", NUM_TASK_THREADS, new ChunkUpdaterComparator());
+        chunkUpdater = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Updater", TaskClass.MESHING, NUM_TASK_THREADS,
+                new ChunkUpdaterScore());
     }
 
     /**
@@ -97,14 +104,16 @@ public boolean queueChunkUpdate(RenderableChunk chunk) {
 
     /**
      * The method tells the chunk mesh update manager where the camera is, so that is able to prioritize chunks near the
-     * camera. It stores the values in volatile variables so that the change is visible to the chunk updating threads
-     * immediately.
+     * camera. When the camera enters another chunk, the queued chunk updates are prioritized again.
      */
     public void setCameraPosition(Vector3f cameraPosition) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(cameraPosition);
-        cameraChunkPosX = chunkPos.x;
-        cameraChunkPosY = chunkPos.y;
-        cameraChunkPosZ = chunkPos.z;
+        if (chunkPos.x != cameraChunkPosX || chunkPos.y != cameraChunkPosY || chunkPos.z != cameraChunkPosZ) {
+            cameraChunkPosX = chunkPos.x;
+            cameraChunkPosY = chunkPos.y;
+            cameraChunkPosZ = chunkPos.z;
+            chunkUpdater.reprioritize();
+        }
     }
 
     public List<RenderableChunk> availableChunksForUpdate() {
@@ -117,7 +126,8 @@ public List<RenderableChunk> availableChunksForUpdate() {
     private void executeChunkUpdate(final RenderableChunk c) {
         chunksProcessing.add(c);
 
-        ChunkUpdateTask task = new ChunkUpdateTask(c, tessellator, worldProvider, this);
+        ChunkUpdateTask task = new ChunkUpdateTask(c, createMeshedView(c), tessellator, this);
+        queuedTasks.add(task);
         try {
             chunkUpdater.put(task);
         } catch (InterruptedException e) {
@@ -125,27 +135,60 @@ private void executeChunkUpdate(final RenderableChunk c) {
         }
     }
 
+    /**
+     * Takes the view of a chunk to tessellate when the chunk is queued. This happens on the main thread, which modifies
+     * the chunks, so no write can interleave with taking the snapshots of the view.
+     *
+     * @return a snapshot view of the chunk and its neighbours, or null if they are not available
+     */
+    private ChunkView createMeshedView(RenderableChunk chunk) {
+        ChunkView chunkView = worldProvider.getLocalView(chunk.getPosition(new org.joml.Vector3i()));
+        if (chunkView == null) {
+            return null;
+        }
+        /*
+         * Important set dirty flag first, so that a concurrent modification of the chunk in the mean time we
+         * will end up with a dirty chunk.
+         */
+        chunk.setDirty(false);
+        // Lighting keeps being propagated into the chunks while they wait to be tessellated
+        if (chunkView instanceof ChunkViewCore) {
+            return ((ChunkViewCore) chunkView).createSnapshotView();
+        }
+        return chunkView;
+    }
+
     private void finishedProcessing(RenderableChunk c) {
         chunksComplete.add(c);
     }
 
     public void shutdown() {
         chunkUpdater.shutdown(new ShutdownChunkTask(), false);
+        // Tasks dropped from the queue never ran, so their views are still open
+        for (ChunkUpdateTask task : queuedTasks) {
+            task.releaseView();
+        }
     }
 
 
     private static class ChunkUpdateTask implements ChunkTask {
 
         private RenderableChunk c;
+        private ChunkView chunkView;
         private ChunkTessellator tessellator;
-        private WorldProvider worldProvider;
         private ChunkMeshUpdateManager chunkMeshUpdateManager;
+        private final org.joml.Vector3i position;
 
-        ChunkUpdateTask(RenderableChunk chunk, ChunkTessellator tessellator, WorldProvider worldProvider, ChunkMeshUpdateManager chunkMeshUpdateManager) {
+        /**
+         * @param chunkView the view to tessellate, taken when the chunk was queued; released once the task has run
+         */
+        ChunkUpdateTask(RenderableChunk chunk, ChunkView chunkView, ChunkTessellator tessellator,
+                        ChunkMeshUpdateManager chunkMeshUpdateManager) {
             this.chunkMeshUpdateManager = chunkMeshUpdateManager;
             this.c = chunk;
+            this.chunkView = chunkView;
+            this.position = chunk.getPosition(new org.joml.Vector3i());
             this.tessellator = tessellator;
-            this.worldProvider = worldProvider;
         }
 
 
@@ -162,49 +205,55 @@ public boolean isTerminateSignal() {
         @Override
         public void run() {
             ChunkMesh newMesh;
-            ChunkView chunkView = worldProvider.getLocalView(c.getPosition(new org.joml.Vector3i()));
-            if (chunkView != null) {
-                /*
-                 * Important set dirty flag first, so that a concurrent modification of the chunk in the mean time we
-                 * will end up with a dirty chunk.
-                 */
-                c.setDirty(false);
-                if (chunkView.isValidView()) {
+            try {
+                if (chunkView != null && chunkView.isValidView()) {
                     newMesh = tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
 
                     c.setPendingMesh(newMesh);
                     ChunkMonitor.fireChunkTessellated(c.getPosition(new org.joml.Vector3i()), newMesh);
                 }
-
+            } finally {
+                releaseView();
             }
             chunkMeshUpdateManager.finishedProcessing(c);
             // Clean these up because the task executor holds the object in memory.
             c = null;
+            chunkView = null;
             tessellator = null;
-            worldProvider = null;
+        }
+
+        /**
+         * Releases the snapshots of the view. Releasing them again has no effect.
+         */
+        void releaseView() {
+            if (chunkView instanceof ChunkSnapshotView) {
+                ((ChunkSnapshotView) chunkView).release();
+            }
+            chunkMeshUpdateManager.queuedTasks.remove(this);
         }
 
         @Override
         public Chunk getChunk() {
             return (Chunk) c;
         }
-    }
 
-    private class ChunkUpdaterComparator implements Comparator<ChunkTask> {
         @Override
-        public int compare(ChunkTask o1, ChunkTask o2) {
-            return score(o1) - score(o2);
+        public org.joml.Vector3i getPosition() {
+            return new org.joml.Vector3i(position);
         }
+    }
 
-        private int score(ChunkTask task) {
+    /**
+     * Scores tasks by the grid distance of their chunk to the chunk of the camera, without allocating.
+     */
+    private class ChunkUpdaterScore implements ToIntFunction<ChunkTask> {
+        @Override
+        public int applyAsInt(ChunkTask task) {
             if (task.isTerminateSignal()) {
                 return -1;
             }
-            return distFromRegion(JomlUtil.from(task.getPosition()), new Vector3i(cameraChunkPosX, cameraChunkPosY, cameraChunkPosZ));
-        }
-
-        private int distFromRegion(Vector3i pos, Vector3i regionCenter) {
-            return pos.gridDistance(regionCenter);
+            org.joml.Vector3i pos = task instanceof ChunkUpdateTask ? ((ChunkUpdateTask) task).position : task.getPosition();
+            return Math.abs(pos.x - cameraChunkPosX) + Math.abs(pos.y - cameraChunkPosY) + Math.abs(pos.z - cameraChunkPosZ);
         }
     }
 }
@@ -0,0 +1,207 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.rendering.world;
+
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.math.Side;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.chunks.Chunks;
+
+import java.util.Arrays;
+
+/**
+ * Determines which chunks around the camera may be visible, by walking from the chunk of the camera through the faces
+ * that the {@link ChunkVisibility} of each chunk connects.
+ * <p>
+ * The walk only ever moves away from the camera: once it has stepped in one direction it never steps in the opposite
+ * one. This keeps it from reaching chunks behind solid ground by going around it, at the price of culling a chunk that
+ * could only be seen along such a path, which the camera cannot do anyway.
+ * <p>
+ * Chunks without a known visibility, e.g. because they have no mesh yet, are treated as fully connected.
+ */
+public class ChunkOcclusionCuller {
+    private static final Side[] SIDES = Side.values();
+    private static final int[] OPPOSITE = new int[SIDES.length];
+
+    private static final int FROM_CAMERA = SIDES.length;
+
+    static {
+        for (Side side : SIDES) {
+            OPPOSITE[side.ordinal()] = side.reverse().ordinal();
+        }
+    }
+
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int sizeX;
+    private int sizeY;
+    private int sizeZ;
+
+    private ChunkVisibility[] visibilities = new ChunkVisibility[0];
+    /**
+     * The faces through which the walk entered each chunk, as a mask of side ordinals; 0 if it was not reached
+     */
+    private byte[] entryFaces = new byte[0];
+    /**
+     * The directions the walk took to reach each chunk, as a mask of side ordinals. If a chunk is reached along
+     * several paths, only the directions common to all of them are kept.
+     */
+    private byte[] directions = new byte[0];
+    /**
+     * Pending visits, as chunk index times 8 plus the entry face
+     */
+    private int[] queue = new int[0];
+
+    private boolean active;
+    private int visibleCount;
+    private final Vector3i cameraChunk = new Vector3i();
+
+    /**
+     * Starts collecting the visibility of the chunks in a region, forgetting the previous ones.
+     *
+     * @param region the region of chunk positions to consider, usually the renderable region
+     */
+    public void reset(BlockRegion region) {
+        minX = region.minX();
+        minY = region.minY();
+        minZ = region.minZ();
+        sizeX = region.getSizeX();
+        sizeY = region.getSizeY();
+        sizeZ = region.getSizeZ();
+        int volume = sizeX * sizeY * sizeZ;
+        if (visibilities.length < volume) {
+            visibilities = new ChunkVisibility[volume];
+            entryFaces = new byte[volume];
+            directions = new byte[volume];
+            queue = new int[volume * SIDES.length + 1];
+        } else {
+            Arrays.fill(visibilities, 0, volume, null);
+        }
+        active = false;
+        visibleCount = volume;
+    }
+
+    /**
+     * Sets the visibility of a chunk in the region; chunks outside of the region are ignored.
+     */
+    public void setVisibility(Vector3ic chunkPosition, ChunkVisibility visibility) {
+        int index = indexOf(chunkPosition.x(), chunkPosition.y(), chunkPosition.z());
+        if (index >= 0) {
+            visibilities[index] = visibility;
+        }
+    }
+
+    /**
+     * Walks the region from the chunk containing the camera, see {@link #cull(Vector3ic)}.
+     *
+     * @param cameraPosition the position of the camera, in world coordinates
+     */
+    public void cull(Vector3fc cameraPosition) {
+        // Rounded down, as the walk has to start in the chunk of the camera for negative coordinates as well
+        cull(Chunks.toChunkPos(cameraPosition, cameraChunk));
+    }
+
+    /**
+     * Walks the region from the chunk containing the camera. If the camera is outside of the region, nothing is
+     * culled.
+     *
+     * @param cameraChunk the position of the chunk containing the camera
+     */
+    public void cull(Vector3ic cameraChunk) {
+        int start = indexOf(cameraChunk.x(), cameraChunk.y(), cameraChunk.z());
+        int volume = sizeX * sizeY * sizeZ;
+        if (start < 0) {
+            active = false;
+            visibleCount = volume;
+            return;
+        }
+        Arrays.fill(entryFaces, 0, volume, (byte) 0);
+        active = true;
+
+        int head = 0;
+        int tail = 0;
+        int reached = 1;
+        entryFaces[start] = (byte) (1 << FROM_CAMERA);
+        directions[start] = 0;
+        queue[tail++] = start << 3 | FROM_CAMERA;
+        while (head < tail) {
+            int index = queue[head] >>> 3;
+            int entryFace = queue[head] & 7;
+            head++;
+            int pathDirections = directions[index];
+            ChunkVisibility visibility = visibilities[index];
+            int x = index % sizeX;
+            int z = (index / sizeX) % sizeZ;
+            int y = index / (sizeX * sizeZ);
+
+            for (int face = 0; face < SIDES.length; face++) {
+                if ((pathDirections & (1 << OPPOSITE[face])) != 0) {
+                    continue;
+                }
+                if (entryFace != FROM_CAMERA && visibility != null && !visibility.isConnected(entryFace, face)) {
+                    continue;
+                }
+                Vector3ic direction = SIDES[face].direction();
+                int nx = x + direction.x();
+                int ny = y + direction.y();
+                int nz = z + direction.z();
+                if (nx < 0 || ny < 0 || nz < 0 || nx >= sizeX || ny >= sizeY || nz >= sizeZ) {
+                    continue;
+                }
+                int neighbor = (ny * sizeZ + nz) * sizeX + nx;
+                int neighborEntry = OPPOSITE[face];
+                int neighborDirections = pathDirections | (1 << face);
+                if (entryFaces[neighbor] == 0) {
+                    reached++;
+                    directions[neighbor] = (byte) neighborDirections;
+                } else if ((entryFaces[neighbor] & (1 << neighborEntry)) == 0) {
+                    directions[neighbor] &= neighborDirections;
+                } else {
+                    continue;
+                }
+                entryFaces[neighbor] |= 1 << neighborEntry;
+                queue[tail++] = neighbor << 3 | neighborEntry;
+            }
+        }
+        visibleCount = reached;
+    }
+
+    /**
+     * @return whether the chunk may be visible according to the last walk; chunks outside of the region are not
+     */
+    public boolean isVisible(Vector3ic chunkPosition) {
+        int index = indexOf(chunkPosition.x(), chunkPosition.y(), chunkPosition.z());
+        if (index < 0) {
+            return false;
+        }
+        return !active || entryFaces[index] != 0;
+    }
+
+    /**
+     * @return the number of chunks of the region reached by the last walk
+     */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    /**
+     * @return the number of chunks of the region the last walk did not reach
+     */
+    public int getCulledCount() {
+        return sizeX * sizeY * sizeZ - visibleCount;
+    }
+
+    private int indexOf(int x, int y, int z) {
+        int localX = x - minX;
+        int localY = y - minY;
+        int localZ = z - minZ;
+        if (localX < 0 || localY < 0 || localZ < 0 || localX >= sizeX || localY >= sizeY || localZ >= sizeZ) {
+            return -1;
+        }
+        return (localY * sizeZ + localZ) * sizeX + localX;
+    }
+}
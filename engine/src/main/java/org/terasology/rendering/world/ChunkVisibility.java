@@ -0,0 +1,221 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.rendering.world;
+
+import com.google.common.base.Preconditions;
+import org.terasology.math.Side;
+import org.terasology.world.block.Block;
+
+import java.util.Arrays;
+
+/**
+ * Which faces of a chunk can see each other through the blocks inside the chunk.
+ * <p>
+ * Two faces are connected if a connected region of non-occluding blocks touches both of them. This is computed once
+ * per chunk mesh, on the meshing thread, and used by the {@link ChunkOcclusionCuller} to skip chunks that are hidden
+ * behind solid ground, e.g. all surface chunks while the player is in a cave.
+ */
+public final class ChunkVisibility {
+    private static final int FACE_COUNT = Side.values().length;
+
+    /**
+     * The visibility of a chunk whose content is not known: every face sees every other face.
+     */
+    public static final ChunkVisibility ALL_CONNECTED = new ChunkVisibility(allPairs((1 << FACE_COUNT) - 1));
+
+    private final long connections;
+
+    private ChunkVisibility(long connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * @return whether something entering the chunk through one face can leave it through the other
+     */
+    public boolean isConnected(Side from, Side to) {
+        return isConnected(from.ordinal(), to.ordinal());
+    }
+
+    /**
+     * @param from the ordinal of a {@link Side}
+     * @param to   the ordinal of a {@link Side}
+     */
+    public boolean isConnected(int from, int to) {
+        return (connections & (1L << (from * FACE_COUNT + to))) != 0;
+    }
+
+    /**
+     * @return whether no face can see any other face
+     */
+    public boolean isOpaque() {
+        return connections == 0;
+    }
+
+    /**
+     * @return whether a block hides whatever is behind it: it is not translucent, and all of its sides are full
+     */
+    public static boolean isOccluding(Block block) {
+        if (block.getMeshGenerator() == null || block.isTranslucent()) {
+            return false;
+        }
+        for (Side side : Side.values()) {
+            if (!block.isFullSide(side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long allPairs(int faces) {
+        long result = 0;
+        for (int from = 0; from < FACE_COUNT; from++) {
+            if ((faces & (1 << from)) != 0) {
+                for (int to = 0; to < FACE_COUNT; to++) {
+                    if ((faces & (1 << to)) != 0) {
+                        result |= 1L << (from * FACE_COUNT + to);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof ChunkVisibility) {
+            return connections == ((ChunkVisibility) o).connections;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(connections);
+    }
+
+    /**
+     * Computes the visibility of a chunk from the occluding blocks in it, by flood filling the regions of
+     * non-occluding blocks that touch the faces of the chunk.
+     * <p>
+     * A builder keeps its work arrays between chunks, so it should be reused, but not shared between threads.
+     */
+    public static final class Builder {
+        private static final byte OPEN = 0;
+        private static final byte OCCLUDING = 1;
+        private static final byte VISITED = 2;
+
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final byte[] cells;
+        private final int[] queue;
+
+        public Builder(int sizeX, int sizeY, int sizeZ) {
+            Preconditions.checkArgument(sizeX > 0 && sizeY > 0 && sizeZ > 0, "Chunk size must be positive");
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.cells = new byte[sizeX * sizeY * sizeZ];
+            this.queue = new int[cells.length];
+        }
+
+        /**
+         * Marks the block at the given position within the chunk as occluding. All blocks are open initially.
+         */
+        public void setOccluding(int x, int y, int z) {
+            cells[index(x, y, z)] = OCCLUDING;
+        }
+
+        /**
+         * Computes the visibility of the blocks set so far, and resets the builder.
+         */
+        public ChunkVisibility build() {
+            long connections = 0;
+            long all = ALL_CONNECTED.connections;
+            for (int y = 0; y < sizeY && connections != all; y++) {
+                boolean boundaryLayer = y == 0 || y == sizeY - 1;
+                for (int z = 0; z < sizeZ && connections != all; z++) {
+                    boolean boundaryRow = boundaryLayer || z == 0 || z == sizeZ - 1;
+                    // Every region that touches a face has a block on the boundary, so only start from there
+                    int step = boundaryRow ? 1 : Math.max(1, sizeX - 1);
+                    for (int x = 0; x < sizeX; x += step) {
+                        int index = index(x, y, z);
+                        if (cells[index] == OPEN) {
+                            connections |= allPairs(fill(index));
+                        }
+                    }
+                }
+            }
+            Arrays.fill(cells, OPEN);
+            return connections == all ? ALL_CONNECTED : new ChunkVisibility(connections);
+        }
+
+        /**
+         * Visits the region of open blocks that contains the given block.
+         *
+         * @return the faces touched by the region, as a mask of {@link Side} ordinals
+         */
+        private int fill(int start) {
+            int faces = 0;
+            int head = 0;
+            int tail = 0;
+            cells[start] = VISITED;
+            queue[tail++] = start;
+            int layer = sizeX * sizeZ;
+            while (head < tail) {
+                int index = queue[head++];
+                int x = index % sizeX;
+                int z = (index / sizeX) % sizeZ;
+                int y = index / layer;
+
+                if (x == 0) {
+                    faces |= 1 << Side.LEFT.ordinal();
+                } else {
+                    tail = visit(index - 1, tail);
+                }
+                if (x == sizeX - 1) {
+                    faces |= 1 << Side.RIGHT.ordinal();
+                } else {
+                    tail = visit(index + 1, tail);
+                }
+                if (y == 0) {
+                    faces |= 1 << Side.BOTTOM.ordinal();
+                } else {
+                    tail = visit(index - layer, tail);
+                }
+                if (y == sizeY - 1) {
+                    faces |= 1 << Side.TOP.ordinal();
+                } else {
+                    tail = visit(index + layer, tail);
+                }
+                if (z == 0) {
+                    faces |= 1 << Side.FRONT.ordinal();
+                } else {
+                    tail = visit(index - sizeX, tail);
+                }
+                if (z == sizeZ - 1) {
+                    faces |= 1 << Side.BACK.ordinal();
+                } else {
+                    tail = visit(index + sizeX, tail);
+                }
+            }
+            return faces;
+        }
+
+        private int visit(int index, int tail) {
+            if (cells[index] == OPEN) {
+                cells[index] = VISITED;
+                queue[tail++] = index;
+            }
+            return tail;
+        }
+
+        private int index(int x, int y, int z) {
+            return (y * sizeZ + z) * sizeX + x;
+        }
+    }
+}
@@ -15,9 +15,6 @@
  */
 package org.terasology.rendering.world;
 
-import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
-import org.joml.Vector3f;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.slf4j.Logger;
@@ -41,11 +38,10 @@
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.RenderableChunk;
 
-import java.util.Collections;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * TODO: write javadoc unless this class gets slated for removal, which might be.
@@ -55,7 +51,6 @@ class RenderableWorldImpl implements RenderableWorld {
     private static final int MAX_ANIMATED_CHUNKS = 64;
     private static final int MAX_BILLBOARD_CHUNKS = 64;
     private static final int MAX_LOADABLE_CHUNKS = ViewDistance.MEGA.getChunkDistance().x() * ViewDistance.MEGA.getChunkDistance().y() * ViewDistance.MEGA.getChunkDistance().z();
-    private static final Vector3f CHUNK_CENTER_OFFSET = new Vector3f(0.5f, 0.5f, 0.5f);
 
     private static final Logger logger = LoggerFactory.getLogger(RenderableWorldImpl.class);
 
@@ -66,10 +61,12 @@ class RenderableWorldImpl implements RenderableWorld {
 
     private ChunkTessellator chunkTessellator;
     private final ChunkMeshUpdateManager chunkMeshUpdateManager;
-    private final List<RenderableChunk> chunksInProximityOfCamera = Lists.newArrayListWithCapacity(MAX_LOADABLE_CHUNKS);
+    private final ChunkDistanceShells<RenderableChunk> chunksInProximityOfCamera = new ChunkDistanceShells<>();
     private BlockRegion renderableRegion = new BlockRegion(BlockRegion.INVALID);
     private ViewDistance currentViewDistance;
     private RenderQueuesHelper renderQueues;
+    private final ChunkOcclusionCuller occlusionCuller = new ChunkOcclusionCuller();
+    private final List<RenderableChunk> alphaBlendChunks = new ArrayList<>();
 
     private Camera playerCamera;
     private Camera shadowMapCamera;
@@ -80,6 +77,7 @@ class RenderableWorldImpl implements RenderableWorld {
     private int statDirtyChunks;
     private int statVisibleChunks;
     private int statIgnoredPhases;
+    private int statCulledChunks;
 
 
     RenderableWorldImpl(WorldProvider worldProvider,
@@ -94,11 +92,13 @@ class RenderableWorldImpl implements RenderableWorld {
 
         this.playerCamera = playerCamera;
 
-        renderQueues = new RenderQueuesHelper(new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkBackToFrontComparator()));
+        // The chunks are queued in the order of their distance shells, so the queues need no sorting, except the alpha
+        // blend queue, which must be ordered from back to front by the distance to the exact camera position
+        renderQueues = new RenderQueuesHelper(new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS));
     }
 
     @Override
@@ -106,8 +106,7 @@ public void onChunkLoaded(Vector3ic chunkCoordinates) {
         if (renderableRegion.contains(chunkCoordinates)) {
             Chunk chunk = chunkProvider.getChunk(JomlUtil.from(chunkCoordinates));
             if (chunk != null) {
-                chunksInProximityOfCamera.add(chunk);
-                Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
+                chunksInProximityOfCamera.add(chunkCoordinates, chunk);
             } else {
                 logger.warn("Warning: onChunkLoaded called for a null chunk!");
             }
@@ -117,15 +116,9 @@ public void onChunkLoaded(Vector3ic chunkCoordinates) {
     @Override
     public void onChunkUnloaded(Vector3ic chunkCoordinates) {
         if (renderableRegion.contains(chunkCoordinates)) {
-            RenderableChunk chunk;
-            Iterator<RenderableChunk> iterator = chunksInProximityOfCamera.iterator();
-            while (iterator.hasNext()) {
-                chunk = iterator.next();
-                if (chunk.getPosition(new org.joml.Vector3i()).equals(chunkCoordinates)) {
-                    chunk.disposeMesh();
-                    iterator.remove();
-                    break;
-                }
+            RenderableChunk chunk = chunksInProximityOfCamera.remove(chunkCoordinates);
+            if (chunk != null) {
+                chunk.disposeMesh();
             }
         }
     }
@@ -196,32 +189,25 @@ public boolean updateChunksInProximity(BlockRegion newRenderableRegion) {
             RenderableChunk chunk;
             for (Vector3ic chunkPositionToRemove : renderableRegion) {
                 if (!newRenderableRegion.contains(chunkPositionToRemove)) {
-                    Iterator<RenderableChunk> nearbyChunks = chunksInProximityOfCamera.iterator();
-                    for (Iterator<RenderableChunk> it = nearbyChunks; it.hasNext(); ) {
-                        chunk = it.next();
-                        if (chunk.getPosition(new org.joml.Vector3i()).equals(chunkPositionToRemove)) {
-                            chunk.disposeMesh();
-                            nearbyChunks.remove();
-                            break;
-                        }
-
+                    chunk = chunksInProximityOfCamera.remove(chunkPositionToRemove);
+                    if (chunk != null) {
+                        chunk.disposeMesh();
                     }
                 }
             }
-            boolean chunksHaveBeenAdded = false;
+            // The region is centered on the camera, and moving the center of the shells keeps them in order
+            chunksInProximityOfCamera.setCenter(new Vector3i(
+                    (newRenderableRegion.minX() + newRenderableRegion.maxX()) / 2,
+                    (newRenderableRegion.minY() + newRenderableRegion.maxY()) / 2,
+                    (newRenderableRegion.minZ() + newRenderableRegion.maxZ()) / 2));
             for (Vector3ic chunkPositionToAdd : newRenderableRegion) {
                 if (!renderableRegion.contains(chunkPositionToAdd)) {
                     chunk = chunkProvider.getChunk(JomlUtil.from(chunkPositionToAdd));
                     if (chunk != null) {
-                        chunksInProximityOfCamera.add(chunk);
-                        chunksHaveBeenAdded = true;
+                        chunksInProximityOfCamera.add(chunkPositionToAdd, chunk);
                     }
                 }
             }
-
-            if (chunksHaveBeenAdded) {
-                Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
-            }
             renderableRegion = newRenderableRegion;
             return true;
         }
@@ -266,7 +252,7 @@ public void generateVBOs() {
         chunkMeshUpdateManager.setCameraPosition(JomlUtil.from(playerCamera.getPosition()));
         for (RenderableChunk chunk : chunkMeshUpdateManager.availableChunksForUpdate()) {
 
-            if (chunk.hasPendingMesh() && chunksInProximityOfCamera.contains(chunk)) {
+            if (chunk.hasPendingMesh() && chunksInProximityOfCamera.get(chunk.getPosition(new Vector3i())) == chunk) {
                 pendingMesh = chunk.getPendingMesh();
                 pendingMesh.generateVBOs();
                 if (chunk.hasMesh()) {
@@ -294,11 +280,27 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
         statDirtyChunks = 0;
         statVisibleChunks = 0;
         statIgnoredPhases = 0;
+        statCulledChunks = 0;
 
         int processedChunks = 0;
         int chunkCounter = 0;
         ChunkMesh mesh;
         boolean isDynamicShadows = renderingConfig.isDynamicShadows();
+        boolean isOcclusionCulling = renderingConfig.isOcclusionCulling();
+        Vector3i chunkPosition = new Vector3i();
+
+        if (isOcclusionCulling) {
+            PerformanceMonitor.startActivity("Occlusion Culling");
+            occlusionCuller.reset(renderableRegion);
+            for (RenderableChunk chunk : chunksInProximityOfCamera) {
+                mesh = chunk.getMesh();
+                if (mesh != null) {
+                    occlusionCuller.setVisibility(chunk.getPosition(chunkPosition), mesh.getVisibility());
+                }
+            }
+            occlusionCuller.cull(playerCamera.getPosition());
+            PerformanceMonitor.endActivity();
+        }
 
         for (RenderableChunk chunk : chunksInProximityOfCamera) {
             if (isChunkValidForRender(chunk)) {
@@ -312,7 +314,13 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
                 }
 
-                if (isChunkVisible(chunk)) {
+                boolean isInSight = isChunkVisible(chunk);
+                if (isInSight && isOcclusionCulling && !occlusionCuller.isVisible(chunk.getPosition(chunkPosition))) {
+                    statCulledChunks++;
+                    isInSight = false;
+                }
+
+                if (isInSight) {
                     if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
                         renderQueues.chunksOpaque.add(chunk);
                     } else {
@@ -320,7 +328,7 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
                     }
 
                     if (triangleCount(mesh, ChunkMesh.RenderPhase.REFRACTIVE) > 0) {
-                        renderQueues.chunksAlphaBlend.add(chunk);
+                        alphaBlendChunks.add(chunk);
                     } else {
                         statIgnoredPhases++;
                     }
@@ -353,11 +361,34 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
             }
             chunkCounter++;
         }
+        queueAlphaBlendChunks();
 
         PerformanceMonitor.endActivity();
         return processedChunks;
     }
 
+    /**
+     * Queues the chunks with alpha blended faces from back to front. The distance shells only order the chunks by the
+     * distance to the center of the camera chunk, so chunks at similar distances are sorted by the distance to the
+     * camera itself.
+     */
+    private void queueAlphaBlendChunks() {
+        org.joml.Vector3f cameraPosition = playerCamera.getPosition();
+        Vector3i chunkPosition = new Vector3i();
+        alphaBlendChunks.sort(Comparator.comparingDouble(
+                (RenderableChunk chunk) -> squaredDistanceToCamera(chunk.getPosition(chunkPosition), cameraPosition))
+                .reversed());
+        renderQueues.chunksAlphaBlend.addAll(alphaBlendChunks);
+        alphaBlendChunks.clear();
+    }
+
+    private static float squaredDistanceToCamera(Vector3ic chunkPosition, org.joml.Vector3f cameraPosition) {
+        float dx = (chunkPosition.x() + 0.5f) * ChunkConstants.SIZE_X - cameraPosition.x;
+        float dy = (chunkPosition.y() + 0.5f) * ChunkConstants.SIZE_Y - cameraPosition.y;
+        float dz = (chunkPosition.z() + 0.5f) * ChunkConstants.SIZE_Z - cameraPosition.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
     private int triangleCount(ChunkMesh mesh, ChunkMesh.RenderPhase renderPhase) {
         if (mesh != null) {
             return mesh.triangleCount(renderPhase);
@@ -422,62 +453,9 @@ public String getMetrics() {
         stringToReturn += "Visible Chunks: ";
         stringToReturn += statVisibleChunks;
         stringToReturn += "\n";
+        stringToReturn += "Culled Chunks: ";
+        stringToReturn += statCulledChunks;
+        stringToReturn += "\n";
         return stringToReturn;
     }
-
-    private static float squaredDistanceToCamera(RenderableChunk chunk, Vector3f cameraPosition) {
-        // For performance reasons, to avoid instantiating too many vectors in a frequently called method,
-        // comments are in use instead of appropriately named vectors.
-        Vector3f result = new Vector3f(chunk.getPosition(new Vector3i())); // chunk position in chunk coordinates
-        result.add(CHUNK_CENTER_OFFSET);                    // chunk center in chunk coordinates
-
-        result.x *= ChunkConstants.SIZE_X;    // chunk center in world coordinates
-        result.y *= ChunkConstants.SIZE_Y;
-        result.z *= ChunkConstants.SIZE_Z;
-
-        result.sub(cameraPosition); // camera to chunk vector
-
-        return result.lengthSquared();
-    }
-
-    // TODO: find the right place to check if the activeCamera has changed,
-    // TODO: so that the comparators can hold an up-to-date reference to it
-    // TODO: and avoid having to find it on a per-comparison basis.
-    private static class ChunkFrontToBackComparator implements Comparator<RenderableChunk> {
-
-        @Override
-        public int compare(RenderableChunk chunk1, RenderableChunk chunk2) {
-            Preconditions.checkNotNull(chunk1);
-            Preconditions.checkNotNull(chunk2);
-            Vector3f cameraPosition = CoreRegistry.get(WorldRenderer.class).getActiveCamera().getPosition();
-            double distance1 = squaredDistanceToCamera(chunk1, cameraPosition);
-            double distance2 = squaredDistanceToCamera(chunk2, cameraPosition);
-
-            // Using Double.compare as simple d1 < d2 comparison is flagged as problematic by Jenkins
-            // On the other hand Double.compare can return any positive/negative value apparently,
-            // hence the need for Math.signum().
-            return (int) Math.signum(Double.compare(distance1, distance2));
-        }
-    }
-
-    private static class ChunkBackToFrontComparator implements Comparator<RenderableChunk> {
-
-        @Override
-        public int compare(RenderableChunk chunk1, RenderableChunk chunk2) {
-            Preconditions.checkNotNull(chunk1);
-            Preconditions.checkNotNull(chunk2);
-            Vector3f cameraPosition = CoreRegistry.get(WorldRenderer.class).getActiveCamera().getPosition();
-            double distance1 = squaredDistanceToCamera(chunk1, cameraPosition);
-            double distance2 = squaredDistanceToCamera(chunk2, cameraPosition);
-
-            if (distance1 == distance2) {
-                return 0;
-            } else if (distance2 > distance1) {
-                return 1;
-            } else {
-                return -1;
-            }
-        }
-    }
-
 }
@@ -0,0 +1,173 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.collection;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map from entities to values, keyed on the id of the entity.
+ * <p>
+ * Unlike a {@code HashMap<EntityRef, V>}, lookups neither call {@link EntityRef#hashCode()} nor
+ * {@link EntityRef#equals(Object)}, and no entry objects are allocated. Two references are the same key if they have
+ * the same id; in particular, an entity that has been destroyed can still be used to remove its entry.
+ * <p>
+ * Null values are not supported. The iterators fail fast if the map is structurally modified while iterating, and do
+ * not support removal.
+ *
+ * @param <V> the type of the values
+ */
+public class EntityRefMap<V> extends EntityRefTable {
+
+    public EntityRefMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map should hold without growing
+     */
+    public EntityRefMap(int expectedSize) {
+        super(expectedSize, true);
+    }
+
+    public boolean containsKey(EntityRef entity) {
+        return indexOf(entity.getId()) >= 0;
+    }
+
+    /**
+     * @return the value mapped to the entity, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(EntityRef entity) {
+        int slot = indexOf(entity.getId());
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * Maps the entity to the given value. If the entity was already mapped, the reference used as key is kept.
+     *
+     * @return the previous value mapped to the entity, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(EntityRef entity, V value) {
+        int slot = insert(entity);
+        if (slot < 0) {
+            values[~slot] = value;
+            return null;
+        }
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * @return the value that was mapped to the entity, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(EntityRef entity) {
+        int slot = indexOf(entity.getId());
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    public void forEach(BiConsumer<? super EntityRef, ? super V> action) {
+        EntryIterator<V> iterator = iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            action.accept(iterator.key(), iterator.value());
+        }
+    }
+
+    /**
+     * @return an iterator over the entries, to be used like the iterators of the Trove maps
+     */
+    public EntryIterator<V> iterator() {
+        return new EntryIterator<>(this);
+    }
+
+    /**
+     * @return a view of the entities that are mapped
+     */
+    public Iterable<EntityRef> keys() {
+        return () -> new Iterator<EntityRef>() {
+            private final SlotIterator slots = new SlotIterator();
+
+            @Override
+            public boolean hasNext() {
+                return slots.hasNext();
+            }
+
+            @Override
+            public EntityRef next() {
+                return refs[slots.nextSlot()];
+            }
+        };
+    }
+
+    /**
+     * @return a view of the mapped values
+     */
+    public Iterable<V> values() {
+        return () -> new Iterator<V>() {
+            private final SlotIterator slots = new SlotIterator();
+
+            @Override
+            public boolean hasNext() {
+                return slots.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                return (V) values[slots.nextSlot()];
+            }
+        };
+    }
+
+    /**
+     * Iterates over the entries of an {@link EntityRefMap}. Call {@link #advance()} before reading each entry.
+     *
+     * @param <V> the type of the values
+     */
+    public static final class EntryIterator<V> {
+        private final EntityRefMap<V> map;
+        private final EntityRefTable.SlotIterator slots;
+        private int slot = -1;
+
+        private EntryIterator(EntityRefMap<V> map) {
+            this.map = map;
+            this.slots = map.new SlotIterator();
+        }
+
+        public boolean hasNext() {
+            return slots.hasNext();
+        }
+
+        public void advance() {
+            slot = slots.nextSlot();
+        }
+
+        public EntityRef key() {
+            return map.refs[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            return (V) map.values[slot];
+        }
+
+        /**
+         * Replaces the value of the current entry. This is not a structural modification.
+         */
+        public void setValue(V value) {
+            map.values[slot] = value;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.collection;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Iterator;
+
+/**
+ * A hash set of entities, keyed on the id of the entity. See {@link EntityRefMap} for the differences to a
+ * {@code HashSet<EntityRef>}.
+ * <p>
+ * The iterator fails fast if the set is structurally modified while iterating, and does not support removal.
+ */
+public class EntityRefSet extends EntityRefTable implements Iterable<EntityRef> {
+
+    public EntityRefSet() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize the number of entities the set should hold without growing
+     */
+    public EntityRefSet(int expectedSize) {
+        super(expectedSize, false);
+    }
+
+    public boolean contains(EntityRef entity) {
+        return indexOf(entity.getId()) >= 0;
+    }
+
+    /**
+     * @return true if the entity was not in the set before
+     */
+    public boolean add(EntityRef entity) {
+        return insert(entity) < 0;
+    }
+
+    /**
+     * @return true if the entity was in the set
+     */
+    public boolean remove(EntityRef entity) {
+        int slot = indexOf(entity.getId());
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    @Override
+    public Iterator<EntityRef> iterator() {
+        return new Iterator<EntityRef>() {
+            private final SlotIterator slots = new SlotIterator();
+
+            @Override
+            public boolean hasNext() {
+                return slots.hasNext();
+            }
+
+            @Override
+            public EntityRef next() {
+                return refs[slots.nextSlot()];
+            }
+        };
+    }
+}
@@ -0,0 +1,192 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.collection;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Open addressing hash table keyed on the id of entities, shared by {@link EntityRefMap} and {@link EntityRefSet}.
+ * <p>
+ * Uses linear probing with backward shift deletion, so there are no tombstones and lookups of absent keys stay short.
+ * An empty slot is marked by a null reference.
+ */
+abstract class EntityRefTable {
+    private static final int MIN_CAPACITY = 8;
+
+    long[] ids;
+    EntityRef[] refs;
+    Object[] values;
+    int size;
+    int modCount;
+
+    private int mask;
+    private int shift;
+    private final boolean hasValues;
+
+    EntityRefTable(int expectedSize, boolean hasValues) {
+        this.hasValues = hasValues;
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(refs, null);
+            if (hasValues) {
+                Arrays.fill(values, null);
+            }
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * @return the slot of the given entity id, or -1 if it is not in the table
+     */
+    final int indexOf(long id) {
+        int slot = home(id);
+        while (refs[slot] != null) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot for the given entity, adding it to the table if it is not present yet.
+     *
+     * @return the slot of the entity; the bitwise complement of the slot if the entity was added
+     */
+    final int insert(EntityRef entity) {
+        long id = entity.getId();
+        int slot = home(id);
+        while (refs[slot] != null) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 2 > refs.length) {
+            rehash(refs.length * 2);
+            return insert(entity);
+        }
+        ids[slot] = id;
+        refs[slot] = entity;
+        size++;
+        modCount++;
+        return ~slot;
+    }
+
+    final void removeAt(int slot) {
+        int hole = slot;
+        int current = (slot + 1) & mask;
+        while (refs[current] != null) {
+            int distance = (current - home(ids[current])) & mask;
+            if (distance >= ((current - hole) & mask)) {
+                ids[hole] = ids[current];
+                refs[hole] = refs[current];
+                if (hasValues) {
+                    values[hole] = values[current];
+                }
+                hole = current;
+            }
+            current = (current + 1) & mask;
+        }
+        refs[hole] = null;
+        if (hasValues) {
+            values[hole] = null;
+        }
+        size--;
+        modCount++;
+    }
+
+    private int home(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldIds = ids;
+        EntityRef[] oldRefs = refs;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldRefs.length; i++) {
+            if (oldRefs[i] != null) {
+                int slot = home(oldIds[i]);
+                while (refs[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = oldIds[i];
+                refs[slot] = oldRefs[i];
+                if (hasValues) {
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        refs = new EntityRef[capacity];
+        values = hasValues ? new Object[capacity] : null;
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Walks the occupied slots of the table; fails fast if the table is modified during iteration.
+     */
+    class SlotIterator {
+        private int next;
+        private final int expectedModCount = modCount;
+
+        SlotIterator() {
+            next = findNext(0);
+        }
+
+        public boolean hasNext() {
+            return next < refs.length;
+        }
+
+        int nextSlot() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= refs.length) {
+                throw new NoSuchElementException();
+            }
+            int slot = next;
+            next = findNext(next + 1);
+            return slot;
+        }
+
+        private int findNext(int from) {
+            int slot = from;
+            while (slot < refs.length && refs[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
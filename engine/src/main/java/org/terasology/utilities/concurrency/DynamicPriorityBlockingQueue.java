@@ -15,22 +15,37 @@
  */
 package org.terasology.utilities.concurrency;
 
-import com.google.common.collect.Lists;
-
 import java.util.AbstractQueue;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.List;
-import java.util.ListIterator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
 
+/**
+ * An unbounded blocking queue whose priorities may change over time, e.g. because they depend on the position of the
+ * camera.
+ * <p>
+ * The elements are kept in a binary heap. Either a comparator or a score function (lower scores first) defines the
+ * order; with a score function, the score of each element is computed once when it is added and cached. When the
+ * ordering changes, call {@link #reprioritize()} to recompute the scores and rebuild the heap in one pass.
+ */
 public class DynamicPriorityBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
-    private Comparator<T> comparator;
-    private List<T> elements = Lists.newLinkedList();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<? super T> comparator;
+    private final ToIntFunction<? super T> scoreFunction;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    /**
+     * The cached scores, parallel to elements; only used with a score function
+     */
+    private int[] scores;
+    private int size;
 
     /**
      * Lock used for all public operations
@@ -42,8 +57,23 @@
      */
     private final Condition notEmpty;
 
-    public DynamicPriorityBlockingQueue(Comparator<T> comparator) {
+    public DynamicPriorityBlockingQueue(Comparator<? super T> comparator) {
+        this(comparator, null);
+    }
+
+    /**
+     * @param scoreFunction computes the priority of an element, lower scores are taken first
+     */
+    public DynamicPriorityBlockingQueue(ToIntFunction<? super T> scoreFunction) {
+        this(null, scoreFunction);
+    }
+
+    private DynamicPriorityBlockingQueue(Comparator<? super T> comparator, ToIntFunction<? super T> scoreFunction) {
         this.comparator = comparator;
+        this.scoreFunction = scoreFunction;
+        if (scoreFunction != null) {
+            scores = new int[INITIAL_CAPACITY];
+        }
 
         lock = new ReentrantLock();
         notEmpty = lock.newCondition();
@@ -66,9 +96,19 @@ public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedExcepti
 
     @Override
     public boolean offer(T t) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
         lock.lock();
         try {
-            elements.add(t);
+            if (size == elements.length) {
+                grow();
+            }
+            elements[size] = t;
+            if (scores != null) {
+                scores[size] = scoreFunction.applyAsInt(t);
+            }
+            siftUp(size++);
             notEmpty.signal();
             return true;
         } finally {
@@ -118,29 +158,107 @@ public T poll(long timeout, TimeUnit unit) throws InterruptedException {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public T peek() {
         lock.lock();
         try {
-            return elements.size() == 0 ? null : elements.get(0);
+            return (T) elements[0];
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Recomputes the scores of all queued elements and restores the heap order. Call this whenever the ordering
+     * defined by the comparator or score function has changed.
+     */
+    @SuppressWarnings("unchecked")
+    public void reprioritize() {
+        lock.lock();
+        try {
+            if (scoreFunction != null) {
+                for (int i = 0; i < size; i++) {
+                    scores[i] = scoreFunction.applyAsInt((T) elements[i]);
+                }
+            }
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     private T dequeue() {
-        if (elements.size() == 0) {
+        if (size == 0) {
             return null;
         }
-        T smallest = elements.remove(0);
-        ListIterator<T> iterator = elements.listIterator();
-        while (iterator.hasNext()) {
-            T next = iterator.next();
-            if (comparator.compare(smallest, next) > 0) {
-                iterator.set(smallest);
-                smallest = next;
+        T result = (T) elements[0];
+        size--;
+        elements[0] = elements[size];
+        elements[size] = null;
+        if (scores != null) {
+            scores[0] = scores[size];
+        }
+        if (size > 1) {
+            siftDown(0);
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!less(child, parent)) {
+                break;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        int parent = index;
+        int half = size >>> 1;
+        while (parent < half) {
+            int child = 2 * parent + 1;
+            if (child + 1 < size && less(child + 1, child)) {
+                child++;
+            }
+            if (!less(child, parent)) {
+                break;
             }
+            swap(child, parent);
+            parent = child;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean less(int a, int b) {
+        if (scores != null) {
+            return scores[a] < scores[b];
+        }
+        return comparator.compare((T) elements[a], (T) elements[b]) < 0;
+    }
+
+    private void swap(int a, int b) {
+        Object element = elements[a];
+        elements[a] = elements[b];
+        elements[b] = element;
+        if (scores != null) {
+            int score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    private void grow() {
+        elements = Arrays.copyOf(elements, elements.length * 2);
+        if (scores != null) {
+            scores = Arrays.copyOf(scores, elements.length);
         }
-        return smallest;
     }
 
     @Override
@@ -149,14 +267,16 @@ public int remainingCapacity() {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public int drainTo(Collection<? super T> c) {
         lock.lock();
         try {
-            int count = 0;
-            while (!elements.isEmpty()) {
-                c.add(elements.remove(0));
-                count++;
+            int count = size;
+            for (int i = 0; i < count; i++) {
+                c.add((T) elements[i]);
+                elements[i] = null;
             }
+            size = 0;
             return count;
         } finally {
             lock.unlock();
@@ -168,8 +288,8 @@ public int drainTo(Collection<? super T> c, int maxElements) {
         lock.lock();
         try {
             int count = 0;
-            while (!elements.isEmpty() && count < maxElements) {
-                c.add(elements.remove(0));
+            while (size > 0 && count < maxElements) {
+                c.add(dequeue());
                 count++;
             }
             return count;
@@ -182,7 +302,7 @@ public int drainTo(Collection<? super T> c, int maxElements) {
     public int size() {
         lock.lock();
         try {
-            return elements.size();
+            return size;
         } finally {
             lock.unlock();
         }
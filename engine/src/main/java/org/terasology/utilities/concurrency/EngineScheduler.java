@@ -0,0 +1,261 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.concurrency;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
+import org.terasology.monitoring.TaskClassStats;
+import org.terasology.monitoring.ThreadMonitor;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the background work of the engine subsystems on one shared, work-stealing thread pool, instead of every
+ * subsystem starting its own threads.
+ * <p>
+ * Subsystems queue their tasks on a {@link SchedulerLane}, which belongs to one {@link TaskClass}. Whenever a worker
+ * thread is free, it takes the next task of the most urgent task class that is below its concurrency limit, from a
+ * lane that is below its own limit. Lanes of the same class are served in turns.
+ * <p>
+ * The queue and latency statistics of every task class are available from {@link ThreadMonitor#getTaskClassStats()}.
+ */
+public final class EngineScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(EngineScheduler.class);
+
+    /**
+     * The least number of threads, so that the minimum concurrency limits of the task classes can be met on machines
+     * with few cores. The threads run at minimum priority, so they don't compete with the game thread.
+     */
+    private static final int MIN_PARALLELISM = 4;
+
+    private static final EngineScheduler INSTANCE =
+            new EngineScheduler(Math.max(MIN_PARALLELISM, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final AtomicInteger workers = new AtomicInteger();
+    private final ClassState[] classes;
+
+    EngineScheduler(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "Must have at least one thread.");
+        this.parallelism = parallelism;
+        AtomicInteger threadIndex = new AtomicInteger();
+        pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("Engine-Worker-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, true);
+
+        TaskClass[] taskClasses = TaskClass.values();
+        classes = new ClassState[taskClasses.length];
+        for (TaskClass taskClass : taskClasses) {
+            classes[taskClass.ordinal()] = new ClassState(taskClass.getDefaultConcurrencyLimit(parallelism),
+                    ThreadMonitor.getTaskClassStats(taskClass.name()));
+        }
+    }
+
+    public static EngineScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getConcurrencyLimit(TaskClass taskClass) {
+        return classes[taskClass.ordinal()].limit;
+    }
+
+    /**
+     * Sets how many tasks of the given class may run at the same time. Tasks that are already running are not
+     * affected when the limit is lowered.
+     */
+    public void setConcurrencyLimit(TaskClass taskClass, int limit) {
+        Preconditions.checkArgument(limit > 0, "The concurrency limit must be positive");
+        classes[taskClass.ordinal()].limit = limit;
+        dispatch();
+    }
+
+    /**
+     * Creates an active lane.
+     *
+     * @param name the name of the lane, e.g. the name of the subsystem
+     * @param taskClass the priority class of the tasks
+     * @param maxConcurrency how many tasks of this lane may run at the same time
+     * @param queue the queue that keeps the tasks, in the order in which they should run
+     * @param runner runs a single task
+     */
+    public <T> SchedulerLane<T> createLane(String name, TaskClass taskClass, int maxConcurrency, BlockingQueue<T> queue,
+                                           Consumer<? super T> runner) {
+        Preconditions.checkArgument(maxConcurrency > 0, "Must allow at least one task to run.");
+        SchedulerLane<T> lane = new SchedulerLane<>(this, name, taskClass, maxConcurrency, queue, runner,
+                classes[taskClass.ordinal()].stats);
+        lane.resume();
+        return lane;
+    }
+
+    void register(SchedulerLane<?> lane) {
+        ClassState state = classes[lane.getTaskClass().ordinal()];
+        synchronized (state) {
+            if (!Arrays.asList(state.lanes).contains(lane)) {
+                SchedulerLane<?>[] lanes = Arrays.copyOf(state.lanes, state.lanes.length + 1);
+                lanes[lanes.length - 1] = lane;
+                state.lanes = lanes;
+            }
+        }
+        dispatch();
+    }
+
+    void unregister(SchedulerLane<?> lane) {
+        ClassState state = classes[lane.getTaskClass().ordinal()];
+        synchronized (state) {
+            SchedulerLane<?>[] lanes = state.lanes;
+            for (int i = 0; i < lanes.length; i++) {
+                if (lanes[i] == lane) {
+                    SchedulerLane<?>[] remaining = new SchedulerLane<?>[lanes.length - 1];
+                    System.arraycopy(lanes, 0, remaining, 0, i);
+                    System.arraycopy(lanes, i + 1, remaining, i, remaining.length - i);
+                    state.lanes = remaining;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts another worker if there are fewer workers than threads. Called whenever work may have become available.
+     */
+    void dispatch() {
+        if (tryAddWorker()) {
+            pool.execute(this::work);
+        }
+    }
+
+    private boolean tryAddWorker() {
+        int current;
+        do {
+            current = workers.get();
+            if (current >= parallelism) {
+                return false;
+            }
+        } while (!workers.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void work() {
+        do {
+            while (runNext()) {
+                // keep going while there is work
+            }
+            workers.decrementAndGet();
+            // work may have been queued after the last check, while this worker was still counted
+        } while (hasRunnableWork() && tryAddWorker());
+    }
+
+    private boolean runNext() {
+        for (ClassState state : classes) {
+            if (state.running.get() >= state.limit) {
+                continue;
+            }
+            SchedulerLane<?>[] lanes = state.lanes;
+            int start = state.nextLane++;
+            for (int i = 0; i < lanes.length; i++) {
+                SchedulerLane<?> lane = lanes[Math.floorMod(start + i, lanes.length)];
+                if (lane.hasWork() && lane.tryAcquire()) {
+                    if (state.tryAcquire()) {
+                        if (runFrom(lane, state)) {
+                            return true;
+                        }
+                        state.running.decrementAndGet();
+                    }
+                    lane.release();
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasRunnableWork() {
+        for (ClassState state : classes) {
+            if (state.running.get() < state.limit) {
+                for (SchedulerLane<?> lane : state.lanes) {
+                    if (lane.hasWork()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the next task of the lane, if there is one. The caller has taken a slot of the lane and of its class; they
+     * are released if a task was run.
+     */
+    private <T> boolean runFrom(SchedulerLane<T> lane, ClassState state) {
+        T task = lane.poll();
+        if (task == null) {
+            return false;
+        }
+        TaskClassStats stats = lane.getStats();
+        long start = System.nanoTime();
+        stats.taskStarted(start - lane.takeQueueTime(start));
+        boolean success = false;
+        try {
+            lane.run(task);
+            success = true;
+        } catch (RuntimeException e) {
+            ThreadMonitor.addError(e);
+            logger.error("Error in task of {}", lane.getName(), e);
+        } catch (Error e) {
+            GameThread.asynch(() -> {
+                throw e;  // re-throw on game thread to terminate the entire application
+            });
+        } finally {
+            stats.taskFinished(System.nanoTime() - start, success);
+            state.running.decrementAndGet();
+            lane.release();
+        }
+        return true;
+    }
+
+    private static final class ClassState {
+        private final AtomicInteger running = new AtomicInteger();
+        private final TaskClassStats stats;
+        private volatile int limit;
+        private volatile SchedulerLane<?>[] lanes = new SchedulerLane<?>[0];
+        /**
+         * Where the next search for work in this class starts, so that lanes take turns; races are harmless
+         */
+        private int nextLane;
+
+        ClassState(int limit, TaskClassStats stats) {
+            this.limit = limit;
+            this.stats = stats;
+        }
+
+        boolean tryAcquire() {
+            int current;
+            do {
+                current = running.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!running.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
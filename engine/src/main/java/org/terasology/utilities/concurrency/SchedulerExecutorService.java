@@ -0,0 +1,75 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that runs its tasks on a lane of the {@link EngineScheduler}, for
+ * subsystems that work with futures.
+ */
+public class SchedulerExecutorService extends AbstractExecutorService {
+    private final SchedulerLane<Runnable> lane;
+    private volatile boolean shutdown;
+
+    /**
+     * @param queue the queue that keeps the tasks, in the order in which they should run
+     */
+    public SchedulerExecutorService(String name, TaskClass taskClass, int maxConcurrency, BlockingQueue<Runnable> queue) {
+        lane = EngineScheduler.getInstance().createLane(name, taskClass, maxConcurrency, queue, Runnable::run);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor " + lane.getName() + " has been shut down");
+        }
+        if (!lane.offer(command)) {
+            throw new RejectedExecutionException("Queue of " + lane.getName() + " is full");
+        }
+    }
+
+    /**
+     * Removes all tasks that have not been started yet.
+     */
+    public void clearQueue() {
+        lane.drainTo(Lists.newArrayList());
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        lane.close();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = Lists.newArrayList();
+        lane.drainTo(pending);
+        lane.close();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && lane.isIdle();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return lane.awaitIdle(timeout, unit) && isTerminated();
+    }
+}
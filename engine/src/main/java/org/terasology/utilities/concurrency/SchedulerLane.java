@@ -0,0 +1,228 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.concurrency;
+
+import org.terasology.monitoring.TaskClassStats;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A queue of tasks of one subsystem that are run by the {@link EngineScheduler}.
+ * <p>
+ * The lane decides in which order its tasks run, through the queue it was created with, and how many of them may run
+ * at the same time. A lane is created active; a paused lane keeps its queued tasks, but they are not run until it is
+ * resumed.
+ *
+ * @param <T> the type of the tasks
+ * @see EngineScheduler#createLane(String, TaskClass, int, BlockingQueue, Consumer)
+ */
+public final class SchedulerLane<T> {
+    private final EngineScheduler scheduler;
+    private final String name;
+    private final TaskClass taskClass;
+    private final int maxConcurrency;
+    private final BlockingQueue<T> queue;
+    private final Consumer<? super T> runner;
+    private final TaskClassStats stats;
+
+    /**
+     * The times at which the queued tasks were queued, oldest first
+     */
+    private final ConcurrentLinkedDeque<Long> queueTimes = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile boolean active;
+    private volatile boolean closing;
+
+    SchedulerLane(EngineScheduler scheduler, String name, TaskClass taskClass, int maxConcurrency, BlockingQueue<T> queue,
+                  Consumer<? super T> runner, TaskClassStats stats) {
+        this.scheduler = scheduler;
+        this.name = name;
+        this.taskClass = taskClass;
+        this.maxConcurrency = maxConcurrency;
+        this.queue = queue;
+        this.runner = runner;
+        this.stats = stats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TaskClass getTaskClass() {
+        return taskClass;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Queues a task; it is run as soon as the lane and its task class have a free slot.
+     *
+     * @return whether the queue accepted the task
+     */
+    public boolean offer(T task) {
+        queueTimes.addLast(System.nanoTime());
+        stats.taskQueued(1);
+        if (!queue.offer(task)) {
+            queueTimes.pollLast();
+            stats.taskQueued(-1);
+            return false;
+        }
+        if (active) {
+            scheduler.dispatch();
+        }
+        return true;
+    }
+
+    /**
+     * Removes all tasks that have not been started yet.
+     *
+     * @return the number of tasks removed
+     */
+    public int drainTo(Collection<? super T> target) {
+        int count = queue.drainTo(target);
+        for (int i = 0; i < count; i++) {
+            queueTimes.pollFirst();
+        }
+        stats.taskQueued(-count);
+        checkIdle();
+        return count;
+    }
+
+    /**
+     * @return the number of queued tasks
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of tasks being run right now
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return whether no task is queued or running
+     */
+    public boolean isIdle() {
+        return running.get() == 0 && queue.isEmpty();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Stops starting tasks of this lane. Tasks that are already running are not affected.
+     */
+    public void pause() {
+        active = false;
+        scheduler.unregister(this);
+        signalIfIdle();
+    }
+
+    public void resume() {
+        closing = false;
+        if (!active) {
+            active = true;
+            scheduler.register(this);
+        }
+    }
+
+    /**
+     * Pauses the lane as soon as all of its queued tasks have run.
+     */
+    public void close() {
+        closing = true;
+        if (isIdle()) {
+            pause();
+        }
+    }
+
+    /**
+     * Waits until no task is running and either no task is queued or the lane is paused.
+     *
+     * @return false if the timeout elapsed before
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (running.get() > 0 || (active && !queue.isEmpty())) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return whether the lane has a queued task it may start now
+     */
+    boolean hasWork() {
+        return active && running.get() < maxConcurrency && !queue.isEmpty();
+    }
+
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = running.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+        } while (!running.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release() {
+        running.decrementAndGet();
+        checkIdle();
+    }
+
+    T poll() {
+        return queue.poll();
+    }
+
+    /**
+     * @return the time at which the oldest queued task was queued
+     */
+    long takeQueueTime(long now) {
+        Long queueTime = queueTimes.pollFirst();
+        return queueTime != null ? queueTime : now;
+    }
+
+    void run(T task) {
+        runner.accept(task);
+    }
+
+    TaskClassStats getStats() {
+        return stats;
+    }
+
+    private void checkIdle() {
+        if (closing && active && isIdle()) {
+            pause();
+        } else {
+            signalIfIdle();
+        }
+    }
+
+    private void signalIfIdle() {
+        if (running.get() == 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.utilities.concurrency;
+
+/**
+ * The priority classes of the {@link EngineScheduler}, from the most to the least urgent.
+ * <p>
+ * When the scheduler has more work than threads, free threads take work of the most urgent class first. Every class
+ * has a concurrency limit, a share of the threads of the scheduler, so that no class can starve the others completely.
+ * The limit has a minimum, so that a long task of a class does not hold up all other tasks of it on machines with
+ * few cores.
+ */
+public enum TaskClass {
+    /**
+     * Generating, loading, lighting and unloading chunks.
+     */
+    GENERATION(0.75f, 2),
+    /**
+     * Tessellating chunk meshes.
+     */
+    MESHING(0.75f, 2),
+    /**
+     * Saving and other disk access.
+     */
+    IO(0.25f, 2),
+    /**
+     * Everything else, e.g. writing screenshots.
+     */
+    BACKGROUND(0.25f, 2);
+
+    private final float defaultShare;
+    private final int minimumLimit;
+
+    TaskClass(float defaultShare, int minimumLimit) {
+        this.defaultShare = defaultShare;
+        this.minimumLimit = minimumLimit;
+    }
+
+    /**
+     * @param parallelism the number of threads of the scheduler
+     * @return the default number of tasks of this class that may run at the same time
+     */
+    public int getDefaultConcurrencyLimit(int parallelism) {
+        return Math.max(minimumLimit, Math.round(parallelism * defaultShare));
+    }
+}
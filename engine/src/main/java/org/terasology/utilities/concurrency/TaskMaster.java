@@ -29,6 +29,7 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 /**
  * Manages execution of tasks on a queue.
@@ -62,6 +63,10 @@
 
     private final BlockingQueue<T> taskQueue;
     private ExecutorService executorService;
+    /**
+     * The lane of the engine scheduler that runs the tasks, or null if the task master has threads of its own
+     */
+    private final SchedulerLane<T> lane;
     private final int threads;
     private boolean running;
     private final String name;
@@ -73,9 +78,18 @@ private TaskMaster(String name, int threads, BlockingQueue<T> queue) {
             throw new IllegalArgumentException("Must have at least one thread.");
         }
         taskQueue = queue;
+        lane = null;
         restart();
     }
 
+    private TaskMaster(String name, TaskClass taskClass, int maxConcurrency, BlockingQueue<T> queue) {
+        this.name = name;
+        this.threads = maxConcurrency;
+        taskQueue = queue;
+        lane = EngineScheduler.getInstance().createLane(name, taskClass, maxConcurrency, queue, TaskProcessor::process);
+        running = true;
+    }
+
     /**
      * Creates a FIFO taskmaster which simply reads from a task queue in order
      */
@@ -83,6 +97,15 @@ public static <T extends Task> TaskMaster<T> createFIFOTaskMaster(String name, i
         return new TaskMaster<>(name, threads, new LinkedBlockingQueue<>());
     }
 
+    /**
+     * Creates a FIFO taskmaster which runs its tasks on the {@link EngineScheduler} instead of threads of its own.
+     *
+     * @param maxConcurrency how many tasks may run at the same time
+     */
+    public static <T extends Task> TaskMaster<T> createFIFOTaskMaster(String name, TaskClass taskClass, int maxConcurrency) {
+        return new TaskMaster<>(name, taskClass, maxConcurrency, new LinkedBlockingQueue<>());
+    }
+
     /**
      * Creates a prioritized taskmaster which uses {@link Comparable} Tasks to establish priority. The <em>least</em>
      * task (according to the Comparable interface) is processed first.
@@ -99,6 +122,25 @@ public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(Str
         return new TaskMaster<>(name, threads, new DynamicPriorityBlockingQueue<>(comparator));
     }
 
+    /**
+     * Creates a task master that runs the tasks with the lowest score first. The score of a task is computed once when
+     * it is queued; use {@link #reprioritize()} when the scores of the queued tasks have changed.
+     */
+    public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(String name, int threads, ToIntFunction<? super T> scoreFunction) {
+        return new TaskMaster<>(name, threads, new DynamicPriorityBlockingQueue<>(scoreFunction));
+    }
+
+    /**
+     * Like {@link #createDynamicPriorityTaskMaster(String, int, ToIntFunction)}, but runs the tasks on the
+     * {@link EngineScheduler} instead of threads of its own.
+     *
+     * @param maxConcurrency how many tasks may run at the same time
+     */
+    public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(String name, TaskClass taskClass, int maxConcurrency,
+                                                                               ToIntFunction<? super T> scoreFunction) {
+        return new TaskMaster<>(name, taskClass, maxConcurrency, new DynamicPriorityBlockingQueue<>(scoreFunction));
+    }
+
     /**
      * Offers a task to this task master. This does not block, but may fail if the queue is full.
      *
@@ -106,6 +148,9 @@ public static <T extends Task> TaskMaster<T> createDynamicPriorityTaskMaster(Str
      * @return Whether the task was successfully added to the queue.
      */
     public boolean offer(T task) {
+        if (lane != null) {
+            return lane.offer(task);
+        }
         return taskQueue.offer(task);
     }
 
@@ -115,13 +160,31 @@ public boolean offer(T task) {
      * @param task
      */
     public void put(T task) throws InterruptedException {
-        taskQueue.put(task);
+        if (lane != null) {
+            lane.offer(task);
+        } else {
+            taskQueue.put(task);
+        }
+    }
+
+    /**
+     * Re-evaluates the priorities of all queued tasks of a dynamic priority task master. Has no effect on other task
+     * masters.
+     */
+    public void reprioritize() {
+        if (taskQueue instanceof DynamicPriorityBlockingQueue) {
+            ((DynamicPriorityBlockingQueue<T>) taskQueue).reprioritize();
+        }
     }
 
     public void shutdown(T shutdownTask, boolean awaitComplete) {
         if (!shutdownTask.isTerminateSignal()) {
             throw new IllegalArgumentException("Expected task to provide terminate signal");
         }
+        if (lane != null) {
+            shutdownLane(awaitComplete);
+            return;
+        }
         if (!awaitComplete) {
             taskQueue.drainTo(Lists.newArrayList());
         }
@@ -148,8 +211,31 @@ public void shutdown(T shutdownTask, boolean awaitComplete) {
         running = false;
     }
 
+    /**
+     * Stops a task master that runs on the engine scheduler. The lane is paused rather than removed, so that the task
+     * master can be restarted.
+     */
+    private void shutdownLane(boolean awaitComplete) {
+        if (!awaitComplete) {
+            lane.drainTo(Lists.newArrayList());
+        }
+        try {
+            if (!lane.awaitIdle(20, TimeUnit.SECONDS)) {
+                logger.warn("Timed out awaiting completion of the tasks of {}", name);
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted awaiting completion of the tasks of {}", name);
+            Thread.currentThread().interrupt();
+        }
+        lane.pause();
+        running = false;
+    }
+
     public void restart() {
-        if (!running) {
+        if (!running && lane != null) {
+            lane.resume();
+            running = true;
+        } else if (!running) {
             executorService = Executors.newFixedThreadPool(threads);
             for (int i = 0; i < threads; ++i) {
                 executorService.execute(new TaskProcessor<>(name + "-" + i, taskQueue));
@@ -166,7 +252,8 @@ public void restart() {
      * {@code
      * taskMaster.offer(new ShutdownTask());
      * }
-     * @return the {@link ExecutorService} used by this instance
+     * @return the {@link ExecutorService} used by this instance, or null if the task master runs on the
+     *     {@link EngineScheduler}
      */
     public ExecutorService getExecutorService() {
         return executorService;
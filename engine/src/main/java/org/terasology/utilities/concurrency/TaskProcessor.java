@@ -46,9 +46,7 @@ public void run() {
         while (running) {
             try {
                 T task = queue.take();
-                try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
-                    task.run();
-                }
+                process(task);
                 if (task.isTerminateSignal()) {
                     running = false;
                 }
@@ -66,4 +64,13 @@ public void run() {
         }
         logger.debug("Thread shutdown safely");
     }
+
+    /**
+     * Runs a single task, monitored as an activity of the current thread.
+     */
+    static void process(Task task) {
+        try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
+            task.run();
+        }
+    }
 }
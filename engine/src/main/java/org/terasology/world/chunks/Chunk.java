@@ -28,4 +28,13 @@
  */
 @API
 public interface Chunk extends ManagedChunk, RenderableChunk {
+
+    /**
+     * Takes a snapshot of the current blocks, light and extra data of this chunk, without copying them.
+     * <p>
+     * Should be called by the thread modifying the chunk.
+     *
+     * @return a snapshot to be released once it is no longer read
+     */
+    ChunkSnapshot createSnapshot();
 }
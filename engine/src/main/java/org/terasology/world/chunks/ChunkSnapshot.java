@@ -0,0 +1,61 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks;
+
+import org.joml.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.block.Block;
+
+/**
+ * A read-only view of the blocks, light and extra data of a chunk, as they were when the snapshot was taken.
+ * <p>
+ * Taking a snapshot copies nothing. Instead, the chunk copies an array the first time it writes to it while a snapshot
+ * shares the array, so a snapshot can be read from any thread while the chunk keeps changing. A snapshot should be
+ * released once it is no longer read, so the chunk stops copying for it.
+ * <p>
+ * Writes running concurrently with taking the snapshot, on other threads than the one taking it, may still be seen by
+ * it.
+ *
+ * @see Chunk#createSnapshot()
+ */
+public interface ChunkSnapshot {
+
+    /**
+     * @return the position of the chunk
+     */
+    Vector3i getPosition(Vector3i dest);
+
+    /**
+     * The version of a chunk is incremented on each write. Two snapshots of the same chunk with the same version hold
+     * the same data.
+     *
+     * @return the version of the chunk when the snapshot was taken
+     */
+    int getVersion();
+
+    /**
+     * @param x X offset from the corner of the chunk
+     * @param y Y offset from the corner of the chunk
+     * @param z Z offset from the corner of the chunk
+     */
+    Block getBlock(int x, int y, int z);
+
+    byte getSunlight(int x, int y, int z);
+
+    byte getSunlightRegen(int x, int y, int z);
+
+    byte getLight(int x, int y, int z);
+
+    int getExtraData(int index, int x, int y, int z);
+
+    /**
+     * @return the blocks and extra data of the snapshot, encoded for storage or the network
+     */
+    EntityData.ChunkStore.Builder encode();
+
+    /**
+     * Marks the snapshot as no longer read. It must not be used afterwards.
+     */
+    void release();
+}
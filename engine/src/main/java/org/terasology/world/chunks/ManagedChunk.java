@@ -37,6 +37,14 @@ public interface ManagedChunk extends CoreChunk {
 
     void prepareForReactivation();
 
+    /**
+     * Iterates only the blocks of this chunk that require lifecycle events, which are indexed when the chunk is created
+     * and kept up to date as blocks are set.
+     *
+     * @return an iterator over the blocks requiring lifecycle events
+     */
+    ChunkBlockIterator getLifecycleBlockIterator();
+
     // TODO: Expose appropriate iterators, remove this method
     EntityData.ChunkStore.Builder encode();
 }
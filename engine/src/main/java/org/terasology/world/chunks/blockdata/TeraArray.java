@@ -129,6 +129,16 @@ public String toString() {
 
     public abstract boolean isSparse();
 
+    /**
+     * Shared arrays are used by several owners at once, and must not be written to. Their owners have to replace them
+     * by a {@link #copy()} before writing to them.
+     *
+     * @return whether the array is shared and read-only
+     */
+    public boolean isShared() {
+        return false;
+    }
+
     public abstract TeraArray copy();
 
     public abstract TeraArray deflate(TeraVisitingDeflator deflator);
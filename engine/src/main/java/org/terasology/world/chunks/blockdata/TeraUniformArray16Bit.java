@@ -0,0 +1,98 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.collect.Maps;
+import org.terasology.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * TeraUniformArray16Bit is a read-only array of 16 bit elements that all have the same value, such as the block data
+ * of a chunk that is all air or all stone.
+ * <p>
+ * There is a single instance per size and value, shared by every chunk that uses it, so it takes no memory per chunk.
+ * It is {@link #isShared() shared} and cannot be written to: {@link #copy()} turns it into a
+ * {@link TeraDenseArray16Bit} that can, which the owner of the array has to do before its first write.
+ * <p>
+ * As its instances are shared, it has no factory and no serialization handler; use {@link #of(int, int, int, short)}.
+ */
+public final class TeraUniformArray16Bit extends TeraArray {
+
+    private static final Map<Long, TeraUniformArray16Bit> INSTANCES = Maps.newConcurrentMap();
+
+    private final short value;
+
+    private TeraUniformArray16Bit(int sizeX, int sizeY, int sizeZ, short value) {
+        super(sizeX, sizeY, sizeZ, false);
+        this.value = value;
+    }
+
+    /**
+     * @return the shared array of the given size whose elements all are the given value
+     */
+    public static TeraUniformArray16Bit of(int sizeX, int sizeY, int sizeZ, short value) {
+        long key = ((long) sizeX << 48) | ((long) (sizeY & 0xFFFF) << 32) | ((long) (sizeZ & 0xFFFF) << 16) | (value & 0xFFFF);
+        return INSTANCES.computeIfAbsent(key, k -> new TeraUniformArray16Bit(sizeX, sizeY, sizeZ, value));
+    }
+
+    public short getValue() {
+        return value;
+    }
+
+    @Override
+    protected void initialize() {
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    @Override
+    public TeraArray copy() {
+        short[] data = new short[getSizeXYZ()];
+        if (value != 0) {
+            Arrays.fill(data, value);
+        }
+        return new TeraDenseArray16Bit(getSizeX(), getSizeY(), getSizeZ(), data);
+    }
+
+    @Override
+    public TeraArray deflate(TeraVisitingDeflator deflator) {
+        return this;
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        // Only the reference to the shared instance
+        return 4;
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return 16;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        return value;
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        throw new UnsupportedOperationException("Shared arrays are read-only, copy them before writing to them");
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        throw new UnsupportedOperationException("Shared arrays are read-only, copy them before writing to them");
+    }
+}
@@ -34,10 +34,11 @@
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkBlockIterator;
 import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.ChunkSnapshot;
 import org.terasology.world.chunks.Chunks;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.world.chunks.blockdata.TeraArray;
-import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.world.chunks.blockdata.TeraUniformArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
 import org.terasology.world.chunks.deflate.TeraDeflator;
 import org.terasology.world.chunks.deflate.TeraStandardDeflator;
@@ -67,9 +68,22 @@ public class ChunkImpl implements Chunk {
     private TeraArray lightData;
 
     private TeraArray blockData;
-    private volatile TeraArray blockDataSnapshot;
     private TeraArray[] extraData;
-    private volatile TeraArray[] extraDataSnapshots;
+    private final LifecycleBlockIndex lifecycleBlocks;
+
+    /**
+     * Incremented on each write, so snapshots with the same version hold the same data.
+     */
+    private int version;
+    private final Object snapshotLock = new Object();
+    /**
+     * The most recently taken snapshot, or null once all snapshots are released. Arrays shared with older open
+     * snapshots are either shared with this one as well or no longer written to, so writes only check this one.
+     * Checking it and writing are not atomic with taking a snapshot, so snapshots have to be taken by the thread that
+     * writes to the chunk.
+     */
+    private volatile Snapshot latestSnapshot;
+    private int openSnapshots;
 
     private AABB aabb;
     private BlockRegion region;
@@ -89,7 +103,7 @@ public ChunkImpl(int x, int y, int z, BlockManager blockManager, ExtraBlockDataM
 
     public ChunkImpl(Vector3i chunkPos, BlockManager blockManager, ExtraBlockDataManager extraDataManager) {
         this(chunkPos,
-                new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
+                TeraUniformArray16Bit.of(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, (short) 0),
                 extraDataManager.makeDataArrays(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
                 blockManager);
     }
@@ -108,6 +122,10 @@ public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray[] extra, BlockMa
                 chunkPos.y * ChunkConstants.SIZE_Y,
                 chunkPos.z * ChunkConstants.SIZE_Z)
                 .setSize(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+        if (blockData.isShared()) {
+            ChunkMonitor.recordSharedBlockData();
+        }
+        lifecycleBlocks = LifecycleBlockIndex.build(blockData, blockManager);
         ChunkMonitor.fireChunkCreated(this);
     }
 
@@ -167,10 +185,19 @@ public final Block getBlock(int x, int y, int z) {
     // so whatever sets a block to something extraData sensitive should also initialise the extra data.
     @Override
     public Block setBlock(int x, int y, int z, Block block) {
-        if (blockData == blockDataSnapshot) {
+        // Writing the value already there must not undo the sharing of uniform block data, nor copy snapshot arrays
+        if (blockData.get(x, y, z) == block.getId()) {
+            return block;
+        }
+        if (blockData.isShared()) {
+            ChunkMonitor.recordSharedBlockDataCopied();
             blockData = blockData.copy();
+        } else {
+            blockData = writable(blockData);
         }
+        version++;
         int oldValue = blockData.set(x, y, z, block.getId());
+        lifecycleBlocks.update(x, y, z, block);
         return blockManager.getBlock((short) oldValue);
     }
 
@@ -202,6 +229,8 @@ public boolean setSunlight(BaseVector3i pos, byte amount) {
     @Override
     public boolean setSunlight(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_SUNLIGHT);
+        sunlightData = writable(sunlightData);
+        version++;
         return sunlightData.set(x, y, z, amount) != amount;
     }
 
@@ -223,6 +252,8 @@ public boolean setSunlightRegen(BaseVector3i pos, byte amount) {
     @Override
     public boolean setSunlightRegen(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_SUNLIGHT_REGEN);
+        sunlightRegenData = writable(sunlightRegenData);
+        version++;
         return sunlightRegenData.set(x, y, z, amount) != amount;
     }
 
@@ -244,6 +275,8 @@ public boolean setLight(BaseVector3i pos, byte amount) {
     @Override
     public boolean setLight(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_LIGHT);
+        lightData = writable(lightData);
+        version++;
         return lightData.set(x, y, z, amount) != amount;
     }
 
@@ -264,9 +297,8 @@ public int getExtraData(int index, Vector3ic pos) {
 
     @Override
     public void setExtraData(int index, int x, int y, int z, int value) {
-        if (extraDataSnapshots != null && extraData[index] == extraDataSnapshots[index]) {
-            extraData[index] = extraData[index].copy();
-        }
+        extraData[index] = writable(extraData[index]);
+        version++;
         extraData[index].set(x, y, z, value);
     }
 
@@ -524,6 +556,7 @@ public void prepareForReactivation() {
             sunlightRegenData = new TeraDenseArray8Bit(Chunks.SIZE_X, Chunks.SIZE_Y,
                 Chunks.SIZE_Z);
             lightData = new TeraDenseArray8Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
+            version++;
         }
     }
 
@@ -581,33 +614,126 @@ public ChunkBlockIterator getBlockIterator() {
         return new ChunkBlockIteratorImpl(blockManager, getChunkWorldOffset(), blockData);
     }
 
+    @Override
+    public ChunkBlockIterator getLifecycleBlockIterator() {
+        return lifecycleBlocks.iterator(blockData, blockManager, getChunkWorldOffset());
+    }
+
     @Override
     public EntityData.ChunkStore.Builder encode() {
         return ChunkSerializer.encode(JomlUtil.from(chunkPos), blockData, extraData);
     }
 
-    /**
-     * Calling this method results in a (cheap) snapshot to be taken of the current state of the chunk. This snapshot
-     * can then be obtained and rleased by calling {@link #encodeAndReleaseSnapshot()}.
-     */
-    public void createSnapshot() {
-        this.blockDataSnapshot = this.blockData;
-        this.extraDataSnapshots = new TeraArray[extraData.length];
-        System.arraycopy(extraData, 0, extraDataSnapshots, 0, extraData.length);
+    @Override
+    public ChunkSnapshot createSnapshot() {
+        synchronized (snapshotLock) {
+            Snapshot snapshot = new Snapshot(version, blockData, sunlightData, sunlightRegenData, lightData,
+                    extraData.clone());
+            openSnapshots++;
+            latestSnapshot = snapshot;
+            ChunkMonitor.recordChunkSnapshot();
+            return snapshot;
+        }
+    }
+
+    private void release(Snapshot snapshot) {
+        synchronized (snapshotLock) {
+            if (!snapshot.released) {
+                snapshot.released = true;
+                openSnapshots--;
+                if (openSnapshots == 0) {
+                    latestSnapshot = null;
+                }
+            }
+        }
     }
 
     /**
-     * This method can only be called once after {@link #createSnapshot()} has been called. It can be called from a
-     * different thread than {@link #createSnapshot()}, but it must be made sure that neither method is still running
-     * when the other gets called.
-     *
-     * @return an encoded version of the snapshot taken with {@link #createSnapshot()}.
+     * @return the array itself, or a copy to write to instead if a snapshot shares the array
      */
-    public EntityData.ChunkStore.Builder encodeAndReleaseSnapshot() {
-        EntityData.ChunkStore.Builder result = ChunkSerializer.encode(JomlUtil.from(chunkPos), blockDataSnapshot, extraDataSnapshots);
-        this.blockDataSnapshot = null;
-        this.extraDataSnapshots = null;
-        return result;
-    }
+    private TeraArray writable(TeraArray array) {
+        Snapshot snapshot = latestSnapshot;
+        if (snapshot == null || !snapshot.shares(array)) {
+            return array;
+        }
+        ChunkMonitor.recordSnapshotArrayCopied();
+        return array.copy();
+    }
+
+    private final class Snapshot implements ChunkSnapshot {
+        private final int snapshotVersion;
+        private final TeraArray blocks;
+        private final TeraArray sunlight;
+        private final TeraArray sunlightRegen;
+        private final TeraArray light;
+        private final TeraArray[] extra;
+        private boolean released;
+
+        private Snapshot(int snapshotVersion, TeraArray blocks, TeraArray sunlight, TeraArray sunlightRegen,
+                         TeraArray light, TeraArray[] extra) {
+            this.snapshotVersion = snapshotVersion;
+            this.blocks = blocks;
+            this.sunlight = sunlight;
+            this.sunlightRegen = sunlightRegen;
+            this.light = light;
+            this.extra = extra;
+        }
 
+        private boolean shares(TeraArray array) {
+            if (array == blocks || array == sunlight || array == sunlightRegen || array == light) {
+                return true;
+            }
+            for (TeraArray extraArray : extra) {
+                if (array == extraArray) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public org.joml.Vector3i getPosition(org.joml.Vector3i dest) {
+            return dest.set(chunkPos.x, chunkPos.y, chunkPos.z);
+        }
+
+        @Override
+        public int getVersion() {
+            return snapshotVersion;
+        }
+
+        @Override
+        public Block getBlock(int x, int y, int z) {
+            return blockManager.getBlock((short) blocks.get(x, y, z));
+        }
+
+        @Override
+        public byte getSunlight(int x, int y, int z) {
+            return (byte) sunlight.get(x, y, z);
+        }
+
+        @Override
+        public byte getSunlightRegen(int x, int y, int z) {
+            return (byte) sunlightRegen.get(x, y, z);
+        }
+
+        @Override
+        public byte getLight(int x, int y, int z) {
+            return (byte) light.get(x, y, z);
+        }
+
+        @Override
+        public int getExtraData(int index, int x, int y, int z) {
+            return extra[index].get(x, y, z);
+        }
+
+        @Override
+        public EntityData.ChunkStore.Builder encode() {
+            return ChunkSerializer.encode(JomlUtil.from(chunkPos), blocks, extra);
+        }
+
+        @Override
+        public void release() {
+            ChunkImpl.this.release(this);
+        }
+    }
 }
@@ -18,6 +18,7 @@
 import org.terasology.world.chunks.blockdata.TeraArray;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraUniformArray16Bit;
 
 /**
  */
@@ -110,7 +111,15 @@ private static EntityData.RunLengthEncoding8 runLengthEncode8(TeraArray array) {
 
     private static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
         Preconditions.checkState(data.getValuesCount() == data.getRunLengthsCount(), "Expected same number of values as runs");
-        short[] decodedData = new short[Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z];
+        // Chunks that are all air or all of one block share their data until they are first written to
+        int volume = Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z;
+        if (data.getValuesCount() == 0) {
+            return TeraUniformArray16Bit.of(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z, (short) 0);
+        }
+        if (data.getValuesCount() == 1 && data.getRunLengths(0) == volume) {
+            return TeraUniformArray16Bit.of(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z, (short) data.getValues(0));
+        }
+        short[] decodedData = new short[volume];
         int index = 0;
         for (int pos = 0; pos < data.getValuesCount(); ++pos) {
             int length = data.getRunLengths(pos);
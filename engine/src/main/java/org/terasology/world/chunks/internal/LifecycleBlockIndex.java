@@ -0,0 +1,126 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks.internal;
+
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.ChunkBlockIterator;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraUniformArray16Bit;
+
+import java.util.Arrays;
+
+/**
+ * The positions of the blocks of a chunk that require lifecycle events, so that activating and deactivating the chunk
+ * only visits those blocks instead of all blocks of the chunk.
+ * <p>
+ * Positions are stored as indices in the order the blocks of a chunk are iterated: x first, then y, then z.
+ */
+final class LifecycleBlockIndex {
+    private final int sizeX;
+    private final int sizeY;
+    private TIntSet positions;
+
+    private LifecycleBlockIndex(int sizeX, int sizeY) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+    }
+
+    /**
+     * Finds the blocks requiring lifecycle events in the given block data.
+     */
+    static LifecycleBlockIndex build(TeraArray blocks, BlockManager blockManager) {
+        LifecycleBlockIndex index = new LifecycleBlockIndex(blocks.getSizeX(), blocks.getSizeY());
+        if (blocks instanceof TeraUniformArray16Bit
+                && !requiresLifecycleEvents(blockManager, ((TeraUniformArray16Bit) blocks).getValue())) {
+            return index;
+        }
+
+        int lastId = -1;
+        boolean lastRequired = false;
+        for (int z = 0; z < blocks.getSizeZ(); z++) {
+            for (int y = 0; y < blocks.getSizeY(); y++) {
+                for (int x = 0; x < blocks.getSizeX(); x++) {
+                    int id = blocks.get(x, y, z);
+                    if (id != lastId) {
+                        lastId = id;
+                        lastRequired = requiresLifecycleEvents(blockManager, (short) id);
+                    }
+                    if (lastRequired) {
+                        index.add(x, y, z);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Keeps the index up to date with a block that was set.
+     */
+    void update(int x, int y, int z, Block block) {
+        if (block.isLifecycleEventsRequired()) {
+            add(x, y, z);
+        } else if (positions != null) {
+            positions.remove(toIndex(x, y, z));
+        }
+    }
+
+    /**
+     * @param worldOffset the world position of the chunk's first block
+     * @return an iterator over the indexed blocks, in the order they are iterated in the chunk
+     */
+    ChunkBlockIterator iterator(TeraArray blocks, BlockManager blockManager, Vector3i worldOffset) {
+        int[] indices = positions == null ? new int[0] : positions.toArray();
+        Arrays.sort(indices);
+        return new ChunkBlockIterator() {
+            private final Vector3i blockPos = new Vector3i();
+            private int next;
+            private Block block;
+
+            @Override
+            public boolean next() {
+                if (next >= indices.length) {
+                    return false;
+                }
+                int index = indices[next++];
+                int x = index % sizeX;
+                int y = index / sizeX % sizeY;
+                int z = index / sizeX / sizeY;
+                blockPos.set(x + worldOffset.x, y + worldOffset.y, z + worldOffset.z);
+                block = blockManager.getBlock((short) blocks.get(x, y, z));
+                return true;
+            }
+
+            @Override
+            public Block getBlock() {
+                return block;
+            }
+
+            @Override
+            public Vector3i getBlockPos() {
+                return blockPos;
+            }
+        };
+    }
+
+    private void add(int x, int y, int z) {
+        if (positions == null) {
+            positions = new TIntHashSet();
+        }
+        positions.add(toIndex(x, y, z));
+    }
+
+    private int toIndex(int x, int y, int z) {
+        return x + sizeX * (y + sizeY * z);
+    }
+
+    private static boolean requiresLifecycleEvents(BlockManager blockManager, short id) {
+        Block block = blockManager.getBlock(id);
+        return block != null && block.isLifecycleEventsRequired();
+    }
+}
@@ -2,7 +2,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.world.chunks.localChunkProvider;
 
-import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
@@ -27,10 +26,10 @@
 import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.StorageManager;
+import org.terasology.utilities.concurrency.TaskClass;
 import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.block.BeforeDeactivateBlocks;
-import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.block.BlockRegion;
 import org.terasology.world.block.OnActivatedBlocks;
@@ -57,12 +56,13 @@
 import org.terasology.world.propagation.light.LightMerger;
 
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -93,10 +93,14 @@ public class LocalChunkProvider implements ChunkProvider {
     private static final int UNLOAD_PER_FRAME = 64;
     private final EntityManager entityManager;
     private final BlockingQueue<Chunk> readyChunks = Queues.newLinkedBlockingQueue();
+    // Ready chunks left over by the activation budget of previous frames, only used by the main thread
+    private final List<Chunk> awaitingActivation = Lists.newArrayList();
     private final BlockingQueue<TShortObjectMap<TIntList>> deactivateBlocksQueue = Queues.newLinkedBlockingQueue();
     private final Map<Vector3i, Chunk> chunkCache;
 
     private final Map<org.joml.Vector3i, List<EntityStore>> generateQueuedEntities = new ConcurrentHashMap<>();
+    // Stores of loaded chunks, read and decoded by the loading pipeline, whose entities have yet to be restored
+    private final Map<org.joml.Vector3i, ChunkStore> loadedChunkStores = new ConcurrentHashMap<>();
 
     private final StorageManager storageManager;
     private final WorldGenerator generator;
@@ -109,6 +113,9 @@ public class LocalChunkProvider implements ChunkProvider {
 
     private RelevanceSystem relevanceSystem;
 
+    private long activationTimePerFrame;
+    private int activationsPerFrame;
+
     public LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
                               BlockManager blockManager, ExtraBlockDataManager extraDataManager,
                               Map<Vector3i, Chunk> chunkCache) {
@@ -117,13 +124,15 @@ public LocalChunkProvider(StorageManager storageManager, EntityManager entityMan
         this.generator = generator;
         this.blockManager = blockManager;
         this.extraDataManager = extraDataManager;
-        this.unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", 4);
+        this.unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", TaskClass.GENERATION, 4);
         this.chunkCache = chunkCache;
         ChunkMonitor.fireChunkProviderInitialized(this);
     }
 
 
     protected Future<Chunk> createOrLoadChunk(Vector3i chunkPos) {
+        // Chunks requested outside of the relevance regions are unloaded again once they are done
+        relevanceSystem.queueUnloadIfIrrelevant(JomlUtil.from(chunkPos));
         return loadingPipeline.invokeGeneratorTask(
                 JomlUtil.from(chunkPos),
                 () -> {
@@ -136,6 +145,12 @@ protected Future<Chunk> createOrLoadChunk(Vector3i chunkPos) {
                         generateQueuedEntities.put(chunk.getPosition(new org.joml.Vector3i()), buffer.getAll());
                     } else {
                         chunk = chunkStore.getChunk();
+                        org.joml.Vector3i position = chunk.getPosition(new org.joml.Vector3i());
+                        loadedChunkStores.put(position, chunkStore);
+                        // The chunk may have been dropped while its store was read, then nothing would take the store
+                        if (!loadingPipeline.isPositionProcessing(position)) {
+                            loadedChunkStores.remove(position, chunkStore);
+                        }
                     }
                     return chunk;
                 });
@@ -189,7 +204,22 @@ public void setWorldEntity(EntityRef worldEntity) {
     }
 
 
+    /**
+     * Limits how many ready chunks are activated per frame. Activating a chunk restores or generates its entities and
+     * sends the block and chunk lifecycle events, which is too much work for a single frame when many chunks become
+     * ready at once. Chunks over the budget wait for the next frames, closest to the relevance regions first.
+     *
+     * @param timePerFrameInMs the time after which no more chunks are activated in a frame, 0 for no limit. At least
+     *                         one chunk is activated per frame.
+     * @param chunksPerFrame the number of chunks activated at most in a frame, 0 for no limit
+     */
+    public void setActivationBudget(long timePerFrameInMs, int chunksPerFrame) {
+        this.activationTimePerFrame = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timePerFrameInMs));
+        this.activationsPerFrame = Math.max(0, chunksPerFrame);
+    }
+
     private void processReadyChunk(final Chunk chunk) {
+        ChunkStore store = loadedChunkStores.remove(chunk.getPosition(new org.joml.Vector3i()));
         if (chunkCache.get(chunk.getPosition()) != null) {
             return; // TODO move it in pipeline;
         }
@@ -197,7 +227,6 @@ private void processReadyChunk(final Chunk chunk) {
         chunk.markReady();
         //TODO, it is not clear if the activate/addedBlocks event logic is correct.
         //See https://github.com/MovingBlocks/Terasology/issues/3244
-        ChunkStore store = this.storageManager.loadChunkStore(chunk.getPosition());
         TShortObjectMap<TIntList> mappings = createBatchBlockEventMappings(chunk);
         if (store != null) {
             store.restoreEntities();
@@ -242,6 +271,8 @@ private void processReadyChunk(final Chunk chunk) {
             worldEntity.send(new OnChunkGenerated(chunk.getPosition()));
         }
         worldEntity.send(new OnChunkLoaded(chunk.getPosition(new org.joml.Vector3i())));
+        // The chunk may have been checked for unloading while it was waiting for activation
+        relevanceSystem.queueUnloadIfIrrelevant(chunk.getPosition(new org.joml.Vector3i()));
     }
 
     private void generateQueuedEntities(EntityStore store) {
@@ -261,10 +292,30 @@ private void generateQueuedEntities(EntityStore store) {
     public void update() {
         deactivateBlocks();
         checkForUnload();
-        Chunk chunk;
-        while ((chunk = readyChunks.poll()) != null) {
-            processReadyChunk(chunk);
+        activateReadyChunks();
+    }
+
+    private void activateReadyChunks() {
+        readyChunks.drainTo(awaitingActivation);
+        int limit = activationsPerFrame > 0 ? Math.min(activationsPerFrame, awaitingActivation.size())
+                : awaitingActivation.size();
+        if (limit < awaitingActivation.size() && relevanceSystem != null) {
+            Comparator<Vector3ic> relevance = relevanceSystem.createChunkPositionComparator();
+            awaitingActivation.sort(Comparator.comparing(chunk -> chunk.getPosition(new org.joml.Vector3i()),
+                    relevance));
+        }
+
+        PerformanceMonitor.startActivity("Activating ready chunks");
+        long start = System.nanoTime();
+        int activated = 0;
+        while (activated < limit && (activated == 0 || activationTimePerFrame == 0
+                || System.nanoTime() - start < activationTimePerFrame)) {
+            processReadyChunk(awaitingActivation.get(activated));
+            activated++;
         }
+        awaitingActivation.subList(0, activated).clear();
+        PerformanceMonitor.endActivity();
+        ChunkMonitor.recordChunkActivation(activated, awaitingActivation.size());
     }
 
     private void deactivateBlocks() {
@@ -284,18 +335,12 @@ private void deactivateBlocks() {
     private void checkForUnload() {
         PerformanceMonitor.startActivity("Unloading irrelevant chunks");
         int unloaded = 0;
-        Iterator<org.joml.Vector3ic> iterator = Iterators.concat(
-                Iterators.transform(chunkCache.keySet().iterator(), v -> new org.joml.Vector3i(v.x, v.y, v.z)),
-                loadingPipeline.getProcessingPosition().iterator());
-        while (iterator.hasNext()) {
-            org.joml.Vector3ic pos = iterator.next();
-            boolean keep = relevanceSystem.isChunkInRegions(pos); // TODO: move it to relevance system.
-            if (!keep && unloadChunkInternal(JomlUtil.from(pos))) {
-                iterator.remove();
-                if (++unloaded >= UNLOAD_PER_FRAME) {
-                    break;
-                }
-
+        org.joml.Vector3ic pos;
+        while (unloaded < UNLOAD_PER_FRAME && (pos = relevanceSystem.pollUnloadCandidate()) != null) {
+            Vector3i chunkPos = JomlUtil.from(pos);
+            if (unloadChunkInternal(chunkPos)) {
+                chunkCache.remove(chunkPos);
+                unloaded++;
             }
         }
         if (unloaded > 0) {
@@ -308,6 +353,7 @@ private boolean unloadChunkInternal(Vector3i pos) {
         if (loadingPipeline.isPositionProcessing(JomlUtil.from(pos))) {
             // Chunk hasn't been finished or changed, so just drop it.
             loadingPipeline.stopProcessingAt(JomlUtil.from(pos));
+            loadedChunkStores.remove(JomlUtil.from(pos));
             return false;
         }
         Chunk chunk = chunkCache.get(pos);
@@ -338,17 +384,16 @@ void gatherBlockPositionsForDeactivate(Chunk chunk) {
 
     private TShortObjectMap<TIntList> createBatchBlockEventMappings(Chunk chunk) {
         TShortObjectMap<TIntList> batchBlockMap = new TShortObjectHashMap<>();
-        blockManager.listRegisteredBlocks().stream().filter(Block::isLifecycleEventsRequired).forEach(block ->
-                batchBlockMap.put(block.getId(), new TIntArrayList()));
-
-        ChunkBlockIterator i = chunk.getBlockIterator();
+        ChunkBlockIterator i = chunk.getLifecycleBlockIterator();
         while (i.next()) {
-            if (i.getBlock().isLifecycleEventsRequired()) {
-                TIntList positionList = batchBlockMap.get(i.getBlock().getId());
-                positionList.add(i.getBlockPos().x);
-                positionList.add(i.getBlockPos().y);
-                positionList.add(i.getBlockPos().z);
+            TIntList positionList = batchBlockMap.get(i.getBlock().getId());
+            if (positionList == null) {
+                positionList = new TIntArrayList();
+                batchBlockMap.put(i.getBlock().getId(), positionList);
             }
+            positionList.add(i.getBlockPos().x);
+            positionList.add(i.getBlockPos().y);
+            positionList.add(i.getBlockPos().z);
         }
         return batchBlockMap;
     }
@@ -405,6 +450,7 @@ public void dispose() {
             chunk.dispose();
         }
         chunkCache.clear();
+        awaitingActivation.clear();
         /*
          * The chunk monitor needs to clear chunk references, so it's important
          * that no new chunk get created
@@ -438,6 +484,8 @@ public void purgeWorld() {
             chunk.dispose();
         });
         chunkCache.clear();
+        awaitingActivation.clear();
+        loadedChunkStores.clear();
         storageManager.deleteWorld();
         worldEntity.send(new PurgeWorldEvent());
 
@@ -456,7 +504,7 @@ public void purgeWorld() {
                                 .collect(Collectors.toSet())
                 ))
                 .addStage(ChunkTaskProvider.create("Chunk ready", readyChunks::add));
-        unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", 8);
+        unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", TaskClass.GENERATION, 8);
         ChunkMonitor.fireChunkProviderInitialized(this);
 
         for (ChunkRelevanceRegion chunkRelevanceRegion : relevanceSystem.getRegions()) {
@@ -3,6 +3,9 @@
 package org.terasology.world.chunks.localChunkProvider;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -17,6 +20,7 @@
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.world.RelevanceRegionComponent;
 import org.terasology.world.WorldComponent;
+import org.terasology.world.block.BlockRegion;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkRegionListener;
 import org.terasology.world.chunks.event.BeforeChunkUnload;
@@ -26,7 +30,9 @@
 
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -41,12 +47,20 @@
  * Client side multiplayer downloads and displays the chunks sent by the server.
  * <p>
  * It is uses {@link RelevanceRegionComponent} for determinate "view distance".
+ * <p>
+ * Counts for each chunk position how many regions keep it loaded. The counts change only when a region moves or
+ * changes its size, and then only for the positions it entered or left. Positions no region keeps loaded anymore are
+ * queued for the chunk provider to unload.
  */
 public class RelevanceSystem implements UpdateSubscriberSystem {
 
     private static final Vector3i UNLOAD_LEEWAY = new Vector3i(1, 1, 1);
     private final ReadWriteLock regionLock = new ReentrantReadWriteLock();
     private final Map<EntityRef, ChunkRelevanceRegion> regions = Maps.newHashMap();
+    // Guarded by regionLock, like the regions
+    private final TObjectIntMap<Vector3ic> relevanceCounts = new TObjectIntHashMap<>();
+    private final Map<ChunkRelevanceRegion, BlockRegion> countedRegions = Maps.newHashMap();
+    private final Set<Vector3ic> unloadCandidates = Sets.newLinkedHashSet();
     private final LocalChunkProvider chunkProvider;
 
     public RelevanceSystem(LocalChunkProvider chunkProvider) {
@@ -93,14 +107,15 @@ public void onRemoveChunk(BeforeChunkUnload chunkUnloadEvent, EntityRef worldEnt
      * @param distance new distance for setting to entity's region.
      */
     public void updateRelevanceEntityDistance(EntityRef entity, Vector3ic distance) {
-        regionLock.readLock().lock();
+        regionLock.writeLock().lock();
         try {
             ChunkRelevanceRegion region = regions.get(entity);
             if (region != null) {
                 region.setRelevanceDistance(distance);
+                updateRelevanceCounts(region);
             }
         } finally {
-            regionLock.readLock().unlock();
+            regionLock.writeLock().unlock();
         }
     }
 
@@ -112,7 +127,10 @@ public void updateRelevanceEntityDistance(EntityRef entity, Vector3ic distance)
     public void removeRelevanceEntity(EntityRef entity) {
         regionLock.writeLock().lock();
         try {
-            regions.remove(entity);
+            ChunkRelevanceRegion region = regions.remove(entity);
+            if (region != null) {
+                updateRelevanceCounts(region);
+            }
         } finally {
             regionLock.writeLock().unlock();
         }
@@ -126,6 +144,12 @@ private void updateRelevance() {
             for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
                 chunkRelevanceRegion.update();
                 if (chunkRelevanceRegion.isDirty()) {
+                    regionLock.writeLock().lock();
+                    try {
+                        updateRelevanceCounts(chunkRelevanceRegion);
+                    } finally {
+                        regionLock.writeLock().unlock();
+                    }
                     for (Vector3i pos : chunkRelevanceRegion.getNeededChunks()) {
                         Chunk chunk = chunkProvider.getChunk(pos);
                         if (chunk != null) {
@@ -152,15 +176,16 @@ public void addRelevanceEntity(EntityRef entity, Vector3ic distance, ChunkRegion
         if (!entity.exists()) {
             return;
         }
-        regionLock.readLock().lock();
+        regionLock.writeLock().lock();
         try {
             ChunkRelevanceRegion region = regions.get(entity);
             if (region != null) {
                 region.setRelevanceDistance(distance);
+                updateRelevanceCounts(region);
                 return;
             }
         } finally {
-            regionLock.readLock().unlock();
+            regionLock.writeLock().unlock();
         }
         ChunkRelevanceRegion region = new ChunkRelevanceRegion(entity, distance);
         if (listener != null) {
@@ -169,6 +194,7 @@ public void addRelevanceEntity(EntityRef entity, Vector3ic distance, ChunkRegion
         regionLock.writeLock().lock();
         try {
             regions.put(entity, region);
+            updateRelevanceCounts(region);
         } finally {
             regionLock.writeLock().unlock();
         }
@@ -194,12 +220,92 @@ public void addRelevanceEntity(EntityRef entity, Vector3ic distance, ChunkRegion
      * @return {@code true} if chunk in regions, otherwise {@code false}
      */
     public boolean isChunkInRegions(Vector3ic pos) {
-        for (ChunkRelevanceRegion region : regions.values()) {
-            if (region.getCurrentRegion().expand(UNLOAD_LEEWAY).contains(pos)) {
-                return true;
+        regionLock.readLock().lock();
+        try {
+            return relevanceCounts.containsKey(pos);
+        } finally {
+            regionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queues a chunk position for unloading if no region keeps it loaded. Positions leaving all regions are queued
+     * by the relevance system itself, this is for chunks that were requested outside of them.
+     *
+     * @param pos chunk's position
+     */
+    public void queueUnloadIfIrrelevant(Vector3ic pos) {
+        regionLock.writeLock().lock();
+        try {
+            if (!relevanceCounts.containsKey(pos)) {
+                unloadCandidates.add(new Vector3i(pos));
+            }
+        } finally {
+            regionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes the next position queued for unloading that no region keeps loaded.
+     *
+     * @return the chunk position to unload, or {@code null} if there is none
+     */
+    public Vector3ic pollUnloadCandidate() {
+        regionLock.writeLock().lock();
+        try {
+            Iterator<Vector3ic> iterator = unloadCandidates.iterator();
+            while (iterator.hasNext()) {
+                Vector3ic pos = iterator.next();
+                iterator.remove();
+                if (!relevanceCounts.containsKey(pos)) {
+                    return pos;
+                }
             }
+            return null;
+        } finally {
+            regionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the positions a region entered and uncounts the ones it left since it was last counted. Regions no longer
+     * in the system are uncounted completely. Must be called with the write lock held.
+     */
+    private void updateRelevanceCounts(ChunkRelevanceRegion region) {
+        BlockRegion counted = countedRegions.get(region);
+        BlockRegion current = new BlockRegion(BlockRegion.INVALID);
+        if (regions.containsValue(region) && region.getCurrentRegion().isValid()) {
+            region.getCurrentRegion().expand(UNLOAD_LEEWAY.x(), UNLOAD_LEEWAY.y(), UNLOAD_LEEWAY.z(), current);
+        }
+        if (current.equals(counted)) {
+            return;
+        }
+
+        if (counted != null) {
+            for (Vector3ic pos : counted) {
+                if (!current.contains(pos)) {
+                    relevanceCounts.adjustValue(pos, -1);
+                    if (relevanceCounts.get(pos) == 0) {
+                        relevanceCounts.remove(pos);
+                        unloadCandidates.add(new Vector3i(pos));
+                    }
+                }
+            }
+        }
+        for (Vector3ic pos : current) {
+            if (counted == null || !counted.contains(pos)) {
+                if (!relevanceCounts.adjustValue(pos, 1)) {
+                    relevanceCounts.put(new Vector3i(pos), 1);
+                    unloadCandidates.remove(pos);
+                }
+            }
+        }
+
+        if (current.isValid()) {
+            countedRegions.put(region, current);
+        } else {
+            countedRegions.remove(region);
         }
-        return false;
     }
 
     /**
@@ -211,6 +317,15 @@ public Comparator<Future<Chunk>> createChunkTaskComporator() {
         return new ChunkTaskRelevanceComparator();
     }
 
+    /**
+     * Create comparator for chunk positions, which compare by distance from region centers
+     *
+     * @return comparator.
+     */
+    public Comparator<Vector3ic> createChunkPositionComparator() {
+        return new PositionRelevanceComparator();
+    }
+
     /**
      * @param delta The time (in seconds) since the last engine update.
      */
@@ -14,6 +14,8 @@
 import org.terasology.monitoring.ThreadActivity;
 import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.utilities.ReflectionUtil;
+import org.terasology.utilities.concurrency.SchedulerExecutorService;
+import org.terasology.utilities.concurrency.TaskClass;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.pipeline.stages.ChunkTask;
 import org.terasology.world.chunks.pipeline.stages.ChunkTaskProvider;
@@ -31,8 +33,6 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.RunnableFuture;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -50,10 +50,9 @@ public class ChunkProcessingPipeline {
     private final List<ChunkTaskProvider> stages = Lists.newArrayList();
     private final Thread reactor;
     private final CompletionService<Chunk> chunkProcessor;
-    private final ThreadPoolExecutor executor;
+    private final SchedulerExecutorService executor;
     private final Function<Vector3ic, Chunk> chunkProvider;
     private final Map<Vector3ic, ChunkProcessingInfo> chunkProcessingInfoMap = Maps.newConcurrentMap();
-    private int threadIndex;
 
     /**
      * Create ChunkProcessingPipeline.
@@ -61,13 +60,8 @@ public class ChunkProcessingPipeline {
     public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, Comparator<Future<Chunk>> comparable) {
         this.chunkProvider = chunkProvider;
 
-        executor = new ThreadPoolExecutor(
-                NUM_TASK_THREADS,
-                NUM_TASK_THREADS, 0L,
-                TimeUnit.MILLISECONDS,
-                new PriorityBlockingQueue(800, unwrappingComporator(comparable)),
-                this::threadFactory,
-                this::rejectQueueHandler) {
+        executor = new SchedulerExecutorService("Chunk-Processing", TaskClass.GENERATION, NUM_TASK_THREADS,
+                new PriorityBlockingQueue(800, unwrappingComporator(comparable))) {
             @Override
             protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
                 RunnableFuture<T> newTaskFor = super.newTaskFor(callable);
@@ -84,7 +78,7 @@ protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
 
     /**
      * BlackMagic method: {@link ExecutorCompletionService} wraps task with QueueingFuture (private access)
-     * there takes wrapped task for comparing in {@link ThreadPoolExecutor}
+     * there takes wrapped task for comparing in the queue of the {@link SchedulerExecutorService}
      */
     private Comparator unwrappingComporator(Comparator<Future<Chunk>> comparable) {
         return (o1, o2) -> {
@@ -182,17 +176,6 @@ private Future<Chunk> runTask(ChunkTask task, Set<Chunk> chunks) {
         }, task.getPosition()));
     }
 
-    private Thread threadFactory(Runnable runnable) {
-        Thread thread = new Thread(runnable);
-        thread.setDaemon(true);
-        thread.setName("Chunk-Processing-" + threadIndex++);
-        return thread;
-    }
-
-    private void rejectQueueHandler(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
-        logger.error("Cannot run {}  because queue is full", runnable);
-    }
-
     /**
      * Add stage to pipeline.
      *
@@ -241,13 +224,13 @@ public void shutdown() {
         executor.shutdown();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
         chunkProcessingInfoMap.clear();
-        executor.getQueue().clear();
+        executor.clearQueue();
         reactor.interrupt();
     }
 
     public void restart() {
         chunkProcessingInfoMap.clear();
-        executor.getQueue().clear();
+        executor.clearQueue();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
     }
 
@@ -300,7 +283,7 @@ public List<Vector3ic> getProcessingPosition() {
     }
 
     /**
-     * Dummy callable for passthru position for {@link java.util.concurrent.ThreadPoolExecutor}#newTaskFor
+     * Dummy callable for passthru position for {@link SchedulerExecutorService}#newTaskFor
      */
     private static final class PositionalCallable implements Callable<Chunk> {
         private final Callable<Chunk> callable;
@@ -0,0 +1,197 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.internal;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.math.JomlUtil;
+import org.terasology.math.TeraMath;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.block.BlockRegionc;
+import org.terasology.world.chunks.ChunkSnapshot;
+import org.terasology.world.chunks.Chunks;
+
+/**
+ * A read-only {@link ChunkView} over snapshots of the chunks of a {@link ChunkViewCoreImpl}, for reading a consistent
+ * state of the chunks while they keep being modified.
+ * <br><br>
+ * The snapshots keep the chunks copying the arrays they write to, so the view has to be {@link #release released}
+ * once it is no longer used.
+ */
+public class ChunkSnapshotView implements ChunkView {
+
+    private final Vector3i offset = new Vector3i();
+    private final BlockRegion chunkRegion = new BlockRegion(BlockRegion.INVALID);
+    private final BlockRegion blockRegion = new BlockRegion(BlockRegion.INVALID);
+    private final ChunkSnapshot[] snapshots;
+    private final org.terasology.math.geom.Vector3i chunkRegionSize;
+    private final Vector3i chunkPower;
+    private final Vector3i chunkFilterSize;
+    private final Block defaultBlock;
+    private final boolean valid;
+
+    ChunkSnapshotView(ChunkSnapshot[] snapshots, BlockRegionc chunkRegion, BlockRegionc blockRegion, Vector3ic offset,
+                      Vector3ic chunkPower, Vector3ic chunkFilterSize, Block defaultBlock, boolean valid) {
+        this.snapshots = snapshots;
+        this.chunkRegion.set(chunkRegion);
+        this.blockRegion.set(blockRegion);
+        this.offset.set(offset);
+        this.chunkRegionSize = JomlUtil.from(chunkRegion.getSize(new Vector3i()));
+        this.chunkPower = new Vector3i(chunkPower);
+        this.chunkFilterSize = new Vector3i(chunkFilterSize);
+        this.defaultBlock = defaultBlock;
+        this.valid = valid;
+    }
+
+    @Override
+    public BlockRegionc getWorldRegion() {
+        return blockRegion;
+    }
+
+    @Override
+    public BlockRegionc getChunkRegion() {
+        return chunkRegion;
+    }
+
+    @Override
+    public Block getBlock(float x, float y, float z) {
+        return getBlock(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+    }
+
+    @Override
+    public Block getBlock(Vector3ic pos) {
+        return getBlock(pos.x(), pos.y(), pos.z());
+    }
+
+    @Override
+    public Block getBlock(int blockX, int blockY, int blockZ) {
+        if (!blockRegion.contains(blockX, blockY, blockZ)) {
+            return defaultBlock;
+        }
+        return snapshots[relChunkIndex(blockX, blockY, blockZ)].getBlock(
+                Chunks.toRelative(blockX, chunkFilterSize.x),
+                Chunks.toRelative(blockY, chunkFilterSize.y),
+                Chunks.toRelative(blockZ, chunkFilterSize.z));
+    }
+
+    @Override
+    public byte getSunlight(float x, float y, float z) {
+        return getSunlight(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+    }
+
+    @Override
+    public byte getSunlight(Vector3i pos) {
+        return getSunlight(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public byte getSunlight(int blockX, int blockY, int blockZ) {
+        if (!blockRegion.contains(blockX, blockY, blockZ)) {
+            return 0;
+        }
+        return snapshots[relChunkIndex(blockX, blockY, blockZ)].getSunlight(
+                Chunks.toRelative(blockX, chunkFilterSize.x),
+                Chunks.toRelative(blockY, chunkFilterSize.y),
+                Chunks.toRelative(blockZ, chunkFilterSize.z));
+    }
+
+    @Override
+    public byte getLight(float x, float y, float z) {
+        return getLight(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+    }
+
+    @Override
+    public byte getLight(Vector3i pos) {
+        return getLight(pos.x, pos.y, pos.z);
+    }
+
+    @Override
+    public byte getLight(int blockX, int blockY, int blockZ) {
+        if (!blockRegion.contains(blockX, blockY, blockZ)) {
+            return 0;
+        }
+        return snapshots[relChunkIndex(blockX, blockY, blockZ)].getLight(
+                Chunks.toRelative(blockX, chunkFilterSize.x),
+                Chunks.toRelative(blockY, chunkFilterSize.y),
+                Chunks.toRelative(blockZ, chunkFilterSize.z));
+    }
+
+    @Override
+    public int getExtraData(int index, Vector3ic pos) {
+        return getExtraData(index, pos.x(), pos.y(), pos.z());
+    }
+
+    @Override
+    public int getExtraData(int index, int blockX, int blockY, int blockZ) {
+        if (!blockRegion.contains(blockX, blockY, blockZ)) {
+            return 0;
+        }
+        return snapshots[relChunkIndex(blockX, blockY, blockZ)].getExtraData(index,
+                Chunks.toRelative(blockX, chunkFilterSize.x),
+                Chunks.toRelative(blockY, chunkFilterSize.y),
+                Chunks.toRelative(blockZ, chunkFilterSize.z));
+    }
+
+    @Override
+    public void setBlock(Vector3ic pos, Block type) {
+        throw new UnsupportedOperationException("Attempted to modify a block through a snapshot view");
+    }
+
+    @Override
+    public void setBlock(int blockX, int blockY, int blockZ, Block type) {
+        throw new UnsupportedOperationException("Attempted to modify a block through a snapshot view");
+    }
+
+    @Override
+    public void setExtraData(int index, Vector3ic pos, int value) {
+        throw new UnsupportedOperationException("Attempted to modify extra data through a snapshot view");
+    }
+
+    @Override
+    public void setExtraData(int index, int blockX, int blockY, int blockZ, int value) {
+        throw new UnsupportedOperationException("Attempted to modify extra data through a snapshot view");
+    }
+
+    @Override
+    public void setDirtyAround(Vector3ic blockPos) {
+        throw new UnsupportedOperationException("Attempted to mark chunks dirty through a snapshot view");
+    }
+
+    @Override
+    public void setDirtyAround(BlockRegionc region) {
+        throw new UnsupportedOperationException("Attempted to mark chunks dirty through a snapshot view");
+    }
+
+    /**
+     * @return Whether the chunks of the view were all loaded when the snapshots were taken.
+     */
+    @Override
+    public boolean isValidView() {
+        return valid;
+    }
+
+    @Override
+    public Vector3i toWorldPos(Vector3ic localPos) {
+        return new Vector3i(localPos.x() + (offset.x + chunkRegion.minX()) * Chunks.SIZE_X,
+                localPos.y() + (offset.y + chunkRegion.minY()) * Chunks.SIZE_Y,
+                localPos.z() + (offset.z + chunkRegion.minZ()) * Chunks.SIZE_Z);
+    }
+
+    /**
+     * Releases the snapshots of all chunks of the view.
+     */
+    public void release() {
+        for (ChunkSnapshot snapshot : snapshots) {
+            snapshot.release();
+        }
+    }
+
+    private int relChunkIndex(int x, int y, int z) {
+        return TeraMath.calculate3DArrayIndex(Chunks.toChunkPos(x, chunkPower.x) + offset.x,
+                Chunks.toChunkPos(y, chunkPower.y) + offset.y,
+                Chunks.toChunkPos(z, chunkPower.z) + offset.z, chunkRegionSize);
+    }
+}
@@ -60,4 +60,11 @@ public interface ChunkViewCore extends ChunkView {
      */
     void setSunlight(int blockX, int blockY, int blockZ, byte light);
 
+    /**
+     * Takes snapshots of all chunks of the view. Should be called by the thread modifying the chunks.
+     *
+     * @return a read-only view of the current state of the chunks, which has to be released once no longer used
+     */
+    ChunkSnapshotView createSnapshotView();
+
 }
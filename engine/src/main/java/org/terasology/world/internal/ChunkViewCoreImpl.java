@@ -26,6 +26,7 @@
 import org.terasology.world.block.BlockRegion;
 import org.terasology.world.block.BlockRegionc;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkSnapshot;
 import org.terasology.world.chunks.Chunks;
 
 /**
@@ -227,6 +228,16 @@ public boolean isValidView() {
         return true;
     }
 
+    @Override
+    public ChunkSnapshotView createSnapshotView() {
+        ChunkSnapshot[] snapshots = new ChunkSnapshot[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            snapshots[i] = chunks[i].createSnapshot();
+        }
+        return new ChunkSnapshotView(snapshots, chunkRegion, blockRegion, offset, chunkPower, chunkFilterSize,
+                defaultBlock, isValidView());
+    }
+
     protected int relChunkIndex(int x, int y, int z) {
         return TeraMath.calculate3DArrayIndex(Chunks.toChunkPos(x, chunkPower.x) + offset.x,
                 Chunks.toChunkPos(y, chunkPower.y) + offset.y,
@@ -13,6 +13,9 @@
 import org.terasology.persistence.typeHandling.annotations.SerializedName;
 import org.terasology.reflection.reflect.ObjectConstructor;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.Objects;
@@ -30,35 +33,70 @@
     private Map<Field, TypeHandler<?>> mappedFields;
     private ObjectConstructor<T> constructor;
 
+    // The serialization order of the fields, with everything serializeNonNull needs resolved up front
+    private final Field[] fields;
+    private final String[] fieldNames;
+    private final TypeHandler<?>[] fieldHandlers;
+    private final MethodHandle[] fieldGetters;
+    private final Object[] fieldDefaults;
+
     public ObjectFieldMapTypeHandler(ObjectConstructor<T> constructor, Map<Field, TypeHandler<?>> fieldTypeHandlers) {
         this.constructor = constructor;
         this.mappedFields = fieldTypeHandlers;
-        for (Field field : fieldTypeHandlers.keySet()) {
-            this.fieldByName.put(getFieldName(field), field);
+        int fieldCount = fieldTypeHandlers.size();
+        this.fields = new Field[fieldCount];
+        this.fieldNames = new String[fieldCount];
+        this.fieldHandlers = new TypeHandler<?>[fieldCount];
+        this.fieldGetters = new MethodHandle[fieldCount];
+        this.fieldDefaults = new Object[fieldCount];
+        int i = 0;
+        for (Map.Entry<Field, TypeHandler<?>> entry : fieldTypeHandlers.entrySet()) {
+            Field field = entry.getKey();
+            String fieldName = getFieldName(field);
+            this.fieldByName.put(fieldName, field);
+            fields[i] = field;
+            fieldNames[i] = fieldName;
+            fieldHandlers[i] = entry.getValue();
+            fieldGetters[i] = createGetter(field);
+            fieldDefaults[i] = Defaults.defaultValue(field.getType());
+            i++;
+        }
+    }
+
+    private static MethodHandle createGetter(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            // Fall back to Field.get, which reports the field as inaccessible on use
+            return null;
         }
     }
 
     @Override
     public PersistedData serializeNonNull(T value, PersistedDataSerializer serializer) {
         Map<String, PersistedData> mappedData = Maps.newLinkedHashMap();
-        for (Map.Entry<Field, TypeHandler<?>> entry : mappedFields.entrySet()) {
-            Field field = entry.getKey();
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
 
             Object val;
 
             try {
-                val = field.get(value);
+                val = fieldGetters[i] != null ? fieldGetters[i].invokeExact((Object) value) : field.get(value);
             } catch (IllegalAccessException e) {
                 logger.error("Field {} is inaccessible", field);
                 continue;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to read field " + field, e);
             }
 
-            if (!Objects.equals(val, Defaults.defaultValue(field.getType()))) {
-                TypeHandler handler = entry.getValue();
+            if (!Objects.equals(val, fieldDefaults[i])) {
+                TypeHandler handler = fieldHandlers[i];
                 try {
                     PersistedData fieldValue = handler.serialize(val, serializer);
                     if (fieldValue != null) {
-                        mappedData.put(getFieldName(field), fieldValue);
+                        mappedData.put(fieldNames[i], fieldValue);
                     }
                 } catch (StackOverflowError e) {
                     logger.error("Likely circular reference in field {}.", field);